@@ -26,6 +26,13 @@ android {
                 "proguard-rules.pro"
             )
         }
+        // 매크로벤치마크용: 릴리스와 같은 코드에 디버그 서명만 바꾼다
+        create("benchmark") {
+            initWith(getByName("release"))
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+            isDebuggable = false
+        }
     }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_1_8
@@ -39,12 +46,26 @@ android {
     androidResources {
         noCompress += "tflite"
     }
+    testOptions {
+        unitTests.all { test ->
+            // 평가 하네스 설정은 포크된 테스트 JVM 에 시스템 프로퍼티로 넘겨야 보인다 (-PevalModels=... 처럼 지정)
+            // runBenchmarks 는 기본 테스트 실행에서 빠지는 *Benchmark 마이크로벤치마크를 켠다
+            listOf("evalModels", "evalImages", "kwsData", "kwsThreshold", "runBenchmarks").forEach { name ->
+                providers.gradleProperty(name).orNull?.let { test.systemProperty(name, it) }
+            }
+            providers.gradleProperty("tfliteNativeDir").orNull?.let { test.systemProperty("java.library.path", it) }
+        }
+    }
     buildFeatures {
         mlModelBinding = true
+        // 풀 누수 추적을 디버그 빌드에서만 켜기 위해 BuildConfig.DEBUG 사용
+        buildConfig = true
     }
 }
 
 dependencies {
+    // 전처리/디코딩/NMS 는 JVM 벤치마크와 같은 코드를 쓰도록 순수 자바 모듈로 분리
+    implementation(project(":pipeline"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
@@ -54,6 +75,8 @@ dependencies {
     implementation(libs.camera.camera2)
     implementation(libs.tensorflow.lite.metadata)
     implementation(libs.tensorflow.lite.gpu)
+    // 사이드로드 설치에서도 baseline-prof.txt 가 적용되도록
+    implementation(libs.profileinstaller)
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
@@ -0,0 +1,131 @@
+package com.example.myapplication;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.camera.lifecycle.ProcessCameraProvider;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.analytics.FirebaseAnalytics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 앱 시작 작업의 순서를 정한다
+// 1. Application.onCreate (메인 스레드): 꼭 필요한 것만. TTS 엔진 바인딩을 시작한다.
+// 2. 같은 시점에 백그라운드에서 병렬로: 모델 로드/워밍업, CameraX 초기화, 상품 목록 파싱.
+// 3. 첫 프레임이 그려진 뒤 메인 스레드가 한가할 때: Firebase/Analytics 초기화, 성능 지표 내보내기 시작.
+// 카메라 미리보기가 나오면 reportFullyDrawn() 을 부르고 단계별 기록을 로그에 남긴다.
+// 음성 인식기는 SpeechService 가 처음 쓸 때 만든다.
+public final class AppStartup {
+
+    private static final String TAG = "AppStartup";
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    // 모델과 상품 목록을 서로 기다리지 않도록 두 스레드
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "startup-" + threadCount.incrementAndGet());
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private static boolean deferredScheduled;
+    private static boolean fullyDrawn;
+
+    private AppStartup() {
+    }
+
+    // MyApplication.onCreate 에서 호출
+    public static void onApplicationCreate(Context context) {
+        Context appContext = context.getApplicationContext();
+
+        try (StartupTrace.Section ignored = StartupTrace.begin("speechService")) {
+            // TTS 는 메인 스레드에서 만들어야 하고, 초기화는 엔진 쪽에서 비동기로 진행된다
+            SpeechService.getInstance(appContext);
+        }
+
+        executor.execute(() -> {
+            try (StartupTrace.Section ignored = StartupTrace.begin("modelWarmUp")) {
+                ModelHolder.getInstance(appContext).warmUp();
+            } catch (IOException e) {
+                Log.e(TAG, "Error loading model", e);
+            }
+        });
+        executor.execute(() -> {
+            try (StartupTrace.Section ignored = StartupTrace.begin("productCatalog")) {
+                ProductCatalog.getInstance(appContext);
+            } catch (IOException e) {
+                Log.e(TAG, "Error loading product catalog", e);
+            }
+        });
+
+        // CameraX 초기화(카메라 서비스 연결, 특성 조회)는 자체 스레드에서 진행되므로 미리 시작만 해 둔다
+        long cameraStart = StartupTrace.sinceProcessStartMs();
+        ListenableFuture<ProcessCameraProvider> cameraProvider = ProcessCameraProvider.getInstance(appContext);
+        cameraProvider.addListener(
+                () -> StartupTrace.record("cameraProvider", cameraStart, StartupTrace.sinceProcessStartMs()),
+                executor);
+    }
+
+    // 첫 화면의 onCreate 에서 호출. 첫 프레임이 그려지면 미뤄 둔 작업을 메인 스레드가 한가할 때 실행한다
+    public static void onFirstActivityCreated(Activity activity) {
+        if (deferredScheduled) {
+            return;
+        }
+        deferredScheduled = true;
+        Context appContext = activity.getApplicationContext();
+        View decorView = activity.getWindow().getDecorView();
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        decorView.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+            private boolean drawn;
+
+            @Override
+            public void onDraw() {
+                if (drawn) {
+                    return;
+                }
+                drawn = true;
+                StartupTrace.mark("firstFrame");
+                // 그리는 도중에는 리스너를 뗄 수 없으므로 다음 메시지에서 뗀다
+                mainHandler.post(() -> decorView.getViewTreeObserver().removeOnDrawListener(this));
+                Looper.myQueue().addIdleHandler(() -> {
+                    runDeferred(appContext);
+                    return false;
+                });
+            }
+        });
+    }
+
+    private static void runDeferred(Context context) {
+        try (StartupTrace.Section ignored = StartupTrace.begin("analytics")) {
+            // 매니페스트에서 FirebaseInitProvider 를 빼 두었으므로 여기서 처음 초기화된다
+            if (FirebaseApp.initializeApp(context) != null) {
+                FirebaseAnalytics.getInstance(context);
+            } else {
+                Log.w(TAG, "Firebase options missing, analytics disabled");
+            }
+        }
+        // 현장 성능 확인용: files/metrics 에 1분마다 누적 지표를 남긴다
+        new MetricsExporter(new File(context.getFilesDir(), "metrics"), MetricsRegistry.getInstance()).start();
+    }
+
+    // 카메라 미리보기가 처음 나오기 시작할 때 호출 (시작 완료 시점)
+    public static void onFullyDrawn(Activity activity) {
+        if (fullyDrawn) {
+            return;
+        }
+        fullyDrawn = true;
+        StartupTrace.mark("previewStreaming");
+        activity.reportFullyDrawn();
+        StartupTrace.dump();
+    }
+}
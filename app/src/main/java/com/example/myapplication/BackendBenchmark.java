@@ -0,0 +1,195 @@
+package com.example.myapplication;
+
+import org.tensorflow.lite.DataType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+// 백엔드별로 같은 기준 입력을 돌려 속도를 재고, CPU 결과와 비교해 수치가 맞는지 확인하는 벤치마크
+// Android 의존성이 없으므로 CPU 경로는 일반 JVM 에서도 그대로 실행/테스트할 수 있다.
+public final class BackendBenchmark {
+
+    // 백엔드 하나에 묶인 인터프리터
+    public interface Runner {
+        int inputBytes();
+
+        int outputBytes();
+
+        // 입력/출력 텐서 타입 (FLOAT32 가 아니면 8비트 양자화)
+        DataType inputType();
+
+        DataType outputType();
+
+        void run(ByteBuffer input, ByteBuffer output);
+
+        void close();
+    }
+
+    public interface RunnerFactory {
+        // 지원하지 않는 백엔드면 예외를 던진다
+        Runner createRunner(InferenceBackend backend) throws Exception;
+    }
+
+    public static final class Result {
+        public final InferenceBackend backend;
+        public final boolean success;
+        public final float medianMs;
+        public final float maxAbsError;
+        public final String error;
+
+        Result(InferenceBackend backend, boolean success, float medianMs, float maxAbsError, String error) {
+            this.backend = backend;
+            this.success = success;
+            this.medianMs = medianMs;
+            this.maxAbsError = maxAbsError;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            return success
+                    ? String.format("%s: %.2f ms (max error %.4f)", backend, medianMs, maxAbsError)
+                    : backend + ": failed (" + error + ")";
+        }
+    }
+
+    private final RunnerFactory factory;
+    private final int warmUpRuns;
+    private final int timedRuns;
+    private final float tolerance;
+    private final LongSupplier clock;  // 나노초
+
+    public BackendBenchmark(RunnerFactory factory, int warmUpRuns, int timedRuns, float tolerance) {
+        this(factory, warmUpRuns, timedRuns, tolerance, System::nanoTime);
+    }
+
+    // 테스트에서 실행 시간을 정해 주기 위한 생성자
+    BackendBenchmark(RunnerFactory factory, int warmUpRuns, int timedRuns, float tolerance, LongSupplier clock) {
+        this.factory = factory;
+        this.warmUpRuns = warmUpRuns;
+        this.timedRuns = Math.max(1, timedRuns);
+        this.tolerance = tolerance;
+        this.clock = clock;
+    }
+
+    // CPU 를 기준으로 먼저 실행한 뒤 나머지 백엔드를 측정한다. CPU 가 실패하면 빈 목록
+    public List<Result> run(List<InferenceBackend> backends) {
+        List<Result> results = new ArrayList<>();
+        Runner reference;
+        try {
+            reference = factory.createRunner(InferenceBackend.CPU);
+        } catch (Exception e) {
+            return results;
+        }
+
+        ByteBuffer input = allocate(reference.inputBytes());
+        fillReferenceInput(input, reference.inputType() == DataType.FLOAT32);
+        ByteBuffer expected = allocate(reference.outputBytes());
+        DataType outputType = reference.outputType();
+        try {
+            results.add(measure(InferenceBackend.CPU, reference, input, expected, null, outputType));
+        } finally {
+            reference.close();
+        }
+
+        ByteBuffer actual = allocate(expected.capacity());
+        for (InferenceBackend backend : backends) {
+            if (backend == InferenceBackend.CPU) {
+                continue;
+            }
+            Runner runner = null;
+            try {
+                runner = factory.createRunner(backend);
+                results.add(measure(backend, runner, input, actual, expected, outputType));
+            } catch (Exception e) {
+                results.add(new Result(backend, false, 0f, 0f, String.valueOf(e.getMessage())));
+            } finally {
+                if (runner != null) {
+                    runner.close();
+                }
+            }
+        }
+        return results;
+    }
+
+    // 기준 출력과 허용 오차 안에서 일치한 백엔드 중 가장 빠른 것 (없으면 CPU)
+    public InferenceBackend selectFastest(List<Result> results) {
+        Result best = null;
+        for (Result result : results) {
+            if (!result.success || result.maxAbsError > tolerance) {
+                continue;
+            }
+            if (best == null || result.medianMs < best.medianMs) {
+                best = result;
+            }
+        }
+        return best != null ? best.backend : InferenceBackend.CPU;
+    }
+
+    private Result measure(InferenceBackend backend, Runner runner, ByteBuffer input, ByteBuffer output,
+                           ByteBuffer expected, DataType outputType) {
+        for (int i = 0; i < warmUpRuns; i++) {
+            runOnce(runner, input, output);
+        }
+        float[] timings = new float[timedRuns];
+        for (int i = 0; i < timedRuns; i++) {
+            long start = clock.getAsLong();
+            runOnce(runner, input, output);
+            timings[i] = (clock.getAsLong() - start) / 1_000_000f;
+        }
+        Arrays.sort(timings);
+        float error = expected == null ? 0f : maxAbsError(expected, output, outputType);
+        return new Result(backend, true, timings[timedRuns / 2], error, null);
+    }
+
+    private static void runOnce(Runner runner, ByteBuffer input, ByteBuffer output) {
+        input.rewind();
+        output.rewind();
+        runner.run(input, output);
+    }
+
+    static float maxAbsError(ByteBuffer expected, ByteBuffer actual, DataType outputType) {
+        float max = 0f;
+        if (outputType == DataType.FLOAT32) {
+            int count = expected.capacity() / 4;
+            for (int i = 0; i < count; i++) {
+                float diff = Math.abs(expected.getFloat(i * 4) - actual.getFloat(i * 4));
+                if (!(diff <= max)) {
+                    max = diff;  // NaN 도 오차로 취급
+                }
+            }
+        } else {
+            // 양자화 출력은 0..1 범위로 환산해서 float 와 같은 허용 오차를 쓴다 (INT8 은 부호 있는 값으로 비교)
+            boolean signed = outputType == DataType.INT8;
+            for (int i = 0; i < expected.capacity(); i++) {
+                int e = signed ? expected.get(i) : expected.get(i) & 0xFF;
+                int a = signed ? actual.get(i) : actual.get(i) & 0xFF;
+                max = Math.max(max, Math.abs(e - a) / 255f);
+            }
+        }
+        return max;
+    }
+
+    // 실행마다 같은 값이 나오도록 고정 시드로 채운다
+    static void fillReferenceInput(ByteBuffer input, boolean floatInput) {
+        Random random = new Random(640);
+        if (floatInput) {
+            for (int i = 0; i + 4 <= input.capacity(); i += 4) {
+                input.putFloat(i, random.nextFloat());
+            }
+        } else {
+            for (int i = 0; i < input.capacity(); i++) {
+                input.put(i, (byte) random.nextInt(256));
+            }
+        }
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.myapplication;
+
+import org.tensorflow.lite.DataType;
+import org.tensorflow.lite.Delegate;
+import org.tensorflow.lite.Interpreter;
+import org.tensorflow.lite.gpu.CompatibilityList;
+import org.tensorflow.lite.gpu.GpuDelegate;
+import org.tensorflow.lite.nnapi.NnApiDelegate;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// 백엔드별 Interpreter.Options 를 만들어 같은 모델 버퍼로 인터프리터를 생성한다
+// CPU 경로는 Android API 를 쓰지 않으므로 TFLite 네이티브 라이브러리만 있으면 일반 JVM 에서도 동작한다.
+public final class BackendInterpreters implements BackendBenchmark.RunnerFactory {
+
+    private final ByteBuffer model;
+    private final int numThreads;
+
+    public BackendInterpreters(ByteBuffer model, int numThreads) {
+        this.model = model;
+        this.numThreads = Math.max(1, numThreads);
+    }
+
+    // 기본 CPU 스레드 수: 빅코어 수를 넘기면 오히려 느려지는 경우가 많아 4개로 제한
+    public static int defaultThreadCount() {
+        return Math.min(4, Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    // 생성된 delegate 는 delegates 에 추가되며, 인터프리터를 닫은 뒤 호출자가 닫아야 한다
+    public Interpreter create(InferenceBackend backend, List<Delegate> delegates) {
+        Interpreter.Options options = new Interpreter.Options();
+        switch (backend) {
+            case GPU:
+                CompatibilityList compatibilityList = new CompatibilityList();
+                try {
+                    if (!compatibilityList.isDelegateSupportedOnThisDevice()) {
+                        throw new IllegalStateException("GPU delegate is not supported on this device");
+                    }
+                    GpuDelegate gpuDelegate = new GpuDelegate(compatibilityList.getBestOptionsForThisDevice());
+                    delegates.add(gpuDelegate);
+                    options.addDelegate(gpuDelegate);
+                } finally {
+                    compatibilityList.close();
+                }
+                break;
+            case NNAPI:
+                NnApiDelegate nnApiDelegate = new NnApiDelegate();
+                delegates.add(nnApiDelegate);
+                options.addDelegate(nnApiDelegate);
+                break;
+            case CPU:
+            default:
+                options.setUseXNNPACK(true);
+                options.setNumThreads(numThreads);
+                break;
+        }
+        return new Interpreter(model, options);
+    }
+
+    @Override
+    public BackendBenchmark.Runner createRunner(InferenceBackend backend) {
+        List<Delegate> delegates = new ArrayList<>();
+        Interpreter interpreter;
+        try {
+            interpreter = create(backend, delegates);
+        } catch (RuntimeException e) {
+            closeAll(delegates);
+            throw e;
+        }
+        return new InterpreterRunner(interpreter, delegates);
+    }
+
+    static void closeAll(List<Delegate> delegates) {
+        for (Delegate delegate : delegates) {
+            try {
+                delegate.close();
+            } catch (Exception ignored) {
+                // 이미 실패한 delegate 정리 중이므로 무시
+            }
+        }
+        delegates.clear();
+    }
+
+    private static final class InterpreterRunner implements BackendBenchmark.Runner {
+        private final Interpreter interpreter;
+        private final List<Delegate> delegates;
+
+        InterpreterRunner(Interpreter interpreter, List<Delegate> delegates) {
+            this.interpreter = interpreter;
+            this.delegates = delegates;
+        }
+
+        @Override
+        public int inputBytes() {
+            return interpreter.getInputTensor(0).numBytes();
+        }
+
+        @Override
+        public int outputBytes() {
+            return interpreter.getOutputTensor(0).numBytes();
+        }
+
+        @Override
+        public DataType inputType() {
+            return interpreter.getInputTensor(0).dataType();
+        }
+
+        @Override
+        public DataType outputType() {
+            return interpreter.getOutputTensor(0).dataType();
+        }
+
+        @Override
+        public void run(ByteBuffer input, ByteBuffer output) {
+            interpreter.run(input, output);
+        }
+
+        @Override
+        public void close() {
+            interpreter.close();
+            closeAll(delegates);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.myapplication;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 할당 크기(바이트)로 찾아 쓰는 Bitmap 풀
+// 반납된 Bitmap 중 필요한 크기 이상을 할당받은 가장 작은 것을 reconfigure() 해서 돌려준다
+// (BitmapFactory.Options.inBitmap 과 같은 재사용 조건: mutable 이고 할당 크기가 충분할 것).
+// 반납된 Bitmap 합계가 maxBytes 를 넘으면 큰 것부터 recycle 한다.
+// 여러 스레드에서 호출해도 된다.
+public final class BitmapPool {
+
+    private static final String TAG = "BitmapPool";
+
+    private final long maxBytes;
+    private final List<Bitmap> free = new ArrayList<>();
+    // 디버그 빌드에서만 (반납하지 않고 버린 Bitmap 추적)
+    private final PoolLeakDetector<Bitmap> leakDetector;
+    private long freeBytes;
+    private long allocatedBytes;
+    private int reuseCount;
+
+    public BitmapPool(long maxBytes, boolean trackLeaks) {
+        this.maxBytes = maxBytes;
+        leakDetector = trackLeaks
+                ? new PoolLeakDetector<>(acquiredAt -> Log.w(TAG, "Bitmap was never released", acquiredAt))
+                : null;
+    }
+
+    // 내용은 이전에 쓰던 픽셀이 남아 있을 수 있으므로 전부 덮어쓸 때만 그대로 쓸 것
+    public synchronized Bitmap acquire(int width, int height, Bitmap.Config config) {
+        int needed = width * height * bytesPerPixel(config);
+        int best = -1;
+        for (int i = 0; i < free.size(); i++) {
+            int size = free.get(i).getAllocationByteCount();
+            if (size >= needed && (best < 0 || size < free.get(best).getAllocationByteCount())) {
+                best = i;
+            }
+        }
+        Bitmap bitmap;
+        if (best >= 0) {
+            bitmap = free.remove(best);
+            freeBytes -= bitmap.getAllocationByteCount();
+            if (bitmap.getWidth() != width || bitmap.getHeight() != height || bitmap.getConfig() != config) {
+                bitmap.reconfigure(width, height, config);
+            }
+            reuseCount++;
+        } else {
+            bitmap = Bitmap.createBitmap(width, height, config);
+            allocatedBytes += bitmap.getAllocationByteCount();
+        }
+        if (leakDetector != null) {
+            leakDetector.onAcquire(bitmap);
+        }
+        return bitmap;
+    }
+
+    // acquire() 로 받은 Bitmap 을 돌려준다. 돌려준 뒤에는 쓰지 말 것 (풀 밖에서 만든 Bitmap 도 받는다)
+    public synchronized void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        if (leakDetector != null) {
+            leakDetector.onRelease(bitmap);
+        }
+        if (free.contains(bitmap)) {
+            return;
+        }
+        if (!bitmap.isMutable()) {
+            // reconfigure 할 수 없으므로 재사용하지 않는다
+            bitmap.recycle();
+            return;
+        }
+        free.add(bitmap);
+        freeBytes += bitmap.getAllocationByteCount();
+        while (freeBytes > maxBytes && !free.isEmpty()) {
+            int largest = 0;
+            for (int i = 1; i < free.size(); i++) {
+                if (free.get(i).getAllocationByteCount() > free.get(largest).getAllocationByteCount()) {
+                    largest = i;
+                }
+            }
+            Bitmap evicted = free.remove(largest);
+            freeBytes -= evicted.getAllocationByteCount();
+            evicted.recycle();
+        }
+    }
+
+    // 지금까지 새로 할당한 Bitmap 메모리 합계
+    public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public synchronized int getReuseCount() {
+        return reuseCount;
+    }
+
+    // 반납된 Bitmap 을 모두 recycle 한다 (화면을 떠날 때)
+    public synchronized void clear() {
+        for (Bitmap bitmap : free) {
+            bitmap.recycle();
+        }
+        free.clear();
+        freeBytes = 0;
+        if (leakDetector != null) {
+            leakDetector.poll();
+        }
+    }
+
+    static int bytesPerPixel(Bitmap.Config config) {
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+            default:
+                return 4;
+        }
+    }
+}
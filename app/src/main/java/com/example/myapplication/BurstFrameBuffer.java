@@ -0,0 +1,164 @@
+package com.example.myapplication;
+
+import java.nio.ByteBuffer;
+
+// 최근 분석 프레임의 YUV 평면을 복사해 두는 고정 크기 링 버퍼
+// 촬영 버튼을 누르고 진동이 울리는 동안의 흔들린 프레임 대신, 그 직전의 가장 선명한 프레임을 고를 수 있게 한다.
+// 슬롯 버퍼는 처음 한 번(또는 해상도가 커질 때만) 할당하고 이후에는 덮어쓴다.
+// 분석 스레드 하나에서만 사용할 것.
+public final class BurstFrameBuffer {
+
+    // 슬롯 하나. 다음 offer() 로 덮어써질 수 있으므로 분석 스레드 안에서만 쓸 것
+    public static final class Frame {
+        ByteBuffer y;
+        ByteBuffer u;
+        ByteBuffer v;
+        int width;
+        int height;
+        int yRowStride;
+        int uvRowStride;
+        int uvPixelStride;
+        int rotationDegrees;
+        long timestampNanos;
+        float sharpness;
+        float exposure;
+
+        public ByteBuffer getY() {
+            return y;
+        }
+
+        public ByteBuffer getU() {
+            return u;
+        }
+
+        public ByteBuffer getV() {
+            return v;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getYRowStride() {
+            return yRowStride;
+        }
+
+        public int getUvRowStride() {
+            return uvRowStride;
+        }
+
+        public int getUvPixelStride() {
+            return uvPixelStride;
+        }
+
+        public int getRotationDegrees() {
+            return rotationDegrees;
+        }
+
+        public long getTimestampNanos() {
+            return timestampNanos;
+        }
+
+        public float getSharpness() {
+            return sharpness;
+        }
+
+        public float getExposure() {
+            return exposure;
+        }
+
+        // 선명도에 노출 점수를 곱한 값 (클수록 좋음)
+        public float getScore() {
+            return sharpness * exposure;
+        }
+    }
+
+    private final Frame[] slots;
+    private final FrameQuality quality = new FrameQuality();
+    private int next;
+    private int count;
+
+    public BurstFrameBuffer(int capacity) {
+        slots = new Frame[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Frame();
+        }
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        count = 0;
+        next = 0;
+    }
+
+    // 가장 오래된 슬롯에 프레임을 복사하고 품질을 잰다. 원본 버퍼의 position 은 그대로 둔다
+    public Frame offer(ByteBuffer yPlane, ByteBuffer uPlane, ByteBuffer vPlane,
+                       int width, int height, int yRowStride, int uvRowStride, int uvPixelStride,
+                       int rotationDegrees, long timestampNanos) {
+        Frame frame = slots[next];
+        frame.y = copy(yPlane, frame.y);
+        frame.u = copy(uPlane, frame.u);
+        frame.v = copy(vPlane, frame.v);
+        frame.width = width;
+        frame.height = height;
+        frame.yRowStride = yRowStride;
+        frame.uvRowStride = uvRowStride;
+        frame.uvPixelStride = uvPixelStride;
+        frame.rotationDegrees = rotationDegrees;
+        frame.timestampNanos = timestampNanos;
+        quality.measure(frame.y, width, height, yRowStride);
+        frame.sharpness = quality.getSharpness();
+        frame.exposure = quality.getExposure();
+
+        next = (next + 1) % slots.length;
+        count = Math.min(count + 1, slots.length);
+        return frame;
+    }
+
+    // notBeforeNanos 이후의 프레임 중 점수가 높은 순으로 최대 out.length 개를 out 에 채우고 개수를 반환
+    public int selectBest(long notBeforeNanos, Frame[] out) {
+        int selected = 0;
+        for (int i = 0; i < count; i++) {
+            Frame frame = slots[i];
+            if (frame.timestampNanos < notBeforeNanos) {
+                continue;
+            }
+            // 삽입 정렬 (슬롯 수가 작으므로)
+            int position = selected < out.length ? selected++ : out.length;
+            while (position > 0 && out[position - 1].getScore() < frame.getScore()) {
+                if (position < out.length) {
+                    out[position] = out[position - 1];
+                }
+                position--;
+            }
+            if (position < out.length) {
+                out[position] = frame;
+            }
+        }
+        return selected;
+    }
+
+    private static ByteBuffer copy(ByteBuffer source, ByteBuffer target) {
+        int position = source.position();
+        int length = source.remaining();
+        if (target == null || target.capacity() < length) {
+            target = ByteBuffer.allocateDirect(length);
+        }
+        target.clear();
+        target.put(source);
+        target.flip();
+        source.position(position);
+        return target;
+    }
+}
@@ -2,10 +2,10 @@ package com.example.myapplication;
 
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.net.Uri;
 import android.os.Bundle;
 import android.os.Environment;
 import android.util.Log;
+import android.util.Size;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -15,25 +15,19 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.camera.core.AspectRatio;
 import androidx.camera.core.CameraSelector;
+import androidx.camera.core.ImageAnalysis;
 import androidx.camera.core.Preview;
+import androidx.camera.core.resolutionselector.AspectRatioStrategy;
+import androidx.camera.core.resolutionselector.ResolutionSelector;
+import androidx.camera.core.resolutionselector.ResolutionStrategy;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.camera.view.PreviewView;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 
-import com.example.myapplication.ml.BestFloat32;
 import com.google.common.util.concurrent.ListenableFuture;
 
-import org.tensorflow.lite.DataType;
-import org.tensorflow.lite.support.image.TensorImage;
-import org.tensorflow.lite.support.label.Category;
-
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -41,33 +35,33 @@ import java.util.concurrent.Executors;
 public class CameraFragment extends Fragment {
 
     public interface OnImageCapturedListener {
-        void onImageCaptured(String imageUri, String classificationResult);
+        // 저장 대기열이 가득 차 이미지를 저장하지 않았으면 imageUri 는 null, 인식된 상품이 없으면 classId 는 -1
+        void onImageCaptured(String imageUri, String classificationResult, int classId);
     }
 
+    // 2단계 크롭 분류기가 있을 때의 분석 해상도 (센서 기준). 검출기 입력은 어차피 640 으로 줄어들고,
+    // 크롭만 이 해상도에서 잘라 작은 글자와 로고를 본다
+    private static final Size CROP_ANALYSIS_RESOLUTION = new Size(1280, 720);
+
+    // 촬영 경로 Bitmap 풀 상한: 저장 대기열(2) + 저장 중(1) + 축소본까지 1280x720 ARGB 기준으로 여유 있게
+    private static final long CAPTURE_POOL_BYTES = 16L * 1024 * 1024;
+
     private PreviewView previewView;
     private ImageView overlayView;
 
     private ProcessCameraProvider cameraProvider;
     private ExecutorService cameraExecutor;
+    private DetectionAnalyzer detectionAnalyzer;
+    private DevicePowerMonitor powerMonitor;
+    private CapturePersister capturePersister;
+    private MetricsOverlay metricsOverlay;
+    private BitmapPool bitmapPool;
+    private TensorBufferPool bufferPool;
+    // 촬영 버튼을 눌렀을 때의 풀 할당량 (촬영당 할당 바이트 로그용)
+    private long captureStartBytes;
 
     private OnImageCapturedListener imageCapturedListener;
 
-    private static final int INPUT_SIZE = 640;
-
-    private static final float CONFIDENCE_THRESHOLD = 0.25f;
-    private static final float NMS_THRESHOLD = 0.45f;
-
-    // YOLOv8 모델에서 사용하는 라벨 수 확인 (출력의 클래스 수와 일치하도록 수정)
-    private final String[] ramenLabels = {
-            "jinHot", "jinMild", "wang", "king", "kimchi", "ojingeo", "sesame", "kaguri", "shin", "buldak",
-            "buldakCarbo", "buldak4Cheese", "kingSoup", "kingSoup2", "jinMildSoup", "sesameSoup1",
-            "sesameSoup2", "sesameSoup3", "buldakSoup", "buldakSoup2", "jinHotSoup", "shinSoup",
-            "kimchiSoup", "kimchiSoup2", "carboSoup", "carboSoup2", "kaguriSoup", "ojingeoSoup",
-            "cheeseSoup", "cheeseSoup2", "wangSoup", "wangSoup2"
-    };
-// 또는 모델에 맞는 라벨이 몇 개인지 확인하고 이에 맞게 배열을 확장/축소해야 합니다.
-
-
     @Override
     public void onAttach(@NonNull Context context) {
         super.onAttach(context);
@@ -85,10 +79,27 @@ public class CameraFragment extends Fragment {
         previewView = view.findViewById(R.id.previewView);
         overlayView = new ImageView(getContext());
         ((ViewGroup) previewView.getParent()).addView(overlayView);
+        if (BuildConfig.DEBUG) {
+            metricsOverlay = new MetricsOverlay((ViewGroup) previewView.getParent(), MetricsRegistry.getInstance());
+        }
         cameraExecutor = Executors.newSingleThreadExecutor();
+        // 디버그 빌드에서는 반납되지 않은 Bitmap/버퍼를 빌려 간 위치와 함께 로그로 남긴다
+        bitmapPool = new BitmapPool(CAPTURE_POOL_BYTES, BuildConfig.DEBUG);
+        bufferPool = new TensorBufferPool(BuildConfig.DEBUG
+                ? acquiredAt -> Log.w("CameraFragment", "Tensor buffer was never released", acquiredAt)
+                : null);
+        capturePersister = new CapturePersister(
+                new File(requireContext().getExternalFilesDir(Environment.DIRECTORY_PICTURES), "MyApp"), bitmapPool);
 
         startCamera();
 
+        // 미리보기가 처음 나오는 시점을 앱 시작 완료로 기록
+        previewView.getPreviewStreamState().observe(getViewLifecycleOwner(), state -> {
+            if (state == PreviewView.StreamState.STREAMING) {
+                AppStartup.onFullyDrawn(requireActivity());
+            }
+        });
+
         return view;
     }
 
@@ -116,161 +127,122 @@ public class CameraFragment extends Fragment {
 
         preview.setSurfaceProvider(previewView.getSurfaceProvider());
 
+        // 오래된 프레임은 쌓지 않고 버리도록 최신 프레임만 유지
+        ImageAnalysis.Builder analysisBuilder = new ImageAnalysis.Builder()
+                .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST);
+        if (CropClassifier.isAvailable(requireContext())) {
+            analysisBuilder.setResolutionSelector(new ResolutionSelector.Builder()
+                    .setAspectRatioStrategy(AspectRatioStrategy.RATIO_16_9_FALLBACK_AUTO_STRATEGY)
+                    .setResolutionStrategy(new ResolutionStrategy(CROP_ANALYSIS_RESOLUTION,
+                            ResolutionStrategy.FALLBACK_RULE_CLOSEST_LOWER_THEN_HIGHER))
+                    .build());
+        } else {
+            analysisBuilder.setTargetAspectRatio(AspectRatio.RATIO_16_9);
+        }
+        ImageAnalysis imageAnalysis = analysisBuilder.build();
+        // 탐지 결과는 필요할 때 getLatestDetections() 로 가져가므로 프레임마다 알릴 리스너는 없다
+        detectionAnalyzer = new DetectionAnalyzer(requireContext(), null, bufferPool, bitmapPool);
+        imageAnalysis.setAnalyzer(cameraExecutor, detectionAnalyzer);
+
+        // 열/배터리 상태에 따라 추론 빈도를 낮춘다
+        if (powerMonitor != null) {
+            powerMonitor.stop();
+        }
+        powerMonitor = new DevicePowerMonitor(requireContext(), detectionAnalyzer.getScheduler());
+        powerMonitor.start();
+
         cameraProvider.unbindAll();
-        cameraProvider.bindToLifecycle(this, cameraSelector, preview);
+        cameraProvider.bindToLifecycle(this, cameraSelector, preview, imageAnalysis);
     }
 
     public void captureImage() {
+        MetricsRegistry.getInstance().markCaptureStart();
+        captureStartBytes = allocatedBytes();
+        if (detectionAnalyzer == null) {
+            deliverCapture(getLatestDetections(), null);
+            return;
+        }
+        // 버튼을 누르기 직전 프레임까지 포함해 가장 선명한 프레임들로 다시 탐지한 결과와, 그중 가장 선명한 프레임을 저장한다
+        detectionAnalyzer.requestBurst(this::deliverCapture);
+    }
+
+    // frame 이 없으면 미리보기 화면을 저장한다 (이 경우 PreviewView 가 Bitmap 을 새로 만든다)
+    private void deliverCapture(DetectionResult result, @Nullable Bitmap frame) {
+        String classificationResult = describe(result);
+        int best = result.bestIndex();
+        int classId = best >= 0 ? result.getClassId(best) : -1;
         previewView.post(() -> {
-            Bitmap bitmap = previewView.getBitmap();
-            if (bitmap != null) {
-                Bitmap resizedBitmap = Bitmap.createScaledBitmap(bitmap, INPUT_SIZE, INPUT_SIZE, false);
-                classifyImage(resizedBitmap);
-
-                if (imageCapturedListener != null) {
-                    String imageUri = saveImageToExternalStorage(bitmap);
-                    if (imageUri != null) {
-                        imageCapturedListener.onImageCaptured(imageUri, "Image captured");
-                    }
-                }
+            long fallbackBytes = 0;
+            Bitmap bitmap = frame;
+            if (bitmap == null) {
+                bitmap = previewView.getBitmap();
+                fallbackBytes = bitmap != null ? bitmap.getAllocationByteCount() : 0;
+            }
+            if (bitmap == null) {
+                return;
+            }
+            if (imageCapturedListener == null) {
+                bitmapPool.release(bitmap);
+                return;
             }
+            // 인코딩과 쓰기는 백그라운드에서 하고 저장될 위치만 바로 넘긴다
+            String imageUri = capturePersister.save(bitmap);
+            Log.d("CameraFragment", "Capture allocated " + (allocatedBytes() - captureStartBytes + fallbackBytes)
+                    + " bytes (bitmap reuse " + bitmapPool.getReuseCount() + ")");
+            imageCapturedListener.onImageCaptured(imageUri, classificationResult, classId);
         });
     }
 
-    // YOLOv8 모델로 이미지를 분류하는 메서드
-    public void classifyImage(Bitmap bitmap) {
-        try {
-            // TensorFlow Lite 모델 로드
-            BestFloat32 model = BestFloat32.newInstance(requireContext());
-
-            // 입력 이미지를 TensorImage로 로드
-            TensorImage tensorImage = new TensorImage(DataType.FLOAT32);
-            tensorImage.load(bitmap);
-
-            // TensorImage로 모델 처리
-            BestFloat32.Outputs outputs = model.process(tensorImage); // TensorImage로 입력 전달
-
-            // 출력 데이터를 가져옵니다.
-            List<Category> output = outputs.getOutputAsCategoryList(); // 모델 출력 형식에 맞추어 처리
-
-            // 출력 데이터를 해석하고 로그로 확인
-            for (Category category : output) {
-                Log.d("CameraFragment", String.format("Detected %s with confidence %.2f%%",
-                        category.getLabel(), category.getScore() * 100));
-            }
-
-            // 모델 리소스 해제
-            model.close();
-        } catch (IOException e) {
-            Log.e("CameraFragment", "Error running model inference", e);
-        }
+    // 촬영 경로 풀이 지금까지 새로 할당한 메모리 합계
+    private long allocatedBytes() {
+        return bitmapPool.getAllocatedBytes() + bufferPool.getAllocatedBytes();
     }
 
-
-
-    // YOLOv8 출력 후처리 (바운딩 박스와 클래스 확률 처리)
-    private List<Detection> processYOLOv8Output(float[] outputArray) {
-        List<Detection> detections = new ArrayList<>();
-
-        // YOLOv8의 각 출력값을 바운딩 박스와 클래스 확률로 변환
-        for (int i = 0; i < outputArray.length / 36; i++) {
-            int index = i * 36;  // 각 출력의 시작 인덱스
-
-            float confidence = outputArray[index + 4];  // 클래스 확률
-            if (confidence > CONFIDENCE_THRESHOLD) {
-                // 바운딩 박스 좌표 (x_center, y_center, width, height)
-                float xCenter = outputArray[index];
-                float yCenter = outputArray[index + 1];
-                float width = outputArray[index + 2];
-                float height = outputArray[index + 3];
-
-                // 클래스 ID 추출
-                int classId = -1;
-                float maxScore = -1f;
-                for (int c = 5; c < 36; c++) {
-                    if (outputArray[index + c] > maxScore) {
-                        maxScore = outputArray[index + c];
-                        classId = c - 5;  // 클래스 ID는 5번째 인덱스부터 시작
-                    }
-                }
-
-                // 바운딩 박스와 클래스 정보 저장
-                Detection detection = new Detection(xCenter, yCenter, width, height, classId, confidence);
-                detections.add(detection);
-            }
-        }
-
-        // NMS(Non-Maximum Suppression) 적용
-        return applyNonMaximumSuppression(detections);
+    // 가장 최근의 안정된 탐지 결과 (분석기가 아직 없으면 빈 결과)
+    public DetectionResult getLatestDetections() {
+        return detectionAnalyzer != null ? detectionAnalyzer.getLatestResult() : DetectionResult.EMPTY;
     }
 
-    // NMS(Non-Maximum Suppression) 적용 메서드
-    private List<Detection> applyNonMaximumSuppression(List<Detection> detections) {
-        List<Detection> result = new ArrayList<>();
-        Collections.sort(detections, (a, b) -> Float.compare(b.confidence, a.confidence));
-
-        for (Detection detection : detections) {
-            boolean keep = true;
-            for (Detection res : result) {
-                if (iou(detection, res) > NMS_THRESHOLD) {
-                    keep = false;
-                    break;
-                }
-            }
-            if (keep) {
-                result.add(detection);
-            }
+    // 탐지 결과를 안내용 문자열로 변환
+    public String describe(DetectionResult result) {
+        int best = result.bestIndex();
+        if (best < 0) {
+            return "인식된 상품이 없습니다";
         }
-        return result;
-    }
-
-    // IOU(Intersection over Union) 계산
-    private float iou(Detection box1, Detection box2) {
-        float intersectionArea = Math.max(0, Math.min(box1.x + box1.width, box2.x + box2.width) - Math.max(box1.x, box2.x)) *
-                Math.max(0, Math.min(box1.y + box1.height, box2.y + box2.height) - Math.max(box1.y, box2.y));
-        float unionArea = box1.width * box1.height + box2.width * box2.height - intersectionArea;
-        return intersectionArea / unionArea;
+        int classId = result.getClassId(best);
+        // 상품 목록은 앱 시작 때 백그라운드에서 읽으므로 아직이면 모델 라벨로 안내
+        ProductCatalog productCatalog = ProductCatalog.getIfLoaded();
+        return productCatalog != null ? productCatalog.getDisplayName(classId) : ProductCatalog.MODEL_LABELS[classId];
     }
 
-    private String saveImageToExternalStorage(Bitmap bitmap) {
-        File storageDir = new File(getContext().getExternalFilesDir(Environment.DIRECTORY_PICTURES), "MyApp");
-        if (!storageDir.exists() && !storageDir.mkdirs()) {
-            Log.e("CameraFragment", "Failed to create directory");
-            return null;
+    @Override
+    public void onResume() {
+        super.onResume();
+        if (metricsOverlay != null) {
+            metricsOverlay.start();
         }
+    }
 
-        String fileName = "captured_image.jpg";
-        File imageFile = new File(storageDir, fileName);
-        try (FileOutputStream fos = new FileOutputStream(imageFile)) {
-            bitmap.compress(Bitmap.CompressFormat.JPEG, 100, fos);
-            return Uri.fromFile(imageFile).toString();
-        } catch (IOException e) {
-            Log.e("CameraFragment", "Error saving image to external storage", e);
-            return null;
+    @Override
+    public void onPause() {
+        super.onPause();
+        if (metricsOverlay != null) {
+            metricsOverlay.stop();
         }
     }
 
     @Override
     public void onDestroy() {
         super.onDestroy();
+        if (powerMonitor != null) {
+            powerMonitor.stop();
+        }
+        if (capturePersister != null) {
+            // 대기 중인 저장이 끝나면 Bitmap 은 풀로 돌아오고, 풀과 함께 GC 된다
+            capturePersister.shutdown();
+        }
         if (cameraExecutor != null) {
             cameraExecutor.shutdown();
         }
     }
-
-    // Detection 클래스 (바운딩 박스와 클래스 정보 저장)
-    static class Detection {
-        float x, y, width, height;
-        int classId;
-        float confidence;
-
-        public Detection(float x, float y, float width, float height, int classId, float confidence) {
-            this.x = x;
-            this.y = y;
-            this.width = width;
-            this.height = height;
-            this.classId = classId;
-            this.confidence = confidence;
-        }
-    }
-}
\ No newline at end of file
+}
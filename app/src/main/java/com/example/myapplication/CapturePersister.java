@@ -0,0 +1,193 @@
+package com.example.myapplication;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.net.Uri;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 촬영한 Bitmap 을 전용 스레드에서 JPEG 로 인코딩해 저장하는 저장기
+// 파일 이름은 save() 호출 시점에 바로 정해지므로 호출한 쪽은 디스크 I/O 를 기다리지 않고 URI 를 쓸 수 있다.
+// 임시 파일에 쓴 뒤 rename 하므로 다른 곳에서 반쯤 쓰인 JPEG 를 읽는 일이 없다.
+// 대기열이 가득 차면 새 요청은 저장하지 않고 null 을 반환하며, 폴더에는 최근 maxFiles 개만 남긴다.
+// 저장이 끝난 Bitmap 과 축소용 Bitmap 은 BitmapPool 에 돌려주므로 연속 촬영에서도 새로 할당하지 않는다.
+public final class CapturePersister {
+
+    private static final String TAG = "CapturePersister";
+    private static final String PREFIX = "capture_";
+    private static final String EXTENSION = ".jpg";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    public static final int DEFAULT_QUALITY = 90;
+    public static final int DEFAULT_MAX_DIMENSION = 1280;
+    public static final int DEFAULT_QUEUE_CAPACITY = 2;
+    public static final int DEFAULT_MAX_FILES = 20;
+
+    interface StreamWriter {
+        void write(OutputStream stream) throws IOException;
+    }
+
+    private final File directory;
+    private final int quality;
+    private final int maxDimension;
+    private final int maxFiles;
+    private final BitmapPool bitmapPool;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger sequence = new AtomicInteger();
+    // 축소용 (저장 스레드에서 처음 축소할 때 만든다)
+    private Canvas canvas;
+    private Matrix scaleMatrix;
+    private Paint filterPaint;
+
+    public CapturePersister(File directory, BitmapPool bitmapPool) {
+        this(directory, bitmapPool, DEFAULT_QUALITY, DEFAULT_MAX_DIMENSION, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_FILES);
+    }
+
+    // maxDimension 이 0 이면 원본 크기로 저장
+    public CapturePersister(File directory, BitmapPool bitmapPool, int quality, int maxDimension, int queueCapacity,
+                            int maxFiles) {
+        this.directory = directory;
+        this.bitmapPool = bitmapPool;
+        this.quality = quality;
+        this.maxDimension = maxDimension;
+        this.maxFiles = maxFiles;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "capture-persister");
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 저장될 파일의 URI 를 바로 반환하고 인코딩/쓰기는 백그라운드에서 한다 (bitmap 은 저장기가 소유하고 풀에 돌려준다)
+    // 대기열이 가득 찼거나 종료된 뒤라 저장하지 않으면 null
+    public String save(Bitmap bitmap) {
+        File target = new File(directory, fileName(System.currentTimeMillis(), sequence.getAndIncrement()));
+        if (!enqueue(new SaveTask(bitmap, target))) {
+            Log.w(TAG, "Capture queue full, not saving " + target.getName());
+            bitmapPool.release(bitmap);
+            return null;
+        }
+        return Uri.fromFile(target).toString();
+    }
+
+    // 대기열에 넣지 못하면 false (이미 돌려준 URI 가 나중에 사라지지 않도록 새 요청 쪽을 버린다)
+    boolean enqueue(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    // 대기 중인 저장은 마저 끝내고 스레드를 정리
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // 같은 밀리초에 여러 번 찍어도 겹치지 않고, 이름순이 곧 촬영순이 되는 파일 이름
+    static String fileName(long timeMillis, int sequence) {
+        String time = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS", Locale.US).format(new Date(timeMillis));
+        return PREFIX + time + "_" + String.format(Locale.US, "%04d", sequence % 10000) + EXTENSION;
+    }
+
+    // target 옆의 임시 파일에 쓰고 동기화한 뒤 rename. 실패하면 임시 파일을 지우고 false
+    static boolean writeAtomically(File target, StreamWriter writer) {
+        File parent = target.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            Log.e(TAG, "Failed to create directory " + parent);
+            return false;
+        }
+        File temp = new File(parent, target.getName() + TEMP_SUFFIX);
+        try (FileOutputStream stream = new FileOutputStream(temp)) {
+            writer.write(stream);
+            stream.getFD().sync();
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing " + target, e);
+            temp.delete();
+            return false;
+        }
+        if (!temp.renameTo(target)) {
+            Log.e(TAG, "Failed to rename " + temp + " to " + target);
+            temp.delete();
+            return false;
+        }
+        return true;
+    }
+
+    // 이름순(= 촬영순)으로 오래된 캡처부터 지워 maxFiles 개만 남긴다
+    static void enforceRetention(File directory, int maxFiles) {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(EXTENSION));
+        if (files == null || files.length <= maxFiles) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> a.getName().compareTo(b.getName()));
+        for (int i = 0; i < files.length - maxFiles; i++) {
+            if (!files[i].delete()) {
+                Log.w(TAG, "Failed to delete old capture " + files[i]);
+            }
+        }
+    }
+
+    private Bitmap downscale(Bitmap bitmap) {
+        int largest = Math.max(bitmap.getWidth(), bitmap.getHeight());
+        if (maxDimension <= 0 || largest <= maxDimension) {
+            return bitmap;
+        }
+        float scale = maxDimension / (float) largest;
+        int width = Math.round(bitmap.getWidth() * scale);
+        int height = Math.round(bitmap.getHeight() * scale);
+        Bitmap scaled = bitmapPool.acquire(width, height, Bitmap.Config.ARGB_8888);
+        if (canvas == null) {
+            canvas = new Canvas();
+            scaleMatrix = new Matrix();
+            filterPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        }
+        scaleMatrix.setScale(width / (float) bitmap.getWidth(), height / (float) bitmap.getHeight());
+        canvas.setBitmap(scaled);
+        canvas.drawBitmap(bitmap, scaleMatrix, filterPaint);
+        canvas.setBitmap(null);
+        return scaled;
+    }
+
+    private final class SaveTask implements Runnable {
+        final Bitmap bitmap;
+        final File target;
+
+        SaveTask(Bitmap bitmap, File target) {
+            this.bitmap = bitmap;
+            this.target = target;
+        }
+
+        @Override
+        public void run() {
+            Bitmap scaled = downscale(bitmap);
+            try {
+                if (writeAtomically(target, stream -> scaled.compress(Bitmap.CompressFormat.JPEG, quality, stream))) {
+                    enforceRetention(directory, maxFiles);
+                }
+            } finally {
+                if (scaled != bitmap) {
+                    bitmapPool.release(scaled);
+                }
+                bitmapPool.release(bitmap);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.myapplication;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.tensorflow.lite.DataType;
+import org.tensorflow.lite.Delegate;
+import org.tensorflow.lite.Interpreter;
+import org.tensorflow.lite.Tensor;
+import org.tensorflow.lite.support.common.FileUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 2단계 분류기: 검출기가 찾은 상자를 원본 해상도 프레임에서 잘라 작은 분류 모델로 다시 분류한다
+// 640 입력으로 줄인 전체 프레임에서는 뭉개지는 글자/로고 차이(sesameSoup1 과 sesameSoup3 등)를 크롭에서는 볼 수 있다.
+// 상위 MAX_CROPS 개 상자를 배치 하나로 묶어 인터프리터를 한 번만 실행한다.
+// 모델(assets/crop_classifier.tflite, 입력 [B, S, S, 3], 출력 [B, 클래스 수])이 없으면 만들지 않는다.
+// 분석 스레드 하나에서만 사용할 것.
+public final class CropClassifier {
+
+    private static final String TAG = "CropClassifier";
+    static final String ASSET_NAME = "crop_classifier.tflite";
+
+    public static final int MAX_CROPS = 4;
+    // 상자 긴 변에 이만큼 여유를 두고 정사각형으로 자른다 (포장 가장자리의 글자까지 보이도록)
+    static final float CROP_MARGIN = 1.15f;
+
+    private final Interpreter interpreter;
+    private final List<Delegate> delegates = new ArrayList<>();
+    private final YuvToTensorConverter converter;
+    private final ByteBuffer outputBuffer;
+    private final FloatBuffer outputFloats;
+    private final DataType outputType;
+    private final float outputScale;
+    private final int outputZeroPoint;
+    private final int numClasses;
+    private final float[] probabilities;
+    private final int[] classIds = new int[MAX_CROPS];
+    private final float[] scores = new float[MAX_CROPS];
+    private final float[] crop = new float[4];
+
+    public static boolean isAvailable(Context context) {
+        try {
+            String[] assets = context.getAssets().list("");
+            return assets != null && Arrays.asList(assets).contains(ASSET_NAME);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // 입력 버퍼는 pool 에서 빌리며 close() 에서 돌려준다
+    public CropClassifier(Context context, TensorBufferPool pool) throws IOException {
+        MappedByteBuffer model = FileUtil.loadMappedFile(context, ASSET_NAME);
+        // 크롭 분류 모델은 작아서 delegate 준비 비용이 더 크므로 CPU(XNNPACK) 로 실행한다
+        interpreter = new BackendInterpreters(model, BackendInterpreters.defaultThreadCount())
+                .create(InferenceBackend.CPU, delegates);
+        int[] inputShape = interpreter.getInputTensor(0).shape();
+        if (inputShape[0] != MAX_CROPS) {
+            interpreter.resizeInput(0, new int[]{MAX_CROPS, inputShape[1], inputShape[2], inputShape[3]});
+        }
+        interpreter.allocateTensors();
+
+        Tensor inputTensor = interpreter.getInputTensor(0);
+        int cropSize = inputTensor.shape()[1];
+        DataType inputType = inputTensor.dataType();
+        if (inputType == DataType.FLOAT32) {
+            converter = new YuvToTensorConverter(cropSize, YuvToTensorConverter.OutputType.FLOAT32,
+                    1f / 255f, 0, MAX_CROPS, pool);
+        } else {
+            converter = new YuvToTensorConverter(cropSize, inputType == DataType.INT8
+                    ? YuvToTensorConverter.OutputType.INT8 : YuvToTensorConverter.OutputType.UINT8,
+                    inputTensor.quantizationParams().getScale(), inputTensor.quantizationParams().getZeroPoint(),
+                    MAX_CROPS, pool);
+        }
+
+        Tensor outputTensor = interpreter.getOutputTensor(0);
+        numClasses = outputTensor.shape()[1];
+        outputType = outputTensor.dataType();
+        outputScale = outputTensor.quantizationParams().getScale();
+        outputZeroPoint = outputTensor.quantizationParams().getZeroPoint();
+        outputBuffer = ByteBuffer.allocateDirect(outputTensor.numBytes()).order(ByteOrder.nativeOrder());
+        outputFloats = outputType == DataType.FLOAT32 ? outputBuffer.asFloatBuffer() : null;
+        probabilities = new float[MAX_CROPS * numClasses];
+        Log.d(TAG, "Crop classifier " + cropSize + "x" + cropSize + ", " + numClasses + " classes, " + inputType);
+    }
+
+    public int getNumClasses() {
+        return numClasses;
+    }
+
+    // boxes 의 앞쪽(점수 상위) 상자를 원본 프레임에서 잘라 배치 입력에 채우고, 채운 개수를 반환한다
+    public int prepareCrops(ByteBuffer yPlane, ByteBuffer uPlane, ByteBuffer vPlane,
+                            int width, int height, int yRowStride, int uvRowStride, int uvPixelStride,
+                            int rotationDegrees, Detections boxes) {
+        boolean swap = rotationDegrees % 180 != 0;
+        int rotatedWidth = swap ? height : width;
+        int rotatedHeight = swap ? width : height;
+        int count = Math.min(boxes.size(), MAX_CROPS);
+        for (int i = 0; i < count; i++) {
+            squareCrop(boxes.getLeft(i), boxes.getTop(i), boxes.getRight(i), boxes.getBottom(i),
+                    rotatedWidth, rotatedHeight, crop);
+            converter.convertCrop(yPlane, uPlane, vPlane, width, height, yRowStride, uvRowStride, uvPixelStride,
+                    rotationDegrees, crop[0], crop[1], crop[2], crop[3], i);
+        }
+        return count;
+    }
+
+    // prepareCrops() 로 채운 배치를 한 번에 분류한다. 결과는 getClassId()/getScore() 로 읽는다
+    // 배치 크기는 MAX_CROPS 로 고정 (크기를 바꾸면 텐서를 다시 할당하므로 빈 슬롯도 그대로 실행한다)
+    public void classify(int count) {
+        outputBuffer.rewind();
+        interpreter.run(converter.getOutputBuffer(), outputBuffer);
+        for (int i = 0; i < count * numClasses; i++) {
+            probabilities[i] = outputFloats != null
+                    ? outputFloats.get(i)
+                    : (rawOutput(i) - outputZeroPoint) * outputScale;
+        }
+        for (int c = 0; c < count; c++) {
+            int offset = c * numClasses;
+            toProbabilities(probabilities, offset, numClasses);
+            int best = 0;
+            for (int k = 1; k < numClasses; k++) {
+                if (probabilities[offset + k] > probabilities[offset + best]) {
+                    best = k;
+                }
+            }
+            classIds[c] = best;
+            scores[c] = probabilities[offset + best];
+        }
+    }
+
+    public int getClassId(int index) {
+        return classIds[index];
+    }
+
+    public float getScore(int index) {
+        return scores[index];
+    }
+
+    public void close() {
+        interpreter.close();
+        BackendInterpreters.closeAll(delegates);
+        converter.release();
+    }
+
+    private int rawOutput(int index) {
+        byte value = outputBuffer.get(index);
+        return outputType == DataType.INT8 ? value : value & 0xFF;
+    }
+
+    // 상자 중심을 기준으로 긴 변 * CROP_MARGIN 크기의 정사각형을 잡고, 가능하면 프레임 안으로 밀어 넣는다
+    static void squareCrop(float left, float top, float right, float bottom, int frameWidth, int frameHeight,
+                           float[] out) {
+        float side = Math.max(right - left, bottom - top) * CROP_MARGIN;
+        side = Math.min(side, Math.min(frameWidth, frameHeight));
+        float cropLeft = (left + right - side) / 2f;
+        float cropTop = (top + bottom - side) / 2f;
+        cropLeft = Math.max(0f, Math.min(cropLeft, frameWidth - side));
+        cropTop = Math.max(0f, Math.min(cropTop, frameHeight - side));
+        out[0] = cropLeft;
+        out[1] = cropTop;
+        out[2] = cropLeft + side;
+        out[3] = cropTop + side;
+    }
+
+    // 출력이 이미 확률(0..1, 합 1)이면 그대로 두고, 아니면 로짓으로 보고 softmax 를 적용한다
+    static void toProbabilities(float[] values, int offset, int length) {
+        float sum = 0f;
+        float max = Float.NEGATIVE_INFINITY;
+        boolean inRange = true;
+        for (int i = offset; i < offset + length; i++) {
+            float value = values[i];
+            sum += value;
+            max = Math.max(max, value);
+            inRange &= value >= 0f && value <= 1f;
+        }
+        if (inRange && Math.abs(sum - 1f) < 0.05f) {
+            return;
+        }
+        sum = 0f;
+        for (int i = offset; i < offset + length; i++) {
+            values[i] = (float) Math.exp(values[i] - max);
+            sum += values[i];
+        }
+        for (int i = offset; i < offset + length; i++) {
+            values[i] /= sum;
+        }
+    }
+}
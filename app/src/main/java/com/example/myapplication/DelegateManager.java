@@ -0,0 +1,67 @@
+package com.example.myapplication;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.List;
+
+// 기기 모델별로 가장 빠른 TFLite 백엔드를 골라 저장해 두는 관리자
+// 첫 실행 때 CPU(XNNPACK)/GPU/NNAPI 를 벤치마크해서 CPU 결과와 수치가 맞는 것 중 가장 빠른 것을 고르고,
+// 이후 실행에서는 저장된 선택을 그대로 쓴다. 선택한 백엔드가 실패하면 CPU 로 되돌리고 그 결과도 저장한다.
+public class DelegateManager {
+
+    private static final String TAG = "DelegateManager";
+    private static final String PREFS_NAME = "DELEGATE_PREFS";
+
+    private static final int WARM_UP_RUNS = 2;
+    private static final int TIMED_RUNS = 5;
+    // CPU 결과 대비 허용 오차 (GPU 의 fp16 연산 오차 정도)
+    private static final float TOLERANCE = 0.02f;
+
+    private static final List<InferenceBackend> CANDIDATES =
+            Arrays.asList(InferenceBackend.CPU, InferenceBackend.GPU, InferenceBackend.NNAPI);
+
+    private final SharedPreferences sharedPreferences;
+    private final String backendKey;
+
+    public DelegateManager(Context context, String modelFile) {
+        sharedPreferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        // 모델 파일이 바뀌면 다시 벤치마크하도록 키에 포함
+        backendKey = "BACKEND_" + Build.MANUFACTURER + "_" + Build.MODEL + "_" + modelFile;
+    }
+
+    // 저장된 선택이 있으면 그것을, 없으면 벤치마크 후 선택해서 저장
+    public InferenceBackend selectBackend(BackendBenchmark.RunnerFactory factory) {
+        String saved = sharedPreferences.getString(backendKey, null);
+        if (saved != null) {
+            try {
+                return InferenceBackend.valueOf(saved);
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Unknown saved backend " + saved);
+            }
+        }
+
+        BackendBenchmark benchmark = new BackendBenchmark(factory, WARM_UP_RUNS, TIMED_RUNS, TOLERANCE);
+        List<BackendBenchmark.Result> results = benchmark.run(CANDIDATES);
+        for (BackendBenchmark.Result result : results) {
+            Log.d(TAG, result.toString());
+        }
+        InferenceBackend selected = benchmark.selectFastest(results);
+        Log.d(TAG, "Selected backend " + selected + " for " + Build.MODEL);
+        saveBackend(selected);
+        return selected;
+    }
+
+    // 선택한 백엔드로 인터프리터를 만들지 못했을 때 호출. 이후에는 CPU 를 사용
+    public void reportFailure(InferenceBackend backend, Exception e) {
+        Log.w(TAG, "Backend " + backend + " failed, falling back to CPU", e);
+        saveBackend(InferenceBackend.CPU);
+    }
+
+    private void saveBackend(InferenceBackend backend) {
+        sharedPreferences.edit().putString(backendKey, backend.name()).apply();
+    }
+}
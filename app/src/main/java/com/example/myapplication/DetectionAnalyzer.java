@@ -0,0 +1,359 @@
+package com.example.myapplication;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+
+import org.tensorflow.lite.DataType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// CameraX ImageAnalysis 프레임으로 YOLOv8 모델을 실행하는 분석기
+// STRATEGY_KEEP_ONLY_LATEST 와 함께 쓰이므로 추론 중에 들어온 프레임은 큐에 쌓이지 않고 버려진다.
+// 2단계 분류기(CropClassifier)가 있으면 검출기가 찾은 상위 상자를 원본 해상도에서 잘라 클래스를 다시 정한다.
+// 모델 실행 여부는 InferenceScheduler 가 움직임과 전원 상태로 정하고, 건너뛴 프레임은 ObjectTracker 가 박스를 이어 간다.
+public class DetectionAnalyzer implements ImageAnalysis.Analyzer {
+
+    public interface OnDetectionListener {
+        // 분석 스레드에서 호출되므로 UI 작업은 직접 하지 말 것
+        void onDetectionsUpdated(DetectionResult result);
+    }
+
+    public interface OnBurstListener {
+        // 분석 스레드에서 호출된다. frame 은 가장 선명했던 프레임 (BitmapPool 이 없거나 프레임이 없으면 null)
+        // 이며, 받은 쪽이 BitmapPool 에 돌려줘야 한다
+        void onBurstResult(DetectionResult result, @Nullable Bitmap frame);
+    }
+
+    private static final String TAG = "DetectionAnalyzer";
+
+    private static final int INPUT_SIZE = 640;
+
+    private static final float CONFIDENCE_THRESHOLD = 0.25f;
+    private static final float NMS_THRESHOLD = 0.45f;
+    private static final int MAX_CANDIDATES = 300;  // NMS 전에 점수 상위만 남길 후보 수
+
+    // 추적: 트랙 매칭 IoU, 클래스 점수 평균 가중치, 같은 클래스가 연속으로 1위여야 하는 모델 실행 수,
+    // 탐지 없이 트랙을 유지할 모델 실행 수
+    private static final float TRACK_IOU_THRESHOLD = 0.3f;
+    private static final float SCORE_SMOOTHING = 0.4f;
+    private static final int STABLE_FRAMES = 3;
+    private static final int MAX_MISSES = 2;
+
+    // 버스트 촬영: 최근 프레임을 링 버퍼에 두고, 촬영 요청 시 BURST_WINDOW_NANOS 안에서
+    // 가장 선명한 BURST_DETECT_FRAMES 개만 모델로 돌려 결과를 합친다
+    private static final int BURST_CAPACITY = 8;  // 30fps 에서 약 270ms
+    private static final long BURST_WINDOW_NANOS = 500_000_000L;
+    private static final int BURST_DETECT_FRAMES = 2;
+    private static final float FUSION_IOU_THRESHOLD = 0.5f;
+
+    // 크롭 분류기의 확률이 이 이상일 때만 검출기의 클래스를 바꾼다
+    private static final float CLASSIFIER_MIN_SCORE = 0.5f;
+
+    // 이 프레임 수마다 스케줄러 상태와 단계별 시간을 로그로 남긴다
+    private static final int STATS_LOG_FRAMES = 300;
+
+    private final Context context;
+    private final OnDetectionListener listener;
+    private final AtomicReference<DetectionResult> latestResult = new AtomicReference<>(DetectionResult.EMPTY);
+    private final Detections candidates = new Detections(256);
+    private final Detections detections = new Detections(64);
+    private final NonMaxSuppression nonMaxSuppression =
+            new NonMaxSuppression(NMS_THRESHOLD, NonMaxSuppression.Mode.PER_CLASS, MAX_CANDIDATES);
+    private final MotionEstimator motionEstimator = new MotionEstimator();
+    private final InferenceScheduler scheduler = new InferenceScheduler();
+    private final PipelineTimings timings = new PipelineTimings();
+    private final LongAdder frameCounter = MetricsRegistry.getInstance().counter(MetricsRegistry.CAMERA_FRAMES);
+    private final LatencyHistogram frameInterval =
+            MetricsRegistry.getInstance().histogram(MetricsRegistry.CAMERA_FRAME_INTERVAL);
+    private long lastFrameTimestamp;
+    private final BurstFrameBuffer burstBuffer = new BurstFrameBuffer(BURST_CAPACITY);
+    private final BurstFrameBuffer.Frame[] burstFrames = new BurstFrameBuffer.Frame[BURST_DETECT_FRAMES];
+    private final Detections[] burstDetections = new Detections[BURST_DETECT_FRAMES];
+    private final Detections fusedDetections = new Detections(64);
+    private final DetectionFusion fusion = new DetectionFusion(FUSION_IOU_THRESHOLD);
+    private final AtomicReference<OnBurstListener> burstRequest = new AtomicReference<>();
+    // 검출기 입력, 크롭 배치 입력, 촬영 프레임 변환이 함께 쓰는 버퍼 풀
+    private final TensorBufferPool bufferPool;
+    private final BitmapPool bitmapPool;
+    private final FrameBitmapRenderer frameRenderer = new FrameBitmapRenderer();
+    // 마지막 버스트에서 가장 선명했던 프레임 (없으면 null)
+    private BurstFrameBuffer.Frame bestBurstFrame;
+
+    // 모델 입력/출력 형식을 알아야 하므로 첫 프레임에서 생성
+    private YuvToTensorConverter converter;
+    private YoloV8Decoder decoder;
+    private ByteBuffer outputBuffer;
+    private FloatBuffer outputFloats;
+    private CropClassifier cropClassifier;
+
+    private ObjectTracker tracker;
+
+    public DetectionAnalyzer(@NonNull Context context, OnDetectionListener listener) {
+        this(context, listener, new TensorBufferPool(), null);
+    }
+
+    // bitmapPool 이 있으면 버스트 결과와 함께 가장 선명한 프레임을 Bitmap 으로 넘겨준다
+    public DetectionAnalyzer(@NonNull Context context, OnDetectionListener listener,
+                             @NonNull TensorBufferPool bufferPool, @Nullable BitmapPool bitmapPool) {
+        this.context = context.getApplicationContext();
+        this.listener = listener;
+        this.bufferPool = bufferPool;
+        this.bitmapPool = bitmapPool;
+        for (int i = 0; i < burstDetections.length; i++) {
+            burstDetections[i] = new Detections(64);
+        }
+    }
+
+    // 가장 최근의 안정된 탐지 결과 (어느 스레드에서든 호출 가능)
+    public DetectionResult getLatestResult() {
+        return latestResult.get();
+    }
+
+    // 전원 상태 전달과 실행 간격/건너뛴 비율 조회용
+    public InferenceScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public PipelineTimings getTimings() {
+        return timings;
+    }
+
+    // 다음 분석 프레임에서 최근 프레임 중 선명한 것들로 다시 탐지해 listener 로 알려 준다 (어느 스레드에서든 호출 가능)
+    public void requestBurst(OnBurstListener listener) {
+        burstRequest.set(listener);
+    }
+
+    @Override
+    public void analyze(@NonNull ImageProxy image) {
+        try {
+            long timestamp = image.getImageInfo().getTimestamp();
+            frameCounter.increment();
+            if (lastFrameTimestamp != 0) {
+                // 센서 타임스탬프 간격 (분석이 늦어 버려진 프레임이 있으면 길어진다)
+                frameInterval.record(timestamp - lastFrameTimestamp);
+            }
+            lastFrameTimestamp = timestamp;
+            long start = System.nanoTime();
+            ImageProxy.PlaneProxy[] planes = image.getPlanes();
+            int rotation = image.getImageInfo().getRotationDegrees();
+            float motion = motionEstimator.measure(planes[0].getBuffer(), image.getWidth(), image.getHeight(),
+                    planes[0].getRowStride());
+            boolean runModel = scheduler.shouldRun(motion) || tracker == null;
+            timings.record(PipelineTimings.Stage.MOTION, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            burstBuffer.offer(planes[0].getBuffer(), planes[1].getBuffer(), planes[2].getBuffer(),
+                    image.getWidth(), image.getHeight(), planes[0].getRowStride(), planes[1].getRowStride(),
+                    planes[1].getPixelStride(), rotation, timestamp);
+            timings.record(PipelineTimings.Stage.BUFFER, System.nanoTime() - start);
+
+            if (runModel) {
+                if (!detect(planes[0].getBuffer(), planes[1].getBuffer(), planes[2].getBuffer(),
+                        image.getWidth(), image.getHeight(), planes[0].getRowStride(), planes[1].getRowStride(),
+                        planes[1].getPixelStride(), rotation, detections)) {
+                    // 모델을 못 돌려도 촬영 요청에는 답해야 버튼을 누른 사용자가 결과를 듣는다
+                    answerBurstWithoutModel(burstRequest, latestResult.get());
+                    return;
+                }
+                start = System.nanoTime();
+                tracker.update(detections, timestamp);
+            } else {
+                start = System.nanoTime();
+                tracker.predict(timestamp);
+            }
+            DetectionResult result = tracker.snapshot(timestamp);
+            timings.record(PipelineTimings.Stage.TRACK, System.nanoTime() - start);
+            publish(result);
+
+            OnBurstListener burstListener = burstRequest.getAndSet(null);
+            if (burstListener != null) {
+                DetectionResult burstResult = detectBurst(timestamp);
+                Bitmap frame = bitmapPool != null && bestBurstFrame != null
+                        ? frameRenderer.render(bestBurstFrame, bitmapPool, bufferPool) : null;
+                burstListener.onBurstResult(burstResult, frame);
+            }
+
+            if (scheduler.getFrameCount() % STATS_LOG_FRAMES == 0) {
+                Log.d(TAG, "interval " + scheduler.getCurrentInterval()
+                        + ", skip " + Math.round(scheduler.getSkipRatio() * 100) + "%, " + timings);
+            }
+        } finally {
+            // 닫아야 다음 프레임이 전달된다
+            image.close();
+        }
+    }
+
+    // 탐지가 실패한 프레임에서 대기 중인 촬영 요청이 있으면 최근 추적 결과와 프레임 없이 답한다
+    static void answerBurstWithoutModel(AtomicReference<OnBurstListener> request, DetectionResult fallback) {
+        OnBurstListener burstListener = request.getAndSet(null);
+        if (burstListener != null) {
+            burstListener.onBurstResult(fallback, null);
+        }
+    }
+
+    // 링 버퍼에서 가장 선명한 프레임들로 탐지하고 결과를 합친다. 실패하면 최근 추적 결과
+    private DetectionResult detectBurst(long timestamp) {
+        int selected = burstBuffer.selectBest(timestamp - BURST_WINDOW_NANOS, burstFrames);
+        bestBurstFrame = selected > 0 ? burstFrames[0] : null;
+        int detected = 0;
+        for (int i = 0; i < selected; i++) {
+            BurstFrameBuffer.Frame frame = burstFrames[i];
+            if (!detect(frame.getY(), frame.getU(), frame.getV(), frame.getWidth(), frame.getHeight(),
+                    frame.getYRowStride(), frame.getUvRowStride(), frame.getUvPixelStride(),
+                    frame.getRotationDegrees(), burstDetections[detected])) {
+                break;
+            }
+            detected++;
+        }
+        if (detected == 0) {
+            return latestResult.get();
+        }
+        fusion.fuse(burstDetections, detected, CONFIDENCE_THRESHOLD, fusedDetections);
+        Log.d(TAG, "Burst fused " + detected + " of " + burstBuffer.size() + " frames, best sharpness "
+                + burstFrames[0].getSharpness());
+        return DetectionResult.fromDetections(fusedDetections, burstFrames[0].getTimestampNanos());
+    }
+
+    // 성공하면 NMS 까지 거친 결과가 out 에 담긴다
+    private boolean detect(ByteBuffer yPlane, ByteBuffer uPlane, ByteBuffer vPlane, int width, int height,
+                           int yRowStride, int uvRowStride, int uvPixelStride, int rotationDegrees,
+                           Detections out) {
+        try {
+            ModelHolder model = ModelHolder.getInstance(context);
+            if (decoder == null) {
+                prepare(model);
+            }
+
+            // Y/U/V 평면을 재사용 입력 버퍼로 바로 변환 (회전과 레터박스 포함)
+            long start = System.nanoTime();
+            ByteBuffer input = converter.convert(yPlane, uPlane, vPlane, width, height,
+                    yRowStride, uvRowStride, uvPixelStride, rotationDegrees);
+
+            timings.record(PipelineTimings.Stage.CONVERT, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            outputBuffer.rewind();
+            model.run(input, outputBuffer);
+            timings.record(PipelineTimings.Stage.INFERENCE, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            if (outputFloats != null) {
+                decoder.decode(outputFloats, CONFIDENCE_THRESHOLD, converter.getLetterbox(), candidates);
+            } else {
+                decoder.decodeQuantized(outputBuffer, model.getOutputDataType() == DataType.INT8,
+                        model.getOutputScale(), model.getOutputZeroPoint(),
+                        CONFIDENCE_THRESHOLD, converter.getLetterbox(), candidates);
+            }
+            timings.record(PipelineTimings.Stage.DECODE, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            nonMaxSuppression.apply(candidates, out);
+            timings.record(PipelineTimings.Stage.NMS, System.nanoTime() - start);
+
+            if (cropClassifier != null && out.size() > 0
+                    && refine(yPlane, uPlane, vPlane, width, height, yRowStride, uvRowStride, uvPixelStride,
+                    rotationDegrees, out)) {
+                // 클래스가 바뀌어 같은 클래스가 된 겹친 상자가 둘 다 남지 않도록 다시 억제한다
+                start = System.nanoTime();
+                suppressAgain(nonMaxSuppression, out, candidates);
+                timings.record(PipelineTimings.Stage.NMS, System.nanoTime() - start);
+            }
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Error running model inference", e);
+            return false;
+        }
+    }
+
+    // 점수 상위 상자를 원본 해상도 크롭으로 다시 분류해, 분류기가 확신하면 클래스와 점수를 바꾼다
+    // 클래스가 바뀐 상자가 있으면 true
+    private boolean refine(ByteBuffer yPlane, ByteBuffer uPlane, ByteBuffer vPlane, int width, int height,
+                        int yRowStride, int uvRowStride, int uvPixelStride, int rotationDegrees,
+                        Detections out) {
+        long start = System.nanoTime();
+        int crops = cropClassifier.prepareCrops(yPlane, uPlane, vPlane, width, height,
+                yRowStride, uvRowStride, uvPixelStride, rotationDegrees, out);
+        timings.record(PipelineTimings.Stage.CROP, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        cropClassifier.classify(crops);
+        timings.record(PipelineTimings.Stage.CLASSIFY, System.nanoTime() - start);
+
+        boolean relabeled = false;
+        for (int i = 0; i < crops; i++) {
+            float score = cropClassifier.getScore(i);
+            if (score >= CLASSIFIER_MIN_SCORE) {
+                // 검출 점수(포장이 있는가)와 분류 확률(어느 상품인가)의 기하 평균
+                int classId = cropClassifier.getClassId(i);
+                relabeled |= classId != out.getClassId(i);
+                out.setClassId(i, classId);
+                out.setScore(i, (float) Math.sqrt(out.getScore(i) * score));
+            }
+        }
+        return relabeled;
+    }
+
+    // detections 를 scratch 로 옮긴 뒤 NMS 를 다시 돌려 detections 에 담는다
+    static int suppressAgain(NonMaxSuppression nms, Detections detections, Detections scratch) {
+        scratch.clear();
+        for (int i = 0; i < detections.size(); i++) {
+            scratch.add(detections.getLeft(i), detections.getTop(i), detections.getRight(i),
+                    detections.getBottom(i), detections.getScore(i), detections.getClassId(i));
+        }
+        return nms.apply(scratch, detections);
+    }
+
+    // 모델 변형(float/양자화)에 맞춰 입력 변환기와 출력 버퍼를 만든다
+    private void prepare(ModelHolder model) {
+        DataType inputType = model.getInputDataType();
+        if (inputType == DataType.FLOAT32) {
+            converter = new YuvToTensorConverter(INPUT_SIZE, YuvToTensorConverter.OutputType.FLOAT32,
+                    1f / 255f, 0, 1, bufferPool);
+        } else {
+            YuvToTensorConverter.OutputType outputType = inputType == DataType.INT8
+                    ? YuvToTensorConverter.OutputType.INT8 : YuvToTensorConverter.OutputType.UINT8;
+            converter = new YuvToTensorConverter(INPUT_SIZE, outputType,
+                    model.getInputScale(), model.getInputZeroPoint(), 1, bufferPool);
+        }
+
+        decoder = YoloV8Decoder.forOutputShape(model.getOutputShape(), INPUT_SIZE);
+        outputBuffer = ByteBuffer.allocateDirect(model.getOutputBytes()).order(ByteOrder.nativeOrder());
+        outputFloats = model.getOutputDataType() == DataType.FLOAT32 ? outputBuffer.asFloatBuffer() : null;
+        tracker = new ObjectTracker(decoder.getNumClasses(), TRACK_IOU_THRESHOLD, SCORE_SMOOTHING,
+                STABLE_FRAMES, MAX_MISSES);
+
+        if (CropClassifier.isAvailable(context)) {
+            try {
+                CropClassifier classifier = new CropClassifier(context, bufferPool);
+                // 클래스 번호를 그대로 바꿔 쓰므로 검출기와 같은 라벨 목록이어야 한다
+                if (classifier.getNumClasses() == decoder.getNumClasses()) {
+                    cropClassifier = classifier;
+                } else {
+                    Log.w(TAG, "Crop classifier has " + classifier.getNumClasses() + " classes, detector has "
+                            + decoder.getNumClasses() + "; skipping second stage");
+                    classifier.close();
+                }
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Error loading crop classifier", e);
+            }
+        }
+    }
+
+    private void publish(DetectionResult result) {
+        latestResult.set(result);
+        if (listener != null) {
+            listener.onDetectionsUpdated(result);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.myapplication;
+
+// 한 프레임의 탐지 결과 스냅샷 (분석 스레드에서 만들어져 다른 스레드로 그대로 전달되므로 불변)
+public final class DetectionResult {
+
+    public static final DetectionResult EMPTY =
+            new DetectionResult(new int[0], new float[0], new float[0], new int[0], 0L);
+
+    private final int[] classIds;
+    private final float[] scores;
+    private final float[] boxes;  // 탐지 하나당 원본 프레임 좌표의 (left, top, right, bottom)
+    private final int[] trackIds;  // 추적기를 거치지 않은 결과면 -1
+    private final long timestampNanos;
+
+    DetectionResult(int[] classIds, float[] scores, float[] boxes, int[] trackIds, long timestampNanos) {
+        this.classIds = classIds;
+        this.scores = scores;
+        this.boxes = boxes;
+        this.trackIds = trackIds;
+        this.timestampNanos = timestampNanos;
+    }
+
+    // 분석 스레드의 재사용 컨테이너를 복사해 불변 스냅샷을 만든다
+    static DetectionResult fromDetections(Detections detections, long timestampNanos) {
+        int count = detections.size();
+        int[] classIds = new int[count];
+        float[] scores = new float[count];
+        float[] boxes = new float[count * 4];
+        int[] trackIds = new int[count];
+        for (int i = 0; i < count; i++) {
+            trackIds[i] = -1;
+            classIds[i] = detections.getClassId(i);
+            scores[i] = detections.getScore(i);
+            boxes[i * 4] = detections.getLeft(i);
+            boxes[i * 4 + 1] = detections.getTop(i);
+            boxes[i * 4 + 2] = detections.getRight(i);
+            boxes[i * 4 + 3] = detections.getBottom(i);
+        }
+        return new DetectionResult(classIds, scores, boxes, trackIds, timestampNanos);
+    }
+
+    public int size() {
+        return classIds.length;
+    }
+
+    public boolean isEmpty() {
+        return classIds.length == 0;
+    }
+
+    public int getClassId(int index) {
+        return classIds[index];
+    }
+
+    public float getScore(int index) {
+        return scores[index];
+    }
+
+    public int getTrackId(int index) {
+        return trackIds[index];
+    }
+
+    public float getBoxValue(int index, int component) {
+        return boxes[index * 4 + component];
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    // 신뢰도가 가장 높은 탐지의 인덱스 (없으면 -1)
+    public int bestIndex() {
+        int best = -1;
+        for (int i = 0; i < scores.length; i++) {
+            if (best < 0 || scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
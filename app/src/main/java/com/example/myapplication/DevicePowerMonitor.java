@@ -0,0 +1,91 @@
+package com.example.myapplication;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.PowerManager;
+
+import androidx.core.content.ContextCompat;
+
+// 열 상태, 배터리 잔량, 절전 모드 변화를 InferenceScheduler 에 전달한다
+// start()/stop() 은 메인 스레드에서 호출할 것.
+public final class DevicePowerMonitor {
+
+    // 충전 중이 아니면서 이 비율 이하면 배터리 부족으로 본다
+    private static final float LOW_BATTERY_RATIO = 0.15f;
+
+    private final Context context;
+    private final InferenceScheduler scheduler;
+    private final PowerManager powerManager;
+
+    private PowerManager.OnThermalStatusChangedListener thermalListener;
+    private boolean batteryLow;
+    private boolean started;
+
+    private final BroadcastReceiver powerReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            if (Intent.ACTION_BATTERY_CHANGED.equals(intent.getAction())) {
+                batteryLow = isBatteryLow(intent);
+            }
+            updateLowPower();
+        }
+    };
+
+    public DevicePowerMonitor(Context context, InferenceScheduler scheduler) {
+        this.context = context.getApplicationContext();
+        this.scheduler = scheduler;
+        this.powerManager = (PowerManager) this.context.getSystemService(Context.POWER_SERVICE);
+    }
+
+    public void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        if (powerManager != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            thermalListener = scheduler::setThermalStatus;
+            powerManager.addThermalStatusListener(ContextCompat.getMainExecutor(context), thermalListener);
+            scheduler.setThermalStatus(powerManager.getCurrentThermalStatus());
+        }
+
+        IntentFilter filter = new IntentFilter(Intent.ACTION_BATTERY_CHANGED);
+        filter.addAction(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED);
+        // ACTION_BATTERY_CHANGED 는 sticky 라 등록하자마자 현재 상태가 돌아온다
+        Intent battery = context.registerReceiver(powerReceiver, filter);
+        if (battery != null) {
+            batteryLow = isBatteryLow(battery);
+        }
+        updateLowPower();
+    }
+
+    public void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        if (thermalListener != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            powerManager.removeThermalStatusListener(thermalListener);
+            thermalListener = null;
+        }
+        context.unregisterReceiver(powerReceiver);
+    }
+
+    private void updateLowPower() {
+        boolean powerSave = powerManager != null && powerManager.isPowerSaveMode();
+        scheduler.setLowPower(batteryLow || powerSave);
+    }
+
+    private static boolean isBatteryLow(Intent battery) {
+        int level = battery.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+        int scale = battery.getIntExtra(BatteryManager.EXTRA_SCALE, -1);
+        int status = battery.getIntExtra(BatteryManager.EXTRA_STATUS, -1);
+        boolean charging = status == BatteryManager.BATTERY_STATUS_CHARGING
+                || status == BatteryManager.BATTERY_STATUS_FULL;
+        return !charging && level >= 0 && scale > 0 && level / (float) scale <= LOW_BATTERY_RATIO;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.myapplication;
+
+import android.graphics.Bitmap;
+
+import java.nio.ByteBuffer;
+
+// 분석 프레임(YUV_420_888)을 회전까지 적용한 ARGB_8888 Bitmap 으로 옮긴다 (촬영 결과 저장용)
+// RGBA 바이트는 TensorBufferPool 에서 빌린 direct 버퍼에 쓰고, copyPixelsFromBuffer() 로 BitmapPool 의 Bitmap 에 복사한다.
+// 좌표 테이블은 해상도가 커질 때만 다시 만든다. 한 스레드에서만 사용할 것.
+public final class FrameBitmapRenderer {
+
+    private int[] yRowTerm = new int[0];
+    private int[] yColTerm = new int[0];
+    private int[] uvRowTerm = new int[0];
+    private int[] uvColTerm = new int[0];
+
+    // 반환된 Bitmap 은 호출한 쪽이 bitmapPool 에 돌려줘야 한다
+    public Bitmap render(BurstFrameBuffer.Frame frame, BitmapPool bitmapPool, TensorBufferPool bufferPool) {
+        boolean swap = frame.getRotationDegrees() % 180 != 0;
+        int rotatedWidth = swap ? frame.getHeight() : frame.getWidth();
+        int rotatedHeight = swap ? frame.getWidth() : frame.getHeight();
+        ByteBuffer rgba = bufferPool.acquire(rotatedWidth * rotatedHeight * 4);
+        try {
+            writeRgba(frame.getY(), frame.getU(), frame.getV(), frame.getWidth(), frame.getHeight(),
+                    frame.getYRowStride(), frame.getUvRowStride(), frame.getUvPixelStride(),
+                    frame.getRotationDegrees(), rgba);
+            Bitmap bitmap = bitmapPool.acquire(rotatedWidth, rotatedHeight, Bitmap.Config.ARGB_8888);
+            rgba.rewind();
+            bitmap.copyPixelsFromBuffer(rgba);
+            return bitmap;
+        } finally {
+            bufferPool.release(rgba);
+        }
+    }
+
+    // 회전된 프레임을 RGBA 바이트 (ARGB_8888 Bitmap 의 메모리 순서) 로 out 에 쓴다
+    void writeRgba(ByteBuffer yPlane, ByteBuffer uPlane, ByteBuffer vPlane, int width, int height,
+                   int yRowStride, int uvRowStride, int uvPixelStride, int rotationDegrees, ByteBuffer out) {
+        int rotation = YuvToTensorConverter.normalizeRotation(rotationDegrees);
+        boolean swap = rotation == 90 || rotation == 270;
+        int rotatedWidth = swap ? height : width;
+        int rotatedHeight = swap ? width : height;
+        int size = Math.max(rotatedWidth, rotatedHeight);
+        if (yRowTerm.length < size) {
+            yRowTerm = new int[size];
+            yColTerm = new int[size];
+            uvRowTerm = new int[size];
+            uvColTerm = new int[size];
+        }
+        for (int d = 0; d < size; d++) {
+            YuvToTensorConverter.fillTerms(d, Math.min(d, rotatedWidth - 1), Math.min(d, rotatedHeight - 1),
+                    rotation, width, height, yRowStride, uvRowStride, uvPixelStride,
+                    yRowTerm, yColTerm, uvRowTerm, uvColTerm);
+        }
+
+        int index = 0;
+        for (int dy = 0; dy < rotatedHeight; dy++) {
+            int yRow = yRowTerm[dy];
+            int uvRow = uvRowTerm[dy];
+            for (int dx = 0; dx < rotatedWidth; dx++) {
+                int luma = yPlane.get(yRow + yColTerm[dx]) & 0xFF;
+                int uvIndex = uvRow + uvColTerm[dx];
+                int u = (uPlane.get(uvIndex) & 0xFF) - 128;
+                int v = (vPlane.get(uvIndex) & 0xFF) - 128;
+                // YuvToTensorConverter 와 같은 BT.601 full range 변환
+                out.put(index, (byte) clamp(luma + ((1436 * v) >> 10)));
+                out.put(index + 1, (byte) clamp(luma - ((352 * u + 731 * v) >> 10)));
+                out.put(index + 2, (byte) clamp(luma + ((1815 * u) >> 10)));
+                out.put(index + 3, (byte) 0xFF);
+                index += 4;
+            }
+        }
+    }
+
+    private static int clamp(int value) {
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.myapplication;
+
+import java.nio.ByteBuffer;
+
+// Y 평면으로 프레임의 선명도(라플라시안 분산)와 노출 점수를 잰다
+// 상품이 놓이는 가운데 영역만 SAMPLE_STEP 간격으로 보므로 프레임당 수천 픽셀만 읽는다.
+// 한 스레드에서만 사용할 것 (결과를 필드에 담아 할당 없이 돌려준다).
+public final class FrameQuality {
+
+    private static final int SAMPLE_STEP = 4;       // 샘플 간격 (라플라시안 자체는 바로 옆 픽셀로 계산)
+    private static final float CENTER_FRACTION = 0.6f;
+    private static final int DARK_LIMIT = 16;
+    private static final int BRIGHT_LIMIT = 239;
+
+    private float sharpness;
+    private float exposure;
+
+    // 측정 결과는 getSharpness()/getExposure() 로 읽는다
+    public void measure(ByteBuffer yPlane, int width, int height, int rowStride) {
+        int marginX = Math.max(1, Math.round(width * (1 - CENTER_FRACTION) / 2));
+        int marginY = Math.max(1, Math.round(height * (1 - CENTER_FRACTION) / 2));
+        long count = 0;
+        double sum = 0;
+        double sumSquares = 0;
+        long lumaSum = 0;
+        long clipped = 0;
+        for (int y = marginY; y < height - marginY; y += SAMPLE_STEP) {
+            int row = y * rowStride;
+            for (int x = marginX; x < width - marginX; x += SAMPLE_STEP) {
+                int center = yPlane.get(row + x) & 0xFF;
+                int laplacian = (yPlane.get(row + x - 1) & 0xFF)
+                        + (yPlane.get(row + x + 1) & 0xFF)
+                        + (yPlane.get(row - rowStride + x) & 0xFF)
+                        + (yPlane.get(row + rowStride + x) & 0xFF)
+                        - 4 * center;
+                sum += laplacian;
+                sumSquares += (double) laplacian * laplacian;
+                lumaSum += center;
+                if (center < DARK_LIMIT || center > BRIGHT_LIMIT) {
+                    clipped++;
+                }
+                count++;
+            }
+        }
+        if (count == 0) {
+            sharpness = 0f;
+            exposure = 0f;
+            return;
+        }
+        double mean = sum / count;
+        sharpness = (float) (sumSquares / count - mean * mean);
+        // 평균 밝기가 가운데(128)에서 멀수록, 날아가거나 묻힌 픽셀이 많을수록 낮다 (0..1)
+        float meanLuma = lumaSum / (float) count;
+        float balance = 1f - Math.abs(meanLuma - 128f) / 128f;
+        exposure = Math.max(0f, balance * (1f - clipped / (float) count));
+    }
+
+    public float getSharpness() {
+        return sharpness;
+    }
+
+    public float getExposure() {
+        return exposure;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.myapplication;
+
+// TFLite 추론에 사용할 하드웨어 백엔드
+public enum InferenceBackend {
+    CPU,    // XNNPACK + 멀티스레드
+    GPU,    // GPU delegate
+    NNAPI   // Android NNAPI delegate
+}
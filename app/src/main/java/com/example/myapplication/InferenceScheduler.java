@@ -0,0 +1,96 @@
+package com.example.myapplication;
+
+import android.os.PowerManager;
+
+// 프레임마다 모델을 돌릴지 결정하는 스케줄러
+// 장면이 멈춰 있으면 STATIC_INTERVAL 프레임마다 한 번만 새로 확인하고, 카메라가 움직이면 매 프레임 실행한다.
+// 기기가 뜨거워지거나(열 상태) 배터리가 부족하면 간격을 배수로 늘린다.
+// shouldRun() 은 분석 스레드에서만, 전원 상태 setter 와 통계 getter 는 어느 스레드에서든 호출 가능.
+public final class InferenceScheduler {
+
+    // 움직임 (샘플당 평균 밝기 차이) 기준
+    static final float STATIC_MOTION = 2f;
+    static final float MOVING_MOTION = 8f;
+
+    // 프레임 간격: 움직일 때, 보통, 멈춰 있을 때
+    static final int MOVING_INTERVAL = 1;
+    static final int NORMAL_INTERVAL = 2;
+    static final int STATIC_INTERVAL = 15;
+
+    private volatile int thermalStatus = PowerManager.THERMAL_STATUS_NONE;
+    private volatile boolean lowPower;
+
+    // 마지막 실행 이후 지나간 프레임 수와 누적 움직임
+    private int framesSinceRun = Integer.MAX_VALUE / 2;
+    private float motionSinceRun;
+
+    private volatile int currentInterval = NORMAL_INTERVAL;
+    private volatile float lastMotion;
+    private volatile long frameCount;
+    private volatile long skippedCount;
+
+    // PowerManager.THERMAL_STATUS_* 값
+    public void setThermalStatus(int status) {
+        thermalStatus = status;
+    }
+
+    // 배터리 부족 또는 절전 모드
+    public void setLowPower(boolean lowPower) {
+        this.lowPower = lowPower;
+    }
+
+    // motion 은 MotionEstimator.measure() 결과
+    public boolean shouldRun(float motion) {
+        frameCount++;
+        framesSinceRun++;
+        motionSinceRun += motion;
+        lastMotion = motion;
+
+        int interval;
+        if (motion >= MOVING_MOTION) {
+            interval = MOVING_INTERVAL;
+        } else if (motionSinceRun < STATIC_MOTION) {
+            // 마지막 실행 이후 누적해서도 거의 변하지 않았으면 가끔만 다시 확인
+            interval = STATIC_INTERVAL;
+        } else {
+            interval = NORMAL_INTERVAL;
+        }
+        interval *= throttleFactor();
+        currentInterval = interval;
+
+        if (framesSinceRun >= interval) {
+            framesSinceRun = 0;
+            motionSinceRun = 0f;
+            return true;
+        }
+        skippedCount++;
+        return false;
+    }
+
+    // 열 상태와 배터리 상태에 따른 간격 배수
+    int throttleFactor() {
+        int status = thermalStatus;
+        int factor = status >= PowerManager.THERMAL_STATUS_SEVERE ? 4
+                : status >= PowerManager.THERMAL_STATUS_MODERATE ? 2 : 1;
+        return lowPower ? factor * 2 : factor;
+    }
+
+    // 현재 실행 간격 (프레임 수)
+    public int getCurrentInterval() {
+        return currentInterval;
+    }
+
+    public float getLastMotion() {
+        return lastMotion;
+    }
+
+    // 지금까지 건너뛴 프레임 비율 (0..1)
+    public float getSkipRatio() {
+        long frames = frameCount;
+        return frames == 0 ? 0f : skippedCount / (float) frames;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+}
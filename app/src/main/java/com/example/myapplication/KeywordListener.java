@@ -0,0 +1,189 @@
+package com.example.myapplication;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.media.AudioFormat;
+import android.media.AudioRecord;
+import android.media.MediaRecorder;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// 마이크를 열어 두고 KeywordSpotter 로 정해진 명령어를 계속 찾는 녹음기
+// 네트워크나 SpeechRecognizer 를 거치지 않으므로 명령어는 말이 끝나고 몇백 ms 안에 알려 준다.
+// 템플릿은 assets/keywords/<명령어>/*.wav (16kHz, 모노, 16비트) 에서 읽는다.
+// start()/stop() 은 메인 스레드에서 호출하고, 찾은 명령어도 메인 스레드로 알려 준다.
+public final class KeywordListener {
+
+    private static final String TAG = "KeywordListener";
+
+    public static final int SAMPLE_RATE = 16000;
+    static final String TEMPLATE_DIR = "keywords";
+    private static final int CHUNK_SAMPLES = 320;  // 20ms
+
+    public interface OnKeywordListener {
+        void onKeyword(String keyword);
+    }
+
+    private final AssetManager assets;
+    private final OnKeywordListener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private KeywordSpotter spotter;  // 녹음 스레드에서 처음 시작할 때 만든다
+    private Thread thread;
+    private volatile boolean running;
+
+    public KeywordListener(Context context, OnKeywordListener listener) {
+        this.assets = context.getAssets();
+        this.listener = listener;
+    }
+
+    // 명령어 템플릿이 하나라도 들어 있으면 true
+    public static boolean hasTemplates(Context context) {
+        try {
+            String[] keywords = context.getAssets().list(TEMPLATE_DIR);
+            return keywords != null && keywords.length > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public void start() {
+        // 템플릿이 없거나 마이크 오류로 녹음 스레드가 먼저 끝났으면 다시 시작할 수 있어야 한다
+        if (thread != null && thread.isAlive()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "keyword-listener");
+        thread.start();
+    }
+
+    // 녹음을 멈추고 마이크를 놓을 때까지 기다린다 (바로 SpeechRecognizer 가 마이크를 쓸 수 있도록)
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    private void run() {
+        if (spotter == null) {
+            KeywordSpotter loaded = new KeywordSpotter(SAMPLE_RATE);
+            int count = loadTemplates(assets, loaded);
+            Log.d(TAG, "Loaded " + count + " keyword templates");
+            if (count == 0) {
+                return;
+            }
+            spotter = loaded;
+        }
+        spotter.reset();
+
+        int minBuffer = AudioRecord.getMinBufferSize(SAMPLE_RATE, AudioFormat.CHANNEL_IN_MONO,
+                AudioFormat.ENCODING_PCM_16BIT);
+        AudioRecord record;
+        try {
+            record = new AudioRecord(MediaRecorder.AudioSource.VOICE_RECOGNITION, SAMPLE_RATE,
+                    AudioFormat.CHANNEL_IN_MONO, AudioFormat.ENCODING_PCM_16BIT,
+                    Math.max(minBuffer, CHUNK_SAMPLES * 2 * 4));
+        } catch (SecurityException | IllegalArgumentException e) {
+            Log.e(TAG, "Cannot open microphone", e);
+            return;
+        }
+        if (record.getState() != AudioRecord.STATE_INITIALIZED) {
+            Log.e(TAG, "AudioRecord not initialized");
+            record.release();
+            return;
+        }
+
+        short[] chunk = new short[CHUNK_SAMPLES];
+        long audioSamples = 0;
+        long busyNanos = 0;
+        try {
+            record.startRecording();
+            while (running) {
+                int read = record.read(chunk, 0, chunk.length);
+                if (read <= 0) {
+                    Log.e(TAG, "AudioRecord read failed: " + read);
+                    break;
+                }
+                long start = SystemClock.elapsedRealtimeNanos();
+                KeywordSpotter.Detection detection = spotter.feed(chunk, 0, read);
+                busyNanos += SystemClock.elapsedRealtimeNanos() - start;
+                audioSamples += read;
+                if (detection != null) {
+                    String keyword = detection.keyword;
+                    Log.d(TAG, "Keyword " + keyword + " (cost " + detection.cost + ")");
+                    mainHandler.post(() -> {
+                        if (running) {
+                            listener.onKeyword(keyword);
+                        }
+                    });
+                }
+            }
+        } catch (IllegalStateException e) {
+            Log.e(TAG, "Error while recording", e);
+        } finally {
+            record.release();
+        }
+        if (audioSamples > 0) {
+            Log.d(TAG, String.format("Listened %.1f s, processing %.2f%% of real time, %.0f%% frames active",
+                    audioSamples / (float) SAMPLE_RATE,
+                    100.0 * busyNanos / (audioSamples * 1e9 / SAMPLE_RATE),
+                    100.0 * spotter.getActiveRatio()));
+        }
+    }
+
+    // assets/keywords/<명령어>/ 아래 WAV 를 모두 템플릿으로 추가하고 추가한 수를 반환
+    static int loadTemplates(AssetManager assets, KeywordSpotter spotter) {
+        int count = 0;
+        try {
+            String[] keywords = assets.list(TEMPLATE_DIR);
+            if (keywords == null) {
+                return 0;
+            }
+            for (String keyword : keywords) {
+                String[] files = assets.list(TEMPLATE_DIR + "/" + keyword);
+                if (files == null) {
+                    continue;
+                }
+                for (String file : files) {
+                    String path = TEMPLATE_DIR + "/" + keyword + "/" + file;
+                    WavData wav;
+                    try (InputStream in = assets.open(path)) {
+                        wav = WavData.parse(readAll(in));
+                    }
+                    if (wav == null || wav.sampleRate != SAMPLE_RATE) {
+                        Log.w(TAG, "Skipping template " + path + " (need 16-bit PCM at " + SAMPLE_RATE + " Hz)");
+                    } else if (spotter.addTemplate(keyword, wav.getSamples())) {
+                        count++;
+                    } else {
+                        Log.w(TAG, "Skipping template " + path + " (too short or quiet)");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error loading keyword templates", e);
+        }
+        return count;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
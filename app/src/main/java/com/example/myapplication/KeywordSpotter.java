@@ -0,0 +1,317 @@
+package com.example.myapplication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 녹음해 둔 명령어 템플릿과 마이크 입력의 MFCC 를 스트리밍 DTW 로 비교해 명령어를 찾는다
+// 템플릿마다 DTW 열 하나만 유지하고 프레임(10ms)마다 갱신하므로, 말이 끝나고 SETTLE_FRAMES 뒤에 바로 결과가 나온다.
+// 배경 소음보다 GATE_DB 이상 큰 프레임이 없으면 에너지만 계산하고 MFCC/DTW 는 건너뛴다.
+// 한 스레드(녹음 스레드)에서만 사용할 것.
+public final class KeywordSpotter {
+
+    public static final float DEFAULT_THRESHOLD = 2.2f;  // 경로 길이로 나눈 평균 프레임 거리
+
+    private static final float GATE_DB = 9f;             // 배경 소음보다 이만큼 크면 음성으로 본다
+    private static final float MIN_SPEECH_DB = -65f;
+    private static final float FLOOR_RISE = 0.002f;      // 소음 기준이 올라가는 속도 (프레임당)
+    private static final int HANGOVER_FRAMES = 20;       // 조용해진 뒤에도 DTW 를 계속하는 프레임 수
+    private static final int SETTLE_FRAMES = 8;          // 후보가 더 좋아지지 않으면 확정하기까지 기다리는 프레임 수
+    private static final float TEMPLATE_TRIM_DB = 35f;   // 템플릿 앞뒤에서 최대 에너지보다 이만큼 작은 프레임은 잘라낸다
+    private static final float TEMPLATE_MIN_PEAK_DB = -45f;
+    private static final int MIN_TEMPLATE_FRAMES = 10;
+
+    // 찾은 명령어와 그 위치 (샘플 단위, 마지막 reset() 이후 feed() 로 넣은 오디오 기준)
+    public static final class Detection {
+        public final String keyword;
+        public final float cost;
+        public final long startSample;
+        public final long endSample;
+        public final long detectedAtSample;
+
+        Detection(String keyword, float cost, long startSample, long endSample, long detectedAtSample) {
+            this.keyword = keyword;
+            this.cost = cost;
+            this.startSample = startSample;
+            this.endSample = endSample;
+            this.detectedAtSample = detectedAtSample;
+        }
+    }
+
+    private static final class Template {
+        final String keyword;
+        final float[][] frames;
+        float[] cost;
+        float[] previousCost;
+        long[] start;
+        long[] previousStart;
+
+        Template(String keyword, float[][] frames) {
+            this.keyword = keyword;
+            this.frames = frames;
+            cost = new float[frames.length];
+            previousCost = new float[frames.length];
+            start = new long[frames.length];
+            previousStart = new long[frames.length];
+            reset();
+        }
+
+        void reset() {
+            Arrays.fill(cost, Float.POSITIVE_INFINITY);
+            Arrays.fill(previousCost, Float.POSITIVE_INFINITY);
+        }
+    }
+
+    private final MfccExtractor extractor;
+    private final int frameLength;
+    private final int hopLength;
+    private final List<Template> templates = new ArrayList<>();
+    private final short[] buffer;
+    private final float[] features = new float[MfccExtractor.NUM_COEFFICIENTS];
+    private int buffered;
+    private float threshold = DEFAULT_THRESHOLD;
+
+    private long frameIndex;
+    private long processedFrames;
+    private float noiseFloorDb = Float.NaN;
+    private int silentFrames = HANGOVER_FRAMES + 1;
+
+    private String candidateKeyword;
+    private float candidateCost;
+    private long candidateStartFrame;
+    private long candidateEndFrame;
+
+    public KeywordSpotter(int sampleRate) {
+        extractor = new MfccExtractor(sampleRate);
+        frameLength = extractor.getFrameLength();
+        hopLength = extractor.getHopLength();
+        buffer = new short[frameLength + hopLength];
+    }
+
+    public int getSampleRate() {
+        return extractor.getSampleRate();
+    }
+
+    public void setThreshold(float threshold) {
+        this.threshold = threshold;
+    }
+
+    public float getThreshold() {
+        return threshold;
+    }
+
+    // 명령어 한 번을 녹음한 PCM 을 템플릿으로 추가. 너무 짧거나 조용하면 false
+    public boolean addTemplate(String keyword, short[] pcm) {
+        float[][] frames = trimmedFeatures(pcm);
+        if (frames == null) {
+            return false;
+        }
+        templates.add(new Template(keyword, frames));
+        return true;
+    }
+
+    public int getTemplateCount() {
+        return templates.size();
+    }
+
+    // 지금까지 넣은 프레임 중 MFCC/DTW 까지 계산한 비율 (나머지는 에너지만 계산)
+    public float getActiveRatio() {
+        return frameIndex == 0 ? 0f : processedFrames / (float) frameIndex;
+    }
+
+    public long getFrameCount() {
+        return frameIndex;
+    }
+
+    // 녹음된 PCM 을 이어서 넣는다. 이번 조각에서 명령어가 확정되면 반환, 아니면 null
+    public Detection feed(short[] pcm, int offset, int length) {
+        Detection detection = null;
+        int position = offset;
+        int end = offset + length;
+        while (position < end) {
+            int count = Math.min(end - position, buffer.length - buffered);
+            System.arraycopy(pcm, position, buffer, buffered, count);
+            buffered += count;
+            position += count;
+            while (buffered >= frameLength) {
+                Detection found = processFrame();
+                if (detection == null) {
+                    detection = found;
+                }
+                buffered -= hopLength;
+                System.arraycopy(buffer, hopLength, buffer, 0, buffered);
+            }
+        }
+        return detection;
+    }
+
+    // 새 녹음을 시작할 때 호출. 위치와 통계도 다시 0 부터 센다
+    public void reset() {
+        buffered = 0;
+        frameIndex = 0;
+        processedFrames = 0;
+        noiseFloorDb = Float.NaN;
+        silentFrames = HANGOVER_FRAMES + 1;
+        candidateKeyword = null;
+        for (Template template : templates) {
+            template.reset();
+        }
+    }
+
+    private Detection processFrame() {
+        long frame = frameIndex++;
+        float energy = MfccExtractor.energyDb(buffer, 0, frameLength);
+        if (Float.isNaN(noiseFloorDb) || energy < noiseFloorDb) {
+            noiseFloorDb = energy;
+        } else {
+            noiseFloorDb += FLOOR_RISE * (energy - noiseFloorDb);
+        }
+        boolean voiced = energy > noiseFloorDb + GATE_DB && energy > MIN_SPEECH_DB;
+        if (voiced) {
+            silentFrames = 0;
+        } else if (++silentFrames > HANGOVER_FRAMES) {
+            if (silentFrames == HANGOVER_FRAMES + 1) {
+                // 발화가 끝났으므로 남은 후보를 확정하고 DTW 를 비운다
+                Detection detection = takeCandidate(frame);
+                for (Template template : templates) {
+                    template.reset();
+                }
+                return detection;
+            }
+            return null;
+        }
+
+        processedFrames++;
+        extractor.compute(buffer, 0, features);
+        String bestKeyword = null;
+        float bestCost = Float.POSITIVE_INFINITY;
+        long bestStart = 0;
+        for (Template template : templates) {
+            float cost = advance(template, frame);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestKeyword = template.keyword;
+                bestStart = template.start[template.frames.length - 1];
+            }
+        }
+        if (bestCost < threshold && (candidateKeyword == null || bestCost < candidateCost)) {
+            candidateKeyword = bestKeyword;
+            candidateCost = bestCost;
+            candidateStartFrame = bestStart;
+            candidateEndFrame = frame;
+        }
+        if (candidateKeyword != null && frame - candidateEndFrame >= SETTLE_FRAMES) {
+            Detection detection = takeCandidate(frame);
+            // 같은 발화로 다시 찾지 않도록 모든 템플릿을 처음부터 다시 맞춘다
+            for (Template template : templates) {
+                template.reset();
+            }
+            return detection;
+        }
+        return null;
+    }
+
+    private Detection takeCandidate(long frame) {
+        if (candidateKeyword == null) {
+            return null;
+        }
+        Detection detection = new Detection(candidateKeyword, candidateCost,
+                candidateStartFrame * hopLength, candidateEndFrame * hopLength + frameLength,
+                frame * hopLength + frameLength);
+        candidateKeyword = null;
+        return detection;
+    }
+
+    // 입력 프레임 하나만큼 DTW 열을 갱신하고, 템플릿 끝까지 맞춘 경로의 정규화 비용을 반환
+    // 대칭 가중치(대각선 2, 가로/세로 1)를 써서 경로 비용을 (입력 길이 + 템플릿 길이)로 나눈다.
+    // 시작점은 자유롭게 두고(어느 프레임에서든 0 에서 시작) 입력 길이가 템플릿의 절반~두 배인 경로만 인정한다.
+    private float advance(Template template, long frame) {
+        float[] swapCost = template.previousCost;
+        template.previousCost = template.cost;
+        template.cost = swapCost;
+        long[] swapStart = template.previousStart;
+        template.previousStart = template.start;
+        template.start = swapStart;
+
+        float[] previous = template.previousCost;
+        long[] previousStart = template.previousStart;
+        float[] cost = template.cost;
+        long[] start = template.start;
+        float[][] frames = template.frames;
+        for (int i = 0; i < frames.length; i++) {
+            float distance = distance(features, frames[i]);
+            float best;
+            long bestStart;
+            if (i == 0) {
+                best = 2 * distance;
+                bestStart = frame;
+            } else {
+                best = previous[i - 1] + 2 * distance;
+                bestStart = previousStart[i - 1];
+            }
+            float horizontal = previous[i] + distance;
+            if (horizontal < best) {
+                best = horizontal;
+                bestStart = previousStart[i];
+            }
+            if (i > 0) {
+                float vertical = cost[i - 1] + distance;
+                if (vertical < best) {
+                    best = vertical;
+                    bestStart = start[i - 1];
+                }
+            }
+            cost[i] = best;
+            start[i] = bestStart;
+        }
+
+        int last = frames.length - 1;
+        long inputFrames = frame - start[last] + 1;
+        if (inputFrames * 2 < frames.length || inputFrames > 2L * frames.length) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return cost[last] / (inputFrames + frames.length);
+    }
+
+    private static float distance(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            float d = a[i] - b[i];
+            sum += d * d;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    // 템플릿 PCM 의 MFCC 에서 앞뒤 무음 프레임을 잘라낸다
+    private float[][] trimmedFeatures(short[] pcm) {
+        int frameCount = pcm.length < frameLength ? 0 : (pcm.length - frameLength) / hopLength + 1;
+        if (frameCount < MIN_TEMPLATE_FRAMES) {
+            return null;
+        }
+        float[] energies = new float[frameCount];
+        float peak = -Float.MAX_VALUE;
+        for (int f = 0; f < frameCount; f++) {
+            energies[f] = MfccExtractor.energyDb(pcm, f * hopLength, frameLength);
+            peak = Math.max(peak, energies[f]);
+        }
+        if (peak < TEMPLATE_MIN_PEAK_DB) {
+            return null;
+        }
+        int first = 0;
+        while (energies[first] < peak - TEMPLATE_TRIM_DB) {
+            first++;
+        }
+        int last = frameCount - 1;
+        while (energies[last] < peak - TEMPLATE_TRIM_DB) {
+            last--;
+        }
+        if (last - first + 1 < MIN_TEMPLATE_FRAMES) {
+            return null;
+        }
+        float[][] frames = new float[last - first + 1][MfccExtractor.NUM_COEFFICIENTS];
+        for (int f = first; f <= last; f++) {
+            extractor.compute(pcm, f * hopLength, frames[f - first]);
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.myapplication;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 고정 메모리 지연 시간 히스토그램 (HDR 방식 로그-선형 버킷, 나노초 단위)
+// 2 의 거듭제곱 구간마다 16 개 하위 버킷을 두어 상대 오차가 약 6% 이내이고, 약 18 분까지 608 개 버킷으로 담는다.
+// record() 는 락 없이 원자 연산 몇 개로 끝나므로 분석 스레드 같은 핫 패스에서 불러도 된다.
+// 읽기는 snapshot() 으로 (기록과 동시에 읽으면 버킷 합과 count 가 조금 어긋날 수 있다).
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_SHIFT = 36;
+    static final int BUCKET_COUNT = (MAX_SHIFT + 2) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // 다른 스레드가 먼저 바꿨으면 다시 비교
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = buckets.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(name, copy, total, sum.sum(), max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    // 32 미만은 값 그대로, 그 위로는 (최상위 비트 위치, 그 아래 4 비트) 로 버킷을 정한다
+    static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        if (shift > MAX_SHIFT) {
+            return BUCKET_COUNT - 1;
+        }
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    // 버킷에 들어가는 가장 작은 값
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index - shift * SUB_BUCKETS;
+        return mantissa << shift;
+    }
+
+    // 버킷에 들어가는 가장 큰 값
+    static long bucketUpperBound(int index) {
+        return index == BUCKET_COUNT - 1 ? Long.MAX_VALUE : bucketLowerBound(index + 1) - 1;
+    }
+
+    // 한 시점의 히스토그램 복사본 (불변)
+    public static final class Snapshot {
+        private final String name;
+        private final long[] buckets;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(String name, long[] buckets, long count, long sum, long max) {
+            this.name = name;
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMaxNanos() {
+            return max;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : sum / (double) count;
+        }
+
+        // percentile 은 0..100. 해당 순위가 든 버킷의 상한 (최댓값을 넘지 않게) 을 돌려준다
+        public long getPercentileNanos(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -4,14 +4,11 @@ package com.example.myapplication;
 import android.Manifest;
 import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
 import android.os.Bundle;
 import android.os.Vibrator;
 import android.speech.RecognitionListener;
-import android.speech.RecognizerIntent;
 import android.speech.SpeechRecognizer;
-import android.speech.tts.TextToSpeech;
 import android.view.WindowManager;
 import android.widget.Button;
 import android.widget.ImageButton;
@@ -26,22 +23,16 @@ import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
 import java.util.ArrayList;
-import java.util.Locale;
 
-public class MainActivity extends BaseActivity implements TextToSpeech.OnInitListener, CameraFragment.OnImageCapturedListener {
+public class MainActivity extends BaseActivity implements CameraFragment.OnImageCapturedListener {
 
     private static final int REQUEST_CAMERA_PERMISSION = 200;  // 카메라 권한 요청 코드
     private static final int PERMISSIONS_REQUEST_RECORD_AUDIO = 1;  // 오디오 권한 요청 코드
-    private static final String PREFS_NAME = "TTS_PREFS";  // SharedPreferences 파일 이름
-    private static final String SPEED_KEY = "SPEED_KEY";  // TTS 속도 저장 키
 
-    private TextToSpeech tts;  // 텍스트를 음성으로 변환하는 TTS 객체
-    private float speed = 1.4f;  // TTS 초기 속도
+    private SpeechService speechService;  // 앱 전체에서 공유하는 TTS/음성 인식 서비스
     private Vibrator vibrator;  // 진동 기능 객체
-    private SharedPreferences sharedPreferences;  // TTS 속도 저장을 위한 SharedPreferences 객체
     private ActivityResultLauncher<Intent> activityResultLauncher;  // 액티비티 결과 런처
-    private SpeechRecognizer speechRecognizer;  // 음성 인식 객체
-    private Intent speechRecognizerIntent;  // 음성 인식 인텐트
+    private final SpeechRecognitionListener recognitionListener = new SpeechRecognitionListener();
 
     public MainActivity() {
         super(TransitionMode.HORIZON);  // 화면 전환 애니메이션 설정
@@ -51,15 +42,15 @@ public class MainActivity extends BaseActivity implements TextToSpeech.OnInitLis
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+        AppStartup.onFirstActivityCreated(this);
 
         // 화면 켜진 상태 유지
         getWindow().addFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
 
-        sharedPreferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);  // SharedPreferences 초기화
-
         setPermissions();  // 권한 설정
 
-        tts = new TextToSpeech(this, this);  // TTS 초기화
+        speechService = SpeechService.getInstance(this);  // 이미 초기화된 음성 엔진 재사용
+        speechService.onScreenCreated("MainActivity");
         vibrator = (Vibrator) getSystemService(Context.VIBRATOR_SERVICE);  // 진동 서비스 초기화
 
         Button ttsButton = findViewById(R.id.replay);  // 듣기 버튼
@@ -71,8 +62,7 @@ public class MainActivity extends BaseActivity implements TextToSpeech.OnInitLis
                 result -> {
                     if (result.getResultCode() == RESULT_OK && result.getData() != null) {
                         float speed2 = result.getData().getFloatExtra("SPEED2", 1.0f);
-                        setTtsSpeed(speed2);
-                        speed = speed2;
+                        speechService.setSpeechRate(speed2);
                     } else {
                         Toast.makeText(getApplicationContext(), "반환 실패", Toast.LENGTH_SHORT).show();
                     }
@@ -87,6 +77,7 @@ public class MainActivity extends BaseActivity implements TextToSpeech.OnInitLis
             // 카메라 프래그먼트의 captureImage 메소드 호출
             CameraFragment cameraFragment = (CameraFragment) getSupportFragmentManager().findFragmentById(R.id.fragment_container);
             if (cameraFragment != null) {
+                // 결과 안내는 버스트 탐지가 끝난 뒤 onImageCaptured 에서
                 cameraFragment.captureImage();
             }
         });
@@ -100,33 +91,31 @@ public class MainActivity extends BaseActivity implements TextToSpeech.OnInitLis
 
         // TTS 속도 제어 버튼 클릭 리스너 설정
         ttsCtlSlow.setOnClickListener(v -> {
-            speed = Math.max(0.8f, speed - 0.2f);  // 최소 속도
-            if (speed == 0.8f) {
-                tts.speak("티티에스 최저속도", TextToSpeech.QUEUE_FLUSH, null, null);
+            float speed = speechService.getSpeechRate() - SpeechService.RATE_STEP;
+            if (speed <= SpeechService.MIN_RATE) {
+                speechService.speak("티티에스 최저속도", UtteranceQueue.Priority.NORMAL);
             } else {
-                tts.speak("티티에스 느리게", TextToSpeech.QUEUE_FLUSH, null, null);
+                speechService.speak("티티에스 느리게", UtteranceQueue.Priority.NORMAL);
             }
-            setTtsSpeed(speed);
+            speechService.setSpeechRate(speed);
         });
 
         ttsCtlPause.setOnClickListener(v -> {
-            speed = 1.4f;
-            tts.speak("티티에스 기본 속도", TextToSpeech.QUEUE_FLUSH, null, null);
-            setTtsSpeed(speed);
+            speechService.speak("티티에스 기본 속도", UtteranceQueue.Priority.NORMAL);
+            speechService.setSpeechRate(SpeechService.DEFAULT_RATE);
         });
 
         ttsCtlFast.setOnClickListener(v -> {
-            speed = Math.min(2.0f, speed + 0.2f);  // 최대 속도
-            if (speed == 2.0f) {
-                tts.speak("티티에스 최대속도", TextToSpeech.QUEUE_FLUSH, null, null);
+            float speed = speechService.getSpeechRate() + SpeechService.RATE_STEP;
+            if (speed >= SpeechService.MAX_RATE) {
+                speechService.speak("티티에스 최대속도", UtteranceQueue.Priority.NORMAL);
             } else {
-                tts.speak("티티에스 빠르게", TextToSpeech.QUEUE_FLUSH, null, null);
+                speechService.speak("티티에스 빠르게", UtteranceQueue.Priority.NORMAL);
             }
-            setTtsSpeed(speed);
+            speechService.setSpeechRate(speed);
         });
 
         loadCameraFragment();  // 카메라 프래그먼트 로드
-        initSpeechRecognizer();  // 음성 인식 초기화
     }
 
     private void setPermissions() {
@@ -173,17 +162,9 @@ public class MainActivity extends BaseActivity implements TextToSpeech.OnInitLis
         }
     }
 
-    private void initSpeechRecognizer() {
-        speechRecognizer = SpeechRecognizer.createSpeechRecognizer(this);
-        speechRecognizer.setRecognitionListener(new SpeechRecognitionListener());
-        speechRecognizerIntent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
-        speechRecognizerIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
-        speechRecognizerIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, Locale.getDefault());
-    }
-
     private void startListening() {
         if (ContextCompat.checkSelfPermission(this, Manifest.permission.RECORD_AUDIO) == PackageManager.PERMISSION_GRANTED) {
-            speechRecognizer.startListening(speechRecognizerIntent);
+            speechService.startListening(recognitionListener);
         } else {
             Toast.makeText(this, "Audio permission is required to use this feature", Toast.LENGTH_SHORT).show();
             ActivityCompat.requestPermissions(this, new String[]{Manifest.permission.RECORD_AUDIO}, PERMISSIONS_REQUEST_RECORD_AUDIO);
@@ -199,49 +180,22 @@ public class MainActivity extends BaseActivity implements TextToSpeech.OnInitLis
     }
 
     @Override
-    public void onImageCaptured(String imageUri, String classificationResult) {
+    public void onImageCaptured(String imageUri, String classificationResult, int classId) {
+        speechService.speak(classificationResult, UtteranceQueue.Priority.HIGH, MetricsRegistry.CAPTURE_UTTERANCE_ID);
         if (classificationResult != null && !classificationResult.isEmpty()) {
             Intent intent = new Intent(this, NewActivity.class);
             intent.putExtra("imageUri", imageUri);
             intent.putExtra("classificationResult", classificationResult);
+            intent.putExtra("classId", classId);
             activityResultLauncher.launch(intent);
         }
     }
 
     @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            int result = tts.setLanguage(Locale.KOREAN);
-            if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
-                Toast.makeText(MainActivity.this, "한국어를 지원하지 않습니다.", Toast.LENGTH_SHORT).show();
-            } else {
-                speed = sharedPreferences.getFloat(SPEED_KEY, 1.0f);
-                tts.setSpeechRate(speed);
-            }
-        } else {
-            Toast.makeText(MainActivity.this, "TTS 초기화에 실패했습니다.", Toast.LENGTH_SHORT).show();
-        }
-    }
-
-    private void setTtsSpeed(float setSpeed) {
-        if (tts != null) {
-            tts.setSpeechRate(setSpeed);
-            SharedPreferences.Editor editor = sharedPreferences.edit();
-            editor.putFloat(SPEED_KEY, setSpeed);
-            editor.apply();
-        }
-    }
-
-    @Override
-    protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
-        if (speechRecognizer != null) {
-            speechRecognizer.destroy();
-        }
-        super.onDestroy();
+    protected void onPause() {
+        // 엔진은 앱 전체에서 공유하므로 해제하지 않고 이 화면의 인식만 멈춘다
+        speechService.cancelListening();
+        super.onPause();
     }
 
     private class SpeechRecognitionListener implements RecognitionListener {
@@ -0,0 +1,133 @@
+package com.example.myapplication;
+
+import java.util.Arrays;
+
+// 탐지 결과의 mAP (IoU 임계값 하나, VOC 방식 all-point 보간) 를 누적 계산한다
+// 모델 변형 평가 도구에서 이미지마다 addImage() 를 호출한 뒤 meanAveragePrecision() 으로 결과를 얻는다.
+public final class MeanAveragePrecision {
+
+    private final int numClasses;
+    private final float iouThreshold;
+
+    // 클래스별 예측 점수와 정답 여부, 정답 박스 수
+    private final float[][] scores;
+    private final boolean[][] truePositives;
+    private final int[] predictionCounts;
+    private final int[] groundTruthCounts;
+
+    public MeanAveragePrecision(int numClasses, float iouThreshold) {
+        this.numClasses = numClasses;
+        this.iouThreshold = iouThreshold;
+        this.scores = new float[numClasses][16];
+        this.truePositives = new boolean[numClasses][16];
+        this.predictionCounts = new int[numClasses];
+        this.groundTruthCounts = new int[numClasses];
+    }
+
+    // groundTruth 의 점수는 사용하지 않는다
+    public void addImage(Detections predictions, Detections groundTruth) {
+        for (int g = 0; g < groundTruth.size(); g++) {
+            groundTruthCounts[groundTruth.getClassId(g)]++;
+        }
+
+        // 점수가 높은 예측부터 아직 매칭되지 않은 같은 클래스의 정답과 짝짓는다
+        Integer[] order = new Integer[predictions.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(predictions.getScore(b), predictions.getScore(a)));
+        boolean[] matched = new boolean[groundTruth.size()];
+        for (int p : order) {
+            int classId = predictions.getClassId(p);
+            int bestMatch = -1;
+            float bestIou = iouThreshold;
+            for (int g = 0; g < groundTruth.size(); g++) {
+                if (matched[g] || groundTruth.getClassId(g) != classId) {
+                    continue;
+                }
+                float overlap = iou(predictions, p, groundTruth, g);
+                if (overlap >= bestIou) {
+                    bestIou = overlap;
+                    bestMatch = g;
+                }
+            }
+            if (bestMatch >= 0) {
+                matched[bestMatch] = true;
+            }
+            record(classId, predictions.getScore(p), bestMatch >= 0);
+        }
+    }
+
+    // 정답이 하나라도 있는 클래스의 AP 평균
+    public float meanAveragePrecision() {
+        float sum = 0f;
+        int classes = 0;
+        for (int c = 0; c < numClasses; c++) {
+            if (groundTruthCounts[c] > 0) {
+                sum += averagePrecision(c);
+                classes++;
+            }
+        }
+        return classes == 0 ? 0f : sum / classes;
+    }
+
+    public float averagePrecision(int classId) {
+        int count = predictionCounts[classId];
+        int positives = groundTruthCounts[classId];
+        if (positives == 0 || count == 0) {
+            return 0f;
+        }
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        float[] classScores = scores[classId];
+        Arrays.sort(order, (a, b) -> Float.compare(classScores[b], classScores[a]));
+
+        float[] precision = new float[count];
+        float[] recall = new float[count];
+        int tp = 0;
+        for (int i = 0; i < count; i++) {
+            if (truePositives[classId][order[i]]) {
+                tp++;
+            }
+            precision[i] = tp / (float) (i + 1);
+            recall[i] = tp / (float) positives;
+        }
+
+        // 뒤에서부터 precision 을 단조 감소하도록 보정한 뒤 recall 증가분만큼 적분
+        for (int i = count - 2; i >= 0; i--) {
+            precision[i] = Math.max(precision[i], precision[i + 1]);
+        }
+        float ap = 0f;
+        float previousRecall = 0f;
+        for (int i = 0; i < count; i++) {
+            ap += (recall[i] - previousRecall) * precision[i];
+            previousRecall = recall[i];
+        }
+        return ap;
+    }
+
+    private void record(int classId, float score, boolean truePositive) {
+        int count = predictionCounts[classId];
+        if (count == scores[classId].length) {
+            scores[classId] = Arrays.copyOf(scores[classId], count * 2);
+            truePositives[classId] = Arrays.copyOf(truePositives[classId], count * 2);
+        }
+        scores[classId][count] = score;
+        truePositives[classId][count] = truePositive;
+        predictionCounts[classId] = count + 1;
+    }
+
+    private static float iou(Detections a, int i, Detections b, int j) {
+        float intersectionWidth = Math.min(a.getRight(i), b.getRight(j)) - Math.max(a.getLeft(i), b.getLeft(j));
+        float intersectionHeight = Math.min(a.getBottom(i), b.getBottom(j)) - Math.max(a.getTop(i), b.getTop(j));
+        if (intersectionWidth <= 0f || intersectionHeight <= 0f) {
+            return 0f;
+        }
+        float intersection = intersectionWidth * intersectionHeight;
+        float areaA = (a.getRight(i) - a.getLeft(i)) * (a.getBottom(i) - a.getTop(i));
+        float areaB = (b.getRight(j) - b.getLeft(j)) * (b.getBottom(j) - b.getTop(j));
+        return intersection / (areaA + areaB - intersection);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.myapplication;
+
+import android.util.Log;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// MetricsRegistry 의 누적 지표를 주기적으로 앱 저장소(files/metrics)에 JSON 과 CSV 로 내보낸다
+// 파일 이름에 시각이 들어가 이름순이 곧 시간순이며, 형식마다 최근 maxFiles 개만 남긴다.
+// 쓰기는 CapturePersister 와 같은 임시 파일 + rename 이라 adb pull 중에도 반쯤 쓰인 파일이 보이지 않는다.
+public final class MetricsExporter {
+
+    private static final String TAG = "MetricsExporter";
+    private static final String PREFIX = "metrics_";
+
+    public static final long DEFAULT_INTERVAL_MS = 60_000L;
+    public static final int DEFAULT_MAX_FILES = 10;
+
+    private final File directory;
+    private final MetricsRegistry registry;
+    private final long intervalMs;
+    private final int maxFiles;
+    private ScheduledExecutorService executor;
+
+    public MetricsExporter(File directory, MetricsRegistry registry) {
+        this(directory, registry, DEFAULT_INTERVAL_MS, DEFAULT_MAX_FILES);
+    }
+
+    public MetricsExporter(File directory, MetricsRegistry registry, long intervalMs, int maxFiles) {
+        this.directory = directory;
+        this.registry = registry;
+        this.intervalMs = intervalMs;
+        this.maxFiles = maxFiles;
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::exportNow, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    // 지금 시점의 지표를 파일 두 개로 쓴다. 성공하면 true
+    public boolean exportNow() {
+        long now = System.currentTimeMillis();
+        String base = PREFIX + new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.US).format(new Date(now));
+        byte[] json = registry.toJson(now).getBytes(StandardCharsets.UTF_8);
+        byte[] csv = registry.toCsv(now).getBytes(StandardCharsets.UTF_8);
+        boolean jsonWritten = CapturePersister.writeAtomically(new File(directory, base + ".json"),
+                stream -> stream.write(json));
+        boolean csvWritten = CapturePersister.writeAtomically(new File(directory, base + ".csv"),
+                stream -> stream.write(csv));
+        enforceRetention(directory, ".json", maxFiles);
+        enforceRetention(directory, ".csv", maxFiles);
+        return jsonWritten && csvWritten;
+    }
+
+    static void enforceRetention(File directory, String extension, int maxFiles) {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(extension));
+        if (files == null || files.length <= maxFiles) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> a.getName().compareTo(b.getName()));
+        for (int i = 0; i < files.length - maxFiles; i++) {
+            if (!files[i].delete()) {
+                Log.w(TAG, "Failed to delete old metrics " + files[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.myapplication;
+
+import android.graphics.Color;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+// 카메라 화면 위에 주요 지표(p50/p95 ms)를 1초마다 보여 주는 디버그 오버레이
+// 디버그 빌드에서만 붙인다. 메인 스레드에서만 사용할 것.
+public final class MetricsOverlay {
+
+    private static final long REFRESH_MS = 1000L;
+
+    private final TextView textView;
+    private final MetricsRegistry registry;
+    private final Runnable refresh = new Runnable() {
+        @Override
+        public void run() {
+            update();
+            textView.postDelayed(this, REFRESH_MS);
+        }
+    };
+
+    public MetricsOverlay(ViewGroup parent, MetricsRegistry registry) {
+        this.registry = registry;
+        textView = new TextView(parent.getContext());
+        textView.setTextColor(Color.WHITE);
+        textView.setBackgroundColor(0x99000000);
+        textView.setTextSize(11f);
+        textView.setPadding(12, 8, 12, 8);
+        FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT, Gravity.TOP | Gravity.START);
+        parent.addView(textView, params);
+    }
+
+    public void start() {
+        textView.removeCallbacks(refresh);
+        textView.post(refresh);
+    }
+
+    public void stop() {
+        textView.removeCallbacks(refresh);
+    }
+
+    private void update() {
+        textView.setText("frames " + registry.counter(MetricsRegistry.CAMERA_FRAMES).sum()
+                + "  interval " + registry.summarize(MetricsRegistry.CAMERA_FRAME_INTERVAL)
+                + "\nconvert " + registry.summarize(PipelineTimings.histogramName(PipelineTimings.Stage.CONVERT))
+                + "  infer " + registry.summarize(PipelineTimings.histogramName(PipelineTimings.Stage.INFERENCE))
+                + "  nms " + registry.summarize(PipelineTimings.histogramName(PipelineTimings.Stage.NMS))
+                + "\ntts " + registry.summarize(MetricsRegistry.TTS_START_LATENCY)
+                + "  capture→speech " + registry.summarize(MetricsRegistry.CAPTURE_TO_SPEECH)
+                + "  (p50/p95 ms)");
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.myapplication;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 앱 전체 성능 지표 모음 (카운터와 지연 시간 히스토그램)
+// 기록하는 쪽은 이름으로 한 번 찾아 둔 객체를 들고 있다가 쓰므로 핫 패스에 맵 조회도 락도 없다.
+// 분석 단계별 시간은 PipelineTimings 가 "pipeline.<단계>" 히스토그램으로 함께 기록한다.
+public final class MetricsRegistry {
+
+    public static final String CAMERA_FRAMES = "camera.frames";
+    public static final String CAMERA_FRAME_INTERVAL = "camera.frameInterval";
+    public static final String PIPELINE_PREFIX = "pipeline.";
+    // speak() 호출부터 실제로 말하기 시작할 때까지
+    public static final String TTS_START_LATENCY = "tts.startLatency";
+    // 촬영 버튼부터 결과를 말하기 시작할 때까지
+    public static final String CAPTURE_TO_SPEECH = "capture.toSpeech";
+    // 촬영 결과를 말할 때 쓰는 utteranceId (CAPTURE_TO_SPEECH 측정용)
+    public static final String CAPTURE_UTTERANCE_ID = "CAPTURE_RESULT";
+
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final AtomicLong captureStartNanos = new AtomicLong();
+
+    MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    public LongAdder counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    // 촬영 버튼을 누른 시점. 결과를 말하기 시작하면 CAPTURE_TO_SPEECH 에 기록된다
+    public void markCaptureStart() {
+        captureStartNanos.set(System.nanoTime());
+    }
+
+    // SpeechService 가 문장을 말하기 시작할 때 호출
+    public void onUtteranceStarted(String utteranceId, long requestedAtNanos) {
+        long now = System.nanoTime();
+        histogram(TTS_START_LATENCY).record(now - requestedAtNanos);
+        if (CAPTURE_UTTERANCE_ID.equals(utteranceId)) {
+            long start = captureStartNanos.getAndSet(0);
+            if (start != 0) {
+                histogram(CAPTURE_TO_SPEECH).record(now - start);
+            }
+        }
+    }
+
+    // 히스토그램 한 줄 요약 (p50/p95 ms, 기록이 없으면 "-")
+    public String summarize(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null || histogram.getCount() == 0) {
+            return "-";
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        return String.format(Locale.US, "%.1f/%.1f", toMs(snapshot.getPercentileNanos(50)),
+                toMs(snapshot.getPercentileNanos(95)));
+    }
+
+    // {"timeMillis":..., "counters":{...}, "histograms":{"name":{"count":..,"meanMs":..,...}}}
+    public String toJson(long timeMillis) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"timeMillis\":").append(timeMillis).append(",\"counters\":{");
+        boolean first = true;
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet()) {
+            builder.append(first ? "" : ",").append('"').append(entry.getKey()).append("\":")
+                    .append(entry.getValue().sum());
+            first = false;
+        }
+        builder.append("},\"histograms\":{");
+        first = true;
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            builder.append(first ? "" : ",").append('"').append(entry.getKey()).append("\":{")
+                    .append("\"count\":").append(snapshot.getCount())
+                    .append(String.format(Locale.US, ",\"meanMs\":%.3f,\"p50Ms\":%.3f,\"p95Ms\":%.3f,"
+                                    + "\"p99Ms\":%.3f,\"maxMs\":%.3f}",
+                            snapshot.getMeanNanos() / 1e6, toMs(snapshot.getPercentileNanos(50)),
+                            toMs(snapshot.getPercentileNanos(95)), toMs(snapshot.getPercentileNanos(99)),
+                            toMs(snapshot.getMaxNanos())));
+            first = false;
+        }
+        return builder.append("}}").toString();
+    }
+
+    // 지표마다 한 줄. 카운터는 count 만 채운다
+    public String toCsv(long timeMillis) {
+        StringBuilder builder = new StringBuilder("timeMillis,name,type,count,meanMs,p50Ms,p95Ms,p99Ms,maxMs\n");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet()) {
+            builder.append(timeMillis).append(',').append(entry.getKey()).append(",counter,")
+                    .append(entry.getValue().sum()).append(",,,,,\n");
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            builder.append(timeMillis).append(',').append(entry.getKey()).append(",histogram,")
+                    .append(snapshot.getCount())
+                    .append(String.format(Locale.US, ",%.3f,%.3f,%.3f,%.3f,%.3f\n", snapshot.getMeanNanos() / 1e6,
+                            toMs(snapshot.getPercentileNanos(50)), toMs(snapshot.getPercentileNanos(95)),
+                            toMs(snapshot.getPercentileNanos(99)), toMs(snapshot.getMaxNanos())));
+        }
+        return builder.toString();
+    }
+
+    private static double toMs(long nanos) {
+        return nanos / 1e6;
+    }
+}
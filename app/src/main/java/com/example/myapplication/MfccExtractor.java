@@ -0,0 +1,201 @@
+package com.example.myapplication;
+
+import java.util.Arrays;
+
+// 16비트 PCM 프레임에서 MFCC(c1..c12)를 계산한다
+// 25ms 창, 10ms 간격, 26개 멜 필터를 쓴다. FFT 회전 인자와 멜 필터, DCT 행렬은 생성자에서 한 번만 만든다.
+// 프레임 에너지는 FFT 없이 따로 구할 수 있어서 조용한 구간은 에너지만 보고 건너뛸 수 있다.
+// 한 스레드에서만 사용할 것.
+public final class MfccExtractor {
+
+    public static final int NUM_COEFFICIENTS = 12;  // c0(에너지)는 빼고 c1..c12
+
+    private static final int FRAME_MS = 25;
+    private static final int HOP_MS = 10;
+    private static final int NUM_FILTERS = 26;
+    private static final float PRE_EMPHASIS = 0.97f;
+    private static final float LOW_HZ = 100f;
+    private static final double MIN_FILTER_ENERGY = 1e-8;
+
+    private final int sampleRate;
+    private final int frameLength;
+    private final int hopLength;
+    private final int fftSize;
+    private final float[] window;
+    private final int[] bitReverse;
+    private final float[] cos;
+    private final float[] sin;
+    private final int[] filterStart;
+    private final float[][] filterWeights;
+    private final float[][] dct;
+
+    // 매 프레임 재사용하는 작업 버퍼
+    private final float[] real;
+    private final float[] imag;
+    private final float[] power;
+    private final float[] logMel = new float[NUM_FILTERS];
+
+    public MfccExtractor(int sampleRate) {
+        this.sampleRate = sampleRate;
+        frameLength = sampleRate * FRAME_MS / 1000;
+        hopLength = sampleRate * HOP_MS / 1000;
+        int size = 1;
+        while (size < frameLength) {
+            size <<= 1;
+        }
+        fftSize = size;
+
+        window = new float[frameLength];
+        for (int i = 0; i < frameLength; i++) {
+            window[i] = (float) (0.54 - 0.46 * Math.cos(2 * Math.PI * i / (frameLength - 1)));
+        }
+
+        int bits = Integer.numberOfTrailingZeros(fftSize);
+        bitReverse = new int[fftSize];
+        for (int i = 0; i < fftSize; i++) {
+            bitReverse[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+        cos = new float[fftSize / 2];
+        sin = new float[fftSize / 2];
+        for (int i = 0; i < fftSize / 2; i++) {
+            cos[i] = (float) Math.cos(-2 * Math.PI * i / fftSize);
+            sin[i] = (float) Math.sin(-2 * Math.PI * i / fftSize);
+        }
+
+        real = new float[fftSize];
+        imag = new float[fftSize];
+        power = new float[fftSize / 2 + 1];
+
+        // 삼각 멜 필터 (0 이 아닌 구간만 저장)
+        double lowMel = toMel(LOW_HZ);
+        double highMel = toMel(sampleRate / 2.0);
+        int[] edges = new int[NUM_FILTERS + 2];
+        for (int i = 0; i < edges.length; i++) {
+            double hz = toHz(lowMel + (highMel - lowMel) * i / (NUM_FILTERS + 1));
+            edges[i] = (int) Math.floor((fftSize + 1) * hz / sampleRate);
+        }
+        filterStart = new int[NUM_FILTERS];
+        filterWeights = new float[NUM_FILTERS][];
+        for (int f = 0; f < NUM_FILTERS; f++) {
+            int left = edges[f];
+            int center = Math.max(edges[f + 1], left + 1);
+            int right = Math.max(edges[f + 2], center + 1);
+            filterStart[f] = left;
+            filterWeights[f] = new float[right - left];
+            for (int bin = left; bin < right; bin++) {
+                filterWeights[f][bin - left] = bin < center
+                        ? (bin - left) / (float) (center - left)
+                        : (right - bin) / (float) (right - center);
+            }
+        }
+
+        // 정규 직교 DCT-II 의 1..NUM_COEFFICIENTS 행
+        dct = new float[NUM_COEFFICIENTS][NUM_FILTERS];
+        double scale = Math.sqrt(2.0 / NUM_FILTERS);
+        for (int k = 0; k < NUM_COEFFICIENTS; k++) {
+            for (int f = 0; f < NUM_FILTERS; f++) {
+                dct[k][f] = (float) (scale * Math.cos(Math.PI * (k + 1) * (f + 0.5) / NUM_FILTERS));
+            }
+        }
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getFrameLength() {
+        return frameLength;
+    }
+
+    public int getHopLength() {
+        return hopLength;
+    }
+
+    // 프레임의 평균 제곱 에너지 (dB, 16비트 최대 진폭 기준). 무음이면 -100
+    public static float energyDb(short[] samples, int offset, int length) {
+        long sum = 0;
+        for (int i = offset; i < offset + length; i++) {
+            sum += samples[i] * samples[i];
+        }
+        if (sum == 0) {
+            return -100f;
+        }
+        return (float) (10 * Math.log10(sum / (double) length / (32768.0 * 32768.0)));
+    }
+
+    // samples[offset..offset+frameLength) 의 MFCC 를 out[0..NUM_COEFFICIENTS) 에 쓴다
+    public void compute(short[] samples, int offset, float[] out) {
+        float previous = offset > 0 ? samples[offset - 1] : samples[offset];
+        for (int i = 0; i < frameLength; i++) {
+            float sample = samples[offset + i];
+            real[i] = (sample - PRE_EMPHASIS * previous) * window[i] / 32768f;
+            previous = sample;
+        }
+        for (int i = frameLength; i < fftSize; i++) {
+            real[i] = 0f;
+        }
+        Arrays.fill(imag, 0f);
+        fft();
+
+        for (int bin = 0; bin < power.length; bin++) {
+            power[bin] = real[bin] * real[bin] + imag[bin] * imag[bin];
+        }
+        for (int f = 0; f < NUM_FILTERS; f++) {
+            float[] weights = filterWeights[f];
+            int start = filterStart[f];
+            double energy = 0;
+            for (int j = 0; j < weights.length && start + j < power.length; j++) {
+                energy += weights[j] * power[start + j];
+            }
+            logMel[f] = (float) Math.log(Math.max(energy, MIN_FILTER_ENERGY));
+        }
+        for (int k = 0; k < NUM_COEFFICIENTS; k++) {
+            float[] row = dct[k];
+            float sum = 0f;
+            for (int f = 0; f < NUM_FILTERS; f++) {
+                sum += row[f] * logMel[f];
+            }
+            out[k] = sum;
+        }
+    }
+
+    // 제자리 radix-2 FFT (real/imag)
+    private void fft() {
+        for (int i = 0; i < fftSize; i++) {
+            int j = bitReverse[i];
+            if (j > i) {
+                float tr = real[i];
+                real[i] = real[j];
+                real[j] = tr;
+                float ti = imag[i];
+                imag[i] = imag[j];
+                imag[j] = ti;
+            }
+        }
+        for (int half = 1; half < fftSize; half <<= 1) {
+            int step = fftSize / (half * 2);
+            for (int start = 0; start < fftSize; start += half * 2) {
+                for (int k = 0; k < half; k++) {
+                    float wr = cos[k * step];
+                    float wi = sin[k * step];
+                    int a = start + k;
+                    int b = a + half;
+                    float br = real[b] * wr - imag[b] * wi;
+                    float bi = real[b] * wi + imag[b] * wr;
+                    real[b] = real[a] - br;
+                    imag[b] = imag[a] - bi;
+                    real[a] += br;
+                    imag[a] += bi;
+                }
+            }
+        }
+    }
+
+    private static double toMel(double hz) {
+        return 2595 * Math.log10(1 + hz / 700);
+    }
+
+    private static double toHz(double mel) {
+        return 700 * (Math.pow(10, mel / 2595) - 1);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.myapplication;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import org.tensorflow.lite.DataType;
+import org.tensorflow.lite.Delegate;
+import org.tensorflow.lite.Interpreter;
+import org.tensorflow.lite.Tensor;
+import org.tensorflow.lite.support.common.FileUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 앱 프로세스 전체에서 하나의 TFLite 인터프리터를 공유하는 모델 홀더
+// 모델은 assets 에서 한 번만 메모리 매핑(noCompress "tflite")하고, 앱 시작 시 더미 입력으로 워밍업한다.
+// assets 에 여러 변형(INT8/FLOAT16/FLOAT32)이 있으면 저장된 선택 또는 ModelVariant 순서대로 첫 번째 것을 쓴다.
+public final class ModelHolder {
+
+    private static final String TAG = "ModelHolder";
+    private static final String PREFS_NAME = "MODEL_PREFS";
+    private static final String VARIANT_KEY = "MODEL_VARIANT";
+
+    private static volatile ModelHolder instance;
+
+    private final ModelVariant variant;
+    private final Interpreter interpreter;
+    private final InferenceBackend backend;
+    // 인터프리터와 수명을 같이하는 delegate (프로세스가 끝날 때까지 유지)
+    private final List<Delegate> delegates = new ArrayList<>();
+    private final int[] inputShape;
+    private final int[] outputShape;
+    private final Tensor inputTensor;
+    private final Tensor outputTensor;
+    private final long loadTimeMs;
+
+    private long warmUpTimeMs = -1;
+    private long lastInferenceNanos;
+    private long totalInferenceNanos;
+    private long inferenceCount;
+
+    private ModelHolder(Context context) throws IOException {
+        long start = SystemClock.elapsedRealtime();
+        variant = selectVariant(context);
+        MappedByteBuffer modelBuffer = FileUtil.loadMappedFile(context, variant.fileName);
+
+        // 기기에 맞는 백엔드로 인터프리터 생성, 실패하면 CPU 로 대체
+        BackendInterpreters interpreters = new BackendInterpreters(modelBuffer, BackendInterpreters.defaultThreadCount());
+        DelegateManager delegateManager = new DelegateManager(context, variant.fileName);
+        InferenceBackend selected = delegateManager.selectBackend(interpreters);
+        Interpreter created;
+        try {
+            created = interpreters.create(selected, delegates);
+        } catch (RuntimeException e) {
+            BackendInterpreters.closeAll(delegates);
+            delegateManager.reportFailure(selected, e);
+            selected = InferenceBackend.CPU;
+            created = interpreters.create(selected, delegates);
+        }
+        interpreter = created;
+        backend = selected;
+        inputTensor = interpreter.getInputTensor(0);
+        outputTensor = interpreter.getOutputTensor(0);
+        inputShape = inputTensor.shape();
+        outputShape = outputTensor.shape();
+        loadTimeMs = SystemClock.elapsedRealtime() - start;
+        Log.d(TAG, "Model " + variant + " loaded on " + backend + " in " + loadTimeMs + " ms");
+    }
+
+    // 저장된 변형이 assets 에 있으면 그것을, 아니면 ModelVariant 순서대로 처음 발견되는 변형
+    private static ModelVariant selectVariant(Context context) throws IOException {
+        List<String> assets = Arrays.asList(context.getAssets().list(""));
+        String saved = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).getString(VARIANT_KEY, null);
+        if (saved != null) {
+            try {
+                ModelVariant preferred = ModelVariant.valueOf(saved);
+                if (assets.contains(preferred.fileName)) {
+                    return preferred;
+                }
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Unknown saved model variant " + saved);
+            }
+        }
+        for (ModelVariant candidate : ModelVariant.values()) {
+            if (assets.contains(candidate.fileName)) {
+                return candidate;
+            }
+        }
+        // 목록에 없으면 기준 모델로 시도 (없으면 로드 시 IOException)
+        return ModelVariant.FLOAT32;
+    }
+
+    // 다음 프로세스 시작부터 사용할 모델 변형 저장
+    public static void setPreferredVariant(Context context, ModelVariant variant) {
+        context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+                .edit().putString(VARIANT_KEY, variant.name()).apply();
+    }
+
+    // 처음 호출될 때 모델을 로드하고 이후에는 같은 인스턴스를 반환
+    public static ModelHolder getInstance(Context context) throws IOException {
+        ModelHolder result = instance;
+        if (result == null) {
+            synchronized (ModelHolder.class) {
+                result = instance;
+                if (result == null) {
+                    result = new ModelHolder(context.getApplicationContext());
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // 더미 텐서로 한 번 추론해서 그래프 준비와 메모리 할당을 미리 끝내 둔다
+    public synchronized void warmUp() {
+        if (warmUpTimeMs >= 0) {
+            return;
+        }
+        long start = SystemClock.elapsedRealtime();
+        ByteBuffer dummyInput = ByteBuffer.allocateDirect(inputTensor.numBytes()).order(ByteOrder.nativeOrder());
+        ByteBuffer dummyOutput = ByteBuffer.allocateDirect(outputTensor.numBytes()).order(ByteOrder.nativeOrder());
+        interpreter.run(dummyInput, dummyOutput);
+        warmUpTimeMs = SystemClock.elapsedRealtime() - start;
+        Log.d(TAG, "Model warmed up in " + warmUpTimeMs + " ms");
+    }
+
+    // 인터프리터는 스레드 안전하지 않으므로 추론은 직렬화한다
+    public synchronized void run(Object input, Object output) {
+        long start = SystemClock.elapsedRealtimeNanos();
+        interpreter.run(input, output);
+        lastInferenceNanos = SystemClock.elapsedRealtimeNanos() - start;
+        totalInferenceNanos += lastInferenceNanos;
+        inferenceCount++;
+    }
+
+    public int[] getInputShape() {
+        return inputShape.clone();
+    }
+
+    public int[] getOutputShape() {
+        return outputShape.clone();
+    }
+
+    public ModelVariant getVariant() {
+        return variant;
+    }
+
+    // 입력/출력 텐서 형식과 양자화 파라미터 (float32 모델이면 scale 0, zeroPoint 0)
+    public DataType getInputDataType() {
+        return inputTensor.dataType();
+    }
+
+    public float getInputScale() {
+        return inputTensor.quantizationParams().getScale();
+    }
+
+    public int getInputZeroPoint() {
+        return inputTensor.quantizationParams().getZeroPoint();
+    }
+
+    public DataType getOutputDataType() {
+        return outputTensor.dataType();
+    }
+
+    public float getOutputScale() {
+        return outputTensor.quantizationParams().getScale();
+    }
+
+    public int getOutputZeroPoint() {
+        return outputTensor.quantizationParams().getZeroPoint();
+    }
+
+    public int getOutputBytes() {
+        return outputTensor.numBytes();
+    }
+
+    public InferenceBackend getBackend() {
+        return backend;
+    }
+
+    public long getLoadTimeMs() {
+        return loadTimeMs;
+    }
+
+    // 워밍업 전이면 -1
+    public synchronized long getWarmUpTimeMs() {
+        return warmUpTimeMs;
+    }
+
+    public synchronized float getLastInferenceMs() {
+        return lastInferenceNanos / 1_000_000f;
+    }
+
+    public synchronized float getAverageInferenceMs() {
+        return inferenceCount == 0 ? 0f : totalInferenceNanos / 1_000_000f / inferenceCount;
+    }
+
+    public synchronized long getInferenceCount() {
+        return inferenceCount;
+    }
+}
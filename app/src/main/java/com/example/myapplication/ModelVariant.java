@@ -0,0 +1,27 @@
+package com.example.myapplication;
+
+// assets 에 함께 넣을 수 있는 라면/스프 탐지 모델 변형
+// 평가 도구(ModelVariantEvaluator)에서 FLOAT32 대비 mAP 하락이 MAX_MAP_DROP 을 넘는 변형은 배포하지 않는다.
+public enum ModelVariant {
+    INT8("best_int8.tflite"),        // 입력/출력까지 8비트 양자화
+    FLOAT16("best_float16.tflite"),  // 가중치만 fp16, 입력/출력은 float32
+    FLOAT32("best_float32.tflite");  // 기준 모델
+
+    // 허용하는 최대 mAP@0.5 하락 폭 (절대값)
+    public static final float MAX_MAP_DROP = 0.02f;
+
+    public final String fileName;
+
+    ModelVariant(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public static ModelVariant fromFileName(String fileName) {
+        for (ModelVariant variant : values()) {
+            if (variant.fileName.equals(fileName)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown model file " + fileName);
+    }
+}
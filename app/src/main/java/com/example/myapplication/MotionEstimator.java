@@ -0,0 +1,42 @@
+package com.example.myapplication;
+
+import java.nio.ByteBuffer;
+
+// Y 평면을 성긴 격자로 샘플링해서 이전 프레임과의 평균 밝기 차이로 움직임을 추정한다
+// 프레임당 GRID_COLUMNS x GRID_ROWS 픽셀만 읽으므로 추론에 비해 비용이 거의 없다.
+// 한 스레드(분석 스레드)에서만 사용할 것.
+public final class MotionEstimator {
+
+    private static final int GRID_COLUMNS = 32;
+    private static final int GRID_ROWS = 24;
+
+    private final int[] previous = new int[GRID_COLUMNS * GRID_ROWS];
+    private boolean hasPrevious;
+    private int previousWidth;
+    private int previousHeight;
+
+    // 이전 프레임과의 샘플당 평균 절대 차이 (0..255). 첫 프레임이나 해상도가 바뀐 프레임은 255
+    public float measure(ByteBuffer yPlane, int width, int height, int rowStride) {
+        boolean comparable = hasPrevious && width == previousWidth && height == previousHeight;
+        long sum = 0;
+        int i = 0;
+        for (int row = 0; row < GRID_ROWS; row++) {
+            int y = (2 * row + 1) * height / (2 * GRID_ROWS);
+            int rowBase = y * rowStride;
+            for (int column = 0; column < GRID_COLUMNS; column++) {
+                int x = (2 * column + 1) * width / (2 * GRID_COLUMNS);
+                int luma = yPlane.get(rowBase + x) & 0xFF;
+                sum += Math.abs(luma - previous[i]);
+                previous[i++] = luma;
+            }
+        }
+        hasPrevious = true;
+        previousWidth = width;
+        previousHeight = height;
+        return comparable ? sum / (float) previous.length : 255f;
+    }
+
+    public void reset() {
+        hasPrevious = false;
+    }
+}
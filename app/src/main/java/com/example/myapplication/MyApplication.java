@@ -0,0 +1,14 @@
+package com.example.myapplication;
+
+import android.app.Application;
+
+// 프로세스 시작 시 음성 엔진, 모델, 카메라, 상품 목록을 미리 준비하기 위한 Application 클래스
+public class MyApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // 무거운 작업은 AppStartup 이 백그라운드와 첫 프레임 이후로 나눠 실행한다
+        AppStartup.onApplicationCreate(this);
+    }
+}
@@ -4,14 +4,11 @@ package com.example.myapplication;
 import android.Manifest;
 import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
 import android.os.Bundle;
 import android.os.Vibrator;
 import android.speech.RecognitionListener;
-import android.speech.RecognizerIntent;
 import android.speech.SpeechRecognizer;
-import android.speech.tts.TextToSpeech;
 import android.speech.tts.UtteranceProgressListener;
 import android.util.Log;
 import android.widget.Button;
@@ -24,23 +21,25 @@ import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 
 import java.util.ArrayList;
-import java.util.Locale;
 
-public class NewActivity extends BaseActivity implements TextToSpeech.OnInitListener {
+public class NewActivity extends BaseActivity {
 
     private static final String TAG = "NewActivity";
-    private static final String PREFS_NAME = "TTS_PREFS";
-    private static final String SPEED_KEY = "SPEED_KEY";
     private static final int PERMISSIONS_REQUEST_RECORD_AUDIO = 1;
 
-    private TextToSpeech tts;
-    private float speed2 = 1.4f;  // TTS 초기 속도
+    // assets/keywords/ 아래 템플릿 폴더 이름
+    private static final String KEYWORD_RECIPE = "recipe";
+    private static final String KEYWORD_PRICE = "price";
+    private static final String KEYWORD_QUESTION = "question";  // 자유 질문은 SpeechRecognizer 로 넘긴다
+
+    private SpeechService speechService;  // 앱 전체에서 공유하는 TTS/음성 인식 서비스
+    private final SpeechRecognitionListener recognitionListener = new SpeechRecognitionListener();
+    private final UtteranceProgressListener progressListener = new SpeechProgressListener();
+    private KeywordListener keywordListener;  // 명령어 템플릿이 없으면 null (기존 SpeechRecognizer 만 사용)
     private Vibrator vibrator;
-    private SharedPreferences sharedPreferences;
-    private SpeechRecognizer speechRecognizer;
-    private Intent speechRecognizerIntent;
     private boolean isListening = false;
     private String lastRecognitionResult = null;
+    private int classId = -1;  // 촬영 화면에서 인식한 상품의 모델 클래스 번호 (없으면 -1)
 
     public NewActivity() {
         super(TransitionMode.HORIZON);  // 화면 전환 애니메이션 설정
@@ -53,21 +52,20 @@ public class NewActivity extends BaseActivity implements TextToSpeech.OnInitList
 
         TextView classificationResultView = findViewById(R.id.classificationResultView);
 
-        sharedPreferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
-
-        tts = new TextToSpeech(this, this);
+        speechService = SpeechService.getInstance(this);  // 이미 초기화된 음성 엔진 재사용
+        speechService.onScreenCreated("NewActivity");
         vibrator = (Vibrator) getSystemService(Context.VIBRATOR_SERVICE);
-
-        speechRecognizer = SpeechRecognizer.createSpeechRecognizer(this);
-        speechRecognizer.setRecognitionListener(new SpeechRecognitionListener());
-        speechRecognizerIntent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
-        speechRecognizerIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
-        speechRecognizerIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, Locale.getDefault());
+        if (KeywordListener.hasTemplates(this)) {
+            keywordListener = new KeywordListener(this, this::onKeyword);
+        }
 
         Button ttsButton2 = findViewById(R.id.replay2);  // 듣기2 버튼
         Button shoot2 = findViewById(R.id.shoot2);  // 촬영2 버튼
 
         Intent intent = getIntent();
+        if (intent != null) {
+            classId = intent.getIntExtra("classId", -1);
+        }
         if (intent != null && intent.hasExtra("classificationResult")) {
             String classificationResult = intent.getStringExtra("classificationResult");
             if (classificationResult != null) {
@@ -88,13 +86,9 @@ public class NewActivity extends BaseActivity implements TextToSpeech.OnInitList
 
         ttsButton2.setOnClickListener(v -> {
             if (lastRecognitionResult != null) {
-                if (lastRecognitionResult.equalsIgnoreCase("레시피")) {
-                    tts.speak("조리 방법을 안내합니다", TextToSpeech.QUEUE_FLUSH, null, "RECIPE_RESULT");
-                } else if (lastRecognitionResult.equalsIgnoreCase("가격")) {
-                    tts.speak("이 상품의 가격은 얼마입니다", TextToSpeech.QUEUE_FLUSH, null, "PRICE_RESULT");
-                }
+                answer(lastRecognitionResult);
             } else {
-                tts.speak("다시 듣기", TextToSpeech.QUEUE_FLUSH, null, "REPLAY");
+                speechService.speak("다시 듣기", UtteranceQueue.Priority.NORMAL, "REPLAY");
             }
         });
 
@@ -103,21 +97,18 @@ public class NewActivity extends BaseActivity implements TextToSpeech.OnInitList
         ImageButton ttsCtlFast2 = findViewById(R.id.ttsCtlFast2);
 
         ttsCtlSlow2.setOnClickListener(v -> {
-            speed2 = Math.max(0.8f, speed2 - 0.2f);  // 최소 속도 0.8f
-            tts.speak("티티에스 느리게", TextToSpeech.QUEUE_FLUSH, null, null);
-            setTtsSpeed(speed2);
+            speechService.speak("티티에스 느리게", UtteranceQueue.Priority.NORMAL);
+            speechService.setSpeechRate(speechService.getSpeechRate() - SpeechService.RATE_STEP);  // 최소 속도 0.8f
         });
 
         ttsCtlPause2.setOnClickListener(v -> {
-            speed2 = 1.4f;
-            tts.speak("티티에스 기본 속도", TextToSpeech.QUEUE_FLUSH, null, null);
-            setTtsSpeed(speed2);
+            speechService.speak("티티에스 기본 속도", UtteranceQueue.Priority.NORMAL);
+            speechService.setSpeechRate(SpeechService.DEFAULT_RATE);
         });
 
         ttsCtlFast2.setOnClickListener(v -> {
-            speed2 = Math.min(2.0f, speed2 + 0.2f);  // 최대 속도 2.0f
-            tts.speak("티티에스 빠르게", TextToSpeech.QUEUE_FLUSH, null, null);
-            setTtsSpeed(speed2);
+            speechService.speak("티티에스 빠르게", UtteranceQueue.Priority.NORMAL);
+            speechService.setSpeechRate(speechService.getSpeechRate() + SpeechService.RATE_STEP);  // 최대 속도 2.0f
         });
 
         checkAudioPermission();
@@ -138,6 +129,7 @@ public class NewActivity extends BaseActivity implements TextToSpeech.OnInitList
         if (requestCode == PERMISSIONS_REQUEST_RECORD_AUDIO) {
             if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
                 Log.d(TAG, "Audio permission granted");
+                startKeywordSpotting();
             } else {
                 Toast.makeText(this, "Audio permission is required to use this feature", Toast.LENGTH_SHORT).show();
             }
@@ -146,15 +138,68 @@ public class NewActivity extends BaseActivity implements TextToSpeech.OnInitList
 
     private void startListening() {
         if (!isListening) {
-            tts.speak("음성 인식을 시작합니다", TextToSpeech.QUEUE_FLUSH, null, "START_LISTENING");
+            speechService.speak("음성 인식을 시작합니다", UtteranceQueue.Priority.HIGH, "START_LISTENING");
         }
     }
 
     private void stopListening() {
         if (isListening) {
-            speechRecognizer.stopListening();
-            tts.speak("음성 인식을 종료합니다", TextToSpeech.QUEUE_FLUSH, null, "STOP_LISTENING");
+            speechService.stopListening();
+            speechService.speak("음성 인식을 종료합니다", UtteranceQueue.Priority.NORMAL, "STOP_LISTENING");
             isListening = false;
+            startKeywordSpotting();
+        }
+    }
+
+    // "레시피" / "가격" 명령에 상품 목록으로 답한다. 목록에는 조리법과 가격이 없으므로
+    // 레시피는 상품 이름과 들어 있는 스프 종류를, 가격은 상품 이름과 가격 정보가 없다는 것을 말한다
+    private void answer(String command) {
+        String utteranceId;
+        if (command.equalsIgnoreCase("레시피")) {
+            utteranceId = "RECIPE_RESULT";
+        } else if (command.equalsIgnoreCase("가격")) {
+            utteranceId = "PRICE_RESULT";
+        } else {
+            return;
+        }
+        ProductCatalog catalog = ProductCatalog.getIfLoaded();
+        String text;
+        if (classId < 0 || catalog == null || classId >= catalog.getClassCount()) {
+            text = "인식된 상품이 없습니다";
+        } else if (utteranceId.equals("RECIPE_RESULT")) {
+            text = catalog.describeContents(classId);
+        } else {
+            text = catalog.getDisplayName(classId) + ". 가격 정보가 없습니다";
+        }
+        speechService.speak(text, UtteranceQueue.Priority.HIGH, utteranceId);
+    }
+
+    // 기기 안에서 찾은 명령어는 바로 답하고, 자유 질문일 때만 SpeechRecognizer 를 연다
+    private void onKeyword(String keyword) {
+        switch (keyword) {
+            case KEYWORD_RECIPE:
+                lastRecognitionResult = "레시피";
+                answer(lastRecognitionResult);
+                break;
+            case KEYWORD_PRICE:
+                lastRecognitionResult = "가격";
+                answer(lastRecognitionResult);
+                break;
+            case KEYWORD_QUESTION:
+                // 마이크를 SpeechRecognizer 에 넘긴다 (인식이 끝나면 stopListening() 에서 다시 시작)
+                keywordListener.stop();
+                startListening();
+                break;
+            default:
+                Log.w(TAG, "Unknown keyword: " + keyword);
+        }
+    }
+
+    private void startKeywordSpotting() {
+        if (keywordListener != null && !isListening
+                && ContextCompat.checkSelfPermission(this, Manifest.permission.RECORD_AUDIO)
+                == PackageManager.PERMISSION_GRANTED) {
+            keywordListener.start();
         }
     }
 
@@ -183,8 +228,12 @@ public class NewActivity extends BaseActivity implements TextToSpeech.OnInitList
         @Override
         public void onError(int error) {
             Log.e(TAG, "Speech recognition error: " + error);
-            if (isListening) {
-                speechRecognizer.startListening(speechRecognizerIntent);
+            if (keywordListener != null) {
+                // 다시 명령어 대기로 돌아간다 (오류마다 인식기를 다시 열지 않음)
+                isListening = false;
+                startKeywordSpotting();
+            } else if (isListening) {
+                speechService.startListening(recognitionListener);
             }
         }
 
@@ -193,13 +242,9 @@ public class NewActivity extends BaseActivity implements TextToSpeech.OnInitList
             ArrayList<String> matches = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
             if (matches != null) {
                 for (String result : matches) {
-                    if (result.equalsIgnoreCase("레시피")) {
-                        lastRecognitionResult = "레시피";
-                        tts.speak("조리 방법을 안내합니다", TextToSpeech.QUEUE_FLUSH, null, "RECIPE_RESULT");
-                        return;
-                    } else if (result.equalsIgnoreCase("가격")) {
-                        lastRecognitionResult = "가격";
-                        tts.speak("이 상품의 가격은 얼마입니다", TextToSpeech.QUEUE_FLUSH, null, "PRICE_RESULT");
+                    if (result.equalsIgnoreCase("레시피") || result.equalsIgnoreCase("가격")) {
+                        lastRecognitionResult = result.equalsIgnoreCase("레시피") ? "레시피" : "가격";
+                        answer(lastRecognitionResult);
                         return;
                     }
                 }
@@ -217,61 +262,48 @@ public class NewActivity extends BaseActivity implements TextToSpeech.OnInitList
         }
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            int result = tts.setLanguage(Locale.KOREAN);
-            if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
-                Toast.makeText(NewActivity.this, "한국어를 지원하지 않습니다.", Toast.LENGTH_SHORT).show();
-            } else {
-                speed2 = sharedPreferences.getFloat(SPEED_KEY, 1.0f);
-                tts.setSpeechRate(speed2);
-                tts.setOnUtteranceProgressListener(new UtteranceProgressListener() {
-                    @Override
-                    public void onStart(String utteranceId) {
-                    }
-
-                    @Override
-                    public void onDone(String utteranceId) {
-                        if ("START_LISTENING".equals(utteranceId)) {
-                            runOnUiThread(() -> {
-                                speechRecognizer.startListening(speechRecognizerIntent);
-                                Log.d(TAG, "Speech recognizer started listening");
-                            });
-                            isListening = true;
-                        } else if ("RECIPE_RESULT".equals(utteranceId) || "PRICE_RESULT".equals(utteranceId)) {
-                            runOnUiThread(NewActivity.this::stopListening);
-                        }
-                    }
+    // 안내 문장이 끝나면 음성 인식을 시작하거나 멈춘다
+    private class SpeechProgressListener extends UtteranceProgressListener {
+        @Override
+        public void onStart(String utteranceId) {
+        }
 
-                    @Override
-                    public void onError(String utteranceId) {
-                    }
+        @Override
+        public void onDone(String utteranceId) {
+            if ("START_LISTENING".equals(utteranceId)) {
+                runOnUiThread(() -> {
+                    speechService.startListening(recognitionListener);
+                    Log.d(TAG, "Speech recognizer started listening");
                 });
+                isListening = true;
+            } else if ("RECIPE_RESULT".equals(utteranceId) || "PRICE_RESULT".equals(utteranceId)) {
+                runOnUiThread(NewActivity.this::stopListening);
             }
-        } else {
-            Toast.makeText(NewActivity.this, "TTS 초기화에 실패했습니다.", Toast.LENGTH_SHORT).show();
         }
-    }
 
-    private void setTtsSpeed(float setSpeed) {
-        if (tts != null) {
-            tts.setSpeechRate(setSpeed);
-            SharedPreferences.Editor editor = sharedPreferences.edit();
-            editor.putFloat(SPEED_KEY, setSpeed);
-            editor.apply();
+        @Override
+        public void onError(String utteranceId) {
         }
     }
 
     @Override
-    protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
+    protected void onResume() {
+        super.onResume();
+        speechService.setProgressListener(progressListener);
+        startKeywordSpotting();
+    }
+
+    @Override
+    protected void onPause() {
+        // 엔진은 앱 전체에서 공유하므로 해제하지 않고 이 화면의 리스너와 인식만 정리한다
+        speechService.clearProgressListener(progressListener);
+        if (keywordListener != null) {
+            keywordListener.stop();
         }
-        if (speechRecognizer != null) {
-            speechRecognizer.destroy();
+        if (isListening) {
+            speechService.cancelListening();
+            isListening = false;
         }
-        super.onDestroy();
+        super.onPause();
     }
-}
\ No newline at end of file
+}
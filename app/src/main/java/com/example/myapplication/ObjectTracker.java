@@ -0,0 +1,286 @@
+package com.example.myapplication;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 프레임 간 탐지 결과를 이어 붙이는 가벼운 다중 객체 추적기
+// 예측된 트랙 박스와 새 탐지를 IoU 로 탐욕적으로 짝짓고(클래스 무관), 박스는 등속 alpha-beta 필터로,
+// 클래스 점수는 지수 이동 평균으로 다듬는다. 같은 클래스가 stableFrames 번 연속 1위여야 결과로 내보낸다.
+// 모델을 건너뛴 프레임에서는 predict() 로 속도만큼 박스를 옮겨 둔다.
+// 한 스레드(분석 스레드)에서만 사용할 것.
+public final class ObjectTracker {
+
+    // 위치/크기 보정 비율과 속도 보정 비율 (alpha-beta 필터)
+    private static final float ALPHA = 0.6f;
+    private static final float BETA = 0.2f;
+
+    private final int numClasses;
+    private final float iouThreshold;
+    private final float scoreSmoothing;
+    private final int stableFrames;
+    private final int maxMisses;
+
+    private final List<Track> tracks = new ArrayList<>();
+    // 매칭용 작업 배열 (트랙/탐지 수가 늘어날 때만 다시 만든다)
+    private boolean[] detectionUsed = new boolean[16];
+    private float[] pairIous = new float[64];
+    private int[] pairTracks = new int[64];
+    private int[] pairDetections = new int[64];
+
+    private int nextTrackId = 1;
+    private long lastTimestampNanos = -1;
+
+    // scoreSmoothing 은 새 점수의 가중치 (0..1), maxMisses 는 탐지가 없는 모델 실행을 몇 번까지 버틸지
+    public ObjectTracker(int numClasses, float iouThreshold, float scoreSmoothing, int stableFrames, int maxMisses) {
+        this.numClasses = numClasses;
+        this.iouThreshold = iouThreshold;
+        this.scoreSmoothing = scoreSmoothing;
+        this.stableFrames = stableFrames;
+        this.maxMisses = maxMisses;
+    }
+
+    public int getTrackCount() {
+        return tracks.size();
+    }
+
+    public void reset() {
+        tracks.clear();
+        lastTimestampNanos = -1;
+    }
+
+    // 모델을 실행하지 않은 프레임: 트랙 박스만 timestamp 까지 이동
+    public void predict(long timestampNanos) {
+        propagate(timestampNanos);
+    }
+
+    // 모델을 실행한 프레임: 예측 후 탐지와 짝짓고 트랙을 갱신/생성/삭제
+    public void update(Detections detections, long timestampNanos) {
+        propagate(timestampNanos);
+
+        int trackCount = tracks.size();
+        int detectionCount = detections.size();
+        if (detectionUsed.length < detectionCount) {
+            detectionUsed = new boolean[detectionCount * 2];
+        }
+        for (int d = 0; d < detectionCount; d++) {
+            detectionUsed[d] = false;
+        }
+
+        // IoU 가 임계값을 넘는 (트랙, 탐지) 쌍을 IoU 내림차순으로 하나씩 확정
+        int pairs = 0;
+        for (int t = 0; t < trackCount; t++) {
+            Track track = tracks.get(t);
+            track.matched = false;
+            for (int d = 0; d < detectionCount; d++) {
+                float overlap = track.iou(detections, d);
+                if (overlap >= iouThreshold) {
+                    if (pairs == pairIous.length) {
+                        growPairs();
+                    }
+                    pairIous[pairs] = overlap;
+                    pairTracks[pairs] = t;
+                    pairDetections[pairs] = d;
+                    pairs++;
+                }
+            }
+        }
+        sortPairsByIou(pairs);
+        for (int p = 0; p < pairs; p++) {
+            Track track = tracks.get(pairTracks[p]);
+            int d = pairDetections[p];
+            if (track.matched || detectionUsed[d]) {
+                continue;
+            }
+            track.correct(detections, d);
+            updateScores(track, detections.getClassId(d), detections.getScore(d));
+            detectionUsed[d] = true;
+        }
+
+        // 짝이 없는 트랙은 점수를 감쇠시키고 오래 비면 삭제
+        for (int t = trackCount - 1; t >= 0; t--) {
+            Track track = tracks.get(t);
+            if (!track.matched) {
+                track.misses++;
+                updateScores(track, -1, 0f);
+                if (track.misses > maxMisses) {
+                    tracks.remove(t);
+                }
+            }
+        }
+
+        for (int d = 0; d < detectionCount; d++) {
+            if (!detectionUsed[d]) {
+                Track track = new Track(nextTrackId++, numClasses);
+                track.initialize(detections, d);
+                updateScores(track, detections.getClassId(d), detections.getScore(d));
+                tracks.add(track);
+            }
+        }
+    }
+
+    // 안정된 트랙만 담은 불변 스냅샷 (점수는 평균 점수, 클래스는 안정된 클래스)
+    public DetectionResult snapshot(long timestampNanos) {
+        int count = 0;
+        for (int t = 0; t < tracks.size(); t++) {
+            if (tracks.get(t).stableClass >= 0) {
+                count++;
+            }
+        }
+        int[] classIds = new int[count];
+        int[] trackIds = new int[count];
+        float[] scores = new float[count];
+        float[] boxes = new float[count * 4];
+        int i = 0;
+        for (int t = 0; t < tracks.size(); t++) {
+            Track track = tracks.get(t);
+            if (track.stableClass < 0) {
+                continue;
+            }
+            classIds[i] = track.stableClass;
+            trackIds[i] = track.id;
+            scores[i] = track.scores[track.stableClass];
+            boxes[i * 4] = track.cx - track.w * 0.5f;
+            boxes[i * 4 + 1] = track.cy - track.h * 0.5f;
+            boxes[i * 4 + 2] = track.cx + track.w * 0.5f;
+            boxes[i * 4 + 3] = track.cy + track.h * 0.5f;
+            i++;
+        }
+        return new DetectionResult(classIds, scores, boxes, trackIds, timestampNanos);
+    }
+
+    // classId < 0 이면 모든 클래스 점수를 감쇠만 시킨다
+    private void updateScores(Track track, int classId, float score) {
+        float keep = 1f - scoreSmoothing;
+        int best = 0;
+        for (int c = 0; c < numClasses; c++) {
+            float observed = c == classId ? score : 0f;
+            track.scores[c] = track.scores[c] * keep + observed * scoreSmoothing;
+            if (track.scores[c] > track.scores[best]) {
+                best = c;
+            }
+        }
+        if (classId < 0) {
+            return;
+        }
+        if (best == track.leadingClass) {
+            track.leadingCount++;
+        } else {
+            track.leadingClass = best;
+            track.leadingCount = 1;
+        }
+        // 1위 클래스가 stableFrames 번 연속 유지되어야 안정된 클래스가 바뀐다
+        if (track.leadingCount >= stableFrames) {
+            track.stableClass = best;
+        }
+    }
+
+    // 이전 프레임부터 지난 시간(초)만큼 모든 트랙을 이동
+    private void propagate(long timestampNanos) {
+        float dt = lastTimestampNanos < 0 ? 0f : Math.max(0f, (timestampNanos - lastTimestampNanos) / 1e9f);
+        lastTimestampNanos = timestampNanos;
+        for (int t = 0; t < tracks.size(); t++) {
+            tracks.get(t).predict(dt);
+        }
+    }
+
+    private void growPairs() {
+        int capacity = pairIous.length * 2;
+        pairIous = Arrays.copyOf(pairIous, capacity);
+        pairTracks = Arrays.copyOf(pairTracks, capacity);
+        pairDetections = Arrays.copyOf(pairDetections, capacity);
+    }
+
+    // 쌍의 수가 적으므로 삽입 정렬
+    private void sortPairsByIou(int pairs) {
+        for (int i = 1; i < pairs; i++) {
+            float iou = pairIous[i];
+            int track = pairTracks[i];
+            int detection = pairDetections[i];
+            int j = i - 1;
+            while (j >= 0 && pairIous[j] < iou) {
+                pairIous[j + 1] = pairIous[j];
+                pairTracks[j + 1] = pairTracks[j];
+                pairDetections[j + 1] = pairDetections[j];
+                j--;
+            }
+            pairIous[j + 1] = iou;
+            pairTracks[j + 1] = track;
+            pairDetections[j + 1] = detection;
+        }
+    }
+
+    private static final class Track {
+        final int id;
+        final float[] scores;
+
+        // 중심/크기와 초당 변화량
+        float cx, cy, w, h;
+        float vx, vy, vw, vh;
+        // 마지막 보정 이후 예측만으로 지나온 시간(초). 속도 보정은 이 구간 전체에 나눠 준다
+        float sinceCorrection;
+
+        boolean matched;
+        int misses;
+        int leadingClass = -1;
+        int leadingCount;
+        int stableClass = -1;
+
+        Track(int id, int numClasses) {
+            this.id = id;
+            this.scores = new float[numClasses];
+        }
+
+        void initialize(Detections detections, int d) {
+            cx = (detections.getLeft(d) + detections.getRight(d)) * 0.5f;
+            cy = (detections.getTop(d) + detections.getBottom(d)) * 0.5f;
+            w = detections.getRight(d) - detections.getLeft(d);
+            h = detections.getBottom(d) - detections.getTop(d);
+            matched = true;
+        }
+
+        void predict(float dt) {
+            sinceCorrection += dt;
+            cx += vx * dt;
+            cy += vy * dt;
+            w = Math.max(1f, w + vw * dt);
+            h = Math.max(1f, h + vh * dt);
+        }
+
+        void correct(Detections detections, int d) {
+            float rx = (detections.getLeft(d) + detections.getRight(d)) * 0.5f - cx;
+            float ry = (detections.getTop(d) + detections.getBottom(d)) * 0.5f - cy;
+            float rw = detections.getRight(d) - detections.getLeft(d) - w;
+            float rh = detections.getBottom(d) - detections.getTop(d) - h;
+            cx += ALPHA * rx;
+            cy += ALPHA * ry;
+            w += ALPHA * rw;
+            h += ALPHA * rh;
+            if (sinceCorrection > 0f) {
+                vx += BETA * rx / sinceCorrection;
+                vy += BETA * ry / sinceCorrection;
+                vw += BETA * rw / sinceCorrection;
+                vh += BETA * rh / sinceCorrection;
+            }
+            sinceCorrection = 0f;
+            matched = true;
+            misses = 0;
+        }
+
+        float iou(Detections detections, int d) {
+            float left = cx - w * 0.5f;
+            float top = cy - h * 0.5f;
+            float right = cx + w * 0.5f;
+            float bottom = cy + h * 0.5f;
+            float intersectionWidth = Math.min(right, detections.getRight(d)) - Math.max(left, detections.getLeft(d));
+            float intersectionHeight = Math.min(bottom, detections.getBottom(d)) - Math.max(top, detections.getTop(d));
+            if (intersectionWidth <= 0f || intersectionHeight <= 0f) {
+                return 0f;
+            }
+            float intersection = intersectionWidth * intersectionHeight;
+            float other = (detections.getRight(d) - detections.getLeft(d))
+                    * (detections.getBottom(d) - detections.getTop(d));
+            return intersection / (w * h + other - intersection);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.myapplication;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 분석 파이프라인 단계별 처리 시간 (마지막 값과 평균)
+// 분석 스레드에서 기록하고 다른 스레드에서 읽는다. 기록은 락 없이 하고,
+// 같은 값을 MetricsRegistry 의 "pipeline.<단계>" 히스토그램에도 남겨 분포(p50/p95)와 내보내기에 쓴다.
+public final class PipelineTimings {
+
+    public enum Stage {
+        MOTION,
+        BUFFER,   // 버스트 링 버퍼 복사와 선명도 측정
+        CONVERT,
+        INFERENCE,
+        DECODE,
+        NMS,
+        CROP,     // 2단계: 원본 해상도 크롭 변환
+        CLASSIFY, // 2단계: 크롭 배치 분류
+        TRACK
+    }
+
+    private final AtomicLongArray lastNanos = new AtomicLongArray(Stage.values().length);
+    private final AtomicLongArray totalNanos = new AtomicLongArray(Stage.values().length);
+    private final AtomicLongArray counts = new AtomicLongArray(Stage.values().length);
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Stage.values().length];
+
+    public PipelineTimings() {
+        this(MetricsRegistry.getInstance());
+    }
+
+    PipelineTimings(MetricsRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            histograms[stage.ordinal()] = registry.histogram(histogramName(stage));
+        }
+    }
+
+    public static String histogramName(Stage stage) {
+        return MetricsRegistry.PIPELINE_PREFIX + stage.name().toLowerCase(Locale.US);
+    }
+
+    public void record(Stage stage, long nanos) {
+        int i = stage.ordinal();
+        lastNanos.set(i, nanos);
+        totalNanos.addAndGet(i, nanos);
+        counts.incrementAndGet(i);
+        histograms[i].record(nanos);
+    }
+
+    public float getLastMs(Stage stage) {
+        return lastNanos.get(stage.ordinal()) / 1_000_000f;
+    }
+
+    public float getAverageMs(Stage stage) {
+        int i = stage.ordinal();
+        long count = counts.get(i);
+        return count == 0 ? 0f : totalNanos.get(i) / 1_000_000f / count;
+    }
+
+    // 평균만 초기화한다 (히스토그램은 앱 전체 누적)
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            lastNanos.set(i, 0);
+            totalNanos.set(i, 0);
+            counts.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(stage).append(' ').append(String.format("%.1f", getAverageMs(stage))).append(" ms");
+        }
+        return builder.toString();
+    }
+}
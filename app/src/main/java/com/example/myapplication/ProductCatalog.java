@@ -0,0 +1,236 @@
+package com.example.myapplication;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// assets/Ramen_Soup_Info.txt 를 한 번만 파싱해서 모델 클래스 번호로 바로 찾을 수 있게 만든 상품 목록
+// 라면 클래스와 스프 클래스가 어느 상품에 속하는지를 클래스 번호로 인덱싱된 배열에 담아 두므로
+// 탐지 결과에서 이름/상품을 찾을 때 문자열 비교가 없다.
+public final class ProductCatalog {
+
+    private static final String TAG = "ProductCatalog";
+    private static final String ASSET_NAME = "Ramen_Soup_Info.txt";
+
+    // 모델 출력 클래스 순서 (학습 데이터의 라벨 순서와 같아야 한다)
+    public static final String[] MODEL_LABELS = {
+            "jinHot", "jinMild", "wang", "king", "kimchi", "ojingeo", "sesame", "kaguri", "shin", "buldak",
+            "buldakCarbo", "buldak4Cheese", "kingSoup", "kingSoup2", "jinMildSoup", "sesameSoup1",
+            "sesameSoup2", "sesameSoup3", "buldakSoup", "buldakSoup2", "jinHotSoup", "shinSoup",
+            "kimchiSoup", "kimchiSoup2", "carboSoup", "carboSoup2", "kaguriSoup", "ojingeoSoup",
+            "cheeseSoup", "cheeseSoup2", "wangSoup", "wangSoup2"
+    };
+
+    private static volatile ProductCatalog instance;
+
+    // 클래스 번호로 인덱싱
+    private final String[] labels;
+    private final String[] displayNames;  // 안내에 쓸 이름 ("진라면매운맛", "킹뚜껑 분말스프")
+    private final String[] soupTypes;     // 스프 종류 ("분말스프"), 라면이거나 종류가 없으면 null
+    private final int[] productOfClass;   // 속한 상품 번호, 파일에 없는 클래스는 -1
+    private final boolean[] soupClass;
+
+    // 상품 번호로 인덱싱. 상품 p 의 스프 클래스는 soupClassIds[soupStart[p] .. soupStart[p + 1])
+    private final String[] productNames;
+    private final int[] ramenClassOfProduct;  // 없으면 -1
+    private final int[] soupStart;
+    private final int[] soupClassIds;
+
+    private ProductCatalog(String[] labels, String[] displayNames, String[] soupTypes, int[] productOfClass,
+                           boolean[] soupClass, String[] productNames, int[] ramenClassOfProduct,
+                           int[] soupStart, int[] soupClassIds) {
+        this.labels = labels;
+        this.displayNames = displayNames;
+        this.soupTypes = soupTypes;
+        this.productOfClass = productOfClass;
+        this.soupClass = soupClass;
+        this.productNames = productNames;
+        this.ramenClassOfProduct = ramenClassOfProduct;
+        this.soupStart = soupStart;
+        this.soupClassIds = soupClassIds;
+    }
+
+    // 처음 호출될 때 asset 을 파싱하고 이후에는 같은 인스턴스를 반환
+    public static ProductCatalog getInstance(Context context) throws IOException {
+        ProductCatalog result = instance;
+        if (result == null) {
+            synchronized (ProductCatalog.class) {
+                result = instance;
+                if (result == null) {
+                    try (InputStream stream = context.getApplicationContext().getAssets().open(ASSET_NAME)) {
+                        result = parse(stream, MODEL_LABELS);
+                    }
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // 이미 파싱이 끝났으면 그 인스턴스, 아니면 null (메인 스레드에서 기다리지 않기 위해)
+    public static ProductCatalog getIfLoaded() {
+        return instance;
+    }
+
+    // "라면" 목록 ("1. 이름" 다음 줄 "- 라벨") 과 "스프" 목록 ("1. 이름" 다음 줄 "- 종류: 라벨") 을 읽는다
+    static ProductCatalog parse(InputStream stream, String[] labels) throws IOException {
+        int classCount = labels.length;
+        Map<String, Integer> classOfLabel = new HashMap<>();
+        for (int c = 0; c < classCount; c++) {
+            classOfLabel.put(labels[c], c);
+        }
+
+        String[] displayNames = new String[classCount];
+        String[] soupTypes = new String[classCount];
+        int[] productOfClass = new int[classCount];
+        boolean[] soupClass = new boolean[classCount];
+        Arrays.fill(productOfClass, -1);
+
+        Map<String, Integer> productOfName = new HashMap<>();
+        List<String> productNames = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        boolean inSoupSection = false;
+        int currentProduct = -1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("=")) {
+                continue;
+            }
+            if (line.equals("스프")) {
+                inSoupSection = true;
+                currentProduct = -1;
+            } else if (line.equals("라면")) {
+                inSoupSection = false;
+                currentProduct = -1;
+            } else if (Character.isDigit(line.charAt(0)) && line.indexOf('.') > 0) {
+                String name = line.substring(line.indexOf('.') + 1).trim();
+                Integer product = productOfName.get(name);
+                if (product == null) {
+                    product = productNames.size();
+                    productNames.add(name);
+                    productOfName.put(name, product);
+                }
+                currentProduct = product;
+            } else if (line.startsWith("-") && currentProduct >= 0) {
+                String entry = line.substring(1).trim();
+                int colon = entry.indexOf(':');
+                String type = colon >= 0 ? entry.substring(0, colon).trim() : null;
+                String label = colon >= 0 ? entry.substring(colon + 1).trim() : entry;
+                Integer classId = classOfLabel.get(label);
+                if (classId == null) {
+                    Log.w(TAG, "Label not in model: " + label);
+                    continue;
+                }
+                String productName = productNames.get(currentProduct);
+                productOfClass[classId] = currentProduct;
+                soupClass[classId] = inSoupSection;
+                soupTypes[classId] = inSoupSection ? type : null;
+                displayNames[classId] = !inSoupSection ? productName
+                        : productName + " " + (type != null ? type : "스프");
+            }
+        }
+
+        int productCount = productNames.size();
+        int[] ramenClassOfProduct = new int[productCount];
+        Arrays.fill(ramenClassOfProduct, -1);
+        int[] soupStart = new int[productCount + 1];
+        for (int c = 0; c < classCount; c++) {
+            int product = productOfClass[c];
+            if (product < 0) {
+                // 파일에 없는 클래스는 라벨을 그대로 이름으로 쓴다
+                displayNames[c] = labels[c];
+            } else if (soupClass[c]) {
+                soupStart[product + 1]++;
+            } else {
+                ramenClassOfProduct[product] = c;
+            }
+        }
+        for (int p = 0; p < productCount; p++) {
+            soupStart[p + 1] += soupStart[p];
+        }
+        int[] soupClassIds = new int[soupStart[productCount]];
+        int[] fill = Arrays.copyOf(soupStart, productCount);
+        for (int c = 0; c < classCount; c++) {
+            if (productOfClass[c] >= 0 && soupClass[c]) {
+                soupClassIds[fill[productOfClass[c]]++] = c;
+            }
+        }
+
+        return new ProductCatalog(labels.clone(), displayNames, soupTypes, productOfClass, soupClass,
+                productNames.toArray(new String[0]), ramenClassOfProduct, soupStart, soupClassIds);
+    }
+
+    public int getClassCount() {
+        return labels.length;
+    }
+
+    public int getProductCount() {
+        return productNames.length;
+    }
+
+    public String getLabel(int classId) {
+        return labels[classId];
+    }
+
+    public String getDisplayName(int classId) {
+        return displayNames[classId];
+    }
+
+    // 라면 클래스이거나 종류가 적혀 있지 않으면 null
+    public String getSoupType(int classId) {
+        return soupTypes[classId];
+    }
+
+    public boolean isSoup(int classId) {
+        return soupClass[classId];
+    }
+
+    // 클래스가 속한 상품 번호 (목록에 없으면 -1)
+    public int getProductOf(int classId) {
+        return productOfClass[classId];
+    }
+
+    public String getProductName(int product) {
+        return productNames[product];
+    }
+
+    // 상품의 라면 클래스 번호 (없으면 -1)
+    public int getRamenClassId(int product) {
+        return ramenClassOfProduct[product];
+    }
+
+    public int getSoupCount(int product) {
+        return soupStart[product + 1] - soupStart[product];
+    }
+
+    public int getSoupClassId(int product, int index) {
+        return soupClassIds[soupStart[product] + index];
+    }
+
+    // 상품 이름과 들어 있는 스프 종류 안내 ("킹뚜껑. 스프: 분말스프, 건더기스프")
+    // 종류가 적혀 있지 않은 스프는 "스프", 목록에 없는 클래스는 표시 이름만
+    public String describeContents(int classId) {
+        int product = productOfClass[classId];
+        if (product < 0) {
+            return displayNames[classId];
+        }
+        StringBuilder builder = new StringBuilder(productNames[product]);
+        for (int i = 0; i < getSoupCount(product); i++) {
+            String type = soupTypes[getSoupClassId(product, i)];
+            builder.append(i == 0 ? ". 스프: " : ", ").append(type != null ? type : "스프");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.myapplication;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.speech.RecognitionListener;
+import android.speech.RecognizerIntent;
+import android.speech.SpeechRecognizer;
+import android.speech.tts.TextToSpeech;
+import android.speech.tts.UtteranceProgressListener;
+import android.util.Log;
+import android.widget.Toast;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// 앱 프로세스 전체에서 하나의 TTS 엔진과 음성 인식기를 공유하는 음성 서비스
+// MyApplication 에서 한 번 초기화해 두므로 화면을 옮겨도 한국어 음성을 다시 불러오지 않는다.
+// 말하기 속도 설정을 저장하고, 우선순위 대기열(UtteranceQueue)로 안내 문장 순서를 정한다.
+// 모든 public 메서드는 메인 스레드에서 호출할 것.
+public final class SpeechService {
+
+    private static final String TAG = "SpeechService";
+    private static final String PREFS_NAME = "TTS_PREFS";
+    private static final String SPEED_KEY = "SPEED_KEY";
+    private static final String ID_PREFIX = "speech_";
+
+    public static final float MIN_RATE = 0.8f;
+    public static final float MAX_RATE = 2.0f;
+    public static final float DEFAULT_RATE = 1.4f;  // "기본 속도" 버튼
+    public static final float RATE_STEP = 0.2f;
+
+    private static SpeechService instance;
+
+    private final Context context;
+    private final SharedPreferences preferences;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final TextToSpeech tts;
+    private final TtsPhraseCache phraseCache;
+    private SpeechRecognizer speechRecognizer;  // 처음 듣기를 시작할 때 만든다
+    private final Intent recognizerIntent;
+    private final UtteranceQueue queue = new UtteranceQueue();
+    // 내부 utteranceId -> 대기열 항목 (queue 로 동기화)
+    private final Map<String, UtteranceQueue.Utterance> dispatched = new HashMap<>();
+
+    private final long initStartNanos;
+    private volatile boolean ready;
+    private volatile long initTimeMs = -1;
+    private int screensServed;
+    private long savedInitMs;
+    private float speechRate;
+
+    private volatile UtteranceProgressListener progressListener;
+
+    private SpeechService(Context context) {
+        this.context = context;
+        initStartNanos = SystemClock.elapsedRealtimeNanos();
+        preferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        speechRate = preferences.getFloat(SPEED_KEY, 1.0f);
+
+        tts = new TextToSpeech(context, this::onTtsInit);
+        phraseCache = new TtsPhraseCache(context, tts);
+        phraseCache.setProgressListener(new DispatchListener());
+
+        recognizerIntent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
+        recognizerIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
+        recognizerIntent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, Locale.getDefault());
+    }
+
+    // 처음 호출될 때 엔진을 초기화하고 이후에는 같은 인스턴스를 반환 (메인 스레드에서만)
+    public static SpeechService getInstance(Context context) {
+        if (instance == null) {
+            instance = new SpeechService(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private void onTtsInit(int status) {
+        if (status != TextToSpeech.SUCCESS) {
+            Toast.makeText(context, "TTS 초기화에 실패했습니다.", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        int result = tts.setLanguage(Locale.KOREAN);
+        if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
+            Toast.makeText(context, "한국어를 지원하지 않습니다.", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        phraseCache.setSpeechRate(speechRate);
+        phraseCache.prefetch();
+        initTimeMs = (SystemClock.elapsedRealtimeNanos() - initStartNanos) / 1_000_000;
+        ready = true;
+        Log.d(TAG, "TTS ready in " + initTimeMs + " ms");
+
+        // 준비 전에 들어온 문장부터 말한다
+        UtteranceQueue.Utterance pending;
+        synchronized (queue) {
+            pending = queue.getCurrent();
+        }
+        if (pending != null) {
+            dispatch(pending);
+        }
+    }
+
+    // 화면이 만들어질 때 호출. 엔진이 이미 준비돼 있으면 그 화면이 아낀 초기화 시간을 누적한다
+    public void onScreenCreated(String screen) {
+        screensServed++;
+        if (ready && screensServed > 1) {
+            savedInitMs += initTimeMs;
+            Log.d(TAG, screen + " reused speech engine, saved ~" + initTimeMs + " ms (total " + savedInitMs + " ms)");
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 엔진 초기화에 걸린 시간 (준비 전이면 -1)
+    public long getInitTimeMs() {
+        return initTimeMs;
+    }
+
+    // 화면 전환마다 다시 초기화하지 않아 아낀 시간의 합
+    public long getSavedInitMs() {
+        return savedInitMs;
+    }
+
+    public TtsPhraseCache getPhraseCache() {
+        return phraseCache;
+    }
+
+    // 화면에 보이는 액티비티가 onResume 에서 등록하고 onPause 에서 해제한다
+    public void setProgressListener(UtteranceProgressListener listener) {
+        progressListener = listener;
+    }
+
+    public void clearProgressListener(UtteranceProgressListener listener) {
+        if (progressListener == listener) {
+            progressListener = null;
+        }
+    }
+
+    public float getSpeechRate() {
+        return speechRate;
+    }
+
+    // MIN_RATE..MAX_RATE 로 맞춰 저장하고 실제로 적용된 속도를 반환
+    public float setSpeechRate(float rate) {
+        speechRate = Math.max(MIN_RATE, Math.min(MAX_RATE, TtsPhraseCache.quantizeRate(rate)));
+        phraseCache.setSpeechRate(speechRate);
+        preferences.edit().putFloat(SPEED_KEY, speechRate).apply();
+        return speechRate;
+    }
+
+    public void speak(String text, UtteranceQueue.Priority priority) {
+        speak(text, priority, null);
+    }
+
+    // 우선순위가 같거나 높으면 지금 말하는 문장을 끊고 말하고, 낮으면 끝난 뒤에 말한다
+    public void speak(String text, UtteranceQueue.Priority priority, String utteranceId) {
+        UtteranceQueue.Utterance next;
+        synchronized (queue) {
+            next = queue.offer(text, priority, utteranceId);
+        }
+        if (next != null) {
+            dispatch(next);
+        }
+    }
+
+    public void stopSpeaking() {
+        synchronized (queue) {
+            queue.clear();
+            dispatched.clear();
+        }
+        phraseCache.stop();
+    }
+
+    public void startListening(RecognitionListener listener) {
+        if (speechRecognizer == null) {
+            // 인식 서비스 바인딩은 시작 경로에서 빼고 실제로 필요할 때 한다
+            speechRecognizer = SpeechRecognizer.createSpeechRecognizer(context);
+        }
+        speechRecognizer.setRecognitionListener(listener);
+        speechRecognizer.startListening(recognizerIntent);
+    }
+
+    public void stopListening() {
+        if (speechRecognizer != null) {
+            speechRecognizer.stopListening();
+        }
+    }
+
+    public void cancelListening() {
+        if (speechRecognizer != null) {
+            speechRecognizer.cancel();
+        }
+    }
+
+    private void dispatch(UtteranceQueue.Utterance utterance) {
+        if (!ready) {
+            return;
+        }
+        String id = ID_PREFIX + utterance.sequence;
+        synchronized (queue) {
+            // 한 번에 하나만 말하므로 끼어들기로 끊긴 문장의 항목은 여기서 버린다
+            dispatched.clear();
+            dispatched.put(id, utterance);
+        }
+        phraseCache.speak(utterance.text, id);
+    }
+
+    // 캐시/TTS 의 완료 알림을 받아 화면의 리스너로 전달하고 대기열의 다음 문장을 말한다
+    private final class DispatchListener extends UtteranceProgressListener {
+        @Override
+        public void onStart(String utteranceId) {
+            UtteranceQueue.Utterance utterance;
+            synchronized (queue) {
+                utterance = dispatched.get(utteranceId);
+            }
+            if (utterance != null) {
+                MetricsRegistry.getInstance().onUtteranceStarted(utterance.utteranceId, utterance.requestedAtNanos);
+            }
+            UtteranceProgressListener listener = progressListener;
+            if (utterance != null && utterance.utteranceId != null && listener != null) {
+                listener.onStart(utterance.utteranceId);
+            }
+        }
+
+        @Override
+        public void onDone(String utteranceId) {
+            finish(utteranceId, true);
+        }
+
+        @Override
+        public void onError(String utteranceId) {
+            finish(utteranceId, false);
+        }
+
+        private void finish(String utteranceId, boolean done) {
+            UtteranceQueue.Utterance utterance;
+            UtteranceQueue.Utterance next;
+            synchronized (queue) {
+                utterance = dispatched.remove(utteranceId);
+                next = utterance != null ? queue.finish(utterance) : null;
+            }
+            UtteranceProgressListener listener = progressListener;
+            if (utterance != null && utterance.utteranceId != null && listener != null) {
+                if (done) {
+                    listener.onDone(utterance.utteranceId);
+                } else {
+                    listener.onError(utterance.utteranceId);
+                }
+            }
+            if (next != null) {
+                mainHandler.post(() -> dispatch(next));
+            }
+        }
+    }
+}
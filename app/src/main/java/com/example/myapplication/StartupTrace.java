@@ -0,0 +1,94 @@
+package com.example.myapplication;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 앱 시작 단계별 시작/끝 시각을 프로세스 시작 기준 ms 로 기록한다
+// 같은 이름으로 systrace 구간도 남기므로 매크로벤치마크의 TraceSectionMetric 으로 단계별 시간을 잴 수 있다.
+// 여러 스레드에서 호출해도 된다.
+public final class StartupTrace {
+
+    private static final String TAG = "StartupTrace";
+
+    public static final class Phase {
+        public final String name;
+        public final String thread;
+        public final long startMs;
+        public final long endMs;
+
+        Phase(String name, String thread, long startMs, long endMs) {
+            this.name = name;
+            this.thread = thread;
+            this.startMs = startMs;
+            this.endMs = endMs;
+        }
+    }
+
+    // try-with-resources 로 한 스레드 안의 구간을 잰다
+    public static final class Section implements AutoCloseable {
+        private final String name;
+        private final long startMs;
+
+        private Section(String name) {
+            this.name = name;
+            this.startMs = sinceProcessStartMs();
+            Trace.beginSection(name);
+        }
+
+        @Override
+        public void close() {
+            Trace.endSection();
+            record(name, startMs, sinceProcessStartMs());
+        }
+    }
+
+    private static final List<Phase> phases = new ArrayList<>();
+
+    private StartupTrace() {
+    }
+
+    public static Section begin(String name) {
+        return new Section(name);
+    }
+
+    // 콜백으로 끝나는 비동기 작업처럼 시작과 끝이 다른 스레드에 있는 구간
+    public static void record(String name, long startMs, long endMs) {
+        synchronized (phases) {
+            phases.add(new Phase(name, Thread.currentThread().getName(), startMs, endMs));
+        }
+    }
+
+    // 첫 프레임처럼 길이가 없는 시점
+    public static void mark(String name) {
+        long now = sinceProcessStartMs();
+        record(name, now, now);
+    }
+
+    public static long sinceProcessStartMs() {
+        return SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime();
+    }
+
+    public static List<Phase> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    // 기록된 단계를 시작 순서대로 로그에 남긴다
+    public static void dump() {
+        List<Phase> snapshot = getPhases();
+        snapshot.sort((a, b) -> Long.compare(a.startMs, b.startMs));
+        StringBuilder builder = new StringBuilder("Startup trace (ms since process start):");
+        for (Phase phase : snapshot) {
+            builder.append(String.format(Locale.US, "%n  %6d .. %6d  %5d  %-22s [%s]",
+                    phase.startMs, phase.endMs, phase.endMs - phase.startMs, phase.name, phase.thread));
+        }
+        Log.i(TAG, builder.toString());
+    }
+}
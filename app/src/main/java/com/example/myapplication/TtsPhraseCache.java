@@ -0,0 +1,525 @@
+package com.example.myapplication;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.AudioFormat;
+import android.media.AudioTrack;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.speech.tts.TextToSpeech;
+import android.speech.tts.UtteranceProgressListener;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 자주 쓰는 안내 문구와 상품 이름을 말하기 속도별로 미리 WAV 로 합성해 두고 AudioTrack 으로 바로 재생하는 캐시
+// 캐시에 없는 문구는 평소처럼 TTS 로 합성해 말하고, 다음부터 쓰도록 백그라운드에서 파일을 만든다.
+// 재생 시작/끝은 setProgressListener() 로 등록한 리스너에 TTS 와 같은 방식으로 알려 준다.
+// speak()/stop()/setSpeechRate() 는 메인 스레드에서 호출할 것.
+public final class TtsPhraseCache {
+
+    private static final String TAG = "TtsPhraseCache";
+    private static final String CACHE_DIR = "tts_cache";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String LIVE_PREFIX = "live_";
+
+    // 앱의 속도 조절 버튼이 만드는 속도 (0.8 ~ 2.0, 0.2 단위) 와 기본값 1.0
+    static final float[] SPEECH_RATES = {1.0f, 0.8f, 1.2f, 1.4f, 1.6f, 1.8f, 2.0f};
+
+    // 화면에서 고정으로 말하는 안내 문구
+    static final String[] FIXED_PHRASES = {
+            "인식된 상품이 없습니다", "티티에스 최저속도", "티티에스 느리게", "티티에스 기본 속도",
+            "티티에스 최대속도", "티티에스 빠르게", "다시 듣기", "음성 인식을 시작합니다", "음성 인식을 종료합니다"
+    };
+
+    // 최근 재생한 PCM 을 메모리에 둘 최대 바이트
+    private static final int MEMORY_BUDGET_BYTES = 2 * 1024 * 1024;
+
+    private final Context context;
+    private final TextToSpeech tts;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // 파일 읽기와 AudioTrack 준비를 하는 스레드 (재생 순서 유지를 위해 하나)
+    private final ExecutorService playbackExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "tts-cache-playback"));
+    private final AtomicInteger liveSequence = new AtomicInteger();
+    // speak()/stop() 마다 늘어나는 요청 번호. 뒤에 온 요청이 있으면 앞 요청의 라이브 대체를 버린다
+    private final AtomicInteger requestSequence = new AtomicInteger();
+    // 내부 utteranceId -> 호출한 쪽 utteranceId, 시작 요청 시각
+    private final Map<String, String> liveUtterances = new ConcurrentHashMap<>();
+    private final Map<String, Long> liveRequestNanos = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, WavData> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private int memoryBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong cachedFirstAudioNanos = new AtomicLong();
+    private final AtomicLong liveFirstAudioNanos = new AtomicLong();
+    private final AtomicLong liveStarted = new AtomicLong();
+
+    private volatile UtteranceProgressListener clientListener;
+    private volatile float speechRate = 1.0f;
+    private volatile File cacheDir;
+    // 미리 합성 전용 TTS (말하기용 tts 의 속도/리스너를 건드리지 않도록 따로 둔다)
+    // 아래 필드는 renderQueue 로 동기화
+    private TextToSpeech renderer;
+    private boolean rendererReady;
+    private final ArrayDeque<RenderRequest> renderQueue = new ArrayDeque<>();
+    private final Set<String> queuedRenders = new HashSet<>();
+    private File rendering;
+
+    // 현재 재생 중인 캐시 오디오 (재생 스레드에서만 접근)
+    private AudioTrack currentTrack;
+    private int playGeneration;
+
+    public TtsPhraseCache(Context context, TextToSpeech tts) {
+        this.context = context.getApplicationContext();
+        this.tts = tts;
+        tts.setOnUtteranceProgressListener(new LiveListener());
+    }
+
+    // 라이브 TTS 와 캐시 재생의 시작/끝을 받을 리스너
+    public void setProgressListener(UtteranceProgressListener listener) {
+        clientListener = listener;
+    }
+
+    public void setSpeechRate(float rate) {
+        speechRate = rate;
+        tts.setSpeechRate(rate);
+    }
+
+    // 고정 문구와 상품 이름을 현재 속도부터 모든 속도로 미리 합성한다. 말하기용 tts 초기화가 끝난 뒤 호출할 것
+    public void prefetch() {
+        playbackExecutor.execute(() -> {
+            List<String> phrases = new ArrayList<>();
+            Collections.addAll(phrases, FIXED_PHRASES);
+            try {
+                ProductCatalog catalog = ProductCatalog.getInstance(context);
+                for (int c = 0; c < catalog.getClassCount(); c++) {
+                    phrases.add(catalog.getDisplayName(c));
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "Error loading product catalog", e);
+            }
+
+            float current = quantizeRate(speechRate);
+            renderMissing(phrases, current);
+            for (float rate : SPEECH_RATES) {
+                if (rate != current) {
+                    renderMissing(phrases, rate);
+                }
+            }
+        });
+    }
+
+    private void renderMissing(List<String> phrases, float rate) {
+        for (String phrase : phrases) {
+            if (!cacheFile(phrase, rate).exists()) {
+                requestRender(phrase, rate, false);
+            }
+        }
+    }
+
+    // 캐시에 있으면 바로 재생, 없으면 라이브 TTS 로 말하고 다음을 위해 합성해 둔다
+    public void speak(String text, String utteranceId) {
+        long requested = SystemClock.elapsedRealtimeNanos();
+        float rate = quantizeRate(speechRate);
+        int request = requestSequence.incrementAndGet();
+        tts.stop();
+        playbackExecutor.execute(() -> {
+            stopTrack();
+            WavData wav = load(text, rate);
+            if (wav != null && play(wav, utteranceId, requested)) {
+                hits.incrementAndGet();
+                return;
+            }
+            misses.incrementAndGet();
+            mainHandler.post(whileCurrent(requestSequence, request,
+                    () -> speakLive(text, utteranceId, requested)));
+            if (wav == null) {
+                requestRender(text, rate, true);
+            }
+        });
+    }
+
+    public void stop() {
+        requestSequence.incrementAndGet();
+        tts.stop();
+        playbackExecutor.execute(this::stopTrack);
+    }
+
+    public void release() {
+        stop();
+        playbackExecutor.shutdown();
+        synchronized (renderQueue) {
+            renderQueue.clear();
+            queuedRenders.clear();
+            rendererReady = false;
+            if (renderer != null) {
+                renderer.shutdown();
+                renderer = null;
+            }
+        }
+        Log.d(TAG, "hit rate " + Math.round(getHitRate() * 100) + "%, first audio cached "
+                + getAverageCachedFirstAudioMs() + " ms, live " + getAverageLiveFirstAudioMs() + " ms");
+    }
+
+    // 캐시 재생 비율 (0..1)
+    public float getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0f : hits.get() / (float) total;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    // speak() 호출부터 소리가 나기 시작할 때까지 평균 시간
+    public float getAverageCachedFirstAudioMs() {
+        long count = hits.get();
+        return count == 0 ? 0f : cachedFirstAudioNanos.get() / 1_000_000f / count;
+    }
+
+    public float getAverageLiveFirstAudioMs() {
+        long count = liveStarted.get();
+        return count == 0 ? 0f : liveFirstAudioNanos.get() / 1_000_000f / count;
+    }
+
+    // 메인 스레드에서 실행될 때 request 가 아직 마지막 요청이면 action 을 실행한다.
+    // 캐시를 놓친 요청의 라이브 TTS 가 그 뒤 요청의 캐시 재생을 QUEUE_FLUSH 로 끊지 않게 한다
+    static Runnable whileCurrent(AtomicInteger sequence, int request, Runnable action) {
+        return () -> {
+            if (sequence.get() == request) {
+                action.run();
+            }
+        };
+    }
+
+    // 속도는 0.1 단위로 맞춰서 키를 만든다
+    static float quantizeRate(float rate) {
+        return Math.round(rate * 10f) / 10f;
+    }
+
+    // 문구와 속도로 만든 파일 이름 (문구는 해시로 바꿔 파일 이름에 쓸 수 없는 글자를 피한다)
+    static String fileName(String text, float rate) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 10; i++) {
+                builder.append(String.format(Locale.US, "%02x", digest[i]));
+            }
+            return "r" + Math.round(quantizeRate(rate) * 10f) + "_" + builder + ".wav";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 엔진이나 목소리가 바뀌면 다른 폴더를 쓰도록 엔진 이름을 경로에 넣는다
+    private File cacheFile(String text, float rate) {
+        File dir = cacheDir;
+        if (dir == null) {
+            String engine = tts.getDefaultEngine();
+            dir = new File(new File(context.getFilesDir(), CACHE_DIR), engine != null ? engine : "default");
+            if (!dir.exists() && !dir.mkdirs()) {
+                Log.e(TAG, "Failed to create directory " + dir);
+            }
+            cacheDir = dir;
+        }
+        return new File(dir, fileName(text, rate));
+    }
+
+    private WavData load(String text, float rate) {
+        String key = fileName(text, rate);
+        synchronized (memory) {
+            WavData cached = memory.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        File file = cacheFile(text, rate);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            WavData wav = WavData.parse(Files.readAllBytes(file.toPath()));
+            if (wav == null) {
+                // 읽을 수 없는 파일은 지우고 다시 합성
+                file.delete();
+                return null;
+            }
+            remember(key, wav);
+            return wav;
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading " + file, e);
+            return null;
+        }
+    }
+
+    private void remember(String key, WavData wav) {
+        synchronized (memory) {
+            memory.put(key, wav);
+            memoryBytes += wav.bytes.length;
+            Iterator<Map.Entry<String, WavData>> iterator = memory.entrySet().iterator();
+            while (memoryBytes > MEMORY_BUDGET_BYTES && iterator.hasNext()) {
+                Map.Entry<String, WavData> eldest = iterator.next();
+                if (eldest.getKey().equals(key)) {
+                    break;
+                }
+                memoryBytes -= eldest.getValue().bytes.length;
+                iterator.remove();
+            }
+        }
+    }
+
+    // 재생 스레드에서 호출. 실패하면 false (라이브 TTS 로 대체)
+    private boolean play(WavData wav, String utteranceId, long requestedNanos) {
+        AudioTrack track;
+        try {
+            AudioTrack.Builder builder = new AudioTrack.Builder()
+                    .setAudioAttributes(new AudioAttributes.Builder()
+                            .setUsage(AudioAttributes.USAGE_ASSISTANCE_ACCESSIBILITY)
+                            .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+                            .build())
+                    .setAudioFormat(new AudioFormat.Builder()
+                            .setEncoding(AudioFormat.ENCODING_PCM_16BIT)
+                            .setSampleRate(wav.sampleRate)
+                            .setChannelMask(wav.channels == 1
+                                    ? AudioFormat.CHANNEL_OUT_MONO : AudioFormat.CHANNEL_OUT_STEREO)
+                            .build())
+                    .setTransferMode(AudioTrack.MODE_STATIC)
+                    .setBufferSizeInBytes(Math.max(wav.dataLength, 2 * wav.channels));
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                builder.setPerformanceMode(AudioTrack.PERFORMANCE_MODE_LOW_LATENCY);
+            }
+            track = builder.build();
+            track.write(wav.bytes, wav.dataOffset, wav.dataLength);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error preparing cached audio", e);
+            return false;
+        }
+
+        int generation = ++playGeneration;
+        track.setNotificationMarkerPosition(Math.max(1, wav.getFrameCount()));
+        track.setPlaybackPositionUpdateListener(new AudioTrack.OnPlaybackPositionUpdateListener() {
+            @Override
+            public void onMarkerReached(AudioTrack finished) {
+                playbackExecutor.execute(() -> {
+                    if (generation == playGeneration) {
+                        stopTrack();
+                    }
+                });
+                UtteranceProgressListener listener = clientListener;
+                if (listener != null && utteranceId != null) {
+                    listener.onDone(utteranceId);
+                }
+            }
+
+            @Override
+            public void onPeriodicNotification(AudioTrack track) {
+            }
+        }, mainHandler);
+
+        UtteranceProgressListener listener = clientListener;
+        if (listener != null && utteranceId != null) {
+            listener.onStart(utteranceId);
+        }
+        track.play();
+        currentTrack = track;
+        cachedFirstAudioNanos.addAndGet(SystemClock.elapsedRealtimeNanos() - requestedNanos);
+        return true;
+    }
+
+    private void stopTrack() {
+        AudioTrack track = currentTrack;
+        currentTrack = null;
+        if (track != null) {
+            track.setPlaybackPositionUpdateListener(null);
+            try {
+                track.stop();
+            } catch (IllegalStateException e) {
+                Log.w(TAG, "Track already stopped");
+            }
+            track.release();
+        }
+    }
+
+    private void speakLive(String text, String utteranceId, long requestedNanos) {
+        String liveId = LIVE_PREFIX + liveSequence.incrementAndGet();
+        if (utteranceId != null) {
+            liveUtterances.put(liveId, utteranceId);
+        }
+        liveRequestNanos.put(liveId, requestedNanos);
+        tts.speak(text, TextToSpeech.QUEUE_FLUSH, null, liveId);
+    }
+
+    // 합성 요청을 대기열에 넣는다. 엔진의 합성 스레드는 라이브 TTS 와 공유되므로
+    // 한 번에 하나씩만 합성해서 라이브 안내가 미리 합성에 밀려 늦어지지 않게 한다.
+    private void requestRender(String text, float rate, boolean urgent) {
+        synchronized (renderQueue) {
+            if (!queuedRenders.add(fileName(text, rate))) {
+                return;
+            }
+            RenderRequest request = new RenderRequest(text, rate);
+            if (urgent) {
+                renderQueue.addFirst(request);
+            } else {
+                renderQueue.addLast(request);
+            }
+            if (renderer == null) {
+                renderer = new TextToSpeech(context, this::onRendererInit);
+            }
+        }
+        pumpRender();
+    }
+
+    private void onRendererInit(int status) {
+        synchronized (renderQueue) {
+            if (renderer == null) {
+                return;
+            }
+            if (status != TextToSpeech.SUCCESS) {
+                Log.e(TAG, "Renderer TTS init failed: " + status);
+                renderQueue.clear();
+                queuedRenders.clear();
+                return;
+            }
+            renderer.setLanguage(Locale.KOREAN);
+            renderer.setOnUtteranceProgressListener(new RenderListener());
+            rendererReady = true;
+        }
+        pumpRender();
+    }
+
+    // 합성 중인 것이 없으면 다음 요청을 임시 파일로 합성 (끝나면 RenderListener 가 캐시 파일로 rename)
+    private void pumpRender() {
+        synchronized (renderQueue) {
+            while (rendererReady && renderer != null && rendering == null && !renderQueue.isEmpty()) {
+                RenderRequest request = renderQueue.pollFirst();
+                File target = cacheFile(request.text, request.rate);
+                if (target.exists()) {
+                    queuedRenders.remove(target.getName());
+                    continue;
+                }
+                // 속도는 요청을 넣는 시점의 값이 적용된다
+                renderer.setSpeechRate(request.rate);
+                File temp = new File(target.getPath() + TEMP_SUFFIX);
+                if (renderer.synthesizeToFile(request.text, new Bundle(), temp, target.getName())
+                        == TextToSpeech.SUCCESS) {
+                    rendering = target;
+                } else {
+                    queuedRenders.remove(target.getName());
+                }
+            }
+        }
+    }
+
+    private void finishRender(String utteranceId, boolean success) {
+        synchronized (renderQueue) {
+            File target = rendering;
+            if (target == null || !target.getName().equals(utteranceId)) {
+                return;
+            }
+            File temp = new File(target.getPath() + TEMP_SUFFIX);
+            if (!success || !temp.renameTo(target)) {
+                temp.delete();
+            }
+            queuedRenders.remove(target.getName());
+            rendering = null;
+        }
+        pumpRender();
+    }
+
+    private static final class RenderRequest {
+        final String text;
+        final float rate;
+
+        RenderRequest(String text, float rate) {
+            this.text = text;
+            this.rate = rate;
+        }
+    }
+
+    private final class RenderListener extends UtteranceProgressListener {
+        @Override
+        public void onStart(String utteranceId) {
+        }
+
+        @Override
+        public void onDone(String utteranceId) {
+            finishRender(utteranceId, true);
+        }
+
+        @Override
+        public void onError(String utteranceId) {
+            finishRender(utteranceId, false);
+        }
+    }
+
+    // 라이브 TTS 콜백을 호출한 쪽 utteranceId 로 바꿔 전달하고 첫 소리까지 걸린 시간을 잰다
+    private final class LiveListener extends UtteranceProgressListener {
+        @Override
+        public void onStart(String utteranceId) {
+            Long requested = liveRequestNanos.remove(utteranceId);
+            if (requested != null) {
+                liveFirstAudioNanos.addAndGet(SystemClock.elapsedRealtimeNanos() - requested);
+                liveStarted.incrementAndGet();
+            }
+            String clientId = liveUtterances.get(utteranceId);
+            UtteranceProgressListener listener = clientListener;
+            if (listener != null && clientId != null) {
+                listener.onStart(clientId);
+            }
+        }
+
+        @Override
+        public void onDone(String utteranceId) {
+            String clientId = liveUtterances.remove(utteranceId);
+            UtteranceProgressListener listener = clientListener;
+            if (listener != null && clientId != null) {
+                listener.onDone(clientId);
+            }
+        }
+
+        @Override
+        public void onError(String utteranceId) {
+            liveRequestNanos.remove(utteranceId);
+            String clientId = liveUtterances.remove(utteranceId);
+            UtteranceProgressListener listener = clientListener;
+            if (listener != null && clientId != null) {
+                listener.onError(clientId);
+            }
+        }
+
+        @Override
+        public void onStop(String utteranceId, boolean interrupted) {
+            liveRequestNanos.remove(utteranceId);
+            liveUtterances.remove(utteranceId);
+        }
+    }
+}
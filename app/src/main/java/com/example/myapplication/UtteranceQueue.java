@@ -0,0 +1,73 @@
+package com.example.myapplication;
+
+import java.util.PriorityQueue;
+
+// 말할 문장의 우선순위 대기열
+// 지금 말하는 것보다 우선순위가 같거나 높은 문장은 끼어들고(이전 문장은 버림), 낮은 문장은 기다린다.
+// 같은 우선순위끼리는 들어온 순서대로 나간다. 동기화는 호출하는 쪽에서 한다.
+public final class UtteranceQueue {
+
+    public enum Priority {
+        LOW,     // 안내 힌트 (기다렸다가 말함)
+        NORMAL,  // 버튼 피드백
+        HIGH     // 인식 결과
+    }
+
+    public static final class Utterance {
+        public final String text;
+        public final Priority priority;
+        public final String utteranceId;
+        final long sequence;
+        // offer() 된 시각 (System.nanoTime, 말하기 시작까지의 지연 측정용)
+        final long requestedAtNanos;
+
+        Utterance(String text, Priority priority, String utteranceId, long sequence) {
+            this.text = text;
+            this.priority = priority;
+            this.utteranceId = utteranceId;
+            this.sequence = sequence;
+            this.requestedAtNanos = System.nanoTime();
+        }
+    }
+
+    private final PriorityQueue<Utterance> waiting = new PriorityQueue<>(8, (a, b) -> {
+        int byPriority = b.priority.compareTo(a.priority);
+        return byPriority != 0 ? byPriority : Long.compare(a.sequence, b.sequence);
+    });
+    private Utterance current;
+    private long nextSequence;
+
+    // 바로 말해야 하면 그 문장을, 기다려야 하면 null 을 반환
+    public Utterance offer(String text, Priority priority, String utteranceId) {
+        Utterance utterance = new Utterance(text, priority, utteranceId, nextSequence++);
+        if (current == null || priority.compareTo(current.priority) >= 0) {
+            current = utterance;
+            return utterance;
+        }
+        waiting.add(utterance);
+        return null;
+    }
+
+    // 지금 말하던 문장이 끝났을 때 호출. 다음에 말할 문장 (없으면 null)
+    public Utterance finish(Utterance finished) {
+        if (finished != current) {
+            // 끼어든 문장에 밀려난 문장의 늦은 완료 알림
+            return null;
+        }
+        current = waiting.poll();
+        return current;
+    }
+
+    public Utterance getCurrent() {
+        return current;
+    }
+
+    public int getWaitingCount() {
+        return waiting.size();
+    }
+
+    public void clear() {
+        waiting.clear();
+        current = null;
+    }
+}
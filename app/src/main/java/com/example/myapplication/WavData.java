@@ -0,0 +1,86 @@
+package com.example.myapplication;
+
+// TTS 엔진이 synthesizeToFile 로 만든 WAV 파일이나 명령어 템플릿 WAV 에서 PCM 구간을 찾는다
+// 16비트 PCM 만 지원하며, 그 밖의 형식이면 parse() 가 null 을 돌려준다.
+public final class WavData {
+
+    public final byte[] bytes;
+    public final int sampleRate;
+    public final int channels;
+    public final int dataOffset;
+    public final int dataLength;
+
+    private WavData(byte[] bytes, int sampleRate, int channels, int dataOffset, int dataLength) {
+        this.bytes = bytes;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.dataOffset = dataOffset;
+        this.dataLength = dataLength;
+    }
+
+    // 채널 하나당 샘플 수
+    public int getFrameCount() {
+        return dataLength / (2 * channels);
+    }
+
+    // 첫 번째 채널의 샘플
+    public short[] getSamples() {
+        short[] samples = new short[getFrameCount()];
+        int stride = 2 * channels;
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) readShort(bytes, dataOffset + i * stride);
+        }
+        return samples;
+    }
+
+    public static WavData parse(byte[] bytes) {
+        if (bytes.length < 12 || !tag(bytes, 0, "RIFF") || !tag(bytes, 8, "WAVE")) {
+            return null;
+        }
+        int sampleRate = 0;
+        int channels = 0;
+        boolean pcm16 = false;
+        int position = 12;
+        while (position + 8 <= bytes.length) {
+            int size = readInt(bytes, position + 4);
+            int body = position + 8;
+            if (size < 0) {
+                return null;
+            }
+            if (tag(bytes, position, "fmt ") && size >= 16 && body + 16 <= bytes.length) {
+                int format = readShort(bytes, body);
+                channels = readShort(bytes, body + 2);
+                sampleRate = readInt(bytes, body + 4);
+                pcm16 = format == 1 && readShort(bytes, body + 14) == 16;
+            } else if (tag(bytes, position, "data")) {
+                if (!pcm16 || channels <= 0 || sampleRate <= 0) {
+                    return null;
+                }
+                // 엔진이 크기를 채우지 못하고 끝난 파일은 남은 바이트만 쓴다
+                int length = Math.min(size, bytes.length - body);
+                return new WavData(bytes, sampleRate, channels, body, length - length % (2 * channels));
+            }
+            // 청크는 2바이트 단위로 정렬된다
+            position = body + size + (size & 1);
+        }
+        return null;
+    }
+
+    private static boolean tag(byte[] bytes, int offset, String tag) {
+        for (int i = 0; i < 4; i++) {
+            if (bytes[offset + i] != tag.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readShort(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8
+                | (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+    }
+}
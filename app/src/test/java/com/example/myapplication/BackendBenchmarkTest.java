@@ -0,0 +1,123 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+import org.tensorflow.lite.DataType;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BackendBenchmarkTest {
+
+    private static final List<InferenceBackend> ALL =
+            Arrays.asList(InferenceBackend.CPU, InferenceBackend.GPU, InferenceBackend.NNAPI);
+
+    // 가짜 러너가 실행할 때마다 앞으로 돌리는 시계 (나노초)
+    private final long[] now = new long[1];
+
+    @Test
+    public void selectsFastestConsistentBackend() {
+        // GPU 는 가장 빠르지만 결과가 틀리고, NNAPI 는 CPU 보다 빠르고 결과가 맞다
+        BackendBenchmark.RunnerFactory factory = backend -> {
+            switch (backend) {
+                case GPU:
+                    return new FakeRunner(now, 0, 0.5f);
+                case NNAPI:
+                    return new FakeRunner(now, 1, 0.001f);
+                default:
+                    return new FakeRunner(now, 5, 0f);
+            }
+        };
+        BackendBenchmark benchmark = new BackendBenchmark(factory, 1, 3, 0.02f, () -> now[0]);
+        List<BackendBenchmark.Result> results = benchmark.run(ALL);
+
+        assertEquals(3, results.size());
+        assertEquals(5f, results.get(0).medianMs, 1e-6f);
+        assertEquals(1f, results.get(2).medianMs, 1e-6f);
+        assertEquals(0.5f, results.get(1).maxAbsError, 1e-6f);
+        assertEquals(InferenceBackend.NNAPI, benchmark.selectFastest(results));
+    }
+
+    @Test
+    public void fallsBackToCpuWhenDelegatesFail() {
+        BackendBenchmark.RunnerFactory factory = backend -> {
+            if (backend != InferenceBackend.CPU) {
+                throw new IllegalStateException(backend + " not supported");
+            }
+            return new FakeRunner(now, 0, 0f);
+        };
+        BackendBenchmark benchmark = new BackendBenchmark(factory, 0, 1, 0.02f, () -> now[0]);
+        List<BackendBenchmark.Result> results = benchmark.run(ALL);
+
+        assertTrue(results.get(0).success);
+        assertFalse(results.get(1).success);
+        assertFalse(results.get(2).success);
+        assertEquals(InferenceBackend.CPU, benchmark.selectFastest(results));
+    }
+
+    @Test
+    public void maxAbsError_normalizesQuantizedOutput() {
+        ByteBuffer expected = ByteBuffer.allocate(2);
+        ByteBuffer actual = ByteBuffer.allocate(2);
+        expected.put(0, (byte) 200);
+        actual.put(0, (byte) 149);
+        assertEquals(51 / 255f, BackendBenchmark.maxAbsError(expected, actual, DataType.UINT8), 1e-6f);
+    }
+
+    @Test
+    public void maxAbsError_comparesInt8AsSigned() {
+        ByteBuffer expected = ByteBuffer.allocate(1);
+        ByteBuffer actual = ByteBuffer.allocate(1);
+        expected.put(0, (byte) -1);
+        actual.put(0, (byte) 0);
+        assertEquals(1 / 255f, BackendBenchmark.maxAbsError(expected, actual, DataType.INT8), 1e-6f);
+        assertEquals(255 / 255f, BackendBenchmark.maxAbsError(expected, actual, DataType.UINT8), 1e-6f);
+    }
+
+    // 입력을 그대로 복사하고 offset 만큼 틀린 값을 내며, 실행마다 시계를 runMs 만큼 돌리는 가짜 러너
+    private static final class FakeRunner implements BackendBenchmark.Runner {
+        private final long[] clock;
+        private final long runMs;
+        private final float offset;
+
+        FakeRunner(long[] clock, long runMs, float offset) {
+            this.clock = clock;
+            this.runMs = runMs;
+            this.offset = offset;
+        }
+
+        @Override
+        public int inputBytes() {
+            return 64;
+        }
+
+        @Override
+        public int outputBytes() {
+            return 64;
+        }
+
+        @Override
+        public DataType inputType() {
+            return DataType.FLOAT32;
+        }
+
+        @Override
+        public DataType outputType() {
+            return DataType.FLOAT32;
+        }
+
+        @Override
+        public void run(ByteBuffer input, ByteBuffer output) {
+            clock[0] += runMs * 1_000_000L;
+            for (int i = 0; i < 64; i += 4) {
+                output.putFloat(i, input.getFloat(i) + offset);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BurstFrameBufferTest {
+
+    private static final int WIDTH = 160;
+    private static final int HEIGHT = 120;
+
+    @Test
+    public void sharpFrameScoresHigherThanBlurred() {
+        FrameQuality quality = new FrameQuality();
+        quality.measure(texture(0), WIDTH, HEIGHT, WIDTH);
+        float sharp = quality.getSharpness();
+        quality.measure(texture(4), WIDTH, HEIGHT, WIDTH);
+        float blurred = quality.getSharpness();
+
+        assertTrue(sharp + " vs " + blurred, sharp > 4 * blurred);
+    }
+
+    @Test
+    public void darkFrameHasLowExposure() {
+        FrameQuality quality = new FrameQuality();
+        quality.measure(filled(128), WIDTH, HEIGHT, WIDTH);
+        assertEquals(1f, quality.getExposure(), 1e-3f);
+        quality.measure(filled(5), WIDTH, HEIGHT, WIDTH);
+        assertEquals(0f, quality.getExposure(), 1e-3f);
+    }
+
+    @Test
+    public void ringReusesSlotBuffers() {
+        BurstFrameBuffer buffer = new BurstFrameBuffer(2);
+        ByteBuffer chroma = filled(128, WIDTH * HEIGHT / 4);
+        BurstFrameBuffer.Frame first = offer(buffer, texture(0), chroma, 0L);
+        ByteBuffer firstY = first.getY();
+        offer(buffer, texture(1), chroma, 1L);
+        BurstFrameBuffer.Frame third = offer(buffer, texture(2), chroma, 2L);
+
+        assertSame(first, third);
+        assertSame(firstY, third.getY());
+        assertEquals(2, buffer.size());
+        assertEquals(2L, third.getTimestampNanos());
+        // 원본 평면의 position 은 바뀌지 않는다
+        assertEquals(0, chroma.position());
+    }
+
+    @Test
+    public void selectBest_ordersByScoreWithinWindow() {
+        BurstFrameBuffer buffer = new BurstFrameBuffer(4);
+        ByteBuffer chroma = filled(128, WIDTH * HEIGHT / 4);
+        offer(buffer, texture(0), chroma, 100L);  // 가장 선명하지만 창 밖
+        offer(buffer, texture(3), chroma, 200L);
+        offer(buffer, texture(1), chroma, 300L);
+        offer(buffer, texture(2), chroma, 400L);
+
+        BurstFrameBuffer.Frame[] best = new BurstFrameBuffer.Frame[2];
+        assertEquals(2, buffer.selectBest(150L, best));
+        assertEquals(300L, best[0].getTimestampNanos());
+        assertEquals(400L, best[1].getTimestampNanos());
+    }
+
+    private static BurstFrameBuffer.Frame offer(BurstFrameBuffer buffer, ByteBuffer y, ByteBuffer chroma, long timestamp) {
+        return buffer.offer(y, chroma, chroma, WIDTH, HEIGHT, WIDTH, WIDTH / 2, 1, 90, timestamp);
+    }
+
+    // 무작위 질감을 반경 radius 의 가로 박스 필터로 흐린 영상 (radius 0 이면 그대로)
+    private static ByteBuffer texture(int radius) {
+        Random random = new Random(42);
+        int[] pixels = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = 60 + random.nextInt(130);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WIDTH * HEIGHT);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int sum = 0;
+                int count = 0;
+                for (int dx = -radius; dx <= radius; dx++) {
+                    if (x + dx >= 0 && x + dx < WIDTH) {
+                        sum += pixels[y * WIDTH + x + dx];
+                        count++;
+                    }
+                }
+                buffer.put(y * WIDTH + x, (byte) (sum / count));
+            }
+        }
+        return buffer;
+    }
+
+    private static ByteBuffer filled(int value) {
+        return filled(value, WIDTH * HEIGHT);
+    }
+
+    private static ByteBuffer filled(int value, int size) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        for (int i = 0; i < size; i++) {
+            buffer.put(i, (byte) value);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.myapplication;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class CapturePersisterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void fileName_isUniqueAndSortsByCaptureOrder() {
+        String first = CapturePersister.fileName(1_700_000_000_000L, 7);
+        String sameMillis = CapturePersister.fileName(1_700_000_000_000L, 8);
+        String later = CapturePersister.fileName(1_700_000_001_000L, 0);
+
+        assertNotEquals(first, sameMillis);
+        assertTrue(first.compareTo(sameMillis) < 0);
+        assertTrue(sameMillis.compareTo(later) < 0);
+        assertTrue(first.startsWith("capture_") && first.endsWith(".jpg"));
+    }
+
+    @Test
+    public void writeAtomically_leavesOnlyTheFinalFile() throws IOException {
+        File target = new File(folder.getRoot(), "capture_a.jpg");
+
+        assertTrue(CapturePersister.writeAtomically(target, stream -> stream.write(new byte[]{1, 2, 3})));
+
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(target.toPath()));
+        assertArrayEquals(new String[]{"capture_a.jpg"}, folder.getRoot().list());
+    }
+
+    @Test
+    public void enforceRetention_deletesOldestCaptures() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            folder.newFile(CapturePersister.fileName(1_700_000_000_000L + i * 1000L, i));
+        }
+        File other = folder.newFile("note.txt");
+
+        CapturePersister.enforceRetention(folder.getRoot(), 3);
+
+        String[] remaining = folder.getRoot().list((dir, name) -> name.endsWith(".jpg"));
+        assertEquals(3, remaining.length);
+        for (String name : remaining) {
+            assertFalse(name.equals(CapturePersister.fileName(1_700_000_000_000L, 0)));
+            assertFalse(name.equals(CapturePersister.fileName(1_700_000_001_000L, 1)));
+        }
+        assertTrue(other.exists());
+    }
+
+    @Test
+    public void enqueue_rejectsNewRequestWhenQueueIsFull() throws InterruptedException {
+        CapturePersister persister = new CapturePersister(folder.getRoot(), new BitmapPool(0, false),
+                CapturePersister.DEFAULT_QUALITY, 0, 1, CapturePersister.DEFAULT_MAX_FILES);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch queuedRan = new CountDownLatch(1);
+        boolean[] rejectedRan = new boolean[1];
+
+        assertTrue(persister.enqueue(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(persister.enqueue(queuedRan::countDown));
+        // 이미 URI 를 돌려준 대기 요청은 그대로 두고 새 요청을 거절한다
+        assertFalse(persister.enqueue(() -> rejectedRan[0] = true));
+
+        release.countDown();
+        assertTrue(queuedRan.await(5, TimeUnit.SECONDS));
+        persister.shutdown();
+        assertFalse(persister.enqueue(() -> rejectedRan[0] = true));
+        assertFalse(rejectedRan[0]);
+    }
+}
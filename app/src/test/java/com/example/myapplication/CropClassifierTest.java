@@ -0,0 +1,45 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CropClassifierTest {
+
+    @Test
+    public void squareCrop_centersOnBoxWithMargin() {
+        float[] crop = new float[4];
+        CropClassifier.squareCrop(100, 100, 200, 140, 720, 1280, crop);
+
+        float side = 100 * CropClassifier.CROP_MARGIN;
+        assertEquals(side, crop[2] - crop[0], 1e-3f);
+        assertEquals(side, crop[3] - crop[1], 1e-3f);
+        assertEquals(150f, (crop[0] + crop[2]) / 2, 1e-3f);
+        assertEquals(120f, (crop[1] + crop[3]) / 2, 1e-3f);
+    }
+
+    @Test
+    public void squareCrop_shiftsInsideFrameAtEdges() {
+        float[] crop = new float[4];
+        CropClassifier.squareCrop(0, 1200, 80, 1280, 720, 1280, crop);
+
+        assertEquals(0f, crop[0], 1e-3f);
+        assertEquals(1280f, crop[3], 1e-3f);
+
+        // 프레임보다 큰 상자는 짧은 변 크기로 줄인다
+        CropClassifier.squareCrop(0, 0, 720, 1000, 720, 1280, crop);
+        assertEquals(720f, crop[2] - crop[0], 1e-3f);
+        assertEquals(0f, crop[0], 1e-3f);
+    }
+
+    @Test
+    public void toProbabilities_keepsProbabilitiesAndSoftmaxesLogits() {
+        float[] values = {0.1f, 0.7f, 0.2f, 2f, 0f, -1f};
+        CropClassifier.toProbabilities(values, 0, 3);
+        CropClassifier.toProbabilities(values, 3, 3);
+
+        assertEquals(0.7f, values[1], 1e-6f);
+        assertEquals(1f, values[3] + values[4] + values[5], 1e-5f);
+        assertTrue(values[3] > values[4] && values[4] > values[5]);
+    }
+}
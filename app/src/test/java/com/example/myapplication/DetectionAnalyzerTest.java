@@ -0,0 +1,52 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class DetectionAnalyzerTest {
+
+    @Test
+    public void failedDetectionStillAnswersPendingBurst() {
+        DetectionResult latest = new DetectionResult(new int[]{3}, new float[]{0.9f},
+                new float[]{0, 0, 10, 10}, new int[]{1}, 42L);
+        AtomicReference<DetectionAnalyzer.OnBurstListener> request = new AtomicReference<>();
+        DetectionResult[] delivered = new DetectionResult[1];
+        int[] calls = new int[1];
+        request.set((result, frame) -> {
+            assertNull(frame);
+            delivered[0] = result;
+            calls[0]++;
+        });
+
+        DetectionAnalyzer.answerBurstWithoutModel(request, latest);
+
+        assertEquals(1, calls[0]);
+        assertSame(latest, delivered[0]);
+        assertNull(request.get());
+
+        // 요청이 없으면 아무것도 하지 않는다
+        DetectionAnalyzer.answerBurstWithoutModel(request, latest);
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void relabeledOverlappingBoxesAreSuppressedAgain() {
+        NonMaxSuppression nms = new NonMaxSuppression(0.45f, NonMaxSuppression.Mode.PER_CLASS, 300);
+        Detections detections = new Detections(4);
+        // 다른 클래스라 클래스별 NMS 를 둘 다 통과한 겹친 상자
+        detections.add(100, 100, 200, 200, 0.9f, 1);
+        detections.add(105, 105, 205, 205, 0.8f, 2);
+        detections.add(400, 400, 500, 500, 0.7f, 2);
+
+        // 분류기가 둘째 상자를 첫째와 같은 클래스로 바꿈
+        detections.setClassId(1, 1);
+        int kept = DetectionAnalyzer.suppressAgain(nms, detections, new Detections(4));
+
+        assertEquals(2, kept);
+        assertEquals(0.9f, detections.getScore(0), 1e-6f);
+        assertEquals(0.7f, detections.getScore(1), 1e-6f);
+    }
+}
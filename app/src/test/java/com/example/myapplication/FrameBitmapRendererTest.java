@@ -0,0 +1,39 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class FrameBitmapRendererTest {
+
+    @Test
+    public void writeRgba_appliesRotationAndOpaqueAlpha() {
+        // 4x2 회색 프레임의 왼쪽 위 픽셀만 흰색. 90도 회전하면 2x4 에서 오른쪽 위
+        int width = 4;
+        int height = 2;
+        ByteBuffer y = ByteBuffer.allocateDirect(width * height);
+        ByteBuffer u = ByteBuffer.allocateDirect(width * height / 4);
+        ByteBuffer v = ByteBuffer.allocateDirect(width * height / 4);
+        for (int i = 0; i < y.capacity(); i++) {
+            y.put(i, (byte) 100);
+        }
+        for (int i = 0; i < u.capacity(); i++) {
+            u.put(i, (byte) 128);
+            v.put(i, (byte) 128);
+        }
+        y.put(0, (byte) 255);
+        ByteBuffer out = ByteBuffer.allocateDirect(width * height * 4);
+
+        new FrameBitmapRenderer().writeRgba(y, u, v, width, height, width, width / 2, 1, 90, out);
+
+        int rotatedWidth = height;
+        int topRight = (rotatedWidth - 1) * 4;
+        assertEquals(255, out.get(topRight) & 0xFF);
+        assertEquals(255, out.get(topRight + 1) & 0xFF);
+        assertEquals(100, out.get(0) & 0xFF);
+        assertEquals(100, out.get(out.capacity() - 2) & 0xFF);
+        assertEquals(255, out.get(out.capacity() - 1) & 0xFF);
+    }
+}
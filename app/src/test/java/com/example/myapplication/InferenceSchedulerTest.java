@@ -0,0 +1,71 @@
+package com.example.myapplication;
+
+import android.os.PowerManager;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class InferenceSchedulerTest {
+
+    @Test
+    public void staticScene_runsOnlyEveryStaticInterval() {
+        InferenceScheduler scheduler = new InferenceScheduler();
+        int runs = 0;
+        for (int i = 0; i < 60; i++) {
+            if (scheduler.shouldRun(0f)) {
+                runs++;
+            }
+        }
+        assertEquals(60 / InferenceScheduler.STATIC_INTERVAL, runs);
+        assertEquals(1f - runs / 60f, scheduler.getSkipRatio(), 1e-6f);
+    }
+
+    @Test
+    public void movingCamera_runsEveryFrame() {
+        InferenceScheduler scheduler = new InferenceScheduler();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(scheduler.shouldRun(InferenceScheduler.MOVING_MOTION));
+        }
+        assertEquals(InferenceScheduler.MOVING_INTERVAL, scheduler.getCurrentInterval());
+    }
+
+    @Test
+    public void slowDrift_accumulatesUntilNormalInterval() {
+        InferenceScheduler scheduler = new InferenceScheduler();
+        scheduler.shouldRun(0f);
+        // 프레임당 움직임은 작아도 누적되면 정지 상태로 보지 않는다
+        assertFalse(scheduler.shouldRun(1.5f));
+        assertTrue(scheduler.shouldRun(1.5f));
+        assertEquals(InferenceScheduler.NORMAL_INTERVAL, scheduler.getCurrentInterval());
+    }
+
+    @Test
+    public void thermalAndLowPower_multiplyInterval() {
+        InferenceScheduler scheduler = new InferenceScheduler();
+        scheduler.setThermalStatus(PowerManager.THERMAL_STATUS_SEVERE);
+        scheduler.setLowPower(true);
+        scheduler.shouldRun(InferenceScheduler.MOVING_MOTION);
+
+        assertEquals(8, scheduler.throttleFactor());
+        assertEquals(InferenceScheduler.MOVING_INTERVAL * 8, scheduler.getCurrentInterval());
+    }
+
+    @Test
+    public void motionEstimator_measuresLumaChange() {
+        int width = 64;
+        int height = 48;
+        int rowStride = 72;
+        ByteBuffer frame = ByteBuffer.allocate(rowStride * height);
+        MotionEstimator estimator = new MotionEstimator();
+
+        assertEquals(255f, estimator.measure(frame, width, height, rowStride), 0f);
+        assertEquals(0f, estimator.measure(frame, width, height, rowStride), 0f);
+        for (int i = 0; i < frame.capacity(); i++) {
+            frame.put(i, (byte) 10);
+        }
+        assertEquals(10f, estimator.measure(frame, width, height, rowStride), 1e-6f);
+    }
+}
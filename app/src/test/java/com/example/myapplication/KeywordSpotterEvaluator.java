@@ -0,0 +1,178 @@
+package com.example.myapplication;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+// 녹음된 PCM 을 KeywordSpotter 에 실시간처럼 흘려 넣어 검출률, 검출 지연, 오검출률을 보고한다
+//
+// 데이터 폴더 구성 (모든 WAV 는 16kHz, 모노, 16비트):
+//   templates/<명령어>/*.wav  템플릿 (앱의 assets/keywords 와 같은 구성)
+//   positives/<명령어>/*.wav  명령어 한 번씩을 녹음한 평가용 파일
+//   negatives/*.wav           명령어가 없는 긴 녹음 (대화, 매장 소음, TTS 안내 등)
+// 실행: ./gradlew :app:testDebugUnitTest --tests '*KeywordSpotterEvaluator*' -PkwsData=<폴더> [-PkwsThreshold=2.2]
+// (app/build.gradle.kts 가 이 값들을 테스트 JVM 의 시스템 프로퍼티로 넘긴다)
+public class KeywordSpotterEvaluator {
+
+    private static final int CHUNK = 320;
+    private static final int TAIL_MS = 1000;           // 검출이 확정되도록 양성 파일 뒤에 붙이는 무음
+    private static final float SPEECH_END_DB = 30f;    // 최대 에너지보다 이만큼 작으면 말이 끝난 것으로 본다
+    private static final float[] SWEEP = {1.6f, 1.8f, 2.0f, 2.2f, 2.4f, 2.6f, 2.8f};
+
+    @Test
+    public void evaluate() throws IOException {
+        String dataDir = System.getProperty("kwsData");
+        Assume.assumeTrue("kwsData not set", dataDir != null);
+        File root = new File(dataDir);
+        String thresholdProperty = System.getProperty("kwsThreshold");
+        float threshold = thresholdProperty != null
+                ? Float.parseFloat(thresholdProperty) : KeywordSpotter.DEFAULT_THRESHOLD;
+
+        Report report = run(root, threshold);
+        report.print();
+        assertTrue("No positive clips found", report.positives > 0);
+
+        System.out.println();
+        System.out.println("threshold  detect%  FA/hour");
+        for (float sweep : SWEEP) {
+            Report row = run(root, sweep);
+            System.out.printf("%9.2f  %6.1f  %7.2f%n", sweep,
+                    100.0 * row.correct / row.positives, row.falseAcceptsPerHour());
+        }
+    }
+
+    static Report run(File root, float threshold) throws IOException {
+        KeywordSpotter spotter = new KeywordSpotter(KeywordListener.SAMPLE_RATE);
+        spotter.setThreshold(threshold);
+        File[] keywordDirs = listSorted(new File(root, "templates"));
+        for (File keywordDir : keywordDirs) {
+            for (File file : listSorted(keywordDir)) {
+                assertTrue("Unusable template " + file, spotter.addTemplate(keywordDir.getName(), read(file)));
+            }
+        }
+
+        Report report = new Report(threshold);
+        long busyNanos = 0;
+        for (File keywordDir : listSorted(new File(root, "positives"))) {
+            for (File file : listSorted(keywordDir)) {
+                short[] clip = read(file);
+                short[] pcm = Arrays.copyOf(clip, clip.length + KeywordListener.SAMPLE_RATE * TAIL_MS / 1000);
+                spotter.reset();
+                long start = System.nanoTime();
+                List<KeywordSpotter.Detection> detections = KeywordSpotterTest.replay(spotter, pcm);
+                busyNanos += System.nanoTime() - start;
+                report.audioSeconds += pcm.length / (double) KeywordListener.SAMPLE_RATE;
+                report.positives++;
+                KeywordSpotter.Detection hit = null;
+                for (KeywordSpotter.Detection detection : detections) {
+                    if (detection.keyword.equals(keywordDir.getName()) && hit == null) {
+                        hit = detection;
+                    } else {
+                        report.wrongKeyword++;
+                    }
+                }
+                if (hit != null) {
+                    report.correct++;
+                    report.latenciesMs.add((hit.detectedAtSample - speechEnd(clip)) * 1000.0
+                            / KeywordListener.SAMPLE_RATE);
+                }
+            }
+        }
+        for (File file : listSorted(new File(root, "negatives"))) {
+            short[] pcm = read(file);
+            spotter.reset();
+            long start = System.nanoTime();
+            report.falseAccepts += KeywordSpotterTest.replay(spotter, pcm).size();
+            busyNanos += System.nanoTime() - start;
+            report.negativeSeconds += pcm.length / (double) KeywordListener.SAMPLE_RATE;
+            report.audioSeconds += pcm.length / (double) KeywordListener.SAMPLE_RATE;
+        }
+        report.realTimeFactor = busyNanos / 1e9 / report.audioSeconds;
+        return report;
+    }
+
+    // 최대 에너지보다 SPEECH_END_DB 이상 큰 마지막 10ms 구간의 끝 (샘플)
+    static long speechEnd(short[] clip) {
+        int hop = KeywordListener.SAMPLE_RATE / 100;
+        int frames = clip.length / hop;
+        float[] energies = new float[frames];
+        float peak = -Float.MAX_VALUE;
+        for (int f = 0; f < frames; f++) {
+            energies[f] = MfccExtractor.energyDb(clip, f * hop, hop);
+            peak = Math.max(peak, energies[f]);
+        }
+        for (int f = frames - 1; f >= 0; f--) {
+            if (energies[f] >= peak - SPEECH_END_DB) {
+                return (long) (f + 1) * hop;
+            }
+        }
+        return clip.length;
+    }
+
+    private static short[] read(File file) throws IOException {
+        WavData wav = WavData.parse(Files.readAllBytes(file.toPath()));
+        assertNotNull("Not 16-bit PCM: " + file, wav);
+        assertEquals("Sample rate of " + file, KeywordListener.SAMPLE_RATE, wav.sampleRate);
+        return wav.getSamples();
+    }
+
+    private static File[] listSorted(File dir) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files);
+        return files;
+    }
+
+    static final class Report {
+        final float threshold;
+        int positives;
+        int correct;
+        int wrongKeyword;
+        int falseAccepts;
+        double negativeSeconds;
+        double audioSeconds;
+        double realTimeFactor;
+        final List<Double> latenciesMs = new ArrayList<>();
+
+        Report(float threshold) {
+            this.threshold = threshold;
+        }
+
+        double falseAcceptsPerHour() {
+            return negativeSeconds > 0 ? falseAccepts * 3600.0 / negativeSeconds : 0;
+        }
+
+        void print() {
+            double[] sorted = new double[latenciesMs.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = latenciesMs.get(i);
+            }
+            Arrays.sort(sorted);
+            double mean = 0;
+            for (double latency : sorted) {
+                mean += latency / sorted.length;
+            }
+            System.out.printf("threshold %.2f%n", threshold);
+            System.out.printf("detected %d / %d (%.1f%%), wrong keyword %d%n",
+                    correct, positives, 100.0 * correct / Math.max(1, positives), wrongKeyword);
+            if (sorted.length > 0) {
+                System.out.printf("latency after speech end: mean %.0f ms, p95 %.0f ms, max %.0f ms%n",
+                        mean, sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * 0.95) - 1)],
+                        sorted[sorted.length - 1]);
+            }
+            System.out.printf("false accepts %d in %.2f h of negatives (%.2f / hour)%n",
+                    falseAccepts, negativeSeconds / 3600, falseAcceptsPerHour());
+            System.out.printf("processing %.3f%% of real time%n", 100 * realTimeFactor);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class KeywordSpotterTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int CHUNK = 320;  // KeywordListener 와 같은 20ms 조각
+
+    // 음높이가 바뀌는 배음 신호로 만든 가짜 "단어" (Hz, ms)
+    private static final int[][] RECIPE = {{220, 330, 180}, {150, 150, 120}};
+    private static final int[][] PRICE = {{300, 150, 400}, {120, 160, 140}};
+    private static final int[][] OTHER = {{260, 260, 260}, {150, 150, 150}};
+
+    @Test
+    public void detectsKeyword_despiteTempoAndNoise() {
+        KeywordSpotter spotter = spotter();
+        short[] word = word(RECIPE, 1.15f, 0.8f, 7);
+        List<KeywordSpotter.Detection> detections = replay(spotter, concat(noise(500, 1), word, noise(600, 2)));
+
+        assertEquals(1, detections.size());
+        KeywordSpotter.Detection detection = detections.get(0);
+        assertEquals("recipe", detection.keyword);
+        long wordEnd = samples(500) + word.length;
+        // 말이 끝난 뒤 몇백 ms 안에 결과가 나와야 한다
+        assertTrue("latency " + (detection.detectedAtSample - wordEnd),
+                detection.detectedAtSample - wordEnd <= samples(300));
+        assertTrue(Math.abs(detection.endSample - wordEnd) <= samples(60));
+    }
+
+    @Test
+    public void distinguishesKeywords() {
+        KeywordSpotter spotter = spotter();
+        List<KeywordSpotter.Detection> detections = replay(spotter,
+                concat(noise(400, 3), word(PRICE, 0.9f, 1.0f, 8), noise(800, 4), word(RECIPE, 1.0f, 0.8f, 9), noise(600, 5)));
+
+        assertEquals(2, detections.size());
+        assertEquals("price", detections.get(0).keyword);
+        assertEquals("recipe", detections.get(1).keyword);
+    }
+
+    @Test
+    public void otherSoundsAreNotAccepted() {
+        KeywordSpotter spotter = spotter();
+        List<KeywordSpotter.Detection> detections = replay(spotter,
+                concat(noise(1000, 6), word(OTHER, 1.0f, 1.0f, 10), noise(1000, 11)));
+
+        assertTrue(detections.isEmpty());
+    }
+
+    @Test
+    public void backgroundNoise_skipsFeatureExtraction() {
+        KeywordSpotter spotter = spotter();
+        assertTrue(replay(spotter, noise(5000, 12)).isEmpty());
+
+        assertEquals(498, spotter.getFrameCount());
+        assertTrue("active ratio " + spotter.getActiveRatio(), spotter.getActiveRatio() < 0.05f);
+    }
+
+    @Test
+    public void rejectsTooShortTemplate() {
+        KeywordSpotter spotter = new KeywordSpotter(SAMPLE_RATE);
+        assertFalse(spotter.addTemplate("recipe", new short[samples(50)]));
+        assertFalse(spotter.addTemplate("recipe", noise(1000, 13)));
+        assertEquals(0, spotter.getTemplateCount());
+    }
+
+    private static KeywordSpotter spotter() {
+        KeywordSpotter spotter = new KeywordSpotter(SAMPLE_RATE);
+        assertTrue(spotter.addTemplate("recipe", concat(noise(100, 20), word(RECIPE, 1.0f, 1.0f, 21), noise(100, 22))));
+        assertTrue(spotter.addTemplate("price", concat(noise(100, 23), word(PRICE, 1.0f, 1.0f, 24), noise(100, 25))));
+        return spotter;
+    }
+
+    static List<KeywordSpotter.Detection> replay(KeywordSpotter spotter, short[] pcm) {
+        List<KeywordSpotter.Detection> detections = new ArrayList<>();
+        for (int offset = 0; offset < pcm.length; offset += CHUNK) {
+            KeywordSpotter.Detection detection = spotter.feed(pcm, offset, Math.min(CHUNK, pcm.length - offset));
+            if (detection != null) {
+                detections.add(detection);
+            }
+        }
+        return detections;
+    }
+
+    private static int samples(int millis) {
+        return SAMPLE_RATE * millis / 1000;
+    }
+
+    // 배경 소음 (약 -60dBFS)
+    private static short[] noise(int millis, long seed) {
+        Random random = new Random(seed);
+        short[] pcm = new short[samples(millis)];
+        for (int i = 0; i < pcm.length; i++) {
+            pcm[i] = (short) (random.nextGaussian() * 30);
+        }
+        return pcm;
+    }
+
+    private static short[] word(int[][] shape, float tempo, float gain, long seed) {
+        int[] pitches = shape[0];
+        int[] durations = shape[1];
+        int total = 0;
+        for (int duration : durations) {
+            total += samples(Math.round(duration * tempo));
+        }
+        Random random = new Random(seed);
+        short[] pcm = new short[total];
+        double phase = 0;
+        int position = 0;
+        for (int s = 0; s < pitches.length; s++) {
+            int length = samples(Math.round(durations[s] * tempo));
+            for (int i = 0; i < length; i++, position++) {
+                phase += 2 * Math.PI * pitches[s] / SAMPLE_RATE;
+                double value = 0;
+                for (int harmonic = 1; harmonic <= 6; harmonic++) {
+                    value += Math.sin(harmonic * phase) / harmonic;
+                }
+                // 단어 앞뒤 10ms 는 부드럽게 키우고 줄인다
+                double envelope = Math.min(1.0, Math.min(position, total - position) / (double) samples(10));
+                pcm[position] = (short) (6000 * gain * envelope * value + random.nextGaussian() * 30);
+            }
+        }
+        return pcm;
+    }
+
+    private static short[] concat(short[]... parts) {
+        int total = 0;
+        for (short[] part : parts) {
+            total += part.length;
+        }
+        short[] pcm = new short[total];
+        int position = 0;
+        for (short[] part : parts) {
+            System.arraycopy(part, 0, pcm, position, part.length);
+            position += part.length;
+        }
+        return pcm;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.myapplication;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+// 핫 패스 기록 비용 마이크로벤치마크 (목표: 기록당 1µs 미만)
+// 벽시계 시간이라 기본 테스트 실행에서는 건너뛴다. 실행: ./gradlew :app:testDebugUnitTest \
+//           --tests '*LatencyHistogramBenchmark*' -PrunBenchmarks=true
+public class LatencyHistogramBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    @Test
+    public void recordCost() {
+        Assume.assumeTrue("runBenchmarks not set", Boolean.getBoolean("runBenchmarks"));
+        LatencyHistogram histogram = new LatencyHistogram("benchmark");
+        for (int i = 0; i < WARMUP; i++) {
+            histogram.record(1_000L + i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            histogram.record(1_000_000L + (i & 0xFFFFF));
+        }
+        double nanosPerRecord = (System.nanoTime() - start) / (double) ITERATIONS;
+
+        System.out.printf("LatencyHistogram.record: %.1f ns/record%n", nanosPerRecord);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void buckets_coverValuesContiguouslyWithBoundedError() {
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT - 1; i++) {
+            long lower = LatencyHistogram.bucketLowerBound(i);
+            long upper = LatencyHistogram.bucketUpperBound(i);
+            assertEquals(i, LatencyHistogram.bucketIndex(lower));
+            assertEquals(i, LatencyHistogram.bucketIndex(upper));
+            assertEquals(upper + 1, LatencyHistogram.bucketLowerBound(i + 1));
+            // 버킷 폭은 하한의 1/16 이하 (상대 오차 약 6%)
+            assertTrue(upper - lower <= Math.max(0, lower / 16));
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentiles_matchExactValuesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        Random random = new Random(3);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            // 1..100ms 에 고르게
+            values[i] = 1_000_000L + (long) (random.nextDouble() * 99_000_000L);
+            histogram.record(values[i]);
+        }
+        java.util.Arrays.sort(values);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(values[values.length - 1], snapshot.getMaxNanos());
+        for (double p : new double[]{50, 95, 99}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            assertEquals(exact, snapshot.getPercentileNanos(p), exact * 0.07);
+        }
+    }
+
+    @Test
+    public void concurrentRecords_areAllCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long value = (t + 1) * 1000L;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(value);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(200_000, snapshot.getCount());
+        assertEquals(4000, snapshot.getMaxNanos());
+        assertEquals(2500.0, snapshot.getMeanNanos(), 1e-6);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MeanAveragePrecisionTest {
+
+    @Test
+    public void perfectPredictions_giveMapOfOne() {
+        Detections truth = new Detections(2);
+        truth.add(0, 0, 100, 100, 1f, 0);
+        truth.add(200, 200, 300, 300, 1f, 1);
+        Detections predictions = new Detections(2);
+        predictions.add(2, 2, 100, 100, 0.9f, 0);
+        predictions.add(200, 200, 298, 300, 0.8f, 1);
+
+        MeanAveragePrecision map = new MeanAveragePrecision(4, 0.5f);
+        map.addImage(predictions, truth);
+
+        assertEquals(1f, map.meanAveragePrecision(), 1e-6f);
+    }
+
+    @Test
+    public void falsePositiveRankedFirst_halvesPrecision() {
+        Detections truth = new Detections(1);
+        truth.add(0, 0, 100, 100, 1f, 0);
+        Detections predictions = new Detections(2);
+        predictions.add(500, 500, 600, 600, 0.9f, 0);  // 오탐이 점수가 더 높음
+        predictions.add(0, 0, 100, 100, 0.8f, 0);
+
+        MeanAveragePrecision map = new MeanAveragePrecision(1, 0.5f);
+        map.addImage(predictions, truth);
+
+        assertEquals(0.5f, map.averagePrecision(0), 1e-6f);
+    }
+
+    @Test
+    public void wrongClassAndDuplicates_areNotMatched() {
+        Detections truth = new Detections(1);
+        truth.add(0, 0, 100, 100, 1f, 0);
+        Detections predictions = new Detections(3);
+        predictions.add(0, 0, 100, 100, 0.9f, 1);   // 다른 클래스
+        predictions.add(0, 0, 100, 100, 0.8f, 0);   // 정답
+        predictions.add(1, 1, 100, 100, 0.7f, 0);   // 같은 정답에 대한 중복
+
+        MeanAveragePrecision map = new MeanAveragePrecision(2, 0.5f);
+        map.addImage(predictions, truth);
+
+        assertEquals(1f, map.averagePrecision(0), 1e-6f);
+        assertEquals(1f, map.meanAveragePrecision(), 1e-6f);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void sameName_returnsSameMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertSame(registry.histogram("a"), registry.histogram("a"));
+        assertSame(registry.counter("b"), registry.counter("b"));
+    }
+
+    @Test
+    public void captureToSpeech_isRecordedOnceForCaptureUtterance() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.markCaptureStart();
+        registry.onUtteranceStarted("OTHER", System.nanoTime());
+        assertEquals(0, registry.histogram(MetricsRegistry.CAPTURE_TO_SPEECH).getCount());
+
+        registry.onUtteranceStarted(MetricsRegistry.CAPTURE_UTTERANCE_ID, System.nanoTime());
+        registry.onUtteranceStarted(MetricsRegistry.CAPTURE_UTTERANCE_ID, System.nanoTime());
+        assertEquals(1, registry.histogram(MetricsRegistry.CAPTURE_TO_SPEECH).getCount());
+        assertEquals(3, registry.histogram(MetricsRegistry.TTS_START_LATENCY).getCount());
+    }
+
+    @Test
+    public void export_listsCountersAndHistograms() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("camera.frames").add(3);
+        registry.histogram("pipeline.nms").record(2_000_000L);
+
+        String json = registry.toJson(1000L);
+        assertTrue(json.startsWith("{\"timeMillis\":1000,\"counters\":{\"camera.frames\":3}"));
+        assertTrue(json.contains("\"pipeline.nms\":{\"count\":1,\"meanMs\":2.000"));
+
+        String[] lines = registry.toCsv(1000L).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("1000,camera.frames,counter,3,,,,,", lines[1]);
+        assertTrue(lines[2].startsWith("1000,pipeline.nms,histogram,1,2.000,"));
+        assertEquals(9, lines[2].split(",").length);
+    }
+}
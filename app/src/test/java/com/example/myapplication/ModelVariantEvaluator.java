@@ -0,0 +1,225 @@
+package com.example.myapplication;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.tensorflow.lite.DataType;
+import org.tensorflow.lite.Delegate;
+import org.tensorflow.lite.Interpreter;
+import org.tensorflow.lite.Tensor;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.Assert.*;
+
+// 모델 변형(INT8/FLOAT16/FLOAT32)을 라벨이 달린 이미지 폴더로 평가해 mAP@0.5, 지연 시간, 모델 크기를 보고한다
+// FLOAT32 대비 mAP 하락이 ModelVariant.MAX_MAP_DROP 을 넘는 변형이 있으면 실패한다.
+//
+// 이미지 폴더에는 이미지(jpg/png)와 같은 이름의 YOLO 형식 라벨(.txt: classId xCenter yCenter width height, 0..1)을 둔다.
+// 실행: ./gradlew :app:testDebugUnitTest --tests '*ModelVariantEvaluator*' \
+//           -PevalModels=<tflite 폴더> -PevalImages=<이미지 폴더> -PtfliteNativeDir=<호스트용 TFLite JNI 폴더>
+// (app/build.gradle.kts 가 이 값들을 테스트 JVM 의 시스템 프로퍼티로 넘긴다)
+public class ModelVariantEvaluator {
+
+    private static final int INPUT_SIZE = 640;
+    private static final float CONFIDENCE_THRESHOLD = 0.25f;
+    private static final float NMS_THRESHOLD = 0.45f;
+    private static final float MAP_IOU_THRESHOLD = 0.5f;
+
+    @Test
+    public void evaluateVariants() throws IOException {
+        String modelsDir = System.getProperty("evalModels");
+        String imagesDir = System.getProperty("evalImages");
+        Assume.assumeTrue("evalModels/evalImages not set", modelsDir != null && imagesDir != null);
+
+        List<Report> reports = evaluateAll(new File(modelsDir), new File(imagesDir));
+        Report reference = null;
+        for (Report report : reports) {
+            if (report.variant == ModelVariant.FLOAT32) {
+                reference = report;
+            }
+        }
+        assertNotNull("best_float32.tflite is required as the accuracy reference", reference);
+
+        boolean rejected = false;
+        for (Report report : reports) {
+            boolean passes = reference.map - report.map <= ModelVariant.MAX_MAP_DROP;
+            rejected |= !passes;
+            System.out.printf("%-8s mAP@0.5 %.4f  median %.1f ms  size %.1f MB  %s%n",
+                    report.variant, report.map, report.medianMs, report.sizeBytes / 1e6,
+                    passes ? "OK" : "REJECTED");
+        }
+        assertFalse("A model variant drops mAP by more than " + ModelVariant.MAX_MAP_DROP, rejected);
+    }
+
+    static List<Report> evaluateAll(File modelsDir, File imagesDir) throws IOException {
+        List<Report> reports = new ArrayList<>();
+        for (ModelVariant variant : ModelVariant.values()) {
+            File modelFile = new File(modelsDir, variant.fileName);
+            if (modelFile.isFile()) {
+                reports.add(evaluate(variant, modelFile, imagesDir));
+            }
+        }
+        return reports;
+    }
+
+    static Report evaluate(ModelVariant variant, File modelFile, File imagesDir) throws IOException {
+        MappedByteBuffer model;
+        try (FileInputStream stream = new FileInputStream(modelFile)) {
+            model = stream.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, modelFile.length());
+        }
+        List<Delegate> delegates = new ArrayList<>();
+        Interpreter interpreter = new BackendInterpreters(model, BackendInterpreters.defaultThreadCount())
+                .create(InferenceBackend.CPU, delegates);
+        try {
+            Tensor inputTensor = interpreter.getInputTensor(0);
+            Tensor outputTensor = interpreter.getOutputTensor(0);
+            ByteBuffer input = ByteBuffer.allocateDirect(inputTensor.numBytes()).order(ByteOrder.nativeOrder());
+            ByteBuffer output = ByteBuffer.allocateDirect(outputTensor.numBytes()).order(ByteOrder.nativeOrder());
+            YoloV8Decoder decoder = YoloV8Decoder.forOutputShape(outputTensor.shape(), INPUT_SIZE);
+            NonMaxSuppression nms = new NonMaxSuppression(NMS_THRESHOLD, NonMaxSuppression.Mode.PER_CLASS, 300);
+            MeanAveragePrecision map = new MeanAveragePrecision(decoder.getNumClasses(), MAP_IOU_THRESHOLD);
+            Detections candidates = new Detections(256);
+            Detections predictions = new Detections(64);
+
+            List<Float> timings = new ArrayList<>();
+            File[] images = imagesDir.listFiles((dir, name) -> name.endsWith(".jpg") || name.endsWith(".png"));
+            if (images == null) {
+                throw new IOException("Cannot list " + imagesDir);
+            }
+            Arrays.sort(images);
+            for (File imageFile : images) {
+                BufferedImage image = ImageIO.read(imageFile);
+                if (image == null) {
+                    continue;
+                }
+                Letterbox letterbox = new Letterbox(image.getWidth(), image.getHeight(), INPUT_SIZE);
+                fillInput(image, letterbox, inputTensor, input);
+
+                input.rewind();
+                output.rewind();
+                long start = System.nanoTime();
+                interpreter.run(input, output);
+                timings.add((System.nanoTime() - start) / 1_000_000f);
+
+                output.rewind();
+                if (outputTensor.dataType() == DataType.FLOAT32) {
+                    FloatBuffer floats = output.asFloatBuffer();
+                    decoder.decode(floats, CONFIDENCE_THRESHOLD, letterbox, candidates);
+                } else {
+                    decoder.decodeQuantized(output, outputTensor.dataType() == DataType.INT8,
+                            outputTensor.quantizationParams().getScale(),
+                            outputTensor.quantizationParams().getZeroPoint(),
+                            CONFIDENCE_THRESHOLD, letterbox, candidates);
+                }
+                nms.apply(candidates, predictions);
+                map.addImage(predictions, readLabels(imageFile, image.getWidth(), image.getHeight()));
+            }
+
+            float[] sorted = new float[timings.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = timings.get(i);
+            }
+            Arrays.sort(sorted);
+            float median = sorted.length == 0 ? 0f : sorted[sorted.length / 2];
+            return new Report(variant, map.meanAveragePrecision(), median, modelFile.length());
+        } finally {
+            interpreter.close();
+            BackendInterpreters.closeAll(delegates);
+        }
+    }
+
+    // 앱의 YUV 변환기와 같은 규칙(레터박스, 최근접 샘플링, 114 패딩, 양자화)으로 RGB 이미지를 입력 텐서에 채운다
+    static void fillInput(BufferedImage image, Letterbox letterbox, Tensor inputTensor, ByteBuffer input) {
+        DataType type = inputTensor.dataType();
+        float scale = inputTensor.quantizationParams().getScale();
+        int zeroPoint = inputTensor.quantizationParams().getZeroPoint();
+        int[] row = new int[image.getWidth()];
+        int lastSourceY = -1;
+        input.rewind();
+        for (int dy = 0; dy < INPUT_SIZE; dy++) {
+            int sy = (int) ((dy - letterbox.getPadY() + 0.5f) / letterbox.getScale());
+            boolean rowInside = dy >= letterbox.getPadY() && dy < letterbox.getPadY() + letterbox.getContentHeight();
+            if (rowInside && sy != lastSourceY) {
+                image.getRGB(0, Math.min(sy, image.getHeight() - 1), image.getWidth(), 1, row, 0, image.getWidth());
+                lastSourceY = sy;
+            }
+            for (int dx = 0; dx < INPUT_SIZE; dx++) {
+                boolean inside = rowInside && dx >= letterbox.getPadX()
+                        && dx < letterbox.getPadX() + letterbox.getContentWidth();
+                int pixel = 0xFF727272;
+                if (inside) {
+                    int sx = (int) ((dx - letterbox.getPadX() + 0.5f) / letterbox.getScale());
+                    pixel = row[Math.min(sx, image.getWidth() - 1)];
+                }
+                putChannel(input, type, scale, zeroPoint, (pixel >> 16) & 0xFF);
+                putChannel(input, type, scale, zeroPoint, (pixel >> 8) & 0xFF);
+                putChannel(input, type, scale, zeroPoint, pixel & 0xFF);
+            }
+        }
+    }
+
+    private static void putChannel(ByteBuffer input, DataType type, float scale, int zeroPoint, int value) {
+        if (type == DataType.FLOAT32) {
+            input.putFloat(value / 255f);
+        } else {
+            int q = Math.round(value / 255f / scale) + zeroPoint;
+            q = type == DataType.INT8 ? Math.max(-128, Math.min(127, q)) : Math.max(0, Math.min(255, q));
+            input.put((byte) q);
+        }
+    }
+
+    // YOLO 라벨 파일을 원본 이미지 좌표의 코너 박스로 읽는다
+    static Detections readLabels(File imageFile, int width, int height) throws IOException {
+        String name = imageFile.getName();
+        File labelFile = new File(imageFile.getParentFile(), name.substring(0, name.lastIndexOf('.')) + ".txt");
+        Detections labels = new Detections(8);
+        if (!labelFile.isFile()) {
+            return labels;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(labelFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts.length < 5) {
+                    continue;
+                }
+                float xCenter = Float.parseFloat(parts[1]) * width;
+                float yCenter = Float.parseFloat(parts[2]) * height;
+                float halfWidth = Float.parseFloat(parts[3]) * width / 2f;
+                float halfHeight = Float.parseFloat(parts[4]) * height / 2f;
+                labels.add(xCenter - halfWidth, yCenter - halfHeight, xCenter + halfWidth, yCenter + halfHeight,
+                        1f, Integer.parseInt(parts[0]));
+            }
+        }
+        return labels;
+    }
+
+    static final class Report {
+        final ModelVariant variant;
+        final float map;
+        final float medianMs;
+        final long sizeBytes;
+
+        Report(ModelVariant variant, float map, float medianMs, long sizeBytes) {
+            this.variant = variant;
+            this.map = map;
+            this.medianMs = medianMs;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+}
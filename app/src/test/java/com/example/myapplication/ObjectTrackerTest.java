@@ -0,0 +1,104 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ObjectTrackerTest {
+
+    private static final long FRAME_NANOS = 33_000_000L;
+
+    @Test
+    public void flickeringClass_keepsTrackIdAndStableClass() {
+        ObjectTracker tracker = new ObjectTracker(4, 0.3f, 0.4f, 3, 2);
+        Detections frame = new Detections(1);
+        long time = 0;
+        for (int i = 0; i < 3; i++) {
+            detect(frame, 100, 100, 0.8f, 1);
+            tracker.update(frame, time += FRAME_NANOS);
+        }
+        DetectionResult stable = tracker.snapshot(time);
+        assertEquals(1, stable.size());
+        assertEquals(1, stable.getClassId(0));
+        int trackId = stable.getTrackId(0);
+
+        // 한 프레임만 다른 클래스로 흔들려도 안정된 클래스는 유지된다
+        detect(frame, 102, 100, 0.85f, 2);
+        tracker.update(frame, time += FRAME_NANOS);
+        detect(frame, 101, 100, 0.8f, 1);
+        tracker.update(frame, time += FRAME_NANOS);
+
+        DetectionResult result = tracker.snapshot(time);
+        assertEquals(1, result.size());
+        assertEquals(trackId, result.getTrackId(0));
+        assertEquals(1, result.getClassId(0));
+    }
+
+    @Test
+    public void newTrack_isReportedOnlyAfterStableFrames() {
+        ObjectTracker tracker = new ObjectTracker(4, 0.3f, 0.4f, 3, 2);
+        Detections frame = new Detections(1);
+        detect(frame, 100, 100, 0.9f, 0);
+
+        tracker.update(frame, FRAME_NANOS);
+        assertTrue(tracker.snapshot(FRAME_NANOS).isEmpty());
+        tracker.update(frame, 2 * FRAME_NANOS);
+        assertTrue(tracker.snapshot(2 * FRAME_NANOS).isEmpty());
+        tracker.update(frame, 3 * FRAME_NANOS);
+        assertEquals(1, tracker.snapshot(3 * FRAME_NANOS).size());
+    }
+
+    @Test
+    public void predict_movesBoxWithEstimatedVelocity() {
+        ObjectTracker tracker = new ObjectTracker(1, 0.3f, 0.4f, 1, 2);
+        Detections frame = new Detections(1);
+        long time = 0;
+        // 프레임마다 x 로 4 픽셀씩 이동
+        for (int i = 0; i < 10; i++) {
+            detect(frame, 100 + 4 * i, 100, 0.9f, 0);
+            tracker.update(frame, time += FRAME_NANOS);
+        }
+        float before = centerX(tracker.snapshot(time));
+        tracker.predict(time += FRAME_NANOS);
+        float after = centerX(tracker.snapshot(time));
+
+        assertEquals(4f, after - before, 1f);
+    }
+
+    @Test
+    public void missingTrack_isDroppedAfterMaxMisses() {
+        ObjectTracker tracker = new ObjectTracker(1, 0.3f, 0.4f, 1, 2);
+        Detections frame = new Detections(1);
+        detect(frame, 100, 100, 0.9f, 0);
+        tracker.update(frame, FRAME_NANOS);
+
+        frame.clear();
+        tracker.update(frame, 2 * FRAME_NANOS);
+        tracker.update(frame, 3 * FRAME_NANOS);
+        assertEquals(1, tracker.getTrackCount());
+        tracker.update(frame, 4 * FRAME_NANOS);
+        assertEquals(0, tracker.getTrackCount());
+    }
+
+    @Test
+    public void separateObjects_getSeparateTracks() {
+        ObjectTracker tracker = new ObjectTracker(2, 0.3f, 0.4f, 1, 2);
+        Detections frame = new Detections(2);
+        frame.add(0, 0, 50, 50, 0.9f, 0);
+        frame.add(300, 300, 350, 350, 0.9f, 1);
+        tracker.update(frame, FRAME_NANOS);
+
+        DetectionResult result = tracker.snapshot(FRAME_NANOS);
+        assertEquals(2, result.size());
+        assertNotEquals(result.getTrackId(0), result.getTrackId(1));
+    }
+
+    private static void detect(Detections frame, float x, float y, float score, int classId) {
+        frame.clear();
+        frame.add(x, y, x + 80, y + 120, score, classId);
+    }
+
+    private static float centerX(DetectionResult result) {
+        return (result.getBoxValue(0, 0) + result.getBoxValue(0, 2)) * 0.5f;
+    }
+}
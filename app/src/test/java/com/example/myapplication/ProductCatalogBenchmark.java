@@ -0,0 +1,50 @@
+package com.example.myapplication;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+// 상품 목록의 첫 파싱 시간과 클래스 번호 조회 처리량
+// 기본 테스트 실행에서는 건너뛴다. 실행: ./gradlew :app:testDebugUnitTest \
+//           --tests '*ProductCatalogBenchmark*' -PrunBenchmarks=true
+public class ProductCatalogBenchmark {
+
+    private static final int PARSE_ITERATIONS = 200;
+    private static final int LOOKUPS = 10_000_000;
+
+    @Test
+    public void parseAndLookup() throws IOException {
+        Assume.assumeTrue("runBenchmarks not set", Boolean.getBoolean("runBenchmarks"));
+        byte[] asset = Files.readAllBytes(Paths.get(ProductCatalogTest.ASSET_PATH));
+
+        long start = System.nanoTime();
+        ProductCatalog catalog = ProductCatalog.parse(new ByteArrayInputStream(asset), ProductCatalog.MODEL_LABELS);
+        double coldMs = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        for (int i = 0; i < PARSE_ITERATIONS; i++) {
+            catalog = ProductCatalog.parse(new ByteArrayInputStream(asset), ProductCatalog.MODEL_LABELS);
+        }
+        double warmMs = (System.nanoTime() - start) / 1e6 / PARSE_ITERATIONS;
+
+        int classes = catalog.getClassCount();
+        int checksum = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            int classId = i % classes;
+            int product = catalog.getProductOf(classId);
+            checksum += catalog.getRamenClassId(product) + catalog.getDisplayName(classId).length();
+        }
+        double nsPerLookup = (System.nanoTime() - start) / (double) LOOKUPS;
+
+        System.out.printf("ProductCatalog: cold parse %.3f ms, warm parse %.3f ms, lookup %.1f ns%n",
+                coldMs, warmMs, nsPerLookup);
+        assertTrue(checksum != 0);
+    }
+}
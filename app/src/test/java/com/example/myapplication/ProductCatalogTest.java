@@ -0,0 +1,85 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class ProductCatalogTest {
+
+    // Gradle 은 모듈 디렉터리에서 단위 테스트를 실행한다
+    static final String ASSET_PATH = "src/main/assets/Ramen_Soup_Info.txt";
+
+    static ProductCatalog loadAsset() throws IOException {
+        try (InputStream stream = new FileInputStream(ASSET_PATH)) {
+            return ProductCatalog.parse(stream, ProductCatalog.MODEL_LABELS);
+        }
+    }
+
+    @Test
+    public void asset_coversEveryModelClass() throws IOException {
+        ProductCatalog catalog = loadAsset();
+
+        assertEquals(32, catalog.getClassCount());
+        assertEquals(12, catalog.getProductCount());
+        for (int c = 0; c < catalog.getClassCount(); c++) {
+            assertTrue(ProductCatalog.MODEL_LABELS[c], catalog.getProductOf(c) >= 0);
+        }
+    }
+
+    @Test
+    public void ramenAndSoupClasses_resolveToTheSameProduct() throws IOException {
+        ProductCatalog catalog = loadAsset();
+        int jinHot = 0;
+        int jinHotSoup = 20;
+
+        assertEquals("진라면매운맛", catalog.getDisplayName(jinHot));
+        assertFalse(catalog.isSoup(jinHot));
+        assertTrue(catalog.isSoup(jinHotSoup));
+        assertEquals("진라면매운맛 분말스프", catalog.getDisplayName(jinHotSoup));
+        assertEquals(catalog.getProductOf(jinHot), catalog.getProductOf(jinHotSoup));
+        assertEquals(jinHot, catalog.getRamenClassId(catalog.getProductOf(jinHotSoup)));
+    }
+
+    @Test
+    public void soupClasses_areGroupedPerProduct() throws IOException {
+        ProductCatalog catalog = loadAsset();
+        int sesame = catalog.getProductOf(6);
+
+        assertEquals(3, catalog.getSoupCount(sesame));
+        assertEquals(15, catalog.getSoupClassId(sesame, 0));
+        assertEquals("유성스프", catalog.getSoupType(15));
+        assertEquals("계란블럭", catalog.getSoupType(16));
+        assertEquals(17, catalog.getSoupClassId(sesame, 2));
+        // 종류 없이 라벨만 적힌 스프
+        assertNull(catalog.getSoupType(27));
+        assertEquals("오징어짬뽕 스프", catalog.getDisplayName(27));
+    }
+
+    @Test
+    public void describeContents_listsSoupTypesOfProduct() throws IOException {
+        ProductCatalog catalog = loadAsset();
+
+        assertEquals("킹뚜껑. 스프: 분말스프, 건더기스프", catalog.describeContents(3));
+        // 스프 클래스도 속한 상품으로 안내하고, 종류가 없는 스프는 "스프"
+        assertEquals("킹뚜껑. 스프: 분말스프, 건더기스프", catalog.describeContents(13));
+        assertEquals("오징어짬뽕. 스프: 스프", catalog.describeContents(5));
+        assertEquals("왕뚜껑. 스프: 분말스프, 건더기스프", catalog.describeContents(2));
+    }
+
+    @Test
+    public void classMissingFromFile_fallsBackToLabel() throws IOException {
+        String text = "라면\n\n1. 신라면\n\t- shin\n";
+        ProductCatalog catalog = ProductCatalog.parse(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), new String[]{"shin", "wang"});
+
+        assertEquals("신라면", catalog.getDisplayName(0));
+        assertEquals("wang", catalog.getDisplayName(1));
+        assertEquals(-1, catalog.getProductOf(1));
+    }
+}
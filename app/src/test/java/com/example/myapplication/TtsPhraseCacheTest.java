@@ -0,0 +1,114 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TtsPhraseCacheTest {
+
+    @Test
+    public void fileName_dependsOnTextAndQuantizedRate() {
+        String name = TtsPhraseCache.fileName("진라면매운맛", 1.4f);
+
+        assertEquals(name, TtsPhraseCache.fileName("진라면매운맛", 1.4000001f));
+        assertNotEquals(name, TtsPhraseCache.fileName("진라면매운맛", 1.6f));
+        assertNotEquals(name, TtsPhraseCache.fileName("진라면순한맛", 1.4f));
+        assertTrue(name.startsWith("r14_") && name.endsWith(".wav"));
+        assertTrue(name.matches("[a-z0-9_.]+"));
+    }
+
+    @Test
+    public void quantizeRate_matchesSpeedButtonSteps() {
+        // 속도 버튼은 0.2 씩 더하고 빼므로 float 오차가 쌓인다
+        float speed = 1.4f;
+        speed -= 0.2f;
+        speed -= 0.2f;
+        speed -= 0.2f;
+        assertEquals(0.8f, TtsPhraseCache.quantizeRate(speed), 0f);
+    }
+
+    @Test
+    public void whileCurrent_dropsLiveFallbackOfMissWhenHitFollows() {
+        AtomicInteger sequence = new AtomicInteger();
+        List<String> spoken = new ArrayList<>();
+
+        // A 는 캐시를 놓쳐 라이브 TTS 를 메인 스레드에 올리고, 실행되기 전에 B 가 캐시에서 재생된다
+        Runnable liveA = TtsPhraseCache.whileCurrent(sequence, sequence.incrementAndGet(), () -> spoken.add("A"));
+        sequence.incrementAndGet();
+        liveA.run();
+
+        assertTrue(spoken.isEmpty());
+    }
+
+    @Test
+    public void whileCurrent_speaksLiveFallbackOfLatestMiss() {
+        AtomicInteger sequence = new AtomicInteger();
+        List<String> spoken = new ArrayList<>();
+
+        Runnable liveA = TtsPhraseCache.whileCurrent(sequence, sequence.incrementAndGet(), () -> spoken.add("A"));
+        liveA.run();
+
+        assertEquals(Arrays.asList("A"), spoken);
+    }
+
+    @Test
+    public void wav_findsPcmDataAfterExtraChunks() {
+        byte[] wav = wav(22050, 1, 16, new short[]{1, -1, 300}, true);
+
+        WavData data = WavData.parse(wav);
+
+        assertNotNull(data);
+        assertEquals(22050, data.sampleRate);
+        assertEquals(1, data.channels);
+        assertEquals(3, data.getFrameCount());
+        assertEquals(6, data.dataLength);
+        assertEquals(1, wav[data.dataOffset]);
+    }
+
+    @Test
+    public void wav_rejectsUnsupportedFormats() {
+        assertNull(WavData.parse(wav(22050, 1, 8, new short[]{1}, false)));
+        assertNull(WavData.parse(new byte[]{'R', 'I', 'F', 'F'}));
+    }
+
+    @Test
+    public void wav_truncatedDataUsesAvailableBytes() {
+        byte[] full = wav(16000, 1, 16, new short[]{1, 2, 3, 4}, false);
+        byte[] truncated = Arrays.copyOf(full, full.length - 3);
+
+        WavData data = WavData.parse(truncated);
+
+        assertNotNull(data);
+        assertEquals(2, data.getFrameCount());
+    }
+
+    private static byte[] wav(int sampleRate, int channels, int bits, short[] samples, boolean listChunk) {
+        byte[] list = "LIST\u0003\0\0\0abc\0".getBytes(StandardCharsets.ISO_8859_1);
+        int dataBytes = samples.length * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + dataBytes + (listChunk ? list.length : 0))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(buffer.capacity() - 8)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        buffer.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16)
+                .putShort((short) 1).putShort((short) channels).putInt(sampleRate)
+                .putInt(sampleRate * channels * bits / 8).putShort((short) (channels * bits / 8))
+                .putShort((short) bits);
+        if (listChunk) {
+            // 홀수 크기 청크 + 패딩 바이트
+            buffer.put(list);
+        }
+        buffer.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(dataBytes);
+        for (short sample : samples) {
+            buffer.putShort(sample);
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class UtteranceQueueTest {
+
+    @Test
+    public void samePriority_preemptsCurrent() {
+        UtteranceQueue queue = new UtteranceQueue();
+        UtteranceQueue.Utterance first = queue.offer("티티에스 느리게", UtteranceQueue.Priority.NORMAL, null);
+        UtteranceQueue.Utterance second = queue.offer("티티에스 빠르게", UtteranceQueue.Priority.NORMAL, null);
+
+        assertNotNull(first);
+        assertSame(second, queue.getCurrent());
+        // 끊긴 문장의 늦은 완료 알림은 무시된다
+        assertNull(queue.finish(first));
+        assertSame(second, queue.getCurrent());
+    }
+
+    @Test
+    public void lowerPriority_waitsUntilCurrentFinishes() {
+        UtteranceQueue queue = new UtteranceQueue();
+        UtteranceQueue.Utterance result = queue.offer("진라면매운맛", UtteranceQueue.Priority.HIGH, "RESULT");
+
+        assertNull(queue.offer("다시 듣기", UtteranceQueue.Priority.NORMAL, null));
+        assertNull(queue.offer("힌트", UtteranceQueue.Priority.LOW, null));
+        assertEquals(2, queue.getWaitingCount());
+
+        UtteranceQueue.Utterance next = queue.finish(result);
+        assertEquals("다시 듣기", next.text);
+        assertEquals("힌트", queue.finish(next).text);
+    }
+
+    @Test
+    public void waitingUtterances_leaveByPriorityThenArrival() {
+        UtteranceQueue queue = new UtteranceQueue();
+        UtteranceQueue.Utterance current = queue.offer("결과", UtteranceQueue.Priority.HIGH, null);
+        queue.offer("a", UtteranceQueue.Priority.LOW, null);
+        queue.offer("b", UtteranceQueue.Priority.NORMAL, null);
+        queue.offer("c", UtteranceQueue.Priority.NORMAL, null);
+
+        UtteranceQueue.Utterance next = queue.finish(current);
+        assertEquals("b", next.text);
+        next = queue.finish(next);
+        assertEquals("c", next.text);
+        next = queue.finish(next);
+        assertEquals("a", next.text);
+        assertNull(queue.finish(next));
+        assertNull(queue.getCurrent());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import kotlin.Unit;
+
+// 콜드/웜 스타트 시간을 잰다 (baseline profile 적용 전후 비교)
+// 콜드 스타트에서는 StartupTrace 의 단계별 구간 시간도 함께 보고한다.
+// 실행: ./gradlew :macrobenchmark:connectedBenchmarkAndroidTest
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+
+    private static final String PACKAGE_NAME = "com.example.myapplication";
+    private static final int ITERATIONS = 10;
+    // AppStartup 이 남기는 systrace 구간
+    private static final String[] STARTUP_SECTIONS = {"speechService", "modelWarmUp", "productCatalog", "analytics"};
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void coldStartWithoutCompilation() {
+        startup(StartupMode.COLD, new CompilationMode.None());
+    }
+
+    @Test
+    public void coldStartWithBaselineProfile() {
+        startup(StartupMode.COLD, new CompilationMode.Partial(BaselineProfileMode.Require, 0));
+    }
+
+    @Test
+    public void warmStartWithoutCompilation() {
+        startup(StartupMode.WARM, new CompilationMode.None());
+    }
+
+    @Test
+    public void warmStartWithBaselineProfile() {
+        startup(StartupMode.WARM, new CompilationMode.Partial(BaselineProfileMode.Require, 0));
+    }
+
+    private void startup(StartupMode startupMode, CompilationMode compilationMode) {
+        List<Metric> metrics = new ArrayList<>();
+        metrics.add(new StartupTimingMetric());
+        if (startupMode == StartupMode.COLD) {
+            // 웜 스타트는 프로세스가 살아 있어 Application 단계가 다시 실행되지 않는다
+            for (String section : STARTUP_SECTIONS) {
+                metrics.add(new TraceSectionMetric(section));
+            }
+        }
+        benchmarkRule.measureRepeated(PACKAGE_NAME, metrics, compilationMode, startupMode, ITERATIONS,
+                scope -> {
+                    // 권한 요청 창이 뜨면 첫 화면 시간이 달라지므로 미리 허용해 둔다
+                    grant(scope.getDevice(), "android.permission.CAMERA");
+                    grant(scope.getDevice(), "android.permission.RECORD_AUDIO");
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    return Unit.INSTANCE;
+                });
+    }
+
+    private static void grant(UiDevice device, String permission) {
+        try {
+            device.executeShellCommand("pm grant " + PACKAGE_NAME + " " + permission);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
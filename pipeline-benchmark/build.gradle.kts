@@ -0,0 +1,63 @@
+// :pipeline 의 전처리/추론/디코딩/NMS 단계를 일반 리눅스 JVM 에서 JMH 로 잰다
+// 실행: ./gradlew :pipeline-benchmark:jmh -PbenchmarkImages=<이미지 폴더> \
+//           -PbenchmarkModel=<best_float32.tflite> -PtfliteNativeDir=<libtensorflowlite_jni.so 폴더>
+// 이미지 폴더가 없으면 합성 프레임을 쓰고, 모델이 없으면 추론 벤치마크만 실패하며 디코딩은 합성 출력으로 잰다.
+// 결과: build/results/jmh/results.json (처리량, 지연 시간 백분위, -prof gc 의 연산당 할당 바이트)
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+// TFLite Java API 와 인터프리터 구현은 AAR 로만 배포되므로 classes.jar 를 꺼내 JVM 클래스패스에 올린다
+// (네이티브 라이브러리는 호스트용으로 빌드한 libtensorflowlite_jni.so 를 -PtfliteNativeDir 로 지정)
+val tfliteAar: Configuration by configurations.creating {
+    isTransitive = false
+}
+
+val extractTfliteClasses by tasks.registering {
+    val aars = tfliteAar
+    val outputDir = layout.buildDirectory.dir("tflite")
+    inputs.files(aars)
+    outputs.dir(outputDir)
+    doLast {
+        aars.forEach { aar ->
+            copy {
+                from(zipTree(aar)) { include("classes.jar") }
+                into(outputDir)
+                rename { aar.nameWithoutExtension + ".jar" }
+            }
+        }
+    }
+}
+
+dependencies {
+    jmhImplementation(project(":pipeline"))
+    jmhImplementation(fileTree(layout.buildDirectory.dir("tflite")) { include("*.jar") }.builtBy(extractTfliteClasses))
+    tfliteAar(variantOf(libs.tensorflow.lite.api) { artifactType("aar") })
+    tfliteAar(variantOf(libs.tensorflow.lite.runtime) { artifactType("aar") })
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.set(listOf("thrpt", "sample"))
+    timeUnit.set("ms")
+    fork.set(1)
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    providers.gradleProperty("benchmarkImages").orNull?.let { jvmArgsAppend.add("-Dbenchmark.images=$it") }
+    providers.gradleProperty("benchmarkModel").orNull?.let { jvmArgsAppend.add("-Dbenchmark.model=$it") }
+    providers.gradleProperty("tfliteNativeDir").orNull?.let { jvmArgsAppend.add("-Djava.library.path=$it") }
+}
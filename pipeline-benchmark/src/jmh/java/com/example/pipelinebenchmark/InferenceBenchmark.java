@@ -0,0 +1,58 @@
+package com.example.pipelinebenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+// 검출 모델 추론 한 번 (-Dbenchmark.model 필요, 없으면 이 벤치마크만 설정 단계에서 실패한다)
+// 입력 텐서는 샘플 프레임마다 미리 만들어 두므로 전처리 시간은 들어가지 않는다.
+public class InferenceBenchmark {
+
+    @State(Scope.Thread)
+    public static class ModelState {
+        @Param({"1", "4"})
+        public int threads;
+
+        ModelRunner runner;
+        ByteBuffer[] inputs;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            String modelPath = System.getProperty("benchmark.model");
+            if (modelPath == null) {
+                throw new IllegalStateException("Set -PbenchmarkModel=<model.tflite> to run the inference benchmark");
+            }
+            runner = new ModelRunner(modelPath, threads);
+            List<SampleFrames.Frame> frames = SampleFrames.load(System.getProperty("benchmark.images"));
+            inputs = new ByteBuffer[frames.size()];
+            for (int i = 0; i < frames.size(); i++) {
+                ByteBuffer input = runner.preprocess(frames.get(i));
+                inputs[i] = ByteBuffer.allocateDirect(input.capacity()).order(input.order());
+                input.rewind();
+                inputs[i].put(input);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            runner.close();
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer inference(ModelState state) {
+        ByteBuffer input = state.inputs[state.next];
+        state.next = (state.next + 1) % state.inputs.length;
+        state.runner.invoke(input);
+        return state.runner.getOutputBuffer();
+    }
+}
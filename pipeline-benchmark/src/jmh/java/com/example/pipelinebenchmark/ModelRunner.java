@@ -0,0 +1,101 @@
+package com.example.pipelinebenchmark;
+
+import com.example.myapplication.YuvToTensorConverter;
+
+import org.tensorflow.lite.DataType;
+import org.tensorflow.lite.InterpreterApi;
+import org.tensorflow.lite.Tensor;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+// 호스트 JVM 에서 검출 모델을 CPU(XNNPACK) 로 실행한다
+// 입력은 모델 입력 타입에 맞춘 YuvToTensorConverter 로 만들고, 출력은 float 로 풀어서 돌려준다.
+// TFLite 네이티브 라이브러리(libtensorflowlite_jni)가 java.library.path 에 있어야 한다.
+final class ModelRunner implements AutoCloseable {
+
+    private final InterpreterApi interpreter;
+    private final YuvToTensorConverter converter;
+    private final ByteBuffer outputBuffer;
+    private final DataType outputType;
+    private final float outputScale;
+    private final int outputZeroPoint;
+    private final int[] outputShape;
+
+    ModelRunner(String modelPath, int numThreads) {
+        File modelFile = new File(modelPath);
+        if (!modelFile.isFile()) {
+            throw new IllegalArgumentException("Model not found: " + modelPath);
+        }
+        interpreter = InterpreterApi.create(modelFile, new InterpreterApi.Options()
+                .setRuntime(InterpreterApi.Options.TfLiteRuntime.FROM_APPLICATION_ONLY)
+                .setNumThreads(numThreads)
+                .setUseXNNPACK(true));
+
+        Tensor inputTensor = interpreter.getInputTensor(0);
+        int inputSize = inputTensor.shape()[1];
+        DataType inputType = inputTensor.dataType();
+        if (inputType == DataType.FLOAT32) {
+            converter = new YuvToTensorConverter(inputSize, YuvToTensorConverter.OutputType.FLOAT32);
+        } else {
+            converter = new YuvToTensorConverter(inputSize, inputType == DataType.INT8
+                    ? YuvToTensorConverter.OutputType.INT8 : YuvToTensorConverter.OutputType.UINT8,
+                    inputTensor.quantizationParams().getScale(), inputTensor.quantizationParams().getZeroPoint());
+        }
+
+        Tensor outputTensor = interpreter.getOutputTensor(0);
+        outputShape = outputTensor.shape();
+        outputType = outputTensor.dataType();
+        outputScale = outputTensor.quantizationParams().getScale();
+        outputZeroPoint = outputTensor.quantizationParams().getZeroPoint();
+        outputBuffer = ByteBuffer.allocateDirect(outputTensor.numBytes()).order(ByteOrder.nativeOrder());
+    }
+
+    ModelRunner(String modelPath) {
+        this(modelPath, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
+    }
+
+    int[] getOutputShape() {
+        return outputShape;
+    }
+
+    // 전처리만 (추론 벤치마크는 입력을 미리 만들어 두고 invoke() 만 잰다)
+    ByteBuffer preprocess(SampleFrames.Frame frame) {
+        return converter.convert(frame.y, frame.u, frame.v, SampleFrames.WIDTH, SampleFrames.HEIGHT,
+                SampleFrames.WIDTH, SampleFrames.WIDTH / 2, 1, SampleFrames.ROTATION);
+    }
+
+    void invoke(ByteBuffer input) {
+        input.rewind();
+        outputBuffer.rewind();
+        interpreter.run(input, outputBuffer);
+    }
+
+    ByteBuffer getOutputBuffer() {
+        return outputBuffer;
+    }
+
+    // 전처리 + 추론 후 출력을 float 복사본으로 돌려준다 (디코딩 벤치마크 입력 준비용)
+    FloatBuffer run(SampleFrames.Frame frame) {
+        invoke(preprocess(frame));
+        int elements = outputType == DataType.FLOAT32 ? outputBuffer.capacity() / 4 : outputBuffer.capacity();
+        FloatBuffer copy = ByteBuffer.allocateDirect(4 * elements).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        for (int i = 0; i < elements; i++) {
+            if (outputType == DataType.FLOAT32) {
+                copy.put(i, outputBuffer.getFloat(4 * i));
+            } else {
+                byte value = outputBuffer.get(i);
+                int raw = outputType == DataType.INT8 ? value : value & 0xFF;
+                copy.put(i, (raw - outputZeroPoint) * outputScale);
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    public void close() {
+        interpreter.close();
+    }
+}
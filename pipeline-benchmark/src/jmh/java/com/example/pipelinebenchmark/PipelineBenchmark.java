@@ -0,0 +1,150 @@
+package com.example.pipelinebenchmark;
+
+import com.example.myapplication.Detections;
+import com.example.myapplication.Letterbox;
+import com.example.myapplication.NonMaxSuppression;
+import com.example.myapplication.YoloV8Decoder;
+import com.example.myapplication.YuvToTensorConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.List;
+import java.util.Random;
+
+// 추론을 뺀 CPU 단계 (전처리, 디코딩, NMS) 를 DetectionAnalyzer 와 같은 설정으로 잰다
+// 디코딩 입력은 -Dbenchmark.model 이 있으면 샘플 프레임에 대한 실제 모델 출력, 없으면 합성 출력이다.
+public class PipelineBenchmark {
+
+    // DetectionAnalyzer 와 같은 값
+    static final int INPUT_SIZE = 640;
+    static final float CONFIDENCE_THRESHOLD = 0.25f;
+    static final float NMS_THRESHOLD = 0.45f;
+    static final int MAX_CANDIDATES = 300;
+
+    // 모델이 없을 때 합성 출력 모양 [1, 4 + 32, 8400]
+    private static final int SYNTHETIC_CLASSES = 32;
+    private static final int SYNTHETIC_ANCHORS = 8400;
+
+    @State(Scope.Thread)
+    public static class PreprocessState {
+        @Param({"FLOAT32", "UINT8"})
+        public YuvToTensorConverter.OutputType outputType;
+
+        List<SampleFrames.Frame> frames;
+        YuvToTensorConverter converter;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            frames = SampleFrames.load(System.getProperty("benchmark.images"));
+            converter = outputType == YuvToTensorConverter.OutputType.FLOAT32
+                    ? new YuvToTensorConverter(INPUT_SIZE, outputType)
+                    : new YuvToTensorConverter(INPUT_SIZE, outputType, 1f / 255f, 0);
+        }
+
+        SampleFrames.Frame nextFrame() {
+            SampleFrames.Frame frame = frames.get(next);
+            next = (next + 1) % frames.size();
+            return frame;
+        }
+    }
+
+    // 프레임마다 모델 출력 하나와 그 출력의 NMS 전 후보
+    @State(Scope.Thread)
+    public static class OutputState {
+        YoloV8Decoder decoder;
+        Letterbox letterbox;
+        FloatBuffer[] outputs;
+        Detections[] candidates;
+        Detections scratch;
+        Detections detections;
+        NonMaxSuppression nonMaxSuppression;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            letterbox = rotatedLetterbox();
+            String modelPath = System.getProperty("benchmark.model");
+            if (modelPath != null) {
+                List<SampleFrames.Frame> frames = SampleFrames.load(System.getProperty("benchmark.images"));
+                try (ModelRunner runner = new ModelRunner(modelPath)) {
+                    decoder = YoloV8Decoder.forOutputShape(runner.getOutputShape(), INPUT_SIZE);
+                    outputs = new FloatBuffer[frames.size()];
+                    for (int i = 0; i < frames.size(); i++) {
+                        outputs[i] = runner.run(frames.get(i));
+                    }
+                }
+            } else {
+                decoder = new YoloV8Decoder(SYNTHETIC_CLASSES, SYNTHETIC_ANCHORS, INPUT_SIZE);
+                outputs = syntheticOutputs(8);
+            }
+            scratch = new Detections(256);
+            detections = new Detections(64);
+            nonMaxSuppression = new NonMaxSuppression(NMS_THRESHOLD, NonMaxSuppression.Mode.PER_CLASS,
+                    MAX_CANDIDATES);
+            candidates = new Detections[outputs.length];
+            for (int i = 0; i < outputs.length; i++) {
+                candidates[i] = new Detections(256);
+                decoder.decode(outputs[i], CONFIDENCE_THRESHOLD, letterbox, candidates[i]);
+            }
+        }
+
+        int nextIndex() {
+            int index = next;
+            next = (next + 1) % outputs.length;
+            return index;
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer preprocess(PreprocessState state) {
+        SampleFrames.Frame frame = state.nextFrame();
+        return state.converter.convert(frame.y, frame.u, frame.v, SampleFrames.WIDTH, SampleFrames.HEIGHT,
+                SampleFrames.WIDTH, SampleFrames.WIDTH / 2, 1, SampleFrames.ROTATION);
+    }
+
+    @Benchmark
+    public int decode(OutputState state) {
+        return state.decoder.decode(state.outputs[state.nextIndex()], CONFIDENCE_THRESHOLD, state.letterbox,
+                state.scratch);
+    }
+
+    // NMS 는 입력 순서를 바꾸지 않으므로 같은 후보를 반복해서 넣어도 된다
+    @Benchmark
+    public int nms(OutputState state) {
+        return state.nonMaxSuppression.apply(state.candidates[state.nextIndex()], state.detections);
+    }
+
+    // 회전 후 (세로) 프레임을 모델 입력에 맞춘 레터박스
+    static Letterbox rotatedLetterbox() {
+        return new Letterbox(SampleFrames.HEIGHT, SampleFrames.WIDTH, INPUT_SIZE);
+    }
+
+    // YoloV8DecoderBenchmark 와 같은 분포: 좌표는 고르게, 점수는 대부분 낮고 약 1% 앵커만 임계값 초과
+    private static FloatBuffer[] syntheticOutputs(int count) {
+        Random random = new Random(42);
+        FloatBuffer[] outputs = new FloatBuffer[count];
+        for (int n = 0; n < count; n++) {
+            FloatBuffer output = ByteBuffer.allocateDirect(4 * (4 + SYNTHETIC_CLASSES) * SYNTHETIC_ANCHORS)
+                    .order(ByteOrder.nativeOrder()).asFloatBuffer();
+            for (int i = 0; i < output.capacity(); i++) {
+                // 좌표는 정규화된 값 (디코더가 입력 크기를 곱한다)
+                output.put(i, i < 4 * SYNTHETIC_ANCHORS ? random.nextFloat() : random.nextFloat() * 0.2f);
+            }
+            for (int a = 0; a < SYNTHETIC_ANCHORS; a += 100) {
+                output.put((4 + random.nextInt(SYNTHETIC_CLASSES)) * SYNTHETIC_ANCHORS + a, 0.8f);
+            }
+            outputs[n] = output;
+        }
+        return outputs;
+    }
+}
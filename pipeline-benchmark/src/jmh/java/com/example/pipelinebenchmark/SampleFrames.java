@@ -0,0 +1,126 @@
+package com.example.pipelinebenchmark;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+// 벤치마크 입력 프레임: 이미지 폴더의 jpg/png 를 카메라 분석 프레임과 같은 1280x720 YUV_420_888 (I420) 로 바꾼다
+// 폴더를 지정하지 않았으면 같은 크기의 합성 프레임(부드러운 그라데이션 + 잡음)을 쓴다.
+final class SampleFrames {
+
+    // 세로로 든 폰의 후면 카메라 분석 프레임과 같은 조건
+    static final int WIDTH = 1280;
+    static final int HEIGHT = 720;
+    static final int ROTATION = 90;
+
+    private static final int SYNTHETIC_FRAMES = 8;
+
+    // 크롭 없이 꽉 찬 I420 평면 (uvPixelStride 1, 행 간격 = 너비)
+    static final class Frame {
+        final String name;
+        final ByteBuffer y;
+        final ByteBuffer u;
+        final ByteBuffer v;
+
+        Frame(String name, ByteBuffer y, ByteBuffer u, ByteBuffer v) {
+            this.name = name;
+            this.y = y;
+            this.u = u;
+            this.v = v;
+        }
+    }
+
+    private SampleFrames() {
+    }
+
+    // directory 가 null 이면 합성 프레임
+    static List<Frame> load(String directory) throws IOException {
+        List<Frame> frames = new ArrayList<>();
+        if (directory == null) {
+            Random random = new Random(42);
+            for (int i = 0; i < SYNTHETIC_FRAMES; i++) {
+                frames.add(synthetic(i, random));
+            }
+            return frames;
+        }
+        File[] files = new File(directory).listFiles((dir, name) -> {
+            String lower = name.toLowerCase(Locale.US);
+            return lower.endsWith(".jpg") || lower.endsWith(".jpeg") || lower.endsWith(".png");
+        });
+        if (files == null || files.length == 0) {
+            throw new IOException("No jpg/png images in " + directory);
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            BufferedImage image = ImageIO.read(file);
+            if (image != null) {
+                frames.add(fromImage(file.getName(), image));
+            }
+        }
+        return frames;
+    }
+
+    // 사진은 세로(회전 후) 기준이므로 분석 프레임처럼 센서 방향(가로)으로 돌려서 담는다
+    static Frame fromImage(String name, BufferedImage image) {
+        BufferedImage sensor = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = sensor.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        // 센서 좌표 (x, y) 는 회전 후 (HEIGHT - 1 - y, x) 에 보이므로 시계 반대 방향으로 90도 돌려 그린다
+        graphics.translate(0, HEIGHT);
+        graphics.rotate(-Math.PI / 2);
+        graphics.drawImage(image, 0, 0, HEIGHT, WIDTH, null);
+        graphics.dispose();
+
+        int[] argb = sensor.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH);
+        return toI420(name, argb);
+    }
+
+    private static Frame synthetic(int index, Random random) {
+        int[] argb = new int[WIDTH * HEIGHT];
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                int r = (col * 255 / WIDTH + index * 31) & 0xFF;
+                int g = (row * 255 / HEIGHT + random.nextInt(16)) & 0xFF;
+                int b = ((col + row) * 255 / (WIDTH + HEIGHT)) & 0xFF;
+                argb[row * WIDTH + col] = (r << 16) | (g << 8) | b;
+            }
+        }
+        return toI420("synthetic-" + index, argb);
+    }
+
+    // BT.601 full range (YuvToTensorConverter 의 역변환), 색차는 2x2 블록의 왼쪽 위 픽셀로
+    private static Frame toI420(String name, int[] argb) {
+        ByteBuffer y = ByteBuffer.allocateDirect(WIDTH * HEIGHT);
+        ByteBuffer u = ByteBuffer.allocateDirect(WIDTH * HEIGHT / 4);
+        ByteBuffer v = ByteBuffer.allocateDirect(WIDTH * HEIGHT / 4);
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                int pixel = argb[row * WIDTH + col];
+                int r = (pixel >> 16) & 0xFF;
+                int g = (pixel >> 8) & 0xFF;
+                int b = pixel & 0xFF;
+                y.put(row * WIDTH + col, clamp(0.299f * r + 0.587f * g + 0.114f * b));
+                if ((row & 1) == 0 && (col & 1) == 0) {
+                    int chroma = (row / 2) * (WIDTH / 2) + col / 2;
+                    u.put(chroma, clamp(-0.169f * r - 0.331f * g + 0.5f * b + 128f));
+                    v.put(chroma, clamp(0.5f * r - 0.419f * g - 0.081f * b + 128f));
+                }
+            }
+        }
+        return new Frame(name, y, u, v);
+    }
+
+    private static byte clamp(float value) {
+        return (byte) Math.max(0, Math.min(255, Math.round(value)));
+    }
+}
@@ -0,0 +1,18 @@
+// 카메라 프레임 전처리, YOLOv8 디코딩, NMS 등 Android API 를 쓰지 않는 탐지 파이프라인 코드
+// 앱과 :pipeline-benchmark (일반 JVM) 가 같은 코드를 쓴다.
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
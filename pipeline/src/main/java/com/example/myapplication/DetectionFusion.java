@@ -0,0 +1,97 @@
+package com.example.myapplication;
+
+// 같은 장면을 찍은 여러 프레임의 탐지 결과를 하나로 합친다
+// 같은 클래스이고 IoU 가 기준 이상인 박스끼리 묶어 점수 가중 평균 박스를 만들고,
+// 점수는 프레임 수로 나눈 합이라 한 프레임에서만 보인 탐지는 그만큼 낮아진다.
+public final class DetectionFusion {
+
+    private final float iouThreshold;
+    private final Detections merged = new Detections(128);
+    private boolean[] used = new boolean[128];
+    private int[] owner = new int[128];
+
+    public DetectionFusion(float iouThreshold) {
+        this.iouThreshold = iouThreshold;
+    }
+
+    // frames[0..frameCount) 를 합쳐 점수가 minScore 이상인 것만 out 에 담는다. 반환값은 out 크기
+    public int fuse(Detections[] frames, int frameCount, float minScore, Detections out) {
+        out.clear();
+        merged.clear();
+        for (int f = 0; f < frameCount; f++) {
+            Detections frame = frames[f];
+            for (int i = 0; i < frame.size(); i++) {
+                merged.add(frame.getLeft(i), frame.getTop(i), frame.getRight(i), frame.getBottom(i),
+                        frame.getScore(i), frame.getClassId(i));
+                ensureCapacity(merged.size());
+                owner[merged.size() - 1] = f;
+            }
+        }
+        int total = merged.size();
+        for (int i = 0; i < total; i++) {
+            used[i] = false;
+        }
+
+        // 점수가 높은 탐지부터 묶음의 기준으로 삼는다
+        while (true) {
+            int seed = -1;
+            for (int i = 0; i < total; i++) {
+                if (!used[i] && (seed < 0 || merged.getScore(i) > merged.getScore(seed))) {
+                    seed = i;
+                }
+            }
+            if (seed < 0) {
+                break;
+            }
+            used[seed] = true;
+            float weight = merged.getScore(seed);
+            float left = merged.getLeft(seed) * weight;
+            float top = merged.getTop(seed) * weight;
+            float right = merged.getRight(seed) * weight;
+            float bottom = merged.getBottom(seed) * weight;
+            float scoreSum = weight;
+            int classId = merged.getClassId(seed);
+            // 프레임마다 가장 잘 겹치는 탐지 하나씩만 묶는다
+            for (int f = 0; f < frameCount; f++) {
+                if (f == owner[seed]) {
+                    continue;
+                }
+                int best = -1;
+                float bestIou = iouThreshold;
+                for (int j = 0; j < total; j++) {
+                    if (used[j] || owner[j] != f || merged.getClassId(j) != classId) {
+                        continue;
+                    }
+                    float iou = NonMaxSuppression.iou(merged, seed, j);
+                    if (iou >= bestIou) {
+                        bestIou = iou;
+                        best = j;
+                    }
+                }
+                if (best >= 0) {
+                    used[best] = true;
+                    float score = merged.getScore(best);
+                    left += merged.getLeft(best) * score;
+                    top += merged.getTop(best) * score;
+                    right += merged.getRight(best) * score;
+                    bottom += merged.getBottom(best) * score;
+                    scoreSum += score;
+                }
+            }
+            float fusedScore = scoreSum / frameCount;
+            if (fusedScore >= minScore) {
+                out.add(left / scoreSum, top / scoreSum, right / scoreSum, bottom / scoreSum, fusedScore, classId);
+            }
+        }
+        return out.size();
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > used.length) {
+            used = new boolean[size * 2];
+            int[] grown = new int[size * 2];
+            System.arraycopy(owner, 0, grown, 0, owner.length);
+            owner = grown;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.myapplication;
+
+import java.util.Arrays;
+
+// 탐지 결과를 객체 없이 병렬 배열(struct-of-arrays)로 담는 재사용 컨테이너
+// 박스는 원본 프레임 좌표의 (left, top, right, bottom) 코너 형식이다.
+// 분석 스레드 하나에서 매 프레임 clear() 후 다시 채워 쓰며, 다른 스레드로 넘길 때는 DetectionResult 로 복사한다.
+public final class Detections {
+
+    private float[] left;
+    private float[] top;
+    private float[] right;
+    private float[] bottom;
+    private float[] scores;
+    private int[] classIds;
+    private int count;
+
+    public Detections(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        left = new float[capacity];
+        top = new float[capacity];
+        right = new float[capacity];
+        bottom = new float[capacity];
+        scores = new float[capacity];
+        classIds = new int[capacity];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void add(float left, float top, float right, float bottom, float score, int classId) {
+        if (count == scores.length) {
+            grow();
+        }
+        this.left[count] = left;
+        this.top[count] = top;
+        this.right[count] = right;
+        this.bottom[count] = bottom;
+        this.scores[count] = score;
+        this.classIds[count] = classId;
+        count++;
+    }
+
+    // index 위치의 탐지를 dest 위치로 옮긴다 (제자리 압축용)
+    public void move(int index, int dest) {
+        left[dest] = left[index];
+        top[dest] = top[index];
+        right[dest] = right[index];
+        bottom[dest] = bottom[index];
+        scores[dest] = scores[index];
+        classIds[dest] = classIds[index];
+    }
+
+    // 앞에서부터 newSize 개만 남긴다
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > count) {
+            throw new IllegalArgumentException("Invalid size " + newSize + " (count " + count + ")");
+        }
+        count = newSize;
+    }
+
+    public float getLeft(int index) {
+        return left[index];
+    }
+
+    public float getTop(int index) {
+        return top[index];
+    }
+
+    public float getRight(int index) {
+        return right[index];
+    }
+
+    public float getBottom(int index) {
+        return bottom[index];
+    }
+
+    public float getScore(int index) {
+        return scores[index];
+    }
+
+    public void setScore(int index, float score) {
+        scores[index] = score;
+    }
+
+    public int getClassId(int index) {
+        return classIds[index];
+    }
+
+    public void setClassId(int index, int classId) {
+        classIds[index] = classId;
+    }
+
+    // 아래 배열 접근자는 NMS 등 내부 루프용. 유효한 범위는 [0, size())
+    float[] lefts() {
+        return left;
+    }
+
+    float[] tops() {
+        return top;
+    }
+
+    float[] rights() {
+        return right;
+    }
+
+    float[] bottoms() {
+        return bottom;
+    }
+
+    float[] scores() {
+        return scores;
+    }
+
+    int[] classIds() {
+        return classIds;
+    }
+
+    private void grow() {
+        int capacity = scores.length * 2;
+        left = Arrays.copyOf(left, capacity);
+        top = Arrays.copyOf(top, capacity);
+        right = Arrays.copyOf(right, capacity);
+        bottom = Arrays.copyOf(bottom, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        classIds = Arrays.copyOf(classIds, capacity);
+    }
+}
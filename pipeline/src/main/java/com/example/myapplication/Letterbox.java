@@ -0,0 +1,81 @@
+package com.example.myapplication;
+
+// 원본 프레임을 비율을 유지한 채 정사각형 모델 입력에 맞추는 레터박스 변환
+// 전처리(원본 -> 모델 좌표)와 후처리(모델 -> 원본 좌표)가 같은 값을 쓰도록 한 곳에서 계산한다.
+public final class Letterbox {
+
+    private final int sourceWidth;
+    private final int sourceHeight;
+    private final int inputSize;
+    private final float scale;
+    private final int contentWidth;
+    private final int contentHeight;
+    private final int padX;
+    private final int padY;
+
+    // sourceWidth/sourceHeight 는 회전이 적용된 후의 크기
+    public Letterbox(int sourceWidth, int sourceHeight, int inputSize) {
+        if (sourceWidth <= 0 || sourceHeight <= 0 || inputSize <= 0) {
+            throw new IllegalArgumentException("Invalid letterbox size " + sourceWidth + "x" + sourceHeight
+                    + " -> " + inputSize);
+        }
+        this.sourceWidth = sourceWidth;
+        this.sourceHeight = sourceHeight;
+        this.inputSize = inputSize;
+        this.scale = Math.min((float) inputSize / sourceWidth, (float) inputSize / sourceHeight);
+        this.contentWidth = Math.min(inputSize, Math.round(sourceWidth * scale));
+        this.contentHeight = Math.min(inputSize, Math.round(sourceHeight * scale));
+        this.padX = (inputSize - contentWidth) / 2;
+        this.padY = (inputSize - contentHeight) / 2;
+    }
+
+    public int getSourceWidth() {
+        return sourceWidth;
+    }
+
+    public int getSourceHeight() {
+        return sourceHeight;
+    }
+
+    public int getInputSize() {
+        return inputSize;
+    }
+
+    public float getScale() {
+        return scale;
+    }
+
+    public int getContentWidth() {
+        return contentWidth;
+    }
+
+    public int getContentHeight() {
+        return contentHeight;
+    }
+
+    public int getPadX() {
+        return padX;
+    }
+
+    public int getPadY() {
+        return padY;
+    }
+
+    // 모델 입력 좌표 -> 원본 프레임 좌표
+    public float toSourceX(float modelX) {
+        return (modelX - padX) / scale;
+    }
+
+    public float toSourceY(float modelY) {
+        return (modelY - padY) / scale;
+    }
+
+    // 모델 입력 기준 길이 -> 원본 프레임 기준 길이
+    public float toSourceLength(float modelLength) {
+        return modelLength / scale;
+    }
+
+    public boolean matches(int sourceWidth, int sourceHeight, int inputSize) {
+        return this.sourceWidth == sourceWidth && this.sourceHeight == sourceHeight && this.inputSize == inputSize;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.myapplication;
+
+import java.util.Arrays;
+
+// Detections(병렬 배열) 위에서 동작하는 NMS(Non-Maximum Suppression) 엔진
+// - 점수 내림차순 정렬은 인덱스 배열에서 박싱 없이 수행하고, topK 가 있으면 먼저 상위 K 개만 고른다.
+// - 일반 NMS 는 살아남은 박스를 격자 셀에 등록해 두고 겹치는 셀의 박스와만 IoU 를 비교한다.
+//   (라면 컵이 빽빽한 진열대처럼 후보가 많아도 비교 횟수가 거의 늘지 않는다)
+// - soft-NMS 는 가우시안 감쇠로 겹치는 박스의 점수를 낮추며, topK 로 후보를 줄인 뒤 사용하는 것을 권장한다.
+// 내부 작업 배열을 재사용하므로 한 스레드에서만 사용할 것.
+public final class NonMaxSuppression {
+
+    public enum Mode {
+        PER_CLASS,      // 같은 클래스끼리만 억제
+        CLASS_AGNOSTIC  // 클래스와 상관없이 억제
+    }
+
+    private static final int GRID_SIZE = 16;
+
+    private final float iouThreshold;
+    private final Mode mode;
+    private final int topK;
+
+    // soft-NMS 설정 (sigma 가 0 이면 일반 NMS)
+    private float softSigma = 0f;
+    private float softScoreThreshold = 0f;
+
+    // 재사용 작업 배열
+    private int[] order = new int[0];
+    private float[] workScores = new float[0];
+    private int[] lastChecked = new int[0];
+    private final int[] cellHeads = new int[GRID_SIZE * GRID_SIZE];
+    private int[] entryBox = new int[256];
+    private int[] entryNext = new int[256];
+
+    // topK 가 0 이하이면 후보 수 제한 없음
+    public NonMaxSuppression(float iouThreshold, Mode mode, int topK) {
+        if (iouThreshold <= 0f || iouThreshold > 1f) {
+            throw new IllegalArgumentException("Invalid IoU threshold " + iouThreshold);
+        }
+        this.iouThreshold = iouThreshold;
+        this.mode = mode;
+        this.topK = topK;
+    }
+
+    // 가우시안 soft-NMS 사용. sigma 가 0 이면 일반 NMS 로 돌아간다
+    public void setSoftNms(float sigma, float scoreThreshold) {
+        this.softSigma = sigma;
+        this.softScoreThreshold = scoreThreshold;
+    }
+
+    // in 의 후보 중 살아남은 탐지를 점수 내림차순으로 out 에 담는다 (out 은 먼저 비운다)
+    public int apply(Detections in, Detections out) {
+        if (in == out) {
+            throw new IllegalArgumentException("in and out must be different containers");
+        }
+        out.clear();
+        int count = in.size();
+        if (count == 0) {
+            return 0;
+        }
+        ensureCapacity(count);
+
+        float[] scores = in.scores();
+        System.arraycopy(scores, 0, workScores, 0, count);
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        int candidates = count;
+        if (topK > 0 && topK < count) {
+            selectTop(order, workScores, 0, count - 1, topK);
+            candidates = topK;
+        }
+        sortByScore(order, workScores, 0, candidates - 1);
+
+        if (softSigma > 0f) {
+            return applySoft(in, out, candidates);
+        }
+        return applyHard(in, out, candidates);
+    }
+
+    private int applyHard(Detections in, Detections out, int candidates) {
+        float[] left = in.lefts();
+        float[] top = in.tops();
+        float[] right = in.rights();
+        float[] bottom = in.bottoms();
+        int[] classIds = in.classIds();
+
+        // 격자 범위는 후보 박스 전체를 덮도록 잡는다
+        float maxX = 1f;
+        float maxY = 1f;
+        for (int k = 0; k < candidates; k++) {
+            int i = order[k];
+            maxX = Math.max(maxX, right[i]);
+            maxY = Math.max(maxY, bottom[i]);
+        }
+        float cellWidth = maxX / GRID_SIZE;
+        float cellHeight = maxY / GRID_SIZE;
+        Arrays.fill(cellHeads, -1);
+        int entries = 0;
+
+        for (int k = 0; k < candidates; k++) {
+            int i = order[k];
+            int x0 = cell(left[i], cellWidth);
+            int x1 = cell(right[i], cellWidth);
+            int y0 = cell(top[i], cellHeight);
+            int y1 = cell(bottom[i], cellHeight);
+
+            boolean keep = true;
+            for (int cy = y0; cy <= y1 && keep; cy++) {
+                for (int cx = x0; cx <= x1 && keep; cx++) {
+                    for (int e = cellHeads[cy * GRID_SIZE + cx]; e >= 0; e = entryNext[e]) {
+                        int j = entryBox[e];
+                        // 여러 셀에 걸친 박스는 한 번만 비교
+                        if (lastChecked[j] == k + 1) {
+                            continue;
+                        }
+                        lastChecked[j] = k + 1;
+                        if (mode == Mode.PER_CLASS && classIds[j] != classIds[i]) {
+                            continue;
+                        }
+                        if (iou(in, i, j) > iouThreshold) {
+                            keep = false;
+                            break;
+                        }
+                    }
+                }
+            }
+            if (!keep) {
+                continue;
+            }
+
+            out.add(left[i], top[i], right[i], bottom[i], in.getScore(i), classIds[i]);
+            for (int cy = y0; cy <= y1; cy++) {
+                for (int cx = x0; cx <= x1; cx++) {
+                    if (entries == entryBox.length) {
+                        entryBox = Arrays.copyOf(entryBox, entries * 2);
+                        entryNext = Arrays.copyOf(entryNext, entries * 2);
+                    }
+                    int cellIndex = cy * GRID_SIZE + cx;
+                    entryBox[entries] = i;
+                    entryNext[entries] = cellHeads[cellIndex];
+                    cellHeads[cellIndex] = entries;
+                    entries++;
+                }
+            }
+        }
+        clearChecked(candidates);
+        return out.size();
+    }
+
+    // 가우시안 soft-NMS: 가장 높은 후보를 고르고, 겹치는 나머지의 점수를 exp(-iou^2 / sigma) 배로 낮춘다
+    private int applySoft(Detections in, Detections out, int candidates) {
+        int remaining = candidates;
+        while (remaining > 0) {
+            int bestPos = 0;
+            for (int k = 1; k < remaining; k++) {
+                if (workScores[order[k]] > workScores[order[bestPos]]) {
+                    bestPos = k;
+                }
+            }
+            int best = order[bestPos];
+            float bestScore = workScores[best];
+            if (bestScore < softScoreThreshold) {
+                break;
+            }
+            order[bestPos] = order[--remaining];
+            out.add(in.getLeft(best), in.getTop(best), in.getRight(best), in.getBottom(best), bestScore,
+                    in.getClassId(best));
+
+            int write = 0;
+            for (int k = 0; k < remaining; k++) {
+                int i = order[k];
+                if (mode == Mode.CLASS_AGNOSTIC || in.getClassId(i) == in.getClassId(best)) {
+                    float overlap = iou(in, i, best);
+                    if (overlap > 0f) {
+                        workScores[i] *= (float) Math.exp(-(overlap * overlap) / softSigma);
+                    }
+                }
+                if (workScores[i] >= softScoreThreshold) {
+                    order[write++] = i;
+                }
+            }
+            remaining = write;
+        }
+        return out.size();
+    }
+
+    // IoU(Intersection over Union) 계산 (코너 형식 박스)
+    static float iou(Detections detections, int a, int b) {
+        float[] left = detections.lefts();
+        float[] top = detections.tops();
+        float[] right = detections.rights();
+        float[] bottom = detections.bottoms();
+        float intersectionWidth = Math.min(right[a], right[b]) - Math.max(left[a], left[b]);
+        float intersectionHeight = Math.min(bottom[a], bottom[b]) - Math.max(top[a], top[b]);
+        if (intersectionWidth <= 0f || intersectionHeight <= 0f) {
+            return 0f;
+        }
+        float intersectionArea = intersectionWidth * intersectionHeight;
+        float areaA = (right[a] - left[a]) * (bottom[a] - top[a]);
+        float areaB = (right[b] - left[b]) * (bottom[b] - top[b]);
+        return intersectionArea / (areaA + areaB - intersectionArea);
+    }
+
+    private static int cell(float value, float cellSize) {
+        int index = (int) (value / cellSize);
+        return index < 0 ? 0 : (index >= GRID_SIZE ? GRID_SIZE - 1 : index);
+    }
+
+    private void ensureCapacity(int count) {
+        if (order.length < count) {
+            int capacity = Math.max(count, order.length * 2);
+            order = new int[capacity];
+            workScores = new float[capacity];
+            lastChecked = new int[capacity];
+        }
+    }
+
+    private void clearChecked(int candidates) {
+        for (int k = 0; k < candidates; k++) {
+            lastChecked[order[k]] = 0;
+        }
+    }
+
+    // 점수 내림차순 퀵정렬 (order 만 재배열)
+    private static void sortByScore(int[] order, float[] scores, int low, int high) {
+        while (low < high) {
+            if (high - low < 16) {
+                insertionSort(order, scores, low, high);
+                return;
+            }
+            int p = partition(order, scores, low, high);
+            // 작은 쪽만 재귀해서 스택 깊이를 제한
+            if (p - low < high - p) {
+                sortByScore(order, scores, low, p - 1);
+                low = p + 1;
+            } else {
+                sortByScore(order, scores, p + 1, high);
+                high = p - 1;
+            }
+        }
+    }
+
+    // 점수 상위 k 개가 order[low .. low + k - 1] 에 오도록 부분 선택 (quickselect)
+    private static void selectTop(int[] order, float[] scores, int low, int high, int k) {
+        int target = low + k - 1;
+        while (low < high) {
+            int p = partition(order, scores, low, high);
+            if (p == target) {
+                return;
+            } else if (p < target) {
+                low = p + 1;
+            } else {
+                high = p - 1;
+            }
+        }
+    }
+
+    private static int partition(int[] order, float[] scores, int low, int high) {
+        int mid = (low + high) >>> 1;
+        swap(order, mid, high);
+        float pivot = scores[order[high]];
+        int store = low;
+        for (int i = low; i < high; i++) {
+            if (scores[order[i]] > pivot) {
+                swap(order, i, store++);
+            }
+        }
+        swap(order, store, high);
+        return store;
+    }
+
+    private static void insertionSort(int[] order, float[] scores, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int value = order[i];
+            float key = scores[value];
+            int j = i - 1;
+            while (j >= low && scores[order[j]] < key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = value;
+        }
+    }
+
+    private static void swap(int[] array, int a, int b) {
+        int tmp = array[a];
+        array[a] = array[b];
+        array[b] = tmp;
+    }
+}
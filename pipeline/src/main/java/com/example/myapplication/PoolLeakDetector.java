@@ -0,0 +1,75 @@
+package com.example.myapplication;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// 풀에서 빌려 간 객체가 반납되지 않은 채 GC 되면 빌려 간 위치(스택)를 알려 준다
+// 빌릴 때마다 스택을 잡으므로 디버그 빌드에서만 켤 것. 풀의 lock 안에서 호출된다고 가정한다.
+public final class PoolLeakDetector<T> {
+
+    public interface Reporter {
+        void onLeak(Throwable acquiredAt);
+    }
+
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+    // 아직 반납되지 않은 객체 (빌려 간 순서)
+    private final List<Tracked<T>> outstanding = new ArrayList<>();
+    private final Reporter reporter;
+    private int leakCount;
+
+    PoolLeakDetector(Reporter reporter) {
+        this.reporter = reporter;
+    }
+
+    void onAcquire(T item) {
+        poll();
+        outstanding.add(new Tracked<>(item, queue, new Throwable("Acquired here")));
+    }
+
+    void onRelease(T item) {
+        for (Iterator<Tracked<T>> iterator = outstanding.iterator(); iterator.hasNext(); ) {
+            Tracked<T> tracked = iterator.next();
+            if (tracked.get() == item) {
+                tracked.clear();
+                iterator.remove();
+                break;
+            }
+        }
+        poll();
+    }
+
+    // GC 된 미반납 객체를 찾아 보고하고, 이번에 찾은 개수를 반환한다
+    int poll() {
+        int found = 0;
+        Reference<? extends T> reference;
+        while ((reference = queue.poll()) != null) {
+            if (outstanding.remove(reference)) {
+                found++;
+                leakCount++;
+                reporter.onLeak(((Tracked<?>) reference).acquiredAt);
+            }
+        }
+        return found;
+    }
+
+    int getLeakCount() {
+        return leakCount;
+    }
+
+    int getOutstandingCount() {
+        return outstanding.size();
+    }
+
+    private static final class Tracked<T> extends WeakReference<T> {
+        final Throwable acquiredAt;
+
+        Tracked(T referent, ReferenceQueue<? super T> queue, Throwable acquiredAt) {
+            super(referent, queue);
+            this.acquiredAt = acquiredAt;
+        }
+    }
+}
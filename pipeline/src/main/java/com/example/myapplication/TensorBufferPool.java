@@ -0,0 +1,75 @@
+package com.example.myapplication;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+// 모델 입력 텐서용 direct ByteBuffer 풀
+// 1단계 검출기 입력과 2단계 크롭 분류기의 배치 입력이 같은 풀에서 버퍼를 빌려 쓰므로,
+// 변환기를 다시 만들 때(모델 변형 교체 등) 반납된 버퍼가 재사용되어 direct 메모리가 늘지 않는다.
+// 촬영 경로에서 프레임을 RGBA 로 옮길 때 쓰는 버퍼도 여기서 빌린다.
+// 여러 스레드에서 호출해도 된다.
+public final class TensorBufferPool {
+
+    private final List<ByteBuffer> free = new ArrayList<>();
+    // 디버그 빌드에서만 (반납하지 않고 버린 버퍼 추적)
+    private final PoolLeakDetector<ByteBuffer> leakDetector;
+    private long allocatedBytes;
+
+    public TensorBufferPool() {
+        this(null);
+    }
+
+    // leakReporter 가 있으면 반납하지 않고 버린 버퍼를 빌려 간 위치와 함께 알려 준다 (디버그 빌드용)
+    public TensorBufferPool(PoolLeakDetector.Reporter leakReporter) {
+        leakDetector = leakReporter != null ? new PoolLeakDetector<>(leakReporter) : null;
+    }
+
+    // 크기가 정확히 bytes 인 반납 버퍼가 있으면 꺼내고, 없으면 새로 할당한다 (position 0)
+    // TFLite 는 입력 버퍼의 capacity 가 텐서 크기와 같아야 하므로 더 큰 버퍼는 쓰지 않는다.
+    public synchronized ByteBuffer acquire(int bytes) {
+        ByteBuffer buffer = null;
+        for (int i = 0; i < free.size(); i++) {
+            if (free.get(i).capacity() == bytes) {
+                buffer = free.remove(i);
+                break;
+            }
+        }
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+            allocatedBytes += bytes;
+        }
+        buffer.clear();
+        if (leakDetector != null) {
+            leakDetector.onAcquire(buffer);
+        }
+        return buffer;
+    }
+
+    // acquire() 로 받은 버퍼를 돌려준다. 돌려준 뒤에는 쓰지 말 것
+    public synchronized void release(ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        // ByteBuffer.equals 는 내용을 비교하므로 같은 객체인지로 중복 반납을 막는다
+        for (ByteBuffer pooled : free) {
+            if (pooled == buffer) {
+                return;
+            }
+        }
+        free.add(buffer);
+        if (leakDetector != null) {
+            leakDetector.onRelease(buffer);
+        }
+    }
+
+    // 지금까지 새로 할당한 direct 메모리 합계
+    public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public synchronized int getFreeCount() {
+        return free.size();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.myapplication;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+// YOLOv8 탐지 모델의 원시 출력 [1, 4 + numClasses, numAnchors] (채널 우선) 을 해석하는 디코더
+// 출력에는 objectness 열이 없고, 채널 0..3 이 박스 (xCenter, yCenter, width, height),
+// 채널 4.. 가 클래스별 점수다. 박스는 레터박스를 거꾸로 적용해 원본 프레임 좌표로 돌려준다.
+// 한 스레드(분석 스레드)에서만 사용할 것.
+public final class YoloV8Decoder {
+
+    private final int numClasses;
+    private final int numAnchors;
+    // 박스 값에 곱할 배율 (TFLite 로 내보낸 모델은 0..1 로 정규화된 좌표를 내므로 입력 크기)
+    private final float coordinateScale;
+
+    // 앵커별 최고 점수와 클래스 (매 프레임 재사용)
+    private final float[] bestScores;
+    private final int[] bestClasses;
+
+    // 양자화 출력을 float 로 풀어 둘 버퍼 (양자화 모델에서 처음 쓸 때 생성)
+    private float[] dequantized;
+    private FloatBuffer dequantizedBuffer;
+
+    public YoloV8Decoder(int numClasses, int numAnchors, float coordinateScale) {
+        if (numClasses <= 0 || numAnchors <= 0) {
+            throw new IllegalArgumentException("Invalid output size: " + numClasses + " classes, "
+                    + numAnchors + " anchors");
+        }
+        this.numClasses = numClasses;
+        this.numAnchors = numAnchors;
+        this.coordinateScale = coordinateScale;
+        this.bestScores = new float[numAnchors];
+        this.bestClasses = new int[numAnchors];
+    }
+
+    // 모델 출력 텐서 모양 [1, 4 + numClasses, numAnchors] 로부터 디코더 생성
+    public static YoloV8Decoder forOutputShape(int[] shape, float coordinateScale) {
+        if (shape.length != 3 || shape[0] != 1 || shape[1] <= 4 || shape[1] >= shape[2]) {
+            throw new IllegalArgumentException("Expected channel-major YOLOv8 output [1, 4 + classes, anchors]");
+        }
+        return new YoloV8Decoder(shape[1] - 4, shape[2], coordinateScale);
+    }
+
+    public int getNumClasses() {
+        return numClasses;
+    }
+
+    public int getNumAnchors() {
+        return numAnchors;
+    }
+
+    // threshold 를 넘는 앵커를 out 에 추가 (out 은 먼저 비운다). 반환값은 추가된 개수
+    public int decode(FloatBuffer output, float threshold, Letterbox letterbox, Detections out) {
+        out.clear();
+        int base = output.position();
+        int anchors = numAnchors;
+
+        // 클래스 점수 행을 순서대로 한 번씩만 읽으면서 앵커별 argmax 를 갱신한다
+        int row = base + 4 * anchors;
+        for (int a = 0; a < anchors; a++) {
+            bestScores[a] = output.get(row + a);
+            bestClasses[a] = 0;
+        }
+        for (int c = 1; c < numClasses; c++) {
+            row += anchors;
+            for (int a = 0; a < anchors; a++) {
+                float score = output.get(row + a);
+                if (score > bestScores[a]) {
+                    bestScores[a] = score;
+                    bestClasses[a] = c;
+                }
+            }
+        }
+
+        float scale = coordinateScale;
+        for (int a = 0; a < anchors; a++) {
+            float score = bestScores[a];
+            if (score <= threshold) {
+                continue;
+            }
+            float xCenter = output.get(base + a) * scale;
+            float yCenter = output.get(base + anchors + a) * scale;
+            float halfWidth = output.get(base + 2 * anchors + a) * scale * 0.5f;
+            float halfHeight = output.get(base + 3 * anchors + a) * scale * 0.5f;
+
+            float left = xCenter - halfWidth;
+            float top = yCenter - halfHeight;
+            float right = xCenter + halfWidth;
+            float bottom = yCenter + halfHeight;
+            if (letterbox != null) {
+                left = clamp(letterbox.toSourceX(left), letterbox.getSourceWidth());
+                top = clamp(letterbox.toSourceY(top), letterbox.getSourceHeight());
+                right = clamp(letterbox.toSourceX(right), letterbox.getSourceWidth());
+                bottom = clamp(letterbox.toSourceY(bottom), letterbox.getSourceHeight());
+            }
+            out.add(left, top, right, bottom, score, bestClasses[a]);
+        }
+        return out.size();
+    }
+
+    // 8비트 양자화 출력 (value = scale * (q - zeroPoint)) 을 풀어서 decode 와 같은 규칙으로 해석
+    public int decodeQuantized(ByteBuffer output, boolean signed, float scale, int zeroPoint,
+                               float threshold, Letterbox letterbox, Detections out) {
+        int size = (4 + numClasses) * numAnchors;
+        if (dequantized == null) {
+            dequantized = new float[size];
+            dequantizedBuffer = FloatBuffer.wrap(dequantized);
+        }
+        int base = output.position();
+        for (int i = 0; i < size; i++) {
+            byte q = output.get(base + i);
+            int value = signed ? q : (q & 0xFF);
+            dequantized[i] = scale * (value - zeroPoint);
+        }
+        return decode(dequantizedBuffer, threshold, letterbox, out);
+    }
+
+    private static float clamp(float value, int max) {
+        return value < 0f ? 0f : (value > max ? max : value);
+    }
+}
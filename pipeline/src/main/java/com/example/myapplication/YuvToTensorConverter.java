@@ -0,0 +1,292 @@
+package com.example.myapplication;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+// CameraX YUV_420_888 프레임의 Y/U/V 평면을 모델 입력 텐서(NHWC, RGB)로 바로 변환하는 변환기
+// 회전, 레터박스 리사이즈(최근접 샘플링), 색 변환, 정규화를 한 번의 루프에서 처리한다.
+// 출력 버퍼와 좌표 테이블은 해상도가 바뀔 때만 다시 만들어지므로 워밍업 이후 프레임당 할당이 없다.
+// batchSize 를 주면 출력이 [batchSize, inputSize, inputSize, 3] 이 되고, convertCrop() 으로 슬롯마다 다른 영역을 채운다.
+// 한 스레드(분석 스레드)에서만 사용할 것.
+public final class YuvToTensorConverter {
+
+    public enum OutputType {
+        FLOAT32,  // 0..1 로 정규화된 float
+        UINT8,    // 양자화된 uint8 (기본 scale 1/255, zeroPoint 0 이면 0..255 그대로)
+        INT8      // 양자화된 int8
+    }
+
+    // YOLOv8 레터박스 패딩 색 (114, 114, 114)
+    private static final int PAD_VALUE = 114;
+
+    private final int inputSize;
+    private final OutputType outputType;
+    private final int batchSize;
+    private final TensorBufferPool pool;
+    private final ByteBuffer output;
+    private final FloatBuffer floatOutput;
+    // 0..255 픽셀 값 -> 양자화 출력 바이트 (8비트 출력일 때만 사용)
+    private final byte[] quantized = new byte[256];
+
+    // 출력 좌표 -> 원본 평면 인덱스 = rowTerm[dy] + colTerm[dx]
+    private final int[] yRowTerm;
+    private final int[] yColTerm;
+    private final int[] uvRowTerm;
+    private final int[] uvColTerm;
+    // convertCrop() 용 (크롭 영역이 매번 달라 호출마다 다시 계산)
+    private final int[] cropYRowTerm;
+    private final int[] cropYColTerm;
+    private final int[] cropUvRowTerm;
+    private final int[] cropUvColTerm;
+
+    private Letterbox letterbox;
+    private int tableWidth = -1;
+    private int tableHeight = -1;
+    private int tableRotation = -1;
+    private int tableYRowStride = -1;
+    private int tableUvRowStride = -1;
+    private int tableUvPixelStride = -1;
+
+    public YuvToTensorConverter(int inputSize, OutputType outputType) {
+        this(inputSize, outputType, 1f / 255f, outputType == OutputType.INT8 ? -128 : 0);
+    }
+
+    // 8비트 출력은 정규화 값 (pixel / 255) 을 q = round(value / scale) + zeroPoint 로 양자화한다
+    public YuvToTensorConverter(int inputSize, OutputType outputType, float scale, int zeroPoint) {
+        this(inputSize, outputType, scale, zeroPoint, 1, null);
+    }
+
+    // 출력 버퍼를 pool 에서 빌린다 (pool 이 null 이면 직접 할당). 다 쓰면 release() 로 돌려줄 것
+    public YuvToTensorConverter(int inputSize, OutputType outputType, float scale, int zeroPoint,
+                                int batchSize, TensorBufferPool pool) {
+        this.inputSize = inputSize;
+        this.outputType = outputType;
+        this.batchSize = batchSize;
+        this.pool = pool;
+        int bytesPerChannel = outputType == OutputType.FLOAT32 ? 4 : 1;
+        int bytes = batchSize * inputSize * inputSize * 3 * bytesPerChannel;
+        this.output = pool != null
+                ? pool.acquire(bytes)
+                : ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        this.floatOutput = outputType == OutputType.FLOAT32 ? output.asFloatBuffer() : null;
+        this.yRowTerm = new int[inputSize];
+        this.yColTerm = new int[inputSize];
+        this.uvRowTerm = new int[inputSize];
+        this.uvColTerm = new int[inputSize];
+        this.cropYRowTerm = new int[inputSize];
+        this.cropYColTerm = new int[inputSize];
+        this.cropUvRowTerm = new int[inputSize];
+        this.cropUvColTerm = new int[inputSize];
+        if (outputType != OutputType.FLOAT32) {
+            int min = outputType == OutputType.INT8 ? -128 : 0;
+            int max = outputType == OutputType.INT8 ? 127 : 255;
+            for (int pixel = 0; pixel < 256; pixel++) {
+                int q = Math.round(pixel / 255f / scale) + zeroPoint;
+                quantized[pixel] = (byte) Math.max(min, Math.min(max, q));
+            }
+        }
+    }
+
+    // 변환 결과가 담기는 재사용 버퍼 (모델 입력으로 그대로 전달)
+    public ByteBuffer getOutputBuffer() {
+        output.rewind();
+        return output;
+    }
+
+    public OutputType getOutputType() {
+        return outputType;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    // 출력 버퍼를 풀에 돌려준다. 이후에는 이 변환기를 쓰지 말 것
+    public void release() {
+        if (pool != null) {
+            pool.release(output);
+        }
+    }
+
+    // 마지막 변환에 사용된 레터박스 (변환 전이면 null)
+    public Letterbox getLetterbox() {
+        return letterbox;
+    }
+
+    // width/height 는 센서 기준(회전 전) 크기, rotationDegrees 는 0/90/180/270
+    public ByteBuffer convert(ByteBuffer yPlane, ByteBuffer uPlane, ByteBuffer vPlane,
+                              int width, int height, int yRowStride, int uvRowStride, int uvPixelStride,
+                              int rotationDegrees) {
+        prepareTables(width, height, yRowStride, uvRowStride, uvPixelStride, rotationDegrees);
+
+        int padX = letterbox.getPadX();
+        int padY = letterbox.getPadY();
+        int contentRight = padX + letterbox.getContentWidth();
+        int contentBottom = padY + letterbox.getContentHeight();
+
+        int out = 0;
+        for (int dy = 0; dy < inputSize; dy++) {
+            if (dy < padY || dy >= contentBottom) {
+                out = writePadding(out, inputSize);
+                continue;
+            }
+            out = writePadding(out, padX);
+            int yRow = yRowTerm[dy];
+            int uvRow = uvRowTerm[dy];
+            for (int dx = padX; dx < contentRight; dx++) {
+                int luma = yPlane.get(yRow + yColTerm[dx]) & 0xFF;
+                int uvIndex = uvRow + uvColTerm[dx];
+                int u = (uPlane.get(uvIndex) & 0xFF) - 128;
+                int v = (vPlane.get(uvIndex) & 0xFF) - 128;
+                out = writePixel(out, luma, u, v);
+            }
+            out = writePadding(out, inputSize - contentRight);
+        }
+        return getOutputBuffer();
+    }
+
+    // 회전된 프레임 좌표의 영역 (left, top, right, bottom) 을 원본 해상도에서 잘라 batchSlot 번째 입력에 채운다
+    // 레터박스 없이 inputSize x inputSize 로 늘리며, 프레임 밖은 가장자리 픽셀로 채운다.
+    public void convertCrop(ByteBuffer yPlane, ByteBuffer uPlane, ByteBuffer vPlane,
+                            int width, int height, int yRowStride, int uvRowStride, int uvPixelStride,
+                            int rotationDegrees, float left, float top, float right, float bottom,
+                            int batchSlot) {
+        if (batchSlot < 0 || batchSlot >= batchSize) {
+            throw new IllegalArgumentException("Batch slot " + batchSlot + " out of " + batchSize);
+        }
+        int rotation = normalizeRotation(rotationDegrees);
+        boolean swap = rotation == 90 || rotation == 270;
+        int rotatedWidth = swap ? height : width;
+        int rotatedHeight = swap ? width : height;
+        float stepX = (right - left) / inputSize;
+        float stepY = (bottom - top) / inputSize;
+        for (int d = 0; d < inputSize; d++) {
+            int rx = clampIndex((int) Math.floor(left + (d + 0.5f) * stepX), rotatedWidth);
+            int ry = clampIndex((int) Math.floor(top + (d + 0.5f) * stepY), rotatedHeight);
+            fillTerms(d, rx, ry, rotation, width, height, yRowStride, uvRowStride, uvPixelStride,
+                    cropYRowTerm, cropYColTerm, cropUvRowTerm, cropUvColTerm);
+        }
+
+        int out = batchSlot * inputSize * inputSize * 3;
+        for (int dy = 0; dy < inputSize; dy++) {
+            int yRow = cropYRowTerm[dy];
+            int uvRow = cropUvRowTerm[dy];
+            for (int dx = 0; dx < inputSize; dx++) {
+                int luma = yPlane.get(yRow + cropYColTerm[dx]) & 0xFF;
+                int uvIndex = uvRow + cropUvColTerm[dx];
+                int u = (uPlane.get(uvIndex) & 0xFF) - 128;
+                int v = (vPlane.get(uvIndex) & 0xFF) - 128;
+                out = writePixel(out, luma, u, v);
+            }
+        }
+    }
+
+    // BT.601 full range, 10비트 고정소수점
+    private int writePixel(int out, int luma, int u, int v) {
+        int r = clamp(luma + ((1436 * v) >> 10));
+        int g = clamp(luma - ((352 * u + 731 * v) >> 10));
+        int b = clamp(luma + ((1815 * u) >> 10));
+        if (floatOutput != null) {
+            floatOutput.put(out, r / 255f);
+            floatOutput.put(out + 1, g / 255f);
+            floatOutput.put(out + 2, b / 255f);
+        } else {
+            output.put(out, quantized[r]);
+            output.put(out + 1, quantized[g]);
+            output.put(out + 2, quantized[b]);
+        }
+        return out + 3;
+    }
+
+    private int writePadding(int out, int pixels) {
+        int end = out + pixels * 3;
+        if (floatOutput != null) {
+            float pad = PAD_VALUE / 255f;
+            for (int i = out; i < end; i++) {
+                floatOutput.put(i, pad);
+            }
+        } else {
+            byte pad = quantized[PAD_VALUE];
+            for (int i = out; i < end; i++) {
+                output.put(i, pad);
+            }
+        }
+        return end;
+    }
+
+    private static int clamp(int value) {
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+
+    // 해상도/회전/stride 가 바뀌었을 때만 좌표 테이블을 다시 계산
+    private void prepareTables(int width, int height, int yRowStride, int uvRowStride, int uvPixelStride,
+                               int rotationDegrees) {
+        if (width == tableWidth && height == tableHeight && rotationDegrees == tableRotation
+                && yRowStride == tableYRowStride && uvRowStride == tableUvRowStride
+                && uvPixelStride == tableUvPixelStride) {
+            return;
+        }
+        int rotation = normalizeRotation(rotationDegrees);
+        boolean swap = rotation == 90 || rotation == 270;
+        int rotatedWidth = swap ? height : width;
+        int rotatedHeight = swap ? width : height;
+        letterbox = new Letterbox(rotatedWidth, rotatedHeight, inputSize);
+
+        float scale = letterbox.getScale();
+        for (int d = 0; d < inputSize; d++) {
+            // 출력 좌표 -> 회전된 원본 좌표 (픽셀 중심 기준 최근접 샘플링)
+            int rx = clampIndex((int) ((d - letterbox.getPadX() + 0.5f) / scale), rotatedWidth);
+            int ry = clampIndex((int) ((d - letterbox.getPadY() + 0.5f) / scale), rotatedHeight);
+            fillTerms(d, rx, ry, rotation, width, height, yRowStride, uvRowStride, uvPixelStride,
+                    yRowTerm, yColTerm, uvRowTerm, uvColTerm);
+        }
+
+        tableWidth = width;
+        tableHeight = height;
+        tableRotation = rotationDegrees;
+        tableYRowStride = yRowStride;
+        tableUvRowStride = uvRowStride;
+        tableUvPixelStride = uvPixelStride;
+    }
+
+    static int normalizeRotation(int rotationDegrees) {
+        if (rotationDegrees % 90 != 0) {
+            throw new IllegalArgumentException("Unsupported rotation " + rotationDegrees);
+        }
+        return ((rotationDegrees % 360) + 360) % 360;
+    }
+
+    // 회전된 좌표 (rx, ry) -> 센서 좌표 (sx, sy) 의 평면 인덱스 항. 열(d 번째 dx)은 rx 에만, 행(d 번째 dy)은 ry 에만 의존한다.
+    static void fillTerms(int d, int rx, int ry, int rotation, int width, int height,
+                                  int yRowStride, int uvRowStride, int uvPixelStride,
+                                  int[] yRowTerm, int[] yColTerm, int[] uvRowTerm, int[] uvColTerm) {
+        int colSx = 0, colSy = 0, rowSx = 0, rowSy = 0;
+        switch (rotation) {
+            case 0:
+                colSx = rx;
+                rowSy = ry;
+                break;
+            case 90:
+                colSy = height - 1 - rx;
+                rowSx = ry;
+                break;
+            case 180:
+                colSx = width - 1 - rx;
+                rowSy = height - 1 - ry;
+                break;
+            case 270:
+                colSy = rx;
+                rowSx = width - 1 - ry;
+                break;
+        }
+        yColTerm[d] = colSy * yRowStride + colSx;
+        yRowTerm[d] = rowSy * yRowStride + rowSx;
+        uvColTerm[d] = (colSy >> 1) * uvRowStride + (colSx >> 1) * uvPixelStride;
+        uvRowTerm[d] = (rowSy >> 1) * uvRowStride + (rowSx >> 1) * uvPixelStride;
+    }
+
+    private static int clampIndex(int value, int size) {
+        return value < 0 ? 0 : (value >= size ? size - 1 : value);
+    }
+}
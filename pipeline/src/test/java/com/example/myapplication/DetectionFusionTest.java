@@ -0,0 +1,54 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DetectionFusionTest {
+
+    @Test
+    public void matchingBoxesAreAveragedByScore() {
+        Detections first = new Detections(4);
+        first.add(100, 100, 200, 200, 0.9f, 3);
+        Detections second = new Detections(4);
+        second.add(110, 100, 210, 200, 0.3f, 3);
+
+        Detections out = new Detections(4);
+        assertEquals(1, new DetectionFusion(0.5f).fuse(new Detections[]{first, second}, 2, 0.25f, out));
+        assertEquals(3, out.getClassId(0));
+        assertEquals(0.6f, out.getScore(0), 1e-5f);
+        assertEquals(102.5f, out.getLeft(0), 1e-3f);
+        assertEquals(202.5f, out.getRight(0), 1e-3f);
+    }
+
+    @Test
+    public void detectionSeenInOneFrameIsDiscounted() {
+        Detections first = new Detections(4);
+        first.add(0, 0, 50, 50, 0.8f, 1);
+        first.add(300, 300, 350, 350, 0.4f, 2);
+        Detections second = new Detections(4);
+        second.add(0, 0, 50, 50, 0.7f, 1);
+
+        Detections out = new Detections(4);
+        new DetectionFusion(0.5f).fuse(new Detections[]{first, second}, 2, 0.25f, out);
+
+        // 클래스 2 는 한 프레임에서만 보여 0.2 가 되어 빠진다
+        assertEquals(1, out.size());
+        assertEquals(1, out.getClassId(0));
+        assertEquals(0.75f, out.getScore(0), 1e-5f);
+    }
+
+    @Test
+    public void differentClassesAreNotMerged() {
+        Detections first = new Detections(4);
+        first.add(0, 0, 50, 50, 0.9f, 1);
+        Detections second = new Detections(4);
+        second.add(0, 0, 50, 50, 0.9f, 2);
+
+        Detections out = new Detections(4);
+        new DetectionFusion(0.5f).fuse(new Detections[]{first, second}, 2, 0.25f, out);
+
+        assertEquals(2, out.size());
+        assertEquals(0.45f, out.getScore(0), 1e-5f);
+    }
+}
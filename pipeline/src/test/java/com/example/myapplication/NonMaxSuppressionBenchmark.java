@@ -0,0 +1,127 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+// 격자 기반 NMS 와 이전 CameraFragment 구현(List<Detection> 정렬 + 전체 쌍 비교)을 비교하는 벤치마크
+public class NonMaxSuppressionBenchmark {
+
+    private static final int[] CANDIDATE_COUNTS = {100, 1000, 8400};
+    private static final float NMS_THRESHOLD = 0.45f;
+
+    @Test
+    public void compareWithLegacyImplementation() {
+        for (int count : CANDIDATE_COUNTS) {
+            Detections in = clusteredBoxes(new Random(count), count);
+            Detections out = new Detections(64);
+            NonMaxSuppression nms = new NonMaxSuppression(NMS_THRESHOLD, NonMaxSuppression.Mode.PER_CLASS, 0);
+            NonMaxSuppression topKNms = new NonMaxSuppression(NMS_THRESHOLD, NonMaxSuppression.Mode.PER_CLASS, 300);
+
+            int iterations = Math.max(5, 200000 / count);
+            for (int i = 0; i < iterations; i++) {
+                nms.apply(in, out);
+                topKNms.apply(in, out);
+                legacy(toLegacy(in));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                nms.apply(in, out);
+            }
+            double gridMs = (System.nanoTime() - start) / 1e6 / iterations;
+            int gridKept = out.size();
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                topKNms.apply(in, out);
+            }
+            double topKMs = (System.nanoTime() - start) / 1e6 / iterations;
+
+            start = System.nanoTime();
+            int legacyKept = 0;
+            for (int i = 0; i < iterations; i++) {
+                legacyKept = legacy(toLegacy(in)).size();
+            }
+            double legacyMs = (System.nanoTime() - start) / 1e6 / iterations;
+
+            System.out.printf("NMS %5d boxes: grid %.3f ms (%d kept), grid+top300 %.3f ms, legacy %.3f ms (%d kept)%n",
+                    count, gridMs, gridKept, topKMs, legacyMs, legacyKept);
+            assertTrue(gridKept > 0);
+        }
+    }
+
+    // 실제 모델 출력처럼 물체 하나당 약간씩 어긋난 후보가 20개씩 몰려 있는 장면 (진열대의 라면 컵)
+    private static Detections clusteredBoxes(Random random, int count) {
+        Detections detections = new Detections(count);
+        int objects = Math.max(1, count / 20);
+        float[] centers = new float[objects * 3];
+        for (int o = 0; o < objects; o++) {
+            centers[o * 3] = 40 + random.nextFloat() * 1200;
+            centers[o * 3 + 1] = 40 + random.nextFloat() * 640;
+            centers[o * 3 + 2] = random.nextInt(32);
+        }
+        for (int i = 0; i < count; i++) {
+            int o = i % objects;
+            float x = centers[o * 3] + random.nextFloat() * 8 - 4;
+            float y = centers[o * 3 + 1] + random.nextFloat() * 8 - 4;
+            detections.add(x - 40, y - 40, x + 40, y + 40, 0.25f + random.nextFloat() * 0.75f, (int) centers[o * 3 + 2]);
+        }
+        return detections;
+    }
+
+    private static List<LegacyDetection> toLegacy(Detections in) {
+        List<LegacyDetection> list = new ArrayList<>(in.size());
+        for (int i = 0; i < in.size(); i++) {
+            list.add(new LegacyDetection(in.getLeft(i), in.getTop(i), in.getRight(i) - in.getLeft(i),
+                    in.getBottom(i) - in.getTop(i), in.getClassId(i), in.getScore(i)));
+        }
+        return list;
+    }
+
+    // 이전 applyNonMaximumSuppression() 과 같은 알고리즘 (클래스 구분 없이 전체 쌍 비교)
+    private static List<LegacyDetection> legacy(List<LegacyDetection> detections) {
+        List<LegacyDetection> result = new ArrayList<>();
+        Collections.sort(detections, (a, b) -> Float.compare(b.confidence, a.confidence));
+        for (LegacyDetection detection : detections) {
+            boolean keep = true;
+            for (LegacyDetection res : result) {
+                if (iou(detection, res) > NMS_THRESHOLD) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                result.add(detection);
+            }
+        }
+        return result;
+    }
+
+    private static float iou(LegacyDetection box1, LegacyDetection box2) {
+        float intersectionArea = Math.max(0, Math.min(box1.x + box1.width, box2.x + box2.width) - Math.max(box1.x, box2.x)) *
+                Math.max(0, Math.min(box1.y + box1.height, box2.y + box2.height) - Math.max(box1.y, box2.y));
+        float unionArea = box1.width * box1.height + box2.width * box2.height - intersectionArea;
+        return intersectionArea / unionArea;
+    }
+
+    private static final class LegacyDetection {
+        final float x, y, width, height;
+        final int classId;
+        final float confidence;
+
+        LegacyDetection(float x, float y, float width, float height, int classId, float confidence) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.classId = classId;
+            this.confidence = confidence;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class NonMaxSuppressionTest {
+
+    @Test
+    public void perClass_suppressesOnlySameClass() {
+        Detections in = new Detections(4);
+        in.add(10, 10, 110, 110, 0.9f, 1);
+        in.add(12, 12, 112, 112, 0.8f, 1);  // 같은 클래스, 거의 겹침 -> 제거
+        in.add(12, 12, 112, 112, 0.7f, 2);  // 다른 클래스 -> 유지
+        in.add(300, 300, 400, 400, 0.6f, 1);
+
+        Detections out = new Detections(4);
+        int kept = new NonMaxSuppression(0.45f, NonMaxSuppression.Mode.PER_CLASS, 0).apply(in, out);
+
+        assertEquals(3, kept);
+        assertEquals(0.9f, out.getScore(0), 0f);
+        assertEquals(2, out.getClassId(1));
+        assertEquals(0.6f, out.getScore(2), 0f);
+    }
+
+    @Test
+    public void classAgnostic_suppressesAcrossClasses() {
+        Detections in = new Detections(2);
+        in.add(12, 12, 112, 112, 0.7f, 2);
+        in.add(10, 10, 110, 110, 0.9f, 1);
+
+        Detections out = new Detections(2);
+        new NonMaxSuppression(0.45f, NonMaxSuppression.Mode.CLASS_AGNOSTIC, 0).apply(in, out);
+
+        assertEquals(1, out.size());
+        assertEquals(1, out.getClassId(0));
+    }
+
+    @Test
+    public void matchesBruteForceOnDenseScene() {
+        Random random = new Random(7);
+        Detections in = randomBoxes(random, 2000, 4);
+        Detections out = new Detections(16);
+        new NonMaxSuppression(0.45f, NonMaxSuppression.Mode.PER_CLASS, 0).apply(in, out);
+
+        Detections expected = bruteForce(in, 0.45f, true);
+        assertEquals(expected.size(), out.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getScore(i), out.getScore(i), 0f);
+            assertEquals(expected.getLeft(i), out.getLeft(i), 0f);
+        }
+    }
+
+    @Test
+    public void topK_keepsHighestScores() {
+        Detections in = new Detections(10);
+        for (int i = 0; i < 10; i++) {
+            in.add(i * 100, 0, i * 100 + 50, 50, i / 10f, 0);
+        }
+        Detections out = new Detections(3);
+        new NonMaxSuppression(0.5f, NonMaxSuppression.Mode.PER_CLASS, 3).apply(in, out);
+
+        assertEquals(3, out.size());
+        assertEquals(0.9f, out.getScore(0), 1e-6f);
+        assertEquals(0.8f, out.getScore(1), 1e-6f);
+        assertEquals(0.7f, out.getScore(2), 1e-6f);
+    }
+
+    @Test
+    public void softNms_decaysOverlappingScores() {
+        Detections in = new Detections(2);
+        in.add(0, 0, 100, 100, 0.9f, 0);
+        in.add(0, 0, 100, 80, 0.8f, 0);  // IoU 0.8
+
+        NonMaxSuppression nms = new NonMaxSuppression(0.45f, NonMaxSuppression.Mode.PER_CLASS, 0);
+        nms.setSoftNms(0.5f, 0.001f);
+        Detections out = new Detections(2);
+        nms.apply(in, out);
+
+        assertEquals(2, out.size());
+        assertEquals(0.9f, out.getScore(0), 0f);
+        assertEquals(0.8f * (float) Math.exp(-0.64 / 0.5), out.getScore(1), 1e-5f);
+    }
+
+    static Detections randomBoxes(Random random, int count, int numClasses) {
+        Detections detections = new Detections(count);
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * 1200;
+            float y = random.nextFloat() * 650;
+            float w = 20 + random.nextFloat() * 80;
+            float h = 20 + random.nextFloat() * 80;
+            detections.add(x, y, x + w, y + h, random.nextFloat(), random.nextInt(numClasses));
+        }
+        return detections;
+    }
+
+    // 모든 쌍을 비교하는 기준 구현
+    static Detections bruteForce(Detections in, float threshold, boolean perClass) {
+        Integer[] order = new Integer[in.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        java.util.Arrays.sort(order, (a, b) -> Float.compare(in.getScore(b), in.getScore(a)));
+        Detections kept = new Detections(16);
+        int[] keptIndex = new int[in.size()];
+        for (int i : order) {
+            boolean keep = true;
+            for (int k = 0; k < kept.size(); k++) {
+                int j = keptIndex[k];
+                if ((!perClass || in.getClassId(i) == in.getClassId(j)) && NonMaxSuppression.iou(in, i, j) > threshold) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                keptIndex[kept.size()] = i;
+                kept.add(in.getLeft(i), in.getTop(i), in.getRight(i), in.getBottom(i), in.getScore(i), in.getClassId(i));
+            }
+        }
+        return kept;
+    }
+}
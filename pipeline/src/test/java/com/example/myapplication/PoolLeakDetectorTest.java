@@ -0,0 +1,54 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PoolLeakDetectorTest {
+
+    @Test
+    public void releasedItems_areNotReported() {
+        List<Throwable> leaks = new ArrayList<>();
+        PoolLeakDetector<Object> detector = new PoolLeakDetector<>(leaks::add);
+        Object item = new Object();
+        detector.onAcquire(item);
+        assertEquals(1, detector.getOutstandingCount());
+
+        detector.onRelease(item);
+        assertEquals(0, detector.getOutstandingCount());
+        item = null;
+        collect(detector);
+        assertTrue(leaks.isEmpty());
+    }
+
+    @Test
+    public void droppedItem_isReportedWithAcquireSite() {
+        List<Throwable> leaks = new ArrayList<>();
+        PoolLeakDetector<Object> detector = new PoolLeakDetector<>(leaks::add);
+        detector.onAcquire(new Object());
+
+        collect(detector);
+
+        assertEquals(1, detector.getLeakCount());
+        assertEquals(0, detector.getOutstandingCount());
+        StackTraceElement[] stack = leaks.get(0).getStackTrace();
+        assertEquals("droppedItem_isReportedWithAcquireSite", stack[1].getMethodName());
+    }
+
+    // 약한 참조가 큐에 들어올 때까지 GC 를 돌린다
+    private static void collect(PoolLeakDetector<Object> detector) {
+        for (int i = 0; i < 50 && detector.getOutstandingCount() > 0; i++) {
+            System.gc();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            detector.poll();
+        }
+    }
+}
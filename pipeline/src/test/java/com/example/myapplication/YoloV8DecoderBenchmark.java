@@ -0,0 +1,50 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+// 8400 앵커 x 32 클래스 출력에 대한 디코더 마이크로벤치마크
+public class YoloV8DecoderBenchmark {
+
+    private static final int NUM_CLASSES = 32;
+    private static final int NUM_ANCHORS = 8400;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Test
+    public void decode8400x32() {
+        // 모델 출력처럼 native order direct 버퍼에 담고, 점수는 대부분 낮게 (약 1% 앵커만 임계값 초과)
+        FloatBuffer output = ByteBuffer.allocateDirect(4 * (4 + NUM_CLASSES) * NUM_ANCHORS)
+                .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        Random random = new Random(42);
+        for (int i = 0; i < output.capacity(); i++) {
+            output.put(i, i < 4 * NUM_ANCHORS ? random.nextFloat() : random.nextFloat() * 0.2f);
+        }
+        for (int a = 0; a < NUM_ANCHORS; a += 100) {
+            output.put((4 + random.nextInt(NUM_CLASSES)) * NUM_ANCHORS + a, 0.8f);
+        }
+
+        YoloV8Decoder decoder = new YoloV8Decoder(NUM_CLASSES, NUM_ANCHORS, 640f);
+        Letterbox letterbox = new Letterbox(1280, 720, 640);
+        Detections out = new Detections(256);
+
+        for (int i = 0; i < WARMUP; i++) {
+            decoder.decode(output, 0.25f, letterbox, out);
+        }
+        long start = System.nanoTime();
+        int total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            total += decoder.decode(output, 0.25f, letterbox, out);
+        }
+        double ms = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+
+        System.out.printf("YoloV8Decoder 8400x32: %.3f ms/decode, %d candidates%n", ms, total / ITERATIONS);
+        assertTrue(total > 0);
+    }
+}
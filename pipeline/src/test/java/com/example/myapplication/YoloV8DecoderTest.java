@@ -0,0 +1,111 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import static org.junit.Assert.*;
+
+public class YoloV8DecoderTest {
+
+    private static final int NUM_CLASSES = 32;
+    private static final int NUM_ANCHORS = 8400;
+    private static final int INPUT_SIZE = 640;
+
+    // 1280x720 프레임 -> 640 입력: scale 0.5, 위아래 140 픽셀 패딩
+    private static final Letterbox LETTERBOX = new Letterbox(1280, 720, INPUT_SIZE);
+
+    @Test
+    public void decode_goldenTensor() {
+        float[] tensor = new float[(4 + NUM_CLASSES) * NUM_ANCHORS];
+        setAnchor(tensor, 5, 0.5f, 0.5f, 0.25f, 0.125f);
+        setScore(tensor, 5, 3, 0.6f);
+        setScore(tensor, 5, 7, 0.9f);
+        setAnchor(tensor, 8399, 0.1f, 0.3f, 0.05f, 0.05f);
+        setScore(tensor, 8399, 31, 0.3f);
+        setAnchor(tensor, 200, 0.7f, 0.7f, 0.1f, 0.1f);
+        setScore(tensor, 200, 0, 0.2f);
+
+        YoloV8Decoder decoder = YoloV8Decoder.forOutputShape(new int[]{1, 4 + NUM_CLASSES, NUM_ANCHORS}, INPUT_SIZE);
+        Detections out = new Detections(4);
+        int count = decoder.decode(FloatBuffer.wrap(tensor), 0.25f, LETTERBOX, out);
+
+        assertEquals(2, count);
+        assertEquals(7, out.getClassId(0));
+        assertEquals(0.9f, out.getScore(0), 1e-6f);
+        assertEquals(480f, out.getLeft(0), 1e-3f);
+        assertEquals(280f, out.getTop(0), 1e-3f);
+        assertEquals(800f, out.getRight(0), 1e-3f);
+        assertEquals(440f, out.getBottom(0), 1e-3f);
+
+        assertEquals(31, out.getClassId(1));
+        assertEquals(96f, out.getLeft(1), 1e-3f);
+        assertEquals(72f, out.getTop(1), 1e-3f);
+        assertEquals(160f, out.getRight(1), 1e-3f);
+        assertEquals(136f, out.getBottom(1), 1e-3f);
+    }
+
+    @Test
+    public void decode_clampsBoxesToFrame() {
+        float[] tensor = new float[(4 + NUM_CLASSES) * NUM_ANCHORS];
+        setAnchor(tensor, 0, 0f, 0f, 0.2f, 0.2f);
+        setScore(tensor, 0, 1, 0.8f);
+
+        YoloV8Decoder decoder = new YoloV8Decoder(NUM_CLASSES, NUM_ANCHORS, INPUT_SIZE);
+        Detections out = new Detections(1);
+        decoder.decode(FloatBuffer.wrap(tensor), 0.25f, LETTERBOX, out);
+
+        assertEquals(0f, out.getLeft(0), 0f);
+        assertEquals(0f, out.getTop(0), 0f);
+    }
+
+    @Test
+    public void decode_clearsPreviousResults() {
+        float[] tensor = new float[(4 + NUM_CLASSES) * NUM_ANCHORS];
+        YoloV8Decoder decoder = new YoloV8Decoder(NUM_CLASSES, NUM_ANCHORS, INPUT_SIZE);
+        Detections out = new Detections(1);
+        out.add(0, 0, 1, 1, 1f, 0);
+
+        assertEquals(0, decoder.decode(FloatBuffer.wrap(tensor), 0.25f, null, out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void decodeQuantized_matchesFloatDecode() {
+        float[] tensor = new float[(4 + NUM_CLASSES) * NUM_ANCHORS];
+        setAnchor(tensor, 5, 0.5f, 0.5f, 0.25f, 0.125f);
+        setScore(tensor, 5, 7, 0.9f);
+
+        // uint8, scale 1/255, zeroPoint 0
+        ByteBuffer quantized = ByteBuffer.allocate(tensor.length);
+        for (int i = 0; i < tensor.length; i++) {
+            quantized.put(i, (byte) Math.round(tensor[i] * 255f));
+        }
+        YoloV8Decoder decoder = new YoloV8Decoder(NUM_CLASSES, NUM_ANCHORS, INPUT_SIZE);
+        Detections out = new Detections(1);
+        decoder.decodeQuantized(quantized, false, 1f / 255f, 0, 0.25f, LETTERBOX, out);
+
+        assertEquals(1, out.size());
+        assertEquals(7, out.getClassId(0));
+        assertEquals(0.9f, out.getScore(0), 1f / 255f);
+        assertEquals(480f, out.getLeft(0), 4f);
+        assertEquals(440f, out.getBottom(0), 4f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void forOutputShape_rejectsAnchorMajorLayout() {
+        YoloV8Decoder.forOutputShape(new int[]{1, NUM_ANCHORS, 4 + NUM_CLASSES}, INPUT_SIZE);
+    }
+
+    private static void setAnchor(float[] tensor, int anchor, float x, float y, float w, float h) {
+        tensor[anchor] = x;
+        tensor[NUM_ANCHORS + anchor] = y;
+        tensor[2 * NUM_ANCHORS + anchor] = w;
+        tensor[3 * NUM_ANCHORS + anchor] = h;
+    }
+
+    private static void setScore(float[] tensor, int anchor, int classId, float score) {
+        tensor[(4 + classId) * NUM_ANCHORS + anchor] = score;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+// JVM 에서 YUV 직접 변환과 기존 Bitmap 경로(ARGB 변환 -> 회전 -> 리사이즈 -> float 변환)를 비교하는 벤치마크
+// Bitmap 경로는 android.graphics 없이 같은 단계와 같은 할당을 int[]/ByteBuffer 로 재현한다.
+public class YuvToTensorConverterBenchmark {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final int INPUT_SIZE = 640;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    @Test
+    public void compareWithBitmapPath() {
+        YuvToTensorConverterTest.Frame frame = YuvToTensorConverterTest.Frame.solid(WIDTH, HEIGHT, 90, WIDTH, 2);
+        YuvToTensorConverter converter = new YuvToTensorConverter(INPUT_SIZE, YuvToTensorConverter.OutputType.FLOAT32);
+
+        for (int i = 0; i < WARMUP; i++) {
+            frame.convert(converter, 90);
+            bitmapPath(frame, 90);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            frame.convert(converter, 90);
+        }
+        double directMs = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += bitmapPath(frame, 90).capacity();
+        }
+        double bitmapMs = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+
+        long bitmapBytes = 4L * WIDTH * HEIGHT * 2 + 4L * INPUT_SIZE * INPUT_SIZE + 4L * INPUT_SIZE * INPUT_SIZE * 3;
+        System.out.printf("YUV direct: %.2f ms/frame, 0 bytes allocated%n", directMs);
+        System.out.printf("Bitmap path: %.2f ms/frame, ~%d KB allocated%n", bitmapMs, bitmapBytes / 1024);
+        assertTrue(checksum > 0);
+    }
+
+    // 기존 캡처 경로의 단계를 그대로 흉내낸 변환 (매 프레임 새 버퍼를 할당)
+    private static ByteBuffer bitmapPath(YuvToTensorConverterTest.Frame frame, int rotation) {
+        int[] argb = new int[WIDTH * HEIGHT];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int luma = frame.y.get(y * frame.yRowStride + x) & 0xFF;
+                int uvIndex = (y >> 1) * frame.uvRowStride + (x >> 1) * frame.uvPixelStride;
+                int u = (frame.u.get(uvIndex) & 0xFF) - 128;
+                int v = (frame.v.get(uvIndex) & 0xFF) - 128;
+                int r = clamp((int) (luma + 1.402f * v));
+                int g = clamp((int) (luma - 0.344f * u - 0.714f * v));
+                int b = clamp((int) (luma + 1.772f * u));
+                argb[y * WIDTH + x] = 0xFF000000 | (r << 16) | (g << 8) | b;
+            }
+        }
+
+        int[] rotated = new int[WIDTH * HEIGHT];
+        int rotatedWidth = rotation == 90 ? HEIGHT : WIDTH;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                rotated[x * rotatedWidth + (HEIGHT - 1 - y)] = argb[y * WIDTH + x];
+            }
+        }
+        int rotatedHeight = WIDTH * HEIGHT / rotatedWidth;
+
+        int[] scaled = new int[INPUT_SIZE * INPUT_SIZE];
+        for (int y = 0; y < INPUT_SIZE; y++) {
+            int sy = y * rotatedHeight / INPUT_SIZE;
+            for (int x = 0; x < INPUT_SIZE; x++) {
+                scaled[y * INPUT_SIZE + x] = rotated[sy * rotatedWidth + x * rotatedWidth / INPUT_SIZE];
+            }
+        }
+
+        ByteBuffer tensor = ByteBuffer.allocateDirect(INPUT_SIZE * INPUT_SIZE * 3 * 4).order(ByteOrder.nativeOrder());
+        for (int pixel : scaled) {
+            tensor.putFloat(((pixel >> 16) & 0xFF) / 255f);
+            tensor.putFloat(((pixel >> 8) & 0xFF) / 255f);
+            tensor.putFloat((pixel & 0xFF) / 255f);
+        }
+        return tensor;
+    }
+
+    private static int clamp(int value) {
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.myapplication;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import static org.junit.Assert.*;
+
+public class YuvToTensorConverterTest {
+
+    private static final int INPUT_SIZE = 8;
+
+    @Test
+    public void grayFrame_fillsContentAndPadding() {
+        // 16x8 회색 프레임 -> 8x8 입력: 위아래 2줄씩 패딩
+        Frame frame = Frame.solid(16, 8, 200);
+        YuvToTensorConverter converter = new YuvToTensorConverter(INPUT_SIZE, YuvToTensorConverter.OutputType.UINT8);
+        ByteBuffer out = frame.convert(converter, 0);
+
+        assertEquals(0, converter.getLetterbox().getPadX());
+        assertEquals(2, converter.getLetterbox().getPadY());
+        assertEquals(114, out.get(0) & 0xFF);
+        assertEquals(200, out.get(pixelIndex(2, 0)) & 0xFF);
+        assertEquals(200, out.get(pixelIndex(5, 7) + 2) & 0xFF);
+        assertEquals(114, out.get(pixelIndex(6, 0)) & 0xFF);
+    }
+
+    @Test
+    public void int8Output_appliesModelQuantization() {
+        // scale 1/255, zeroPoint -128: 0 -> -128, 255 -> 127
+        Frame frame = Frame.solid(8, 8, 255);
+        YuvToTensorConverter converter = new YuvToTensorConverter(INPUT_SIZE,
+                YuvToTensorConverter.OutputType.INT8, 1f / 255f, -128);
+        ByteBuffer out = frame.convert(converter, 0);
+
+        assertEquals(127, out.get(0));
+        assertEquals(INPUT_SIZE * INPUT_SIZE * 3, out.capacity());
+    }
+
+    @Test
+    public void rotation_mapsSensorCornersToExpectedOutputCorners() {
+        // 8x8 프레임의 왼쪽 위 2x2 블록만 밝게 표시
+        Frame frame = Frame.solid(8, 8, 0);
+        frame.setLuma(0, 0, 255);
+        frame.setLuma(1, 0, 255);
+        frame.setLuma(0, 1, 255);
+        frame.setLuma(1, 1, 255);
+        YuvToTensorConverter converter = new YuvToTensorConverter(INPUT_SIZE, YuvToTensorConverter.OutputType.UINT8);
+
+        assertEquals(255, frame.convert(converter, 0).get(pixelIndex(0, 0)) & 0xFF);
+        // 시계 방향 90도 회전이면 왼쪽 위가 오른쪽 위로 이동
+        assertEquals(255, frame.convert(converter, 90).get(pixelIndex(0, 7)) & 0xFF);
+        assertEquals(255, frame.convert(converter, 180).get(pixelIndex(7, 7)) & 0xFF);
+        assertEquals(255, frame.convert(converter, 270).get(pixelIndex(7, 0)) & 0xFF);
+        assertEquals(0, frame.convert(converter, 270).get(pixelIndex(0, 0)) & 0xFF);
+    }
+
+    @Test
+    public void floatOutput_isNormalizedAndHandlesRowPadding() {
+        // rowStride 가 너비보다 큰 경우와 U/V 가 interleave 된 경우 (pixelStride 2)
+        Frame frame = Frame.solid(8, 8, 255, 16, 2);
+        YuvToTensorConverter converter = new YuvToTensorConverter(INPUT_SIZE, YuvToTensorConverter.OutputType.FLOAT32);
+        FloatBuffer out = frame.convert(converter, 0).order(ByteOrder.nativeOrder()).asFloatBuffer();
+
+        assertEquals(1f, out.get(0), 1e-6f);
+        assertEquals(1f, out.get(INPUT_SIZE * INPUT_SIZE * 3 - 1), 1e-6f);
+    }
+
+    @Test
+    public void convert_reusesOutputBuffer() {
+        Frame frame = Frame.solid(16, 8, 10);
+        YuvToTensorConverter converter = new YuvToTensorConverter(INPUT_SIZE, YuvToTensorConverter.OutputType.FLOAT32);
+        assertSame(frame.convert(converter, 0), frame.convert(converter, 90));
+    }
+
+    @Test
+    public void convertCrop_fillsBatchSlotFromRegionAtSourceResolution() {
+        // 16x16 프레임의 (8..11, 4..7) 블록만 밝게 두고 그 영역을 두 번째 슬롯에 잘라 넣는다
+        Frame frame = Frame.solid(16, 16, 0);
+        for (int y = 4; y < 8; y++) {
+            for (int x = 8; x < 12; x++) {
+                frame.setLuma(x, y, 255);
+            }
+        }
+        YuvToTensorConverter converter = new YuvToTensorConverter(INPUT_SIZE,
+                YuvToTensorConverter.OutputType.UINT8, 1f / 255f, 0, 2, null);
+        frame.crop(converter, 0, 8, 4, 12, 8, 1);
+        ByteBuffer out = converter.getOutputBuffer();
+
+        int slot = INPUT_SIZE * INPUT_SIZE * 3;
+        assertEquals(2 * slot, out.capacity());
+        for (int i = 0; i < slot; i++) {
+            assertEquals(0, out.get(i));
+            assertEquals(255, out.get(slot + i) & 0xFF);
+        }
+    }
+
+    @Test
+    public void convertCrop_usesRotatedCoordinates() {
+        // 센서 왼쪽 위 블록은 90도 회전 후 오른쪽 위에 있다
+        Frame frame = Frame.solid(16, 16, 0);
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 4; x++) {
+                frame.setLuma(x, y, 255);
+            }
+        }
+        YuvToTensorConverter converter = new YuvToTensorConverter(INPUT_SIZE,
+                YuvToTensorConverter.OutputType.UINT8, 1f / 255f, 0, 1, null);
+
+        frame.crop(converter, 90, 12, 0, 16, 4, 0);
+        assertEquals(255, converter.getOutputBuffer().get(pixelIndex(3, 3)) & 0xFF);
+        frame.crop(converter, 90, 0, 0, 4, 4, 0);
+        assertEquals(0, converter.getOutputBuffer().get(pixelIndex(3, 3)) & 0xFF);
+    }
+
+    @Test
+    public void pooledConverters_reuseReleasedBuffer() {
+        TensorBufferPool pool = new TensorBufferPool();
+        YuvToTensorConverter first = new YuvToTensorConverter(INPUT_SIZE,
+                YuvToTensorConverter.OutputType.FLOAT32, 1f / 255f, 0, 1, pool);
+        ByteBuffer buffer = first.getOutputBuffer();
+        first.release();
+        YuvToTensorConverter second = new YuvToTensorConverter(INPUT_SIZE,
+                YuvToTensorConverter.OutputType.FLOAT32, 1f / 255f, 0, 1, pool);
+
+        assertSame(buffer, second.getOutputBuffer());
+        assertEquals(INPUT_SIZE * INPUT_SIZE * 3 * 4, pool.getAllocatedBytes());
+        // 크기가 다른 요청은 새로 할당
+        YuvToTensorConverter batch = new YuvToTensorConverter(INPUT_SIZE,
+                YuvToTensorConverter.OutputType.UINT8, 1f / 255f, 0, 4, pool);
+        assertEquals(INPUT_SIZE * INPUT_SIZE * 3 * 4, batch.getOutputBuffer().capacity());
+        assertNotSame(buffer, batch.getOutputBuffer());
+    }
+
+    private static int pixelIndex(int row, int col) {
+        return (row * INPUT_SIZE + col) * 3;
+    }
+
+    // 테스트용 YUV_420_888 프레임
+    static final class Frame {
+        final int width;
+        final int height;
+        final int yRowStride;
+        final int uvRowStride;
+        final int uvPixelStride;
+        final ByteBuffer y;
+        final ByteBuffer u;
+        final ByteBuffer v;
+
+        private Frame(int width, int height, int yRowStride, int uvPixelStride) {
+            this.width = width;
+            this.height = height;
+            this.yRowStride = yRowStride;
+            this.uvPixelStride = uvPixelStride;
+            this.uvRowStride = yRowStride / 2 * uvPixelStride;
+            this.y = ByteBuffer.allocateDirect(yRowStride * height);
+            this.u = ByteBuffer.allocateDirect(uvRowStride * height / 2);
+            this.v = ByteBuffer.allocateDirect(uvRowStride * height / 2);
+        }
+
+        static Frame solid(int width, int height, int luma) {
+            return solid(width, height, luma, width, 1);
+        }
+
+        static Frame solid(int width, int height, int luma, int yRowStride, int uvPixelStride) {
+            Frame frame = new Frame(width, height, yRowStride, uvPixelStride);
+            for (int i = 0; i < frame.y.capacity(); i++) {
+                frame.y.put(i, (byte) luma);
+            }
+            for (int i = 0; i < frame.u.capacity(); i++) {
+                frame.u.put(i, (byte) 128);
+                frame.v.put(i, (byte) 128);
+            }
+            return frame;
+        }
+
+        void setLuma(int x, int y, int luma) {
+            this.y.put(y * yRowStride + x, (byte) luma);
+        }
+
+        ByteBuffer convert(YuvToTensorConverter converter, int rotation) {
+            return converter.convert(y, u, v, width, height, yRowStride, uvRowStride, uvPixelStride, rotation);
+        }
+
+        void crop(YuvToTensorConverter converter, int rotation, float left, float top, float right, float bottom,
+                  int slot) {
+            converter.convertCrop(y, u, v, width, height, yRowStride, uvRowStride, uvPixelStride, rotation,
+                    left, top, right, bottom, slot);
+        }
+    }
+}
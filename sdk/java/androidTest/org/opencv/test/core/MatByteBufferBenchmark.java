@@ -0,0 +1,73 @@
+package org.opencv.test.core;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.opencv.android.OpenCVLoader;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Scalar;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+// Handing a 640x640 CV_8UC3 frame (a TFLite input tensor) to a direct-buffer consumer:
+// get(0, 0, byte[]) plus a put into the consumer's buffer vs asByteBuffer()
+@RunWith(AndroidJUnit4.class)
+public class MatByteBufferBenchmark {
+
+    private static final String TAG = "MatByteBufferBenchmark";
+    private static final int SIZE = 640;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    @BeforeClass
+    public static void loadLibrary() {
+        assertTrue(OpenCVLoader.initLocal());
+    }
+
+    @Test
+    public void frameToDirectBuffer() {
+        Mat frame = Mat.allocateDirect(SIZE, SIZE, CvType.CV_8UC3);
+        frame.setTo(new Scalar(12, 34, 56));
+        byte[] staging = new byte[SIZE * SIZE * 3];
+        ByteBuffer consumer = ByteBuffer.allocateDirect(staging.length).order(ByteOrder.nativeOrder());
+        long checksum = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            checksum += copyPath(frame, staging, consumer);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += copyPath(frame, staging, consumer);
+        }
+        double copyMs = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+
+        ByteBuffer aliased = frame.asByteBuffer();
+        for (int i = 0; i < WARMUP; i++) {
+            checksum += frame.asByteBuffer().get(i);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += frame.asByteBuffer().get(i);
+        }
+        double viewMs = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+
+        Log.i(TAG, String.format("640x640x3: get() + put %.3f ms, asByteBuffer() %.4f ms", copyMs, viewMs));
+        assertEquals(staging.length, aliased.capacity());
+        assertTrue(checksum > 0);
+    }
+
+    private static long copyPath(Mat frame, byte[] staging, ByteBuffer consumer) {
+        frame.get(0, 0, staging);
+        consumer.clear();
+        consumer.put(staging);
+        return consumer.get(0);
+    }
+}
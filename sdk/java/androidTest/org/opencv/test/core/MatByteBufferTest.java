@@ -0,0 +1,136 @@
+package org.opencv.test.core;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.opencv.android.OpenCVLoader;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.MatOfByte;
+import org.opencv.core.Range;
+import org.opencv.core.Scalar;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class MatByteBufferTest {
+
+    @BeforeClass
+    public static void loadLibrary() {
+        assertTrue(OpenCVLoader.initLocal());
+    }
+
+    @Test
+    public void bufferAliasesDirectMat() {
+        Mat mat = Mat.allocateDirect(4, 5, CvType.CV_8UC3);
+        mat.setTo(new Scalar(1, 2, 3));
+        ByteBuffer buffer = mat.asByteBuffer();
+
+        assertTrue(buffer.isDirect());
+        assertEquals(4 * 5 * 3, buffer.capacity());
+        assertEquals(3, buffer.get(2));
+
+        // buffer -> Mat
+        buffer.put(3 * (2 * 5 + 4) + 1, (byte) 200);
+        assertEquals(200, mat.get(2, 4)[1], 0);
+
+        // Mat (native operation in place) -> buffer
+        Core.add(mat, new Scalar(10, 10, 10), mat);
+        assertEquals(11, buffer.get(0));
+        assertEquals((byte) 210, buffer.get(3 * (2 * 5 + 4) + 1));
+
+        // later calls are views of the same memory
+        ByteBuffer again = mat.asByteBuffer();
+        again.put(0, (byte) 42);
+        assertEquals(42, buffer.get(0));
+        assertEquals(42, mat.get(0, 0)[0], 0);
+    }
+
+    @Test
+    public void allocateDirectMatIsAliasedFromTheStart() {
+        Mat mat = Mat.allocateDirect(3, 3, CvType.CV_32FC1);
+        FloatBuffer floats = mat.asByteBuffer().asFloatBuffer();
+        floats.put(4, 2.5f);
+        assertEquals(2.5, mat.get(1, 1)[0], 0);
+
+        mat.setTo(new Scalar(7));
+        assertEquals(7f, floats.get(8), 0f);
+    }
+
+    @Test
+    public void reallocationAndReleaseEndAliasing() {
+        Mat mat = Mat.allocateDirect(2, 2, CvType.CV_8UC1);
+        mat.setTo(new Scalar(5));
+        ByteBuffer before = mat.asByteBuffer();
+        long aliasedAddr = mat.dataAddr();
+
+        // same size and type: create() keeps the data
+        mat.create(2, 2, CvType.CV_8UC1);
+        assertEquals(aliasedAddr, mat.dataAddr());
+        assertNotNull(mat.directBuffer());
+
+        mat.create(3, 3, CvType.CV_8UC1);
+        assertNotEquals(aliasedAddr, mat.dataAddr());
+        assertNull(mat.directBuffer());
+        mat.setTo(new Scalar(9));
+        assertEquals(5, before.get(0));
+        try {
+            mat.asByteBuffer();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+
+        Mat released = Mat.allocateDirect(2, 2, CvType.CV_8UC1);
+        released.setTo(new Scalar(7));
+        ByteBuffer view = released.asByteBuffer();
+        released.release();
+        assertNull(released.directBuffer());
+        // still readable memory, no longer the Mat's
+        assertEquals(7, view.get(0));
+    }
+
+    @Test
+    public void matsWithoutDirectDataAreRejected() {
+        // OpenCV allocated data is never copied behind the caller's back
+        Mat allocated = new Mat(4, 4, CvType.CV_8UC1, new Scalar(3));
+        long addr = allocated.dataAddr();
+        try {
+            allocated.asByteBuffer();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        assertEquals(addr, allocated.dataAddr());
+
+        Mat mat = Mat.allocateDirect(4, 4, CvType.CV_8UC1);
+        Mat rows = mat.rowRange(new Range(1, 3));
+        try {
+            rows.asByteBuffer();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            new Mat().asByteBuffer();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    @Test
+    public void matOfByteFollowsMatContract() {
+        MatOfByte direct = MatOfByte.allocateDirect(6);
+        direct.asByteBuffer().put(2, (byte) 9);
+        assertEquals(9, direct.toArray()[2]);
+
+        try {
+            new MatOfByte(new byte[]{1, 2, 3}).asByteBuffer();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.opencv.test.core;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.opencv.android.OpenCVLoader;
+import org.opencv.core.MatOfPoint;
+import org.opencv.core.MatOfPoint2f;
+import org.opencv.core.Point;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+// Point-object paths (fromList/toArray) vs the bulk primitive paths on a 10k-point contour
+@RunWith(AndroidJUnit4.class)
+public class MatOfPointBulkBenchmark {
+
+    private static final String TAG = "MatOfPointBulkBenchmark";
+    private static final int POINTS = 10000;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    @BeforeClass
+    public static void loadLibrary() {
+        assertTrue(OpenCVLoader.initLocal());
+    }
+
+    @Test
+    public void contour10k() {
+        List<Point> points = new ArrayList<>(POINTS);
+        int[] coords = new int[POINTS * 2];
+        for (int i = 0; i < POINTS; i++) {
+            double angle = 2 * Math.PI * i / POINTS;
+            int x = (int) (1000 + 800 * Math.cos(angle));
+            int y = (int) (1000 + 800 * Math.sin(angle));
+            points.add(new Point(x, y));
+            coords[2 * i] = x;
+            coords[2 * i + 1] = y;
+        }
+
+        MatOfPoint objects = new MatOfPoint();
+        long sum = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            objects.fromList(points);
+            sum += objects.toArray().length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            objects.fromList(points);
+            sum += objects.toArray().length;
+        }
+        double objectMs = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+
+        MatOfPoint bulk = new MatOfPoint();
+        int[] reuse = null;
+        for (int i = 0; i < WARMUP; i++) {
+            bulk.fromArray(coords, 0, POINTS);
+            reuse = bulk.toArray(reuse);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bulk.fromArray(coords, 0, POINTS);
+            reuse = bulk.toArray(reuse);
+        }
+        double bulkMs = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+
+        MatOfPoint direct = MatOfPoint.allocateDirect(POINTS);
+        int[] read = new int[POINTS * 2];
+        for (int i = 0; i < WARMUP; i++) {
+            IntBuffer view = direct.asIntBuffer();
+            view.put(coords);
+            view.rewind();
+            view.get(read);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            IntBuffer view = direct.asIntBuffer();
+            view.put(coords);
+            view.rewind();
+            view.get(read);
+        }
+        double directMs = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+
+        Log.i(TAG, String.format("10k points round trip: Point objects %.3f ms, bulk int[] %.3f ms, "
+                + "direct view %.3f ms", objectMs, bulkMs, directMs));
+        assertEquals((WARMUP + ITERATIONS) * POINTS, sum);
+        assertArrayEquals(coords, Arrays.copyOf(reuse, POINTS * 2));
+        assertArrayEquals(coords, read);
+    }
+
+    @Test
+    public void bulkOffsetsAndViews() {
+        float[] src = {-1f, -1f, 1.5f, 2.5f, 3.5f, 4.5f};
+        MatOfPoint2f curve = new MatOfPoint2f();
+        curve.fromArray(src, 2, 2);
+        assertEquals(2, curve.total());
+        Point[] asObjects = curve.toArray();
+        assertEquals(1.5, asObjects[0].x, 0);
+        assertEquals(4.5, asObjects[1].y, 0);
+
+        float[] dst = new float[7];
+        assertEquals(2, curve.toArray(dst, 3));
+        assertArrayEquals(new float[]{0f, 0f, 0f, 1.5f, 2.5f, 3.5f, 4.5f}, dst, 0f);
+        assertNull(curve.asFloatBuffer());
+
+        MatOfPoint direct = MatOfPoint.allocateDirect(2);
+        direct.asIntBuffer().put(new int[]{7, 8, 9, 10});
+        assertEquals(9.0, direct.toArray()[1].x, 0);
+        direct.fromArray(new int[]{1, 2, 3, 4, 5, 6}, 0, 3);
+        // resized, so OpenCV reallocated the data and the Mat no longer lives in the direct buffer
+        assertNull(direct.asIntBuffer());
+    }
+}
@@ -0,0 +1,166 @@
+package org.opencv.test.core;
+
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.opencv.android.OpenCVLoader;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.MatLeakTracker;
+import org.opencv.core.MatScope;
+import org.opencv.core.Rect;
+import org.opencv.core.Scalar;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+@RunWith(AndroidJUnit4.class)
+public class MatScopeTest {
+
+    private static final String TAG = "MatScopeTest";
+    private static final int FRAMES = 600;                 // 10 s
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+    private static final long MAX_NATIVE_GROWTH = 64L << 20;
+
+    @BeforeClass
+    public static void loadLibrary() {
+        assertTrue(OpenCVLoader.initLocal());
+    }
+
+    @After
+    public void disableTracking() {
+        MatLeakTracker.disable();
+    }
+
+    // 1080p temporaries at 60 fps: with a scope per frame the native heap stays flat without any GC
+    @Test
+    public void scopedFrameLoopKeepsNativeHeapBounded() throws Exception {
+        Mat frame = new Mat(1080, 1920, CvType.CV_8UC4, new Scalar(40, 80, 120, 255));
+        for (int i = 0; i < 30; i++) {
+            processFrame(frame);
+        }
+        long baseline = Debug.getNativeHeapAllocatedSize();
+        long peak = baseline;
+        long next = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            processFrame(frame);
+            peak = Math.max(peak, Debug.getNativeHeapAllocatedSize());
+            next += FRAME_NANOS;
+            long sleep = next - System.nanoTime();
+            if (sleep > 0) {
+                Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+            }
+        }
+        Log.i(TAG, String.format("native heap: baseline %d KB, peak %d KB, VmRSS %s", baseline >> 10, peak >> 10,
+                readVmRss()));
+        assertTrue("native heap grew by " + ((peak - baseline) >> 10) + " KB", peak - baseline < MAX_NATIVE_GROWTH);
+        frame.close();
+    }
+
+    private static void processFrame(Mat frame) {
+        try (MatScope scope = MatScope.open()) {
+            Mat gray = new Mat();
+            Imgproc.cvtColor(frame, gray, Imgproc.COLOR_RGBA2GRAY);
+            Mat small = new Mat();
+            Imgproc.resize(gray, small, new Size(640, 360));
+            Mat roi = small.submat(new Rect(100, 100, 200, 100));
+            Mat blurred = new Mat();
+            Imgproc.GaussianBlur(roi, blurred, new Size(5, 5), 0);
+            assertEquals(4, scope.size());
+        }
+    }
+
+    @Test
+    public void closeReleasesScopedMatsAndKeepMovesThemOut() {
+        Mat kept;
+        Mat inner;
+        Mat outerTemp;
+        try (MatScope outer = MatScope.open()) {
+            outerTemp = new Mat(10, 10, CvType.CV_8UC1);
+            try (MatScope scope = MatScope.open()) {
+                assertSame(scope, MatScope.current());
+                inner = new Mat(10, 10, CvType.CV_8UC1);
+                kept = scope.keep(new Mat(10, 10, CvType.CV_8UC1));
+                assertEquals(1, scope.size());
+            }
+            assertTrue(inner.empty());
+            assertFalse(kept.empty());
+            // kept moved to the enclosing scope
+            assertEquals(2, outer.size());
+            assertSame(outer, MatScope.current());
+        }
+        assertTrue(kept.empty());
+        assertTrue(outerTemp.empty());
+        assertNull(MatScope.current());
+    }
+
+    @Test
+    public void outerScopeCannotCloseBeforeInner() {
+        MatScope outer = MatScope.open();
+        MatScope inner = MatScope.open();
+        try {
+            outer.close();
+            fail();
+        } catch (IllegalStateException expected) {
+        } finally {
+            inner.close();
+            outer.close();
+        }
+    }
+
+    @Test
+    public void leakTrackerReportsOnlyFinalizedMats() throws Exception {
+        AtomicReference<Throwable> reported = new AtomicReference<>();
+        MatLeakTracker.enable(reported::set);
+        int before = MatLeakTracker.getLeakCount();
+
+        try (Mat closed = new Mat(8, 8, CvType.CV_8UC1)) {
+            closed.put(0, 0, new byte[]{1});
+        }
+        Mat released = new Mat(8, 8, CvType.CV_8UC1);
+        released.put(0, 0, new byte[]{1});
+        released.release();
+        released = null;
+        createAndDrop();
+
+        for (int i = 0; i < 50 && MatLeakTracker.getLeakCount() == before; i++) {
+            System.gc();
+            System.runFinalization();
+            Thread.sleep(20);
+        }
+        assertEquals(before + 1, MatLeakTracker.getLeakCount());
+        boolean fromHere = false;
+        for (StackTraceElement element : reported.get().getStackTrace()) {
+            fromHere |= element.getMethodName().equals("createAndDrop");
+        }
+        assertTrue(fromHere);
+    }
+
+    private static void createAndDrop() {
+        new Mat(8, 8, CvType.CV_8UC1).put(0, 0, new byte[]{2});
+    }
+
+    private static String readVmRss() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/self/status"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("VmRSS:")) {
+                    return line.substring(6).trim();
+                }
+            }
+        }
+        return "?";
+    }
+}
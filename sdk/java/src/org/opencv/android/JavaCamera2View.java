@@ -3,6 +3,7 @@ package org.opencv.android;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 import android.annotation.TargetApi;
 import android.content.Context;
@@ -16,6 +17,8 @@ import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.params.StreamConfigurationMap;
 import android.media.Image;
 import android.media.ImageReader;
+import android.os.Build;
+import android.os.Debug;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.util.AttributeSet;
@@ -25,6 +28,7 @@ import android.view.ViewGroup.LayoutParams;
 
 import org.opencv.core.CvType;
 import org.opencv.core.Mat;
+import org.opencv.core.MatScope;
 import org.opencv.core.Size;
 import org.opencv.imgproc.Imgproc;
 
@@ -57,6 +61,16 @@ public class JavaCamera2View extends CameraBridgeViewBase {
     private HandlerThread mBackgroundThread;
     protected Handler mBackgroundHandler;
 
+    // Frames between two frame statistics log lines
+    private static final int STATS_INTERVAL = 300;
+
+    protected int mMaxImages = 2;
+    private JavaCamera2Frame mCameraFrame;
+    private RotatedCameraFrame mRotatedFrame;
+    private volatile int mDroppedFrames;
+    private volatile int mDeliveredFrames;
+    private int mGcCountAtStats;
+
     public JavaCamera2View(Context context, int cameraId) {
         super(context, cameraId);
     }
@@ -65,6 +79,86 @@ public class JavaCamera2View extends CameraBridgeViewBase {
         super(context, attrs);
     }
 
+    /**
+     * Sets the maximum number of images the ImageReader can hold at once (default 2, minimum 2).
+     * A larger value lets a slow onCameraFrame() fall behind for a moment without dropping frames,
+     * at the cost of one more preview sized buffer per image. Takes effect on the next camera connection.
+     */
+    public void setMaxImages(int maxImages) {
+        if (maxImages < 2)
+            throw new IllegalArgumentException("maxImages must be at least 2: " + maxImages);
+        mMaxImages = maxImages;
+    }
+
+    public int getMaxImages() {
+        return mMaxImages;
+    }
+
+    /**
+     * Number of frames delivered to the listener since the camera was connected.
+     */
+    public int getDeliveredFrameCount() {
+        return mDeliveredFrames;
+    }
+
+    /**
+     * Number of frames the ImageReader received since the camera was connected but which were skipped
+     * because a newer image was already queued when the listener got to them (the frames a slow
+     * onCameraFrame() misses). When all maxImages images are queued the camera slows down instead,
+     * which shows in the frame rate rather than in this count.
+     */
+    public int getDroppedFrameCount() {
+        return mDroppedFrames;
+    }
+
+    // Same as ImageReader.acquireLatestImage(), but counts the older images it closes as dropped frames
+    private Image acquireLatestImage(ImageReader reader) {
+        Image image = reader.acquireNextImage();
+        if (image == null)
+            return null;
+        // the reader holds at least 2 images, so one more can be acquired before the previous is closed
+        Image next;
+        while ((next = reader.acquireNextImage()) != null) {
+            image.close();
+            image = next;
+            mDroppedFrames++;
+        }
+        return image;
+    }
+
+    private void releaseFrames() {
+        if (null != mCameraFrame) {
+            mRotatedFrame.release();
+            mCameraFrame.release();
+            mRotatedFrame = null;
+            mCameraFrame = null;
+        }
+    }
+
+    private void logFrameStats(JavaCamera2Frame frame) {
+        int gcCount = gcCount();
+        String conversion = frame.mConvertCount == 0 ? "n/a"
+                : String.format(Locale.US, "%.2f ms", frame.mConvertNanos / 1e6 / frame.mConvertCount);
+        Log.d(LOGTAG, "Frames delivered " + mDeliveredFrames + ", dropped " + mDroppedFrames
+                + ", rgba() conversion " + conversion
+                + (gcCount < 0 ? "" : ", GCs " + (gcCount - mGcCountAtStats)) + " in the last " + STATS_INTERVAL);
+        frame.mConvertNanos = 0;
+        frame.mConvertCount = 0;
+        mGcCountAtStats = gcCount;
+    }
+
+    // Number of GCs run by this process, or -1 where the runtime does not report it (before API 23)
+    private static int gcCount() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M)
+            return -1;
+        String count = Debug.getRuntimeStat("art.gc.gc-count");
+        try {
+            return count == null ? -1 : Integer.parseInt(count);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     private void startBackgroundThread() {
         Log.i(LOGTAG, "startBackgroundThread");
         stopBackgroundThread();
@@ -197,12 +291,26 @@ public class JavaCamera2View extends CameraBridgeViewBase {
                 return;
             }
 
-            mImageReader = ImageReader.newInstance(w, h, mPreviewFormat, 2);
+            // a previous reader (reconnect without disconnect) must not deliver into released Mats
+            if (null != mImageReader)
+                mImageReader.close();
+            releaseFrames();
+
+            mImageReader = ImageReader.newInstance(w, h, mPreviewFormat, mMaxImages);
+            // One frame and its rotated view for the whole session: images are delivered one at a time on
+            // mBackgroundHandler, so the conversion Mats can be reused for every image of this size
+            final JavaCamera2Frame frame = new JavaCamera2Frame(w, h);
+            final RotatedCameraFrame rotatedFrame = new RotatedCameraFrame(frame, mFrameRotation);
+            mCameraFrame = frame;
+            mRotatedFrame = rotatedFrame;
+            mDroppedFrames = 0;
+            mDeliveredFrames = 0;
+            mGcCountAtStats = gcCount();
             mImageReader.setOnImageAvailableListener(new ImageReader.OnImageAvailableListener() {
                 @Override
                 public void onImageAvailable(ImageReader reader) {
 
-                    Image image = reader.acquireLatestImage();
+                    Image image = acquireLatestImage(reader);
                     if (image == null)
                         return;
 
@@ -211,11 +319,14 @@ public class JavaCamera2View extends CameraBridgeViewBase {
                     assert (planes.length == 3);
                     assert (image.getFormat() == mPreviewFormat);
 
-                    RotatedCameraFrame tempFrame = new RotatedCameraFrame(new JavaCamera2Frame(image), mFrameRotation);
-                    deliverAndDrawFrame(tempFrame);
-                    tempFrame.mFrame.release();
-                    tempFrame.release();
-                    image.close();
+                    try {
+                        frame.setImage(image);
+                        deliverAndDrawFrame(rotatedFrame);
+                    } finally {
+                        image.close();
+                    }
+                    if (++mDeliveredFrames % STATS_INTERVAL == 0)
+                        logFrameStats(frame);
                 }
             }, mBackgroundHandler);
             Surface surface = mImageReader.getSurface();
@@ -249,6 +360,8 @@ public class JavaCamera2View extends CameraBridgeViewBase {
                 mImageReader.close();
                 mImageReader = null;
             }
+            // the background thread is gone, so no image can be using the frame Mats any more
+            releaseFrames();
         }
         Log.i(LOGTAG, "camera closed!");
     }
@@ -352,20 +465,21 @@ public class JavaCamera2View extends CameraBridgeViewBase {
         @Override
         public Mat gray() {
             Image.Plane[] planes = mImage.getPlanes();
-            int w = mImage.getWidth();
-            int h = mImage.getHeight();
             assert(planes[0].getPixelStride() == 1);
             ByteBuffer y_plane = planes[0].getBuffer();
             int y_plane_step = planes[0].getRowStride();
-            mGray = new Mat(h, w, CvType.CV_8UC1, y_plane, y_plane_step);
+            // the plane memory belongs to the current Image, so only the header can be kept per frame
+            mGray.close();
+            mGray = new Mat(mHeight, mWidth, CvType.CV_8UC1, y_plane, y_plane_step);
             return mGray;
         }
 
         @Override
         public Mat rgba() {
+            long start = System.nanoTime();
             Image.Plane[] planes = mImage.getPlanes();
-            int w = mImage.getWidth();
-            int h = mImage.getHeight();
+            int w = mWidth;
+            int h = mHeight;
             int chromaPixelStride = planes[1].getPixelStride();
 
 
@@ -378,92 +492,96 @@ public class JavaCamera2View extends CameraBridgeViewBase {
                 int uv_plane1_step = planes[1].getRowStride();
                 ByteBuffer uv_plane2 = planes[2].getBuffer();
                 int uv_plane2_step = planes[2].getRowStride();
-                Mat y_mat = new Mat(h, w, CvType.CV_8UC1, y_plane, y_plane_step);
-                Mat uv_mat1 = new Mat(h / 2, w / 2, CvType.CV_8UC2, uv_plane1, uv_plane1_step);
-                Mat uv_mat2 = new Mat(h / 2, w / 2, CvType.CV_8UC2, uv_plane2, uv_plane2_step);
-                long addr_diff = uv_mat2.dataAddr() - uv_mat1.dataAddr();
-                if (addr_diff > 0) {
-                    assert(addr_diff == 1);
-                    Imgproc.cvtColorTwoPlane(y_mat, uv_mat1, mRgba, Imgproc.COLOR_YUV2RGBA_NV12);
-                } else {
-                    assert(addr_diff == -1);
-                    Imgproc.cvtColorTwoPlane(y_mat, uv_mat2, mRgba, Imgproc.COLOR_YUV2RGBA_NV21);
-                }
-                return mRgba;
-            } else { // Chroma channels are not interleaved
-                byte[] yuv_bytes = new byte[w*(h+h/2)];
-                ByteBuffer y_plane = planes[0].getBuffer();
-                ByteBuffer u_plane = planes[1].getBuffer();
-                ByteBuffer v_plane = planes[2].getBuffer();
-
-                int yuv_bytes_offset = 0;
-
-                int y_plane_step = planes[0].getRowStride();
-                if (y_plane_step == w) {
-                    y_plane.get(yuv_bytes, 0, w*h);
-                    yuv_bytes_offset = w*h;
-                } else {
-                    int padding = y_plane_step - w;
-                    for (int i = 0; i < h; i++){
-                        y_plane.get(yuv_bytes, yuv_bytes_offset, w);
-                        yuv_bytes_offset += w;
-                        if (i < h - 1) {
-                            y_plane.position(y_plane.position() + padding);
-                        }
+                try (MatScope scope = MatScope.open()) {
+                    // NV12 or NV21 is a property of the stream, so check the plane order only once
+                    if (mChromaOrder == 0) {
+                        Mat uv_mat1 = new Mat(h / 2, w / 2, CvType.CV_8UC2, uv_plane1, uv_plane1_step);
+                        Mat uv_mat2 = new Mat(h / 2, w / 2, CvType.CV_8UC2, uv_plane2, uv_plane2_step);
+                        long addr_diff = uv_mat2.dataAddr() - uv_mat1.dataAddr();
+                        assert(addr_diff == 1 || addr_diff == -1);
+                        mChromaOrder = addr_diff > 0 ? Imgproc.COLOR_YUV2RGBA_NV12 : Imgproc.COLOR_YUV2RGBA_NV21;
                     }
-                    assert(yuv_bytes_offset == w * h);
+                    Mat y_mat = new Mat(h, w, CvType.CV_8UC1, y_plane, y_plane_step);
+                    Mat uv_mat = mChromaOrder == Imgproc.COLOR_YUV2RGBA_NV12
+                            ? new Mat(h / 2, w / 2, CvType.CV_8UC2, uv_plane1, uv_plane1_step)
+                            : new Mat(h / 2, w / 2, CvType.CV_8UC2, uv_plane2, uv_plane2_step);
+                    Imgproc.cvtColorTwoPlane(y_mat, uv_mat, mRgba, mChromaOrder);
                 }
+            } else { // Chroma channels are not interleaved
+                // the planes are copied straight into the staging Mat memory, with no byte[] or put() in between
+                ByteBuffer yuv = mYuvI420Data;
+                yuv.clear();
+                copyPlane(planes[0], w, h, yuv);
+                copyPlane(planes[1], w / 2, h / 2, yuv);
+                copyPlane(planes[2], w / 2, h / 2, yuv);
+                assert(!yuv.hasRemaining());
+                Imgproc.cvtColor(mYuvI420, mRgba, Imgproc.COLOR_YUV2RGBA_I420, 4);
+            }
+            mConvertNanos += System.nanoTime() - start;
+            mConvertCount++;
+            return mRgba;
+        }
 
-                int chromaRowStride = planes[1].getRowStride();
-                int chromaRowPadding = chromaRowStride - w/2;
-
-                if (chromaRowPadding == 0){
-                    // When the row stride of the chroma channels equals their width, we can copy
-                    // the entire channels in one go
-                    u_plane.get(yuv_bytes, yuv_bytes_offset, w*h/4);
-                    yuv_bytes_offset += w*h/4;
-                    v_plane.get(yuv_bytes, yuv_bytes_offset, w*h/4);
+        // Appends the width x height pixels of a plane with pixel stride 1, skipping the row padding.
+        // The plane buffer is restored afterwards, as gray() and the listener may read the same Image again.
+        private void copyPlane(Image.Plane plane, int width, int height, ByteBuffer dst) {
+            ByteBuffer src = plane.getBuffer();
+            int rowStride = plane.getRowStride();
+            int base = src.position();
+            int limit = src.limit();
+            try {
+                if (rowStride == width) {
+                    // When the row stride equals the width, we can copy the entire plane in one go
+                    src.limit(base + width * height);
+                    dst.put(src);
                 } else {
-                    // When not equal, we need to copy the channels row by row
-                    for (int i = 0; i < h/2; i++){
-                        u_plane.get(yuv_bytes, yuv_bytes_offset, w/2);
-                        yuv_bytes_offset += w/2;
-                        if (i < h/2-1){
-                            u_plane.position(u_plane.position() + chromaRowPadding);
-                        }
-                    }
-                    for (int i = 0; i < h/2; i++){
-                        v_plane.get(yuv_bytes, yuv_bytes_offset, w/2);
-                        yuv_bytes_offset += w/2;
-                        if (i < h/2-1){
-                            v_plane.position(v_plane.position() + chromaRowPadding);
-                        }
+                    for (int i = 0; i < height; i++) {
+                        src.limit(base + i * rowStride + width);
+                        src.position(base + i * rowStride);
+                        dst.put(src);
                     }
                 }
-
-                Mat yuv_mat = new Mat(h+h/2, w, CvType.CV_8UC1);
-                yuv_mat.put(0, 0, yuv_bytes);
-                Imgproc.cvtColor(yuv_mat, mRgba, Imgproc.COLOR_YUV2RGBA_I420, 4);
-                return mRgba;
+            } finally {
+                src.limit(limit);
+                src.position(base);
             }
         }
 
-
-        public JavaCamera2Frame(Image image) {
+        // The conversion Mats are sized for one preview resolution and reused for every Image of it
+        public JavaCamera2Frame(int width, int height) {
             super();
-            mImage = image;
-            mRgba = new Mat();
+            mWidth = width;
+            mHeight = height;
+            mRgba = new Mat(height, width, CvType.CV_8UC4);
             mGray = new Mat();
+            // I420 staging Mat in a direct buffer. Allocated here rather than on the first rgba() call, which
+            // may run inside the listener's MatScope and would have the Mat closed when that scope exits.
+            mYuvI420 = Mat.allocateDirect(height + height / 2, width, CvType.CV_8UC1);
+            mYuvI420Data = mYuvI420.asByteBuffer();
+        }
+
+        void setImage(Image image) {
+            assert(image.getWidth() == mWidth && image.getHeight() == mHeight);
+            mImage = image;
         }
 
         @Override
         public void release() {
-            mRgba.release();
-            mGray.release();
+            mRgba.close();
+            mGray.close();
+            mYuvI420.close();
         }
 
+        private final int mWidth;
+        private final int mHeight;
         private Image mImage;
         private Mat mRgba;
         private Mat mGray;
+        private final Mat mYuvI420;
+        private final ByteBuffer mYuvI420Data;
+        // Imgproc.COLOR_YUV2RGBA_NV12 / NV21 once known, 0 before the first interleaved frame
+        private int mChromaOrder;
+        private long mConvertNanos;
+        private int mConvertCount;
     };
 }
@@ -1,17 +1,27 @@
 package org.opencv.core;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.Function;
 
 // C++: class Mat
 //javadoc: Mat
-public class Mat {
+public class Mat implements AutoCloseable {
 
     public final long nativeObj;
 
+    // Java direct buffer holding the data (Mat(rows, cols, type, data) and headers made from it) and the
+    // data address it had then. Keeps the buffer reachable while the Mat uses it.
+    private ByteBuffer directData;
+    private long directAddr;
+    // where this Mat was created, only while MatLeakTracker is enabled
+    private Throwable allocatedAt;
+
     public Mat(long addr) {
         if (addr == 0)
             throw new UnsupportedOperationException("Native object address is NULL");
         nativeObj = addr;
+        track();
     }
 
     //
@@ -21,6 +31,7 @@ public class Mat {
     // javadoc: Mat::Mat()
     public Mat() {
         nativeObj = n_Mat();
+        track();
     }
 
     //
@@ -30,6 +41,7 @@ public class Mat {
     // javadoc: Mat::Mat(rows, cols, type)
     public Mat(int rows, int cols, int type) {
         nativeObj = n_Mat(rows, cols, type);
+        track();
     }
 
     //
@@ -39,6 +51,9 @@ public class Mat {
     // javadoc: Mat::Mat(rows, cols, type, data)
     public Mat(int rows, int cols, int type, ByteBuffer data) {
         nativeObj = n_Mat(rows, cols, type, data);
+        track();
+        directData = data;
+        directAddr = n_dataAddr(nativeObj);
     }
 
     //
@@ -48,6 +63,9 @@ public class Mat {
     // javadoc: Mat::Mat(rows, cols, type, data, step)
     public Mat(int rows, int cols, int type, ByteBuffer data, long step) {
         nativeObj = n_Mat(rows, cols, type, data, step);
+        track();
+        directData = data;
+        directAddr = n_dataAddr(nativeObj);
     }
 
     //
@@ -57,6 +75,7 @@ public class Mat {
     // javadoc: Mat::Mat(size, type)
     public Mat(Size size, int type) {
         nativeObj = n_Mat(size.width, size.height, type);
+        track();
     }
 
     //
@@ -66,6 +85,7 @@ public class Mat {
     // javadoc: Mat::Mat(sizes, type)
     public Mat(int[] sizes, int type) {
         nativeObj = n_Mat(sizes.length, sizes, type);
+        track();
     }
 
     //
@@ -75,6 +95,7 @@ public class Mat {
     // javadoc: Mat::Mat(rows, cols, type, s)
     public Mat(int rows, int cols, int type, Scalar s) {
         nativeObj = n_Mat(rows, cols, type, s.val[0], s.val[1], s.val[2], s.val[3]);
+        track();
     }
 
     //
@@ -84,6 +105,7 @@ public class Mat {
     // javadoc: Mat::Mat(size, type, s)
     public Mat(Size size, int type, Scalar s) {
         nativeObj = n_Mat(size.width, size.height, type, s.val[0], s.val[1], s.val[2], s.val[3]);
+        track();
     }
 
     //
@@ -93,6 +115,7 @@ public class Mat {
     // javadoc: Mat::Mat(sizes, type, s)
     public Mat(int[] sizes, int type, Scalar s) {
         nativeObj = n_Mat(sizes.length, sizes, type, s.val[0], s.val[1], s.val[2], s.val[3]);
+        track();
     }
 
     //
@@ -102,11 +125,15 @@ public class Mat {
     // javadoc: Mat::Mat(m, rowRange, colRange)
     public Mat(Mat m, Range rowRange, Range colRange) {
         nativeObj = n_Mat(m.nativeObj, rowRange.start, rowRange.end, colRange.start, colRange.end);
+        track();
     }
 
     // javadoc: Mat::Mat(m, rowRange)
     public Mat(Mat m, Range rowRange) {
         nativeObj = n_Mat(m.nativeObj, rowRange.start, rowRange.end);
+        track();
+        directData = m.directData;
+        directAddr = m.directAddr;
     }
 
     //
@@ -116,6 +143,7 @@ public class Mat {
     // javadoc: Mat::Mat(m, ranges)
     public Mat(Mat m, Range[] ranges) {
         nativeObj = n_Mat(m.nativeObj, ranges);
+        track();
     }
 
     //
@@ -125,6 +153,7 @@ public class Mat {
     // javadoc: Mat::Mat(m, roi)
     public Mat(Mat m, Rect roi) {
         nativeObj = n_Mat(m.nativeObj, roi.y, roi.y + roi.height, roi.x, roi.x + roi.width);
+        track();
     }
 
     //
@@ -325,6 +354,74 @@ public class Mat {
         return n_dataAddr(nativeObj);
     }
 
+    // javadoc: Mat::directBuffer()
+    // View (native byte order) of the Java direct buffer this Mat was created over, or null when the Mat was
+    // not created over one, is a non-continuous or offset ROI of it, or create() has since reallocated the data.
+    public ByteBuffer directBuffer() {
+        if (directData == null || !isContinuous() || n_dataAddr(nativeObj) != directAddr)
+            return null;
+        long bytes = total() * elemSize();
+        if (bytes > directData.capacity())
+            return null;
+        ByteBuffer view = directData.duplicate();
+        view.clear();
+        view.limit((int) bytes);
+        return view.slice().order(ByteOrder.nativeOrder());
+    }
+
+    // javadoc: Mat::asByteBuffer()
+    // Direct ByteBuffer (native byte order) aliasing the data of this Mat, for handing pixels to TFLite input
+    // tensors, FileChannel.write() and similar consumers without a get() copy. Writes through either side are
+    // visible to the other. Never copies: only a continuous Mat whose data is a Java direct buffer
+    // (allocateDirect(), Mat(rows, cols, type, ByteBuffer)) can be viewed, anything else throws
+    // UnsupportedOperationException. To view data that OpenCV allocated, copyTo() an allocateDirect() Mat.
+    //
+    // The buffer stays valid memory for as long as it is referenced, but it stops aliasing the Mat on release()
+    // or when the data is reallocated (create() with another size or type, or an operation writing a result
+    // of another size into this Mat); asByteBuffer() then throws.
+    public ByteBuffer asByteBuffer() {
+        ByteBuffer view = directBuffer();
+        if (view == null)
+            throw new UnsupportedOperationException("Mat data is not a Java direct buffer (see allocateDirect()), "
+                    + "or the Mat is a submatrix, empty or was reallocated: " + this);
+        return view;
+    }
+
+    // javadoc: Mat::allocateDirect(rows, cols, type)
+    // Mat whose data lives in a new Java direct buffer, so that asByteBuffer() can view it
+    public static Mat allocateDirect(int rows, int cols, int type) {
+        long bytes = (long) rows * cols * CvType.ELEM_SIZE(type);
+        if (rows <= 0 || cols <= 0 || bytes > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid size " + rows + "x" + cols + " for type " + CvType.typeToString(type));
+        return new Mat(rows, cols, type, ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder()));
+    }
+
+    // Helpers for the MatOf* bulk accessors. toArray(dst, offset), toArray(reuse) and fromArray(src, offset, elemNumber)
+    // copy the raw interleaved data with one get()/put() instead of creating a Point, Rect, ... per element, and
+    // allocateDirect(elemNumber) with the typed as*Buffer() views skips the copy altogether. Unlike asByteBuffer()
+    // the typed views return null when directBuffer() does: a fromArray() of another size reallocates the data,
+    // so callers re-check the view rather than catch.
+
+    // Number of elements, or RuntimeException when the data is not a vector of channels x depth elements
+    int vectorElements(int channels, int depth) {
+        int num = checkVector(channels, depth);
+        if (num < 0)
+            throw new RuntimeException("Native Mat has unexpected type or size: " + toString());
+        return num;
+    }
+
+    // elemNumber x 1 Mat of the given type over a new Java direct buffer, as the MatOf* type made by wrap
+    static <T extends Mat> T allocateDirectVector(int elemNumber, int type, Function<Mat, T> wrap) {
+        if (elemNumber <= 0)
+            throw new IllegalArgumentException("elemNumber must be positive: " + elemNumber);
+        Mat m = allocateDirect(elemNumber, 1, type);
+        try {
+            return wrap.apply(m);
+        } finally {
+            m.release();
+        }
+    }
+
     //
     // C++: int Mat::depth()
     //
@@ -540,6 +637,21 @@ public class Mat {
         n_release(nativeObj);
     }
 
+    // javadoc: Mat::close()
+    // Releases the data now instead of at finalization (try-with-resources, MatScope). The Mat stays a valid
+    // empty Mat; only the small native header is left for the finalizer, so a stale reference cannot crash.
+    @Override
+    public void close() {
+        n_release(nativeObj);
+    }
+
+    // Registers with the innermost open MatScope of this thread and, in debug mode, records the creation site
+    private void track() {
+        MatScope.onCreate(this);
+        if (MatLeakTracker.isEnabled())
+            allocatedAt = new Throwable("Mat allocated here");
+    }
+
     //
     // C++: Mat Mat::reshape(int cn, int rows = 0)
     //
@@ -756,6 +868,9 @@ public class Mat {
 
     @Override
     protected void finalize() throws Throwable {
+        // still holding data here means neither close(), release() nor a MatScope freed it
+        if (allocatedAt != null && n_dataAddr(nativeObj) != 0)
+            MatLeakTracker.onFinalized(allocatedAt);
         n_delete(nativeObj);
         super.finalize();
     }
@@ -1125,6 +1240,171 @@ public class Mat {
         throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
     }
 
+    // javadoc:Mat::get(row,col,data,offset,length)
+    public int get(int row, int col, byte[] data, int offset, int length) {
+        int t = type();
+        checkRange(data == null ? -1 : data.length, offset, length, CvType.channels(t));
+        if (CvType.depth(t) == CvType.CV_8U || CvType.depth(t) == CvType.CV_8S) {
+            if (offset == 0)
+                return nGetB(nativeObj, row, col, length, data);
+            byte[] buff = scratchByte(length);
+            int res = nGetB(nativeObj, row, col, length, buff);
+            System.arraycopy(buff, 0, data, offset, length);
+            return res;
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    // javadoc:Mat::put(row,col,data,offset,length)
+    public int put(int row, int col, int[] data, int offset, int length) {
+        int t = type();
+        checkRange(data == null ? -1 : data.length, offset, length, CvType.channels(t));
+        if (CvType.depth(t) == CvType.CV_32S) {
+            if (offset == 0)
+                return nPutI(nativeObj, row, col, length, data);
+            int[] buff = scratchInt(length);
+            System.arraycopy(data, offset, buff, 0, length);
+            return nPutI(nativeObj, row, col, length, buff);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    // javadoc:Mat::get(row,col,data,offset,length)
+    public int get(int row, int col, int[] data, int offset, int length) {
+        int t = type();
+        checkRange(data == null ? -1 : data.length, offset, length, CvType.channels(t));
+        if (CvType.depth(t) == CvType.CV_32S) {
+            if (offset == 0)
+                return nGetI(nativeObj, row, col, length, data);
+            int[] buff = scratchInt(length);
+            int res = nGetI(nativeObj, row, col, length, buff);
+            System.arraycopy(buff, 0, data, offset, length);
+            return res;
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    // javadoc:Mat::put(row,col,data,offset,length)
+    public int put(int row, int col, float[] data, int offset, int length) {
+        int t = type();
+        checkRange(data == null ? -1 : data.length, offset, length, CvType.channels(t));
+        if (CvType.depth(t) == CvType.CV_32F) {
+            if (offset == 0)
+                return nPutF(nativeObj, row, col, length, data);
+            float[] buff = scratchFloat(length);
+            System.arraycopy(data, offset, buff, 0, length);
+            return nPutF(nativeObj, row, col, length, buff);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    // javadoc:Mat::get(row,col,data,offset,length)
+    public int get(int row, int col, float[] data, int offset, int length) {
+        int t = type();
+        checkRange(data == null ? -1 : data.length, offset, length, CvType.channels(t));
+        if (CvType.depth(t) == CvType.CV_32F) {
+            if (offset == 0)
+                return nGetF(nativeObj, row, col, length, data);
+            float[] buff = scratchFloat(length);
+            int res = nGetF(nativeObj, row, col, length, buff);
+            System.arraycopy(buff, 0, data, offset, length);
+            return res;
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    // javadoc:Mat::put(row,col,data,offset,length)
+    public int put(int row, int col, double[] data, int offset, int length) {
+        int t = type();
+        checkRange(data == null ? -1 : data.length, offset, length, CvType.channels(t));
+        if (CvType.depth(t) == CvType.CV_64F) {
+            if (offset == 0)
+                return nPutD(nativeObj, row, col, length, data);
+            double[] buff = scratchDouble(length);
+            System.arraycopy(data, offset, buff, 0, length);
+            return nPutD(nativeObj, row, col, length, buff);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    // javadoc:Mat::get(row,col,data,offset,length)
+    public int get(int row, int col, double[] data, int offset, int length) {
+        int t = type();
+        checkRange(data == null ? -1 : data.length, offset, length, CvType.channels(t));
+        if (CvType.depth(t) == CvType.CV_64F) {
+            if (offset == 0)
+                return nGetD(nativeObj, row, col, length, data);
+            double[] buff = scratchDouble(length);
+            int res = nGetD(nativeObj, row, col, length, buff);
+            System.arraycopy(buff, 0, data, offset, length);
+            return res;
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    // The native copy trusts the element count, so it must stay inside the array
+    static void checkRange(int arrayLength, int offset, int length, int channels) {
+        if (arrayLength < 0 || offset < 0 || length < 0 || offset > arrayLength - length)
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length
+                    + " out of array length " + arrayLength);
+        if (length % channels != 0)
+            throw new UnsupportedOperationException(
+                    "Provided data element number (" + length +
+                            ") should be multiple of the Mat channels count (" + channels + ")");
+    }
+
+    // Per-thread staging arrays (copies at a non-zero offset, Atable access); they only grow
+    private static final ThreadLocal<byte[]> scratchBytes = new ThreadLocal<byte[]>();
+    private static final ThreadLocal<short[]> scratchShorts = new ThreadLocal<short[]>();
+    private static final ThreadLocal<int[]> scratchInts = new ThreadLocal<int[]>();
+    private static final ThreadLocal<float[]> scratchFloats = new ThreadLocal<float[]>();
+    private static final ThreadLocal<double[]> scratchDoubles = new ThreadLocal<double[]>();
+
+    private static byte[] scratchByte(int length) {
+        byte[] buff = scratchBytes.get();
+        if (buff == null || buff.length < length) {
+            buff = new byte[length];
+            scratchBytes.set(buff);
+        }
+        return buff;
+    }
+
+    private static short[] scratchShort(int length) {
+        short[] buff = scratchShorts.get();
+        if (buff == null || buff.length < length) {
+            buff = new short[length];
+            scratchShorts.set(buff);
+        }
+        return buff;
+    }
+
+    private static int[] scratchInt(int length) {
+        int[] buff = scratchInts.get();
+        if (buff == null || buff.length < length) {
+            buff = new int[length];
+            scratchInts.set(buff);
+        }
+        return buff;
+    }
+
+    private static float[] scratchFloat(int length) {
+        float[] buff = scratchFloats.get();
+        if (buff == null || buff.length < length) {
+            buff = new float[length];
+            scratchFloats.set(buff);
+        }
+        return buff;
+    }
+
+    private static double[] scratchDouble(int length) {
+        double[] buff = scratchDoubles.get();
+        if (buff == null || buff.length < length) {
+            buff = new double[length];
+            scratchDoubles.set(buff);
+        }
+        return buff;
+    }
+
     // javadoc:Mat::get(row,col)
     public double[] get(int row, int col) {
         return nGet(nativeObj, row, col);
@@ -1266,6 +1546,100 @@ public class Mat {
         void setV4c(Tuple4<T> v);
     }
 
+    // Atable access: get(idx, data) / put(idx, data) limited to the first count values, so a shared
+    // staging array can be used instead of a new array per pixel
+
+    private int getAt(int[] idx, byte[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_8U || CvType.depth(t) == CvType.CV_8S) {
+            return nGetBIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int putAt(int[] idx, byte[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_8U || CvType.depth(t) == CvType.CV_8S) {
+            return nPutBIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int getAt(int[] idx, short[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_16U || CvType.depth(t) == CvType.CV_16S) {
+            return nGetSIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int putAt(int[] idx, short[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_16U || CvType.depth(t) == CvType.CV_16S) {
+            return nPutSIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int getAt(int[] idx, int[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_32S) {
+            return nGetIIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int putAt(int[] idx, int[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_32S) {
+            return nPutIIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int getAt(int[] idx, float[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_32F) {
+            return nGetFIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int putAt(int[] idx, float[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_32F) {
+            return nPutFIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int getAt(int[] idx, double[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_64F) {
+            return nGetDIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int putAt(int[] idx, double[] data, int count) {
+        int t = checkAt(idx, count);
+        if (CvType.depth(t) == CvType.CV_64F) {
+            return nPutDIdx(nativeObj, idx, count, data);
+        }
+        throw new UnsupportedOperationException("Mat data type is not compatible: " + t);
+    }
+
+    private int checkAt(int[] idx, int count) {
+        int t = type();
+        if (count % CvType.channels(t) != 0)
+            throw new UnsupportedOperationException(
+                    "Provided data element number (" + count +
+                            ") should be multiple of the Mat channels count (" + CvType.channels(t) + ")");
+        if (idx.length != dims())
+            throw new IllegalArgumentException("Incorrect number of indices");
+        return t;
+    }
+
     private static class AtableBase {
 
         protected AtableBase(Mat mat, int row, int col) {
@@ -1296,54 +1670,64 @@ public class Mat {
 
         @Override
         public Byte getV() {
-            byte[] data = new byte[1];
-            mat.get(indices, data);
+            byte[] data = scratchByte(1);
+            mat.getAt(indices, data, 1);
             return data[0];
         }
 
         @Override
         public void setV(Byte v) {
-            byte[] data = new byte[] { v };
-            mat.put(indices, data);
+            byte[] data = scratchByte(1);
+            data[0] = v;
+            mat.putAt(indices, data, 1);
         }
 
         @Override
         public Tuple2<Byte> getV2c() {
-            byte[] data = new byte[2];
-            mat.get(indices, data);
+            byte[] data = scratchByte(2);
+            mat.getAt(indices, data, 2);
             return new Tuple2<Byte>(data[0], data[1]);
         }
 
         @Override
         public void setV2c(Tuple2<Byte> v) {
-            byte[] data = new byte[] { v._0, v._1 };
-            mat.put(indices, data);
+            byte[] data = scratchByte(2);
+            data[0] = v._0;
+            data[1] = v._1;
+            mat.putAt(indices, data, 2);
         }
 
         @Override
         public Tuple3<Byte> getV3c() {
-            byte[] data = new byte[3];
-            mat.get(indices, data);
+            byte[] data = scratchByte(3);
+            mat.getAt(indices, data, 3);
             return new Tuple3<Byte>(data[0], data[1], data[2]);
         }
 
         @Override
         public void setV3c(Tuple3<Byte> v) {
-            byte[] data = new byte[] { v._0, v._1, v._2 };
-            mat.put(indices, data);
+            byte[] data = scratchByte(3);
+            data[0] = v._0;
+            data[1] = v._1;
+            data[2] = v._2;
+            mat.putAt(indices, data, 3);
         }
 
         @Override
         public Tuple4<Byte> getV4c() {
-            byte[] data = new byte[4];
-            mat.get(indices, data);
+            byte[] data = scratchByte(4);
+            mat.getAt(indices, data, 4);
             return new Tuple4<Byte>(data[0], data[1], data[2], data[3]);
         }
 
         @Override
         public void setV4c(Tuple4<Byte> v) {
-            byte[] data = new byte[] { v._0, v._1, v._2, v._3 };
-            mat.put(indices, data);
+            byte[] data = scratchByte(4);
+            data[0] = v._0;
+            data[1] = v._1;
+            data[2] = v._2;
+            data[3] = v._3;
+            mat.putAt(indices, data, 4);
         }
     }
 
@@ -1359,54 +1743,64 @@ public class Mat {
 
         @Override
         public Double getV() {
-            double[] data = new double[1];
-            mat.get(indices, data);
+            double[] data = scratchDouble(1);
+            mat.getAt(indices, data, 1);
             return data[0];
         }
 
         @Override
         public void setV(Double v) {
-            double[] data = new double[] { v };
-            mat.put(indices, data);
+            double[] data = scratchDouble(1);
+            data[0] = v;
+            mat.putAt(indices, data, 1);
         }
 
         @Override
         public Tuple2<Double> getV2c() {
-            double[] data = new double[2];
-            mat.get(indices, data);
+            double[] data = scratchDouble(2);
+            mat.getAt(indices, data, 2);
             return new Tuple2<Double>(data[0], data[1]);
         }
 
         @Override
         public void setV2c(Tuple2<Double> v) {
-            double[] data = new double[] { v._0, v._1 };
-            mat.put(indices, data);
+            double[] data = scratchDouble(2);
+            data[0] = v._0;
+            data[1] = v._1;
+            mat.putAt(indices, data, 2);
         }
 
         @Override
         public Tuple3<Double> getV3c() {
-            double[] data = new double[3];
-            mat.get(indices, data);
+            double[] data = scratchDouble(3);
+            mat.getAt(indices, data, 3);
             return new Tuple3<Double>(data[0], data[1], data[2]);
         }
 
         @Override
         public void setV3c(Tuple3<Double> v) {
-            double[] data = new double[] { v._0, v._1, v._2 };
-            mat.put(indices, data);
+            double[] data = scratchDouble(3);
+            data[0] = v._0;
+            data[1] = v._1;
+            data[2] = v._2;
+            mat.putAt(indices, data, 3);
         }
 
         @Override
         public Tuple4<Double> getV4c() {
-            double[] data = new double[4];
-            mat.get(indices, data);
+            double[] data = scratchDouble(4);
+            mat.getAt(indices, data, 4);
             return new Tuple4<Double>(data[0], data[1], data[2], data[3]);
         }
 
         @Override
         public void setV4c(Tuple4<Double> v) {
-            double[] data = new double[] { v._0, v._1, v._2, v._3 };
-            mat.put(indices, data);
+            double[] data = scratchDouble(4);
+            data[0] = v._0;
+            data[1] = v._1;
+            data[2] = v._2;
+            data[3] = v._3;
+            mat.putAt(indices, data, 4);
         }
     }
 
@@ -1422,47 +1816,53 @@ public class Mat {
 
         @Override
         public Float getV() {
-            float[] data = new float[1];
-            mat.get(indices, data);
+            float[] data = scratchFloat(1);
+            mat.getAt(indices, data, 1);
             return data[0];
         }
 
         @Override
         public void setV(Float v) {
-            float[] data = new float[] { v };
-            mat.put(indices, data);
+            float[] data = scratchFloat(1);
+            data[0] = v;
+            mat.putAt(indices, data, 1);
         }
 
         @Override
         public Tuple2<Float> getV2c() {
-            float[] data = new float[2];
-            mat.get(indices, data);
+            float[] data = scratchFloat(2);
+            mat.getAt(indices, data, 2);
             return new Tuple2<Float>(data[0], data[1]);
         }
 
         @Override
         public void setV2c(Tuple2<Float> v) {
-            float[] data = new float[] { v._0, v._1 };
-            mat.put(indices, data);
+            float[] data = scratchFloat(2);
+            data[0] = v._0;
+            data[1] = v._1;
+            mat.putAt(indices, data, 2);
         }
 
         @Override
         public Tuple3<Float> getV3c() {
-            float[] data = new float[3];
-            mat.get(indices, data);
+            float[] data = scratchFloat(3);
+            mat.getAt(indices, data, 3);
             return new Tuple3<Float>(data[0], data[1], data[2]);
         }
 
         @Override
         public void setV3c(Tuple3<Float> v) {
-            float[] data = new float[] { v._0, v._1, v._2 };
-            mat.put(indices, data);
+            float[] data = scratchFloat(3);
+            data[0] = v._0;
+            data[1] = v._1;
+            data[2] = v._2;
+            mat.putAt(indices, data, 3);
         }
 
         @Override
         public Tuple4<Float> getV4c() {
-            float[] data = new float[4];
-            mat.get(indices, data);
+            float[] data = scratchFloat(4);
+            mat.getAt(indices, data, 4);
             return new Tuple4<Float>(data[0], data[1], data[2], data[3]);
         }
 
@@ -1485,54 +1885,64 @@ public class Mat {
 
         @Override
         public Integer getV() {
-            int[] data = new int[1];
-            mat.get(indices, data);
+            int[] data = scratchInt(1);
+            mat.getAt(indices, data, 1);
             return data[0];
         }
 
         @Override
         public void setV(Integer v) {
-            int[] data = new int[] { v };
-            mat.put(indices, data);
+            int[] data = scratchInt(1);
+            data[0] = v;
+            mat.putAt(indices, data, 1);
         }
 
         @Override
         public Tuple2<Integer> getV2c() {
-            int[] data = new int[2];
-            mat.get(indices, data);
+            int[] data = scratchInt(2);
+            mat.getAt(indices, data, 2);
             return new Tuple2<Integer>(data[0], data[1]);
         }
 
         @Override
         public void setV2c(Tuple2<Integer> v) {
-            int[] data = new int[] { v._0, v._1 };
-            mat.put(indices, data);
+            int[] data = scratchInt(2);
+            data[0] = v._0;
+            data[1] = v._1;
+            mat.putAt(indices, data, 2);
         }
 
         @Override
         public Tuple3<Integer> getV3c() {
-            int[] data = new int[3];
-            mat.get(indices, data);
+            int[] data = scratchInt(3);
+            mat.getAt(indices, data, 3);
             return new Tuple3<Integer>(data[0], data[1], data[2]);
         }
 
         @Override
         public void setV3c(Tuple3<Integer> v) {
-            int[] data = new int[] { v._0, v._1, v._2 };
-            mat.put(indices, data);
+            int[] data = scratchInt(3);
+            data[0] = v._0;
+            data[1] = v._1;
+            data[2] = v._2;
+            mat.putAt(indices, data, 3);
         }
 
         @Override
         public Tuple4<Integer> getV4c() {
-            int[] data = new int[4];
-            mat.get(indices, data);
+            int[] data = scratchInt(4);
+            mat.getAt(indices, data, 4);
             return new Tuple4<Integer>(data[0], data[1], data[2], data[3]);
         }
 
         @Override
         public void setV4c(Tuple4<Integer> v) {
-            int[] data = new int[] { v._0, v._1, v._2, v._3 };
-            mat.put(indices, data);
+            int[] data = scratchInt(4);
+            data[0] = v._0;
+            data[1] = v._1;
+            data[2] = v._2;
+            data[3] = v._3;
+            mat.putAt(indices, data, 4);
         }
     }
 
@@ -1548,54 +1958,64 @@ public class Mat {
 
         @Override
         public Short getV() {
-            short[] data = new short[1];
-            mat.get(indices, data);
+            short[] data = scratchShort(1);
+            mat.getAt(indices, data, 1);
             return data[0];
         }
 
         @Override
         public void setV(Short v) {
-            short[] data = new short[] { v };
-            mat.put(indices, data);
+            short[] data = scratchShort(1);
+            data[0] = v;
+            mat.putAt(indices, data, 1);
         }
 
         @Override
         public Tuple2<Short> getV2c() {
-            short[] data = new short[2];
-            mat.get(indices, data);
+            short[] data = scratchShort(2);
+            mat.getAt(indices, data, 2);
             return new Tuple2<Short>(data[0], data[1]);
         }
 
         @Override
         public void setV2c(Tuple2<Short> v) {
-            short[] data = new short[] { v._0, v._1 };
-            mat.put(indices, data);
+            short[] data = scratchShort(2);
+            data[0] = v._0;
+            data[1] = v._1;
+            mat.putAt(indices, data, 2);
         }
 
         @Override
         public Tuple3<Short> getV3c() {
-            short[] data = new short[3];
-            mat.get(indices, data);
+            short[] data = scratchShort(3);
+            mat.getAt(indices, data, 3);
             return new Tuple3<Short>(data[0], data[1], data[2]);
         }
 
         @Override
         public void setV3c(Tuple3<Short> v) {
-            short[] data = new short[] { v._0, v._1, v._2 };
-            mat.put(indices, data);
+            short[] data = scratchShort(3);
+            data[0] = v._0;
+            data[1] = v._1;
+            data[2] = v._2;
+            mat.putAt(indices, data, 3);
         }
 
         @Override
         public Tuple4<Short> getV4c() {
-            short[] data = new short[4];
-            mat.get(indices, data);
+            short[] data = scratchShort(4);
+            mat.getAt(indices, data, 4);
             return new Tuple4<Short>(data[0], data[1], data[2], data[3]);
         }
 
         @Override
         public void setV4c(Tuple4<Short> v) {
-            short[] data = new short[] { v._0, v._1, v._2, v._3 };
-            mat.put(indices, data);
+            short[] data = scratchShort(4);
+            data[0] = v._0;
+            data[1] = v._1;
+            data[2] = v._2;
+            data[3] = v._3;
+            mat.putAt(indices, data, 4);
         }
     }
 
@@ -49,48 +49,40 @@ class AtableUByte(val mat: Mat, val indices: IntArray): Atable<UByte> {
 
     constructor(mat: Mat, row: Int, col: Int) : this(mat, intArrayOf(row, col))
 
-    override fun getV(): UByte {
-        val data = UByteArray(1)
-        mat.get(indices, data)
-        return data[0]
-    }
+    // Same access as the signed Java Atable (no array per call); only the values are reinterpreted
+    private val signed = mat.at(Byte::class.javaObjectType, indices)
+
+    override fun getV(): UByte = signed.v.toUByte()
 
     override fun setV(v: UByte) {
-        val data = ubyteArrayOf(v)
-        mat.put(indices, data)
+        signed.v = v.toByte()
     }
 
     override fun getV2c(): Tuple2<UByte> {
-        val data = UByteArray(2)
-        mat.get(indices, data)
-        return Tuple2(data[0], data[1])
+        val v = signed.v2c
+        return Tuple2(v._0.toUByte(), v._1.toUByte())
     }
 
     override fun setV2c(v: Tuple2<UByte>) {
-        val data = ubyteArrayOf(v._0, v._1)
-        mat.put(indices, data)
+        signed.v2c = Tuple2(v._0.toByte(), v._1.toByte())
     }
 
     override fun getV3c(): Tuple3<UByte> {
-        val data = UByteArray(3)
-        mat.get(indices, data)
-        return Tuple3(data[0], data[1], data[2])
+        val v = signed.v3c
+        return Tuple3(v._0.toUByte(), v._1.toUByte(), v._2.toUByte())
     }
 
     override fun setV3c(v: Tuple3<UByte>) {
-        val data = ubyteArrayOf(v._0, v._1, v._2)
-        mat.put(indices, data)
+        signed.v3c = Tuple3(v._0.toByte(), v._1.toByte(), v._2.toByte())
     }
 
     override fun getV4c(): Tuple4<UByte> {
-        val data = UByteArray(4)
-        mat.get(indices, data)
-        return Tuple4(data[0], data[1], data[2], data[3])
+        val v = signed.v4c
+        return Tuple4(v._0.toUByte(), v._1.toUByte(), v._2.toUByte(), v._3.toUByte())
     }
 
     override fun setV4c(v: Tuple4<UByte>) {
-        val data = ubyteArrayOf(v._0, v._1, v._2, v._3)
-        mat.put(indices, data)
+        signed.v4c = Tuple4(v._0.toByte(), v._1.toByte(), v._2.toByte(), v._3.toByte())
     }
 }
 
@@ -98,48 +90,40 @@ class AtableUShort(val mat: Mat, val indices: IntArray): Atable<UShort> {
 
     constructor(mat: Mat, row: Int, col: Int) : this(mat, intArrayOf(row, col))
 
-    override fun getV(): UShort {
-        val data = UShortArray(1)
-        mat.get(indices, data)
-        return data[0]
-    }
+    // Same access as the signed Java Atable (no array per call); only the values are reinterpreted
+    private val signed = mat.at(Short::class.javaObjectType, indices)
+
+    override fun getV(): UShort = signed.v.toUShort()
 
     override fun setV(v: UShort) {
-        val data = ushortArrayOf(v)
-        mat.put(indices, data)
+        signed.v = v.toShort()
     }
 
     override fun getV2c(): Tuple2<UShort> {
-        val data = UShortArray(2)
-        mat.get(indices, data)
-        return Tuple2(data[0], data[1])
+        val v = signed.v2c
+        return Tuple2(v._0.toUShort(), v._1.toUShort())
     }
 
     override fun setV2c(v: Tuple2<UShort>) {
-        val data = ushortArrayOf(v._0, v._1)
-        mat.put(indices, data)
+        signed.v2c = Tuple2(v._0.toShort(), v._1.toShort())
     }
 
     override fun getV3c(): Tuple3<UShort> {
-        val data = UShortArray(3)
-        mat.get(indices, data)
-        return Tuple3(data[0], data[1], data[2])
+        val v = signed.v3c
+        return Tuple3(v._0.toUShort(), v._1.toUShort(), v._2.toUShort())
     }
 
     override fun setV3c(v: Tuple3<UShort>) {
-        val data = ushortArrayOf(v._0, v._1, v._2)
-        mat.put(indices, data)
+        signed.v3c = Tuple3(v._0.toShort(), v._1.toShort(), v._2.toShort())
     }
 
     override fun getV4c(): Tuple4<UShort> {
-        val data = UShortArray(4)
-        mat.get(indices, data)
-        return Tuple4(data[0], data[1], data[2], data[3])
+        val v = signed.v4c
+        return Tuple4(v._0.toUShort(), v._1.toUShort(), v._2.toUShort(), v._3.toUShort())
     }
 
     override fun setV4c(v: Tuple4<UShort>) {
-        val data = ushortArrayOf(v._0, v._1, v._2, v._3)
-        mat.put(indices, data)
+        signed.v4c = Tuple4(v._0.toShort(), v._1.toShort(), v._2.toShort(), v._3.toShort())
     }
 }
 
@@ -158,3 +142,19 @@ operator fun <T> Tuple4<T>.component4(): T = this._3
 fun <T> T2(_0: T, _1: T) : Tuple2<T> = Tuple2(_0, _1)
 fun <T> T3(_0: T, _1: T, _2: T) : Tuple3<T> = Tuple3(_0, _1, _2)
 fun <T> T4(_0: T, _1: T, _2: T, _3: T) : Tuple4<T> = Tuple4(_0, _1, _2, _3)
+
+/***
+ *  Per-pixel loops without a JNI call per access (see MatCursor):
+ *
+ *  val cursor = mat.cursorUByte()
+ *  while (cursor.next()) cursor.set(3, 255 - cursor.getUByte(0).toInt())
+ *  cursor.commit()
+ *
+ */
+fun Mat.cursorUByte(): MatCursor.OfByte = MatCursor.ofByte(this)
+fun Mat.cursorUShort(): MatCursor.OfShort = MatCursor.ofShort(this)
+
+fun MatCursor.OfByte.getUByte(channel: Int): UByte = this.get(channel).toUByte()
+fun MatCursor.OfByte.getUByteAt(index: Int): UByte = this.getAt(index).toUByte()
+fun MatCursor.OfShort.getUShort(channel: Int): UShort = this.get(channel).toUShort()
+fun MatCursor.OfShort.getUShortAt(index: Int): UShort = this.getAt(index).toUShort()
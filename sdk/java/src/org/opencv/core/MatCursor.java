@@ -0,0 +1,375 @@
+package org.opencv.core;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+// Row-major cursor over the pixels of a 2D Mat that reads and writes channels without a JNI call or boxing
+// per access (unlike Mat.at() and Mat.get(row, col)).
+//
+// A continuous Mat created over a Java direct buffer (Mat(rows, cols, type, data), MatOf*.allocateDirect) is
+// accessed in place. Any other Mat is copied into a Java array with one get() when the cursor is created, and
+// writes reach the Mat only on commit().
+//
+// Element indices run over rows * cols * channels values in row-major order, so a loop such as
+//
+//     MatCursor.OfByte c = MatCursor.ofByte(mat);
+//     for (int i = 0; i < c.length(); i++)
+//         c.setAt(i, 255 - c.getUnsignedAt(i));
+//     c.commit();
+//
+// has only the buffer's own bounds check, which the JIT can hoist out of the loop.
+// Not thread safe.
+public abstract class MatCursor {
+
+    protected final Mat mat;
+    protected final int rows;
+    protected final int cols;
+    protected final int channels;
+    protected final int length;
+    protected final boolean direct;
+    // element index of channel 0 of the current pixel, -channels before the first next()
+    protected int offset;
+
+    MatCursor(Mat mat, boolean direct) {
+        this.mat = mat;
+        this.direct = direct;
+        rows = mat.rows();
+        cols = mat.cols();
+        channels = mat.channels();
+        length = rows * cols * channels;
+        offset = -channels;
+    }
+
+    public static OfByte ofByte(Mat mat) {
+        return new OfByte(checkDepth(mat, CvType.CV_8U, CvType.CV_8S));
+    }
+
+    public static OfShort ofShort(Mat mat) {
+        return new OfShort(checkDepth(mat, CvType.CV_16U, CvType.CV_16S));
+    }
+
+    public static OfInt ofInt(Mat mat) {
+        return new OfInt(checkDepth(mat, CvType.CV_32S, CvType.CV_32S));
+    }
+
+    public static OfFloat ofFloat(Mat mat) {
+        return new OfFloat(checkDepth(mat, CvType.CV_32F, CvType.CV_32F));
+    }
+
+    public static OfDouble ofDouble(Mat mat) {
+        return new OfDouble(checkDepth(mat, CvType.CV_64F, CvType.CV_64F));
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int channels() {
+        return channels;
+    }
+
+    // Number of values (rows * cols * channels)
+    public int length() {
+        return length;
+    }
+
+    // true when the cursor works on the Mat memory itself and commit() has nothing to do
+    public boolean isDirect() {
+        return direct;
+    }
+
+    // Moves to the next pixel in row-major order (the first call moves to (0, 0)); false past the last pixel
+    public boolean next() {
+        offset += channels;
+        return offset < length;
+    }
+
+    public void moveTo(int row, int col) {
+        offset = index(row, col, 0);
+    }
+
+    // Back to before the first pixel
+    public void reset() {
+        offset = -channels;
+    }
+
+    public int row() {
+        return offset / channels / cols;
+    }
+
+    public int col() {
+        return offset / channels % cols;
+    }
+
+    // Element index of a channel of a pixel, for the *At accessors
+    public int index(int row, int col, int channel) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols || channel < 0 || channel >= channels)
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ", " + channel + ") outside "
+                    + rows + "x" + cols + "x" + channels);
+        return (row * cols + col) * channels + channel;
+    }
+
+    // Writes staged values back to the Mat (no-op when isDirect())
+    public abstract void commit();
+
+    // Element index of a channel of the current pixel
+    protected final int current(int channel) {
+        if (channel < 0 || channel >= channels || offset < 0 || offset >= length)
+            throw new IndexOutOfBoundsException("channel " + channel + " at element " + offset);
+        return offset + channel;
+    }
+
+    private static Mat checkDepth(Mat mat, int depth, int signedDepth) {
+        if (mat.dims() != 2)
+            throw new UnsupportedOperationException("Only 2D Mats are supported: " + mat);
+        int d = mat.depth();
+        if (d != depth && d != signedDepth)
+            throw new UnsupportedOperationException("Mat data type is not compatible: " + mat.type());
+        return mat;
+    }
+
+    public static final class OfByte extends MatCursor {
+        private final ByteBuffer data;
+        private final byte[] staged;
+
+        OfByte(Mat mat) {
+            this(mat, mat.directBuffer());
+        }
+
+        private OfByte(Mat mat, ByteBuffer view) {
+            super(mat, view != null);
+            if (view != null) {
+                data = view;
+                staged = null;
+            } else {
+                staged = new byte[length];
+                if (length > 0)
+                    mat.get(0, 0, staged);
+                data = ByteBuffer.wrap(staged);
+            }
+        }
+
+        public byte get(int channel) {
+            return data.get(current(channel));
+        }
+
+        // CV_8U value 0..255
+        public int getUnsigned(int channel) {
+            return data.get(current(channel)) & 0xFF;
+        }
+
+        public void set(int channel, int value) {
+            data.put(current(channel), (byte) value);
+        }
+
+        public byte getAt(int index) {
+            return data.get(index);
+        }
+
+        public int getUnsignedAt(int index) {
+            return data.get(index) & 0xFF;
+        }
+
+        public void setAt(int index, int value) {
+            data.put(index, (byte) value);
+        }
+
+        @Override
+        public void commit() {
+            if (staged != null && length > 0)
+                mat.put(0, 0, staged);
+        }
+    }
+
+    public static final class OfShort extends MatCursor {
+        private final ShortBuffer data;
+        private final short[] staged;
+
+        OfShort(Mat mat) {
+            this(mat, mat.directBuffer());
+        }
+
+        private OfShort(Mat mat, ByteBuffer view) {
+            super(mat, view != null);
+            if (view != null) {
+                data = view.asShortBuffer();
+                staged = null;
+            } else {
+                staged = new short[length];
+                if (length > 0)
+                    mat.get(0, 0, staged);
+                data = ShortBuffer.wrap(staged);
+            }
+        }
+
+        public short get(int channel) {
+            return data.get(current(channel));
+        }
+
+        // CV_16U value 0..65535
+        public int getUnsigned(int channel) {
+            return data.get(current(channel)) & 0xFFFF;
+        }
+
+        public void set(int channel, int value) {
+            data.put(current(channel), (short) value);
+        }
+
+        public short getAt(int index) {
+            return data.get(index);
+        }
+
+        public int getUnsignedAt(int index) {
+            return data.get(index) & 0xFFFF;
+        }
+
+        public void setAt(int index, int value) {
+            data.put(index, (short) value);
+        }
+
+        @Override
+        public void commit() {
+            if (staged != null && length > 0)
+                mat.put(0, 0, staged);
+        }
+    }
+
+    public static final class OfInt extends MatCursor {
+        private final IntBuffer data;
+        private final int[] staged;
+
+        OfInt(Mat mat) {
+            this(mat, mat.directBuffer());
+        }
+
+        private OfInt(Mat mat, ByteBuffer view) {
+            super(mat, view != null);
+            if (view != null) {
+                data = view.asIntBuffer();
+                staged = null;
+            } else {
+                staged = new int[length];
+                if (length > 0)
+                    mat.get(0, 0, staged);
+                data = IntBuffer.wrap(staged);
+            }
+        }
+
+        public int get(int channel) {
+            return data.get(current(channel));
+        }
+
+        public void set(int channel, int value) {
+            data.put(current(channel), value);
+        }
+
+        public int getAt(int index) {
+            return data.get(index);
+        }
+
+        public void setAt(int index, int value) {
+            data.put(index, value);
+        }
+
+        @Override
+        public void commit() {
+            if (staged != null && length > 0)
+                mat.put(0, 0, staged);
+        }
+    }
+
+    public static final class OfFloat extends MatCursor {
+        private final FloatBuffer data;
+        private final float[] staged;
+
+        OfFloat(Mat mat) {
+            this(mat, mat.directBuffer());
+        }
+
+        private OfFloat(Mat mat, ByteBuffer view) {
+            super(mat, view != null);
+            if (view != null) {
+                data = view.asFloatBuffer();
+                staged = null;
+            } else {
+                staged = new float[length];
+                if (length > 0)
+                    mat.get(0, 0, staged);
+                data = FloatBuffer.wrap(staged);
+            }
+        }
+
+        public float get(int channel) {
+            return data.get(current(channel));
+        }
+
+        public void set(int channel, float value) {
+            data.put(current(channel), value);
+        }
+
+        public float getAt(int index) {
+            return data.get(index);
+        }
+
+        public void setAt(int index, float value) {
+            data.put(index, value);
+        }
+
+        @Override
+        public void commit() {
+            if (staged != null && length > 0)
+                mat.put(0, 0, staged);
+        }
+    }
+
+    public static final class OfDouble extends MatCursor {
+        private final DoubleBuffer data;
+        private final double[] staged;
+
+        OfDouble(Mat mat) {
+            this(mat, mat.directBuffer());
+        }
+
+        private OfDouble(Mat mat, ByteBuffer view) {
+            super(mat, view != null);
+            if (view != null) {
+                data = view.asDoubleBuffer();
+                staged = null;
+            } else {
+                staged = new double[length];
+                if (length > 0)
+                    mat.get(0, 0, staged);
+                data = DoubleBuffer.wrap(staged);
+            }
+        }
+
+        public double get(int channel) {
+            return data.get(current(channel));
+        }
+
+        public void set(int channel, double value) {
+            data.put(current(channel), value);
+        }
+
+        public double getAt(int index) {
+            return data.get(index);
+        }
+
+        public void setAt(int index, double value) {
+            data.put(index, value);
+        }
+
+        @Override
+        public void commit() {
+            if (staged != null && length > 0)
+                mat.put(0, 0, staged);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.opencv.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Debug aid: reports Mats whose data was only freed by the finalizer (never close()d, release()d or released
+// by a MatScope), with the stack trace of where they were created.
+// Enabling it captures a stack trace for every new Mat, so keep it to debug builds:
+//
+//     if (BuildConfig.DEBUG)
+//         MatLeakTracker.enable((allocatedAt) -> Log.w(TAG, "Mat was never closed", allocatedAt));
+//
+// Only Mats created while tracking is enabled are reported. Reports come from the finalizer thread.
+public final class MatLeakTracker {
+
+    public interface Reporter {
+        void onLeak(Throwable allocatedAt);
+    }
+
+    private static volatile Reporter reporter;
+    private static final AtomicInteger leakCount = new AtomicInteger();
+
+    private MatLeakTracker() {
+    }
+
+    public static void enable(Reporter leakReporter) {
+        if (leakReporter == null)
+            throw new NullPointerException("leakReporter");
+        reporter = leakReporter;
+    }
+
+    public static void disable() {
+        reporter = null;
+    }
+
+    public static boolean isEnabled() {
+        return reporter != null;
+    }
+
+    // Mats reported since the process started
+    public static int getLeakCount() {
+        return leakCount.get();
+    }
+
+    static void onFinalized(Throwable allocatedAt) {
+        leakCount.incrementAndGet();
+        Reporter current = reporter;
+        if (current != null)
+            current.onLeak(allocatedAt);
+    }
+}
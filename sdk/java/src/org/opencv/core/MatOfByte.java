@@ -78,6 +78,26 @@ public class MatOfByte extends Mat {
         return a;
     }
 
+    // Raw data (one byte per element) in bulk, without creating objects (see Mat.vectorElements()).
+    // toArray(dst, offset) returns the number of elements copied, toArray(reuse) may return an array longer than the data.
+    public int toArray(byte[] dst, int offset) {
+        int num = vectorElements(_channels, _depth);
+        if(num > 0)
+            get(0, 0, dst, offset, num * _channels);
+        return num;
+    }
+
+    public byte[] toArray(byte[] reuse) {
+        int length = (int) total() * _channels;
+        byte[] a = reuse != null && reuse.length >= length ? reuse : new byte[length];
+        toArray(a, 0);
+        return a;
+    }
+
+    public static MatOfByte allocateDirect(int elemNumber) {
+        return allocateDirectVector(elemNumber, CvType.makeType(_depth, _channels), MatOfByte::new);
+    }
+
     public void fromList(List<Byte> lb) {
         if(lb==null || lb.size()==0)
             return;
@@ -1,5 +1,7 @@
 package org.opencv.core;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
 import java.util.List;
 
@@ -59,6 +61,39 @@ public class MatOfDouble extends Mat {
         return a;
     }
 
+    // Raw data (one double per element) in bulk, without creating objects (see Mat.vectorElements()).
+    // toArray(dst, offset) returns the number of elements copied, toArray(reuse) may return an array longer than the data.
+    public int toArray(double[] dst, int offset) {
+        int num = vectorElements(_channels, _depth);
+        if(num > 0)
+            get(0, 0, dst, offset, num * _channels);
+        return num;
+    }
+
+    public double[] toArray(double[] reuse) {
+        int length = (int) total() * _channels;
+        double[] a = reuse != null && reuse.length >= length ? reuse : new double[length];
+        toArray(a, 0);
+        return a;
+    }
+
+    public void fromArray(double[] src, int offset, int elemNumber) {
+        if(elemNumber <= 0)
+            return;
+        checkRange(src == null ? -1 : src.length, offset, elemNumber * _channels, _channels);
+        alloc(elemNumber);
+        put(0, 0, src, offset, elemNumber * _channels);
+    }
+
+    public DoubleBuffer asDoubleBuffer() {
+        ByteBuffer data = directBuffer();
+        return data != null ? data.asDoubleBuffer() : null;
+    }
+
+    public static MatOfDouble allocateDirect(int elemNumber) {
+        return allocateDirectVector(elemNumber, CvType.makeType(_depth, _channels), MatOfDouble::new);
+    }
+
     public void fromList(List<Double> lb) {
         if(lb==null || lb.size()==0)
             return;
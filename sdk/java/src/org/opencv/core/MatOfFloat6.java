@@ -1,5 +1,7 @@
 package org.opencv.core;
 
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.util.Arrays;
 import java.util.List;
 
@@ -59,6 +61,39 @@ public class MatOfFloat6 extends Mat {
         return a;
     }
 
+    // Raw data (six floats per element) in bulk, without creating objects (see Mat.vectorElements()).
+    // toArray(dst, offset) returns the number of elements copied, toArray(reuse) may return an array longer than the data.
+    public int toArray(float[] dst, int offset) {
+        int num = vectorElements(_channels, _depth);
+        if(num > 0)
+            get(0, 0, dst, offset, num * _channels);
+        return num;
+    }
+
+    public float[] toArray(float[] reuse) {
+        int length = (int) total() * _channels;
+        float[] a = reuse != null && reuse.length >= length ? reuse : new float[length];
+        toArray(a, 0);
+        return a;
+    }
+
+    public void fromArray(float[] src, int offset, int elemNumber) {
+        if(elemNumber <= 0)
+            return;
+        checkRange(src == null ? -1 : src.length, offset, elemNumber * _channels, _channels);
+        alloc(elemNumber);
+        put(0, 0, src, offset, elemNumber * _channels);
+    }
+
+    public FloatBuffer asFloatBuffer() {
+        ByteBuffer data = directBuffer();
+        return data != null ? data.asFloatBuffer() : null;
+    }
+
+    public static MatOfFloat6 allocateDirect(int elemNumber) {
+        return allocateDirectVector(elemNumber, CvType.makeType(_depth, _channels), MatOfFloat6::new);
+    }
+
     public void fromList(List<Float> lb) {
         if(lb==null || lb.size()==0)
             return;
@@ -1,5 +1,7 @@
 package org.opencv.core;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.List;
 
@@ -60,6 +62,39 @@ public class MatOfInt4 extends Mat {
         return a;
     }
 
+    // Raw data (four ints per element) in bulk, without creating objects (see Mat.vectorElements()).
+    // toArray(dst, offset) returns the number of elements copied, toArray(reuse) may return an array longer than the data.
+    public int toArray(int[] dst, int offset) {
+        int num = vectorElements(_channels, _depth);
+        if(num > 0)
+            get(0, 0, dst, offset, num * _channels);
+        return num;
+    }
+
+    public int[] toArray(int[] reuse) {
+        int length = (int) total() * _channels;
+        int[] a = reuse != null && reuse.length >= length ? reuse : new int[length];
+        toArray(a, 0);
+        return a;
+    }
+
+    public void fromArray(int[] src, int offset, int elemNumber) {
+        if(elemNumber <= 0)
+            return;
+        checkRange(src == null ? -1 : src.length, offset, elemNumber * _channels, _channels);
+        alloc(elemNumber);
+        put(0, 0, src, offset, elemNumber * _channels);
+    }
+
+    public IntBuffer asIntBuffer() {
+        ByteBuffer data = directBuffer();
+        return data != null ? data.asIntBuffer() : null;
+    }
+
+    public static MatOfInt4 allocateDirect(int elemNumber) {
+        return allocateDirectVector(elemNumber, CvType.makeType(_depth, _channels), MatOfInt4::new);
+    }
+
     public void fromList(List<Integer> lb) {
         if(lb==null || lb.size()==0)
             return;
@@ -1,5 +1,7 @@
 package org.opencv.core;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.List;
 
@@ -66,6 +68,39 @@ public class MatOfPoint extends Mat {
         return ap;
     }
 
+    // Raw data (x, y per point) in bulk, without creating objects (see Mat.vectorElements()).
+    // toArray(dst, offset) returns the number of points copied, toArray(reuse) may return an array longer than the data.
+    public int toArray(int[] dst, int offset) {
+        int num = vectorElements(_channels, _depth);
+        if(num > 0)
+            get(0, 0, dst, offset, num * _channels);
+        return num;
+    }
+
+    public int[] toArray(int[] reuse) {
+        int length = (int) total() * _channels;
+        int[] a = reuse != null && reuse.length >= length ? reuse : new int[length];
+        toArray(a, 0);
+        return a;
+    }
+
+    public void fromArray(int[] src, int offset, int elemNumber) {
+        if(elemNumber <= 0)
+            return;
+        checkRange(src == null ? -1 : src.length, offset, elemNumber * _channels, _channels);
+        alloc(elemNumber);
+        put(0, 0, src, offset, elemNumber * _channels);
+    }
+
+    public IntBuffer asIntBuffer() {
+        ByteBuffer data = directBuffer();
+        return data != null ? data.asIntBuffer() : null;
+    }
+
+    public static MatOfPoint allocateDirect(int elemNumber) {
+        return allocateDirectVector(elemNumber, CvType.makeType(_depth, _channels), MatOfPoint::new);
+    }
+
     public void fromList(List<Point> lp) {
         Point ap[] = lp.toArray(new Point[0]);
         fromArray(ap);
@@ -1,5 +1,7 @@
 package org.opencv.core;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.List;
 
@@ -69,6 +71,40 @@ public class MatOfRect extends Mat {
             a[i] = new Rect(buff[i*_channels], buff[i*_channels+1], buff[i*_channels+2], buff[i*_channels+3]);
         return a;
     }
+
+    // Raw data (x, y, width, height per rect) in bulk, without creating objects (see Mat.vectorElements()).
+    // toArray(dst, offset) returns the number of rects copied, toArray(reuse) may return an array longer than the data.
+    public int toArray(int[] dst, int offset) {
+        int num = vectorElements(_channels, _depth);
+        if(num > 0)
+            get(0, 0, dst, offset, num * _channels);
+        return num;
+    }
+
+    public int[] toArray(int[] reuse) {
+        int length = (int) total() * _channels;
+        int[] a = reuse != null && reuse.length >= length ? reuse : new int[length];
+        toArray(a, 0);
+        return a;
+    }
+
+    public void fromArray(int[] src, int offset, int elemNumber) {
+        if(elemNumber <= 0)
+            return;
+        checkRange(src == null ? -1 : src.length, offset, elemNumber * _channels, _channels);
+        alloc(elemNumber);
+        put(0, 0, src, offset, elemNumber * _channels);
+    }
+
+    public IntBuffer asIntBuffer() {
+        ByteBuffer data = directBuffer();
+        return data != null ? data.asIntBuffer() : null;
+    }
+
+    public static MatOfRect allocateDirect(int elemNumber) {
+        return allocateDirectVector(elemNumber, CvType.makeType(_depth, _channels), MatOfRect::new);
+    }
+
     public void fromList(List<Rect> lr) {
         Rect ap[] = lr.toArray(new Rect[0]);
         fromArray(ap);
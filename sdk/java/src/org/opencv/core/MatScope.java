@@ -0,0 +1,84 @@
+package org.opencv.core;
+
+import java.util.ArrayList;
+
+// Releases every Mat created on this thread while the scope is open when the scope is closed, instead of
+// leaving the native data to the finalizer:
+//
+//     try (MatScope scope = MatScope.open()) {
+//         Mat gray = new Mat();
+//         Imgproc.cvtColor(frame, gray, Imgproc.COLOR_RGBA2GRAY);
+//         ...
+//         return scope.keep(result);   // survives the scope
+//     }
+//
+// Mats returned by OpenCV calls (submat(), clone(), MatOf* conversions...) are created inside the scope too.
+// Scopes nest; a Mat belongs to the innermost open scope of the thread that created it. Closing a scope
+// calls Mat.close() on its Mats, so they become empty but stay safe to touch.
+// A scope must be closed on the thread that opened it, innermost first.
+public final class MatScope implements AutoCloseable {
+
+    private static final ThreadLocal<MatScope> current = new ThreadLocal<MatScope>();
+
+    private final MatScope parent;
+    private final Thread owner;
+    private final ArrayList<Mat> mats = new ArrayList<Mat>();
+    private boolean closed;
+
+    private MatScope(MatScope parent) {
+        this.parent = parent;
+        owner = Thread.currentThread();
+    }
+
+    public static MatScope open() {
+        MatScope scope = new MatScope(current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    // Innermost open scope of this thread, or null
+    public static MatScope current() {
+        return current.get();
+    }
+
+    // Takes mat out of this scope so that closing the scope leaves it alone. It moves to the enclosing scope
+    // if there is one (so it is still released when that one closes).
+    public <T extends Mat> T keep(T mat) {
+        for (int i = mats.size() - 1; i >= 0; i--) {
+            if (mats.get(i) == mat) {
+                mats.remove(i);
+                if (parent != null)
+                    parent.mats.add(mat);
+                break;
+            }
+        }
+        return mat;
+    }
+
+    // Number of Mats this scope will release
+    public int size() {
+        return mats.size();
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        if (Thread.currentThread() != owner)
+            throw new IllegalStateException("MatScope closed on another thread");
+        if (current.get() != this)
+            throw new IllegalStateException("MatScope closed before its inner scopes");
+        closed = true;
+        current.set(parent);
+        // newest first, the reverse of creation
+        for (int i = mats.size() - 1; i >= 0; i--)
+            mats.get(i).close();
+        mats.clear();
+    }
+
+    static void onCreate(Mat mat) {
+        MatScope scope = current.get();
+        if (scope != null)
+            scope.mats.add(mat);
+    }
+}
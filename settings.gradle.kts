@@ -21,3 +21,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "My Application"
 include(":app")
+include(":pipeline")
+include(":pipeline-benchmark")
+include(":macrobenchmark")